@@ -0,0 +1,87 @@
+package com.fulfilment.application.monolith;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files (as written by the {@code benchmark} profile) and exits
+ * non-zero when any benchmark present in both got slower than the allowed threshold.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@compare -Dbaseline=old.json -Dcurrent=new.json [-Dthreshold=10]
+ * </pre>
+ *
+ * <p>Benchmarks are matched by name plus parameters. For time-per-operation modes a higher
+ * score is a regression, for throughput a lower one.</p>
+ */
+public final class JmhResultComparison {
+
+  private JmhResultComparison() {
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println("Usage: JmhResultComparison <baseline.json> <current.json> [threshold%]");
+      System.exit(2);
+    }
+    double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+    Map<String, JsonNode> baseline = read(Path.of(args[0]));
+    Map<String, JsonNode> current = read(Path.of(args[1]));
+
+    int regressions = 0;
+    for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+      JsonNode before = baseline.get(entry.getKey());
+      if (before == null) {
+        System.out.printf("NEW        %s%n", entry.getKey());
+        continue;
+      }
+      double oldScore = before.path("primaryMetric").path("score").asDouble();
+      double newScore = entry.getValue().path("primaryMetric").path("score").asDouble();
+      String unit = entry.getValue().path("primaryMetric").path("scoreUnit").asText();
+      boolean higherIsBetter = "thrpt".equals(entry.getValue().path("mode").asText());
+
+      double change = oldScore == 0 ? 0 : (newScore - oldScore) / oldScore * 100;
+      double slowdown = higherIsBetter ? -change : change;
+      boolean regressed = slowdown > threshold;
+      if (regressed) {
+        regressions++;
+      }
+      System.out.printf("%-10s %s: %.3f -> %.3f %s (%+.1f%%)%n",
+          regressed ? "REGRESSED" : "ok", entry.getKey(), oldScore, newScore, unit, change);
+    }
+
+    if (regressions > 0) {
+      System.err.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+      System.exit(1);
+    }
+  }
+
+  private static Map<String, JsonNode> read(Path file) throws IOException {
+    Map<String, JsonNode> results = new LinkedHashMap<>();
+    for (JsonNode result : new ObjectMapper().readTree(file.toFile())) {
+      results.put(key(result), result);
+    }
+    return results;
+  }
+
+  private static String key(JsonNode result) {
+    StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+    JsonNode params = result.path("params");
+    if (params.isObject()) {
+      Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+      while (fields.hasNext()) {
+        Map.Entry<String, JsonNode> param = fields.next();
+        key.append(key.indexOf("[") < 0 ? '[' : ',')
+            .append(param.getKey()).append('=').append(param.getValue().asText());
+      }
+      key.append(']');
+    }
+    return key.toString();
+  }
+}
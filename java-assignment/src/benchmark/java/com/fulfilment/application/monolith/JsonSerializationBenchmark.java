@@ -0,0 +1,69 @@
+package com.fulfilment.application.monolith;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulfilment.application.monolith.products.Product;
+import com.fulfilment.application.monolith.stores.Store;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Jackson cost of the three response types, one object each, to UTF-8 bytes. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private Store store;
+  private Product product;
+  private com.warehouse.api.beans.Warehouse warehouse;
+
+  @Setup
+  public void setUp() {
+    store = new Store("TONSTAD");
+    store.id = 1L;
+    store.quantityProductsInStock = 10;
+
+    product = new Product("TONSTAD");
+    product.id = 1L;
+    product.description = "Bookcase, 80x37x147 cm";
+    product.price = new BigDecimal("129.00");
+    product.stock = 10;
+
+    warehouse = new com.warehouse.api.beans.Warehouse();
+    warehouse.setId("1");
+    warehouse.setBusinessUnitCode("MWH.001");
+    warehouse.setLocation("ZWOLLE-001");
+    warehouse.setCapacity(100);
+    warehouse.setStock(10);
+  }
+
+  @Benchmark
+  public byte[] store() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(store);
+  }
+
+  @Benchmark
+  public byte[] product() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(product);
+  }
+
+  @Benchmark
+  public byte[] warehouseBean() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(warehouse);
+  }
+}
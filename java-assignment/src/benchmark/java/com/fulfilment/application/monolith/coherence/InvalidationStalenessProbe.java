@@ -0,0 +1,159 @@
+package com.fulfilment.application.monolith.coherence;
+
+import com.fulfilment.application.monolith.http.CacheInvalidationEvent;
+import com.fulfilment.application.monolith.http.ResponseCache;
+import com.fulfilment.application.monolith.stores.Store;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.Cache;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sql.DataSource;
+
+/**
+ * Measures how long another instance keeps serving a cached entry after a write, end to end
+ * over a real PostgreSQL: writer threads update rows and hand the invalidations to an
+ * {@link InvalidationPublisher} ("node-a"), and an {@link InvalidationListener} ("node-b")
+ * records {@link InvalidationListener#STALENESS} for every batch it applies.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@staleness [-Dstaleness.writers=8] [-Dstaleness.seconds=20]
+ *     [-Dstaleness.pause-millis=0]
+ * </pre>
+ *
+ * <p>Each writer pauses for {@code pause-millis} between writes, to measure below saturation.
+ * PostgreSQL is started embedded and refuses to run as root, so run it as a regular user. The
+ * numbers in the cache invalidation ADR come from this probe.</p>
+ */
+public final class InvalidationStalenessProbe {
+
+  private static final String CHANNEL = "cache_invalidation";
+  private static final int ROWS = 1000;
+
+  private InvalidationStalenessProbe() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    if (args.length < 2) {
+      System.err.println("Usage: InvalidationStalenessProbe <writers> <seconds> [pauseMillis]");
+      System.exit(2);
+    }
+    int writers = Integer.parseInt(args[0]);
+    int seconds = Integer.parseInt(args[1]);
+    long pauseMillis = args.length > 2 ? Long.parseLong(args[2]) : 0;
+
+    try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+      DataSource dataSource = postgres.getPostgresDatabase();
+      try (Connection connection = dataSource.getConnection();
+          Statement statement = connection.createStatement()) {
+        statement.execute("create table stock(id int primary key, quantity int)");
+        statement.execute("insert into stock select g, 0 from generate_series(1, " + ROWS + ") g");
+      }
+
+      ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+      InvalidationPublisher publisher = new InvalidationPublisher(true, "node-a",
+          Class::getSimpleName, 20, 5_000,
+          (task, delayMillis) -> scheduler.schedule(task, delayMillis, TimeUnit.MILLISECONDS),
+          payload -> notify(dataSource, payload), System::currentTimeMillis,
+          new SimpleMeterRegistry());
+
+      SimpleMeterRegistry registry = percentileRegistry();
+      InvalidationListener listener = new InvalidationListener(true, CHANNEL,
+          dataSource::getConnection, localCaches(), "node-b", Duration.ofSeconds(1),
+          System::currentTimeMillis, registry);
+      Thread listening = new Thread(() -> {
+        try {
+          listener.listen();
+        } catch (SQLException e) {
+          System.err.println("Listener stopped: " + e.getMessage());
+        }
+      }, "staleness-listener");
+      listening.setDaemon(true);
+      listening.start();
+      Thread.sleep(500);
+
+      LongAdder writes = new LongAdder();
+      long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+      ExecutorService pool = Executors.newFixedThreadPool(writers);
+      for (int i = 0; i < writers; i++) {
+        pool.submit(() -> {
+          try (Connection connection = dataSource.getConnection();
+              PreparedStatement update =
+                  connection.prepareStatement("update stock set quantity = quantity + 1 where id = ?")) {
+            while (System.nanoTime() < end) {
+              long id = ThreadLocalRandom.current().nextInt(1, ROWS + 1);
+              update.setLong(1, id);
+              update.executeUpdate();
+              publisher.onInvalidation(new CacheInvalidationEvent("store", Store.class, id));
+              writes.increment();
+              if (pauseMillis > 0) {
+                Thread.sleep(pauseMillis);
+              }
+            }
+          }
+          return null;
+        });
+      }
+      pool.shutdown();
+      pool.awaitTermination(seconds + 10L, TimeUnit.SECONDS);
+      // let the last batches arrive
+      Thread.sleep(1000);
+      scheduler.shutdownNow();
+
+      Timer staleness = registry.timer(InvalidationListener.STALENESS);
+      System.out.printf("writers=%d writes/s=%d batches=%d mean=%.1fms max=%.1fms%n", writers,
+          writes.sum() / seconds, staleness.count(), staleness.mean(TimeUnit.MILLISECONDS),
+          staleness.max(TimeUnit.MILLISECONDS));
+      for (ValueAtPercentile percentile : staleness.takeSnapshot().percentileValues()) {
+        System.out.printf("  p%s=%.1fms%n", percentile.percentile() * 100,
+            percentile.value(TimeUnit.MILLISECONDS));
+      }
+    }
+  }
+
+  private static void notify(DataSource dataSource, String payload) throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement("select pg_notify(?, ?)")) {
+      statement.setString(1, CHANNEL);
+      statement.setString(2, payload);
+      statement.execute();
+    }
+  }
+
+  // node-b's caches; only the response cache matters here, the entity cache is a no-op
+  private static LocalCaches localCaches() {
+    Cache entities = (Cache) Proxy.newProxyInstance(Cache.class.getClassLoader(),
+        new Class<?>[] {Cache.class}, (proxy, method, arguments) -> null);
+    return new LocalCaches(new ResponseCache(true, 1000), entities, Map.of("Store", Store.class));
+  }
+
+  private static SimpleMeterRegistry percentileRegistry() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    registry.config().meterFilter(new MeterFilter() {
+      @Override
+      public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+        return DistributionStatisticConfig.builder()
+            .percentiles(0.5, 0.99, 0.999)
+            .build()
+            .merge(config);
+      }
+    });
+    return registry;
+  }
+}
@@ -0,0 +1,122 @@
+package com.fulfilment.application.monolith.http;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.fulfilment.application.monolith.products.Product;
+import com.fulfilment.application.monolith.stores.Store;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encode and decode time of a 1,000-element list body per format: JSON or CBOR, each with and
+ * without {@link BlackbirdModule}. The payload size of each format is printed at setup, since
+ * JMH only reports times.
+ *
+ * <pre>mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=BinaryFormat</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+  private static final int ELEMENTS = 1_000;
+
+  @Param({"store", "product", "warehouse"})
+  String body;
+
+  @Param({"json", "cbor"})
+  String format;
+
+  @Param({"false", "true"})
+  boolean blackbird;
+
+  private ObjectMapper mapper;
+  private List<?> entities;
+  private JavaType listType;
+  private byte[] encoded;
+
+  @Setup
+  public void setUp() throws IOException {
+    mapper = format.equals("cbor") ? new ObjectMapper(new CBORFactory()) : new ObjectMapper();
+    if (blackbird) {
+      mapper.registerModule(new BlackbirdModule());
+    }
+    entities = switch (body) {
+      case "store" -> stores();
+      case "product" -> products();
+      default -> warehouses();
+    };
+    listType = mapper.getTypeFactory()
+        .constructCollectionType(List.class, entities.get(0).getClass());
+    encoded = mapper.writeValueAsBytes(entities);
+    System.out.printf("%n%s as %s: %,d bytes for %,d elements%n",
+        body, format, encoded.length, ELEMENTS);
+  }
+
+  @Benchmark
+  public byte[] encode() throws IOException {
+    return mapper.writeValueAsBytes(entities);
+  }
+
+  @Benchmark
+  public List<?> decode() throws IOException {
+    return mapper.readValue(encoded, listType);
+  }
+
+  private static List<Store> stores() {
+    List<Store> stores = new ArrayList<>();
+    for (long id = 1; id <= ELEMENTS; id++) {
+      Store store = new Store("STORE-" + id);
+      store.id = id;
+      store.quantityProductsInStock = (int) (id % 50);
+      stores.add(store);
+    }
+    return stores;
+  }
+
+  private static List<Product> products() {
+    List<Product> products = new ArrayList<>();
+    for (long id = 1; id <= ELEMENTS; id++) {
+      Product product = new Product("PRODUCT-" + id);
+      product.id = id;
+      product.description = "Flat-pack item number " + id;
+      product.price = BigDecimal.valueOf(id * 10, 2);
+      product.stock = (int) (id % 50);
+      products.add(product);
+    }
+    return products;
+  }
+
+  private static List<com.warehouse.api.beans.Warehouse> warehouses() {
+    List<com.warehouse.api.beans.Warehouse> warehouses = new ArrayList<>();
+    for (long id = 1; id <= ELEMENTS; id++) {
+      com.warehouse.api.beans.Warehouse warehouse = new com.warehouse.api.beans.Warehouse();
+      warehouse.setId(String.valueOf(id));
+      warehouse.setBusinessUnitCode("MWH." + id);
+      warehouse.setLocation("AMSTERDAM-00" + (id % 3 + 1));
+      warehouse.setCapacity((int) (id % 100) + 10);
+      warehouse.setStock((int) (id % 10));
+      warehouses.add(warehouse);
+    }
+    return warehouses;
+  }
+}
@@ -0,0 +1,78 @@
+package com.fulfilment.application.monolith.http;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulfilment.application.monolith.products.Product;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-request cost of producing the body of {@code GET /product}: serialising the entity
+ * list with Jackson on every request versus looking up the pre-serialised bytes in the
+ * {@link ResponseCache}. Run with the profile's default {@code -prof gc} to compare the
+ * allocation rate ({@code gc.alloc.rate.norm}, bytes per request) next to throughput.
+ *
+ * <pre>mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=ResponseCache</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class ResponseCacheBenchmark {
+
+  private static final String REGION = "product";
+  private static final String KEY = "/product";
+
+  @Param({"3", "100"})
+  int products;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private List<Product> entities;
+  private ResponseCache cache;
+
+  @Setup
+  public void setUp() throws JsonProcessingException {
+    entities = new ArrayList<>();
+    for (long id = 1; id <= products; id++) {
+      Product product = new Product("PRODUCT-" + id);
+      product.id = id;
+      product.description = "Flat-pack item number " + id;
+      product.price = BigDecimal.valueOf(id * 10, 2);
+      product.stock = (int) id;
+      entities.add(product);
+    }
+    cache = new ResponseCache(true, 1000);
+    cache.put(REGION, KEY, cache.generation(REGION), objectMapper.writeValueAsBytes(entities), "W/\"x\"");
+    cache.get(REGION, KEY).gzip();
+  }
+
+  @Benchmark
+  public byte[] serializeEveryRequest() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(entities);
+  }
+
+  @Benchmark
+  public byte[] cachedJson() {
+    return cache.get(REGION, KEY).json();
+  }
+
+  @Benchmark
+  public byte[] cachedGzip() {
+    return cache.get(REGION, KEY).gzip();
+  }
+}
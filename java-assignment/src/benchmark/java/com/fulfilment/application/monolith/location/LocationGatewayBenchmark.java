@@ -0,0 +1,37 @@
+package com.fulfilment.application.monolith.location;
+
+import com.fulfilment.application.monolith.warehouses.Location;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lookup cost of {@link LocationGateway#resolveByIdentifier}, called once or twice per
+ * create and replace: best case (first entry), worst hit (last entry) and a miss.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocationGatewayBenchmark {
+
+  @Param({"ZWOLLE-001", "VETSBY-001", "UNKNOWN-001"})
+  String identifier;
+
+  private final LocationGateway gateway = new LocationGateway();
+
+  @Benchmark
+  public Location resolveByIdentifier() {
+    return gateway.resolveByIdentifier(identifier);
+  }
+}
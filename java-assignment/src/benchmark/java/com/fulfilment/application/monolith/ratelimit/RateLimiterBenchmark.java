@@ -0,0 +1,85 @@
+package com.fulfilment.application.monolith.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of one {@link RateLimiter} decision per request at 32 threads: the bucket lookup by
+ * client and endpoint plus the compare-and-set on the packed bucket state. With one client
+ * every thread contends on the same bucket; with 1,000 the threads mostly hit different ones.
+ * {@code limited} uses a bucket that is always empty, so it measures the rejection path.
+ *
+ * <pre>mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=RateLimiter</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(32)
+public class RateLimiterBenchmark {
+
+  private static final String ENDPOINT = "GET /warehouse";
+  private static final String LIMITED = "PATCH /store/{id}";
+
+  @State(Scope.Benchmark)
+  public static class Shared {
+
+    @Param({"1", "1000"})
+    int clients;
+
+    RateLimiter limiter;
+    RateLimitRule open;
+    RateLimitRule closed;
+    String[] names;
+
+    @Setup
+    public void setUp() {
+      long epoch = System.nanoTime();
+      // open: refills faster than 32 threads can take; closed: one token per second
+      limiter = new RateLimiter(true, new RateLimitRule(100_000_000, 4_000),
+          Map.of(LIMITED, new RateLimitRule(1, 1)), 100_000,
+          () -> (System.nanoTime() - epoch) / 1_000_000, () -> { });
+      open = limiter.rule(ENDPOINT);
+      closed = limiter.rule(LIMITED);
+      names = new String[clients];
+      for (int i = 0; i < clients; i++) {
+        names[i] = "10.0." + (i / 250) + "." + (i % 250);
+      }
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Client {
+
+    String name;
+
+    @Setup
+    public void setUp(Shared shared) {
+      name = shared.names[ThreadLocalRandom.current().nextInt(shared.clients)];
+    }
+  }
+
+  @Benchmark
+  public long admitted(Shared shared, Client client) {
+    return shared.limiter.tryAcquire(client.name, ENDPOINT, shared.open);
+  }
+
+  @Benchmark
+  public long limited(Shared shared, Client client) {
+    return shared.limiter.tryAcquire(client.name, LIMITED, shared.closed);
+  }
+}
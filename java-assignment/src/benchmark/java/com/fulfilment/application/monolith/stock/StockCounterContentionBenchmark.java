@@ -0,0 +1,135 @@
+package com.fulfilment.application.monolith.stock;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Hot-row contention: many threads adjusting the stock of the same product.
+ *
+ * <p>{@code directRowUpdate} issues one auto-committed {@code UPDATE ... SET stock = stock + 1}
+ * per operation, so every thread queues on the same row lock. {@code hotCounter} goes through
+ * {@link HotStockCounters} (group-committed delta log append + {@code LongAdder}) with a
+ * background flusher writing the sums every 100 ms. Runs against an embedded H2 database; absolute numbers differ
+ * from PostgreSQL, the ratio between the two paths is what matters.</p>
+ *
+ * <pre>mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=StockCounterContention</pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(8)
+public class StockCounterContentionBenchmark {
+
+  private static final String URL = "jdbc:h2:mem:stock-bench;DB_CLOSE_DELAY=-1";
+
+  @State(Scope.Benchmark)
+  public static class Shared {
+
+    Path logDir;
+    HotStockCounters counters;
+    ScheduledExecutorService flusher;
+    Connection schemaConnection;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException, IOException {
+      schemaConnection = DriverManager.getConnection(URL, "sa", "");
+      try (Statement statement = schemaConnection.createStatement()) {
+        statement.execute("DROP TABLE IF EXISTS product");
+        statement.execute("CREATE TABLE product (id BIGINT PRIMARY KEY, stock BIGINT NOT NULL)");
+        statement.execute("INSERT INTO product VALUES (1, 0)");
+      }
+      logDir = Files.createTempDirectory("stock-bench");
+      counters = new HotStockCounters(true, new StockDeltaLog(logDir), new JdbcSink());
+      flusher = Executors.newSingleThreadScheduledExecutor();
+      flusher.scheduleWithFixedDelay(counters::flush, 100, 100, TimeUnit.MILLISECONDS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+      flusher.shutdownNow();
+      counters.flush();
+      schemaConnection.close();
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Session {
+
+    Connection connection;
+    PreparedStatement increment;
+
+    // depends on Shared so the schema exists before the first connection prepares its statement
+    @Setup(Level.Trial)
+    public void setUp(Shared shared) throws SQLException {
+      connection = DriverManager.getConnection(URL, "sa", "");
+      increment = connection.prepareStatement("UPDATE product SET stock = stock + 1 WHERE id = 1");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+      connection.close();
+    }
+  }
+
+  @Benchmark
+  public int directRowUpdate(Session session) throws SQLException {
+    return session.increment.executeUpdate();
+  }
+
+  @Benchmark
+  public void hotCounter(Shared shared) {
+    shared.counters.add(StockTarget.PRODUCT, 1L, 1);
+  }
+
+  private static final class JdbcSink implements StockDeltaSink {
+
+    @Override
+    public long lastFlushedSegment() {
+      return 0;
+    }
+
+    // the table has no version column; pending deltas count until the flush returns
+    @Override
+    public void apply(Map<StockKey, Long> deltas, long segment,
+        Consumer<Map<StockKey, Long>> beforeCommit) {
+      try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+          PreparedStatement statement =
+              connection.prepareStatement("UPDATE product SET stock = stock + ? WHERE id = ?")) {
+        for (Map.Entry<StockKey, Long> delta : deltas.entrySet()) {
+          statement.setLong(1, delta.getValue());
+          statement.setLong(2, delta.getKey().id());
+          statement.addBatch();
+        }
+        statement.executeBatch();
+      } catch (SQLException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+}
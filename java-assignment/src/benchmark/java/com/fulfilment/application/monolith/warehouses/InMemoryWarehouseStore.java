@@ -0,0 +1,84 @@
+package com.fulfilment.application.monolith.warehouses;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed-content {@link WarehouseStore} for benchmarks: lookups hit hash maps, writes are
+ * only counted so the data set stays the same size across invocations.
+ */
+public class InMemoryWarehouseStore implements WarehouseStore {
+
+  private final Map<String, Warehouse> byBusinessUnitCode = new HashMap<>();
+  private final Map<String, List<Warehouse>> byLocation = new HashMap<>();
+
+  public long writes;
+
+  public void add(Warehouse warehouse) {
+    byBusinessUnitCode.put(warehouse.businessUnitCode, warehouse);
+    byLocation.computeIfAbsent(warehouse.location, l -> new ArrayList<>()).add(warehouse);
+  }
+
+  @Override
+  public List<Warehouse> getAll() {
+    return new ArrayList<>(byBusinessUnitCode.values());
+  }
+
+  @Override
+  public void create(Warehouse warehouse) {
+    writes++;
+  }
+
+  @Override
+  public void update(Warehouse warehouse) {
+    writes++;
+  }
+
+  @Override
+  public void remove(Warehouse warehouse) {
+    writes++;
+  }
+
+  @Override
+  public Warehouse findByBusinessUnitCode(String buCode) {
+    return byBusinessUnitCode.get(buCode);
+  }
+
+  @Override
+  public Warehouse findActiveById(Long id) {
+    return byBusinessUnitCode.values().stream()
+        .filter(warehouse -> id.equals(warehouse.id))
+        .findFirst()
+        .orElse(null);
+  }
+
+  @Override
+  public List<Warehouse> findActiveByLocation(String location) {
+    return byLocation.getOrDefault(location, List.of());
+  }
+
+  @Override
+  public List<Warehouse> findActiveByIds(Collection<Long> ids) {
+    return byBusinessUnitCode.values().stream()
+        .filter(warehouse -> ids.contains(warehouse.id))
+        .toList();
+  }
+
+  @Override
+  public List<Warehouse> findActiveByBusinessUnitCodes(Collection<String> buCodes) {
+    return buCodes.stream()
+        .map(byBusinessUnitCode::get)
+        .filter(warehouse -> warehouse != null)
+        .toList();
+  }
+
+  @Override
+  public List<Warehouse> findActiveByLocations(Collection<String> locations) {
+    return locations.stream()
+        .flatMap(location -> byLocation.getOrDefault(location, List.of()).stream())
+        .toList();
+  }
+}
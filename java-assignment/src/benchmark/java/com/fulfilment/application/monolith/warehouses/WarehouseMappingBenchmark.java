@@ -0,0 +1,69 @@
+package com.fulfilment.application.monolith.warehouses;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-object cost of the mappings every warehouse request pays: entity to domain
+ * ({@link DbWarehouse}) and domain to the generated API bean ({@link WarehouseResourceImpl}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WarehouseMappingBenchmark {
+
+  private DbWarehouse entity;
+  private Warehouse domain;
+  private com.warehouse.api.beans.Warehouse bean;
+
+  @Setup
+  public void setUp() {
+    entity = new DbWarehouse();
+    entity.id = 1L;
+    entity.businessUnitCode = "MWH.001";
+    entity.location = "ZWOLLE-001";
+    entity.capacity = 100;
+    entity.stock = 10;
+    entity.createdAt = LocalDateTime.of(2024, 7, 1, 0, 0);
+    domain = entity.toWarehouse();
+    bean = WarehouseResourceImpl.toWarehouseResponse(domain);
+  }
+
+  @Benchmark
+  public Warehouse dbToDomain() {
+    return entity.toWarehouse();
+  }
+
+  @Benchmark
+  public DbWarehouse domainToDb() {
+    return DbWarehouse.fromWarehouse(domain);
+  }
+
+  @Benchmark
+  public com.warehouse.api.beans.Warehouse domainToBean() {
+    return WarehouseResourceImpl.toWarehouseResponse(domain);
+  }
+
+  @Benchmark
+  public com.warehouse.api.beans.Warehouse dbToBean() {
+    return WarehouseResourceImpl.toWarehouseResponse(entity.toWarehouse());
+  }
+
+  @Benchmark
+  public Warehouse beanToDomain() {
+    return WarehouseResourceImpl.toDomainWarehouse(bean);
+  }
+}
@@ -0,0 +1,83 @@
+package com.fulfilment.application.monolith.warehouses;
+
+import com.fulfilment.application.monolith.warehouses.create.CreateWarehouseUseCase;
+import com.fulfilment.application.monolith.warehouses.replace.ReplaceWarehouseUseCase;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Business-rule cost of the create and replace use cases, isolated from persistence by an
+ * {@link InMemoryWarehouseStore}, a map-backed {@link LocationResolver} and {@link DiscardedEvents}.
+ * The rejected variant measures the validation-failure path, which is thrown on every bad request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WarehouseUseCaseBenchmark {
+
+  private CreateWarehouseUseCase createUseCase;
+  private ReplaceWarehouseUseCase replaceUseCase;
+
+  @Setup
+  public void setUp() {
+    InMemoryWarehouseStore store = new InMemoryWarehouseStore();
+    store.add(warehouse("MWH.001", "ZWOLLE-001", 30, 10));
+    store.add(warehouse("MWH.012", "AMSTERDAM-001", 50, 5));
+    store.add(warehouse("MWH.023", "TILBURG-001", 30, 27));
+
+    Map<String, Location> locations = Map.of(
+        "ZWOLLE-001", new Location("ZWOLLE-001", 1, 40),
+        "AMSTERDAM-001", new Location("AMSTERDAM-001", 5, 100),
+        "TILBURG-001", new Location("TILBURG-001", 1, 40));
+    LocationResolver resolver = locations::get;
+
+    createUseCase = new CreateWarehouseUseCase(store, resolver, new DiscardedEvents<>());
+    replaceUseCase = new ReplaceWarehouseUseCase(store, resolver, new DiscardedEvents<>());
+  }
+
+  @Benchmark
+  public Warehouse createAccepted() {
+    Warehouse warehouse = warehouse("MWH.100", "AMSTERDAM-001", 20, 5);
+    createUseCase.create(warehouse);
+    return warehouse;
+  }
+
+  @Benchmark
+  public Object createRejected() {
+    try {
+      createUseCase.create(warehouse("MWH.001", "AMSTERDAM-001", 20, 5));
+      return null;
+    } catch (WarehouseValidationException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Warehouse replaceAccepted() {
+    Warehouse warehouse = warehouse("MWH.012", "AMSTERDAM-001", 60, 5);
+    replaceUseCase.replace(warehouse);
+    return warehouse;
+  }
+
+  private static Warehouse warehouse(String buCode, String location, int capacity, int stock) {
+    Warehouse warehouse = new Warehouse();
+    warehouse.businessUnitCode = buCode;
+    warehouse.location = location;
+    warehouse.capacity = capacity;
+    warehouse.stock = stock;
+    return warehouse;
+  }
+}
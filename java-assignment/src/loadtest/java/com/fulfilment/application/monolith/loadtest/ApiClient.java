@@ -0,0 +1,82 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Thin {@link HttpClient} wrapper that times every call and files it under a stable endpoint
+ * name (e.g. {@code store.get}) rather than the concrete URI, so ids don't split histograms.
+ */
+class ApiClient {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+  private final HttpClient http;
+  private final URI host;
+  private final LatencyRecorder recorder;
+
+  ApiClient(URI host, LatencyRecorder recorder) {
+    this.http = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(TIMEOUT)
+        .build();
+    this.host = host;
+    this.recorder = recorder;
+  }
+
+  /**
+   * Sends the request and returns the response, or {@code null} when the status is not one of
+   * {@code expected} or the call failed; both cases are counted as errors for the endpoint.
+   */
+  Result call(String endpoint, String method, String path, String json, int... expected) {
+    HttpRequest.Builder request = HttpRequest.newBuilder(host.resolve(path))
+        .timeout(TIMEOUT)
+        .header("Accept", "application/json");
+    if (json == null) {
+      request.method(method, HttpRequest.BodyPublishers.noBody());
+    } else {
+      request.header("Content-Type", "application/json")
+          .method(method, HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    long start = System.nanoTime();
+    HttpResponse<String> response;
+    try {
+      response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    } catch (IOException e) {
+      recorder.recordError(endpoint);
+      return null;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    }
+    recorder.record(endpoint, (System.nanoTime() - start) / 1_000);
+
+    for (int status : expected) {
+      if (response.statusCode() == status) {
+        return new Result(status, response.body());
+      }
+    }
+    recorder.recordError(endpoint);
+    return null;
+  }
+
+  record Result(int status, String body) {
+
+    JsonNode json() {
+      try {
+        return MAPPER.readTree(body);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+}
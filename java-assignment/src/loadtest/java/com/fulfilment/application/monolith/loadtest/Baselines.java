@@ -0,0 +1,87 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Stored p99 latency and throughput per endpoint, as a properties file:
+ *
+ * <pre>
+ * store.get.p99-ms=12.5
+ * store.get.throughput=180.0
+ * </pre>
+ *
+ * <p>A run regresses when an endpoint's p99 exceeds its baseline by more than the tolerance,
+ * or its throughput falls below the baseline by more than the tolerance. Endpoints without a
+ * baseline are reported but never fail the run.</p>
+ */
+class Baselines {
+
+  private final Properties values;
+
+  private Baselines(Properties values) {
+    this.values = values;
+  }
+
+  static Baselines load(Path file) throws IOException {
+    Properties values = new Properties();
+    if (Files.exists(file)) {
+      try (Reader reader = Files.newBufferedReader(file)) {
+        values.load(reader);
+      }
+    }
+    return new Baselines(values);
+  }
+
+  boolean isEmpty() {
+    return values.isEmpty();
+  }
+
+  /** Human-readable regressions, empty when the run is within tolerance. */
+  List<String> regressions(Map<String, EndpointResult> results, double tolerance) {
+    List<String> regressions = new ArrayList<>();
+    results.forEach((endpoint, result) -> {
+      String p99 = values.getProperty(endpoint + ".p99-ms");
+      if (p99 != null && result.p99Millis() > Double.parseDouble(p99) * (1 + tolerance)) {
+        regressions.add(String.format("%s p99 %.2f ms > baseline %s ms", endpoint, result.p99Millis(), p99));
+      }
+      String throughput = values.getProperty(endpoint + ".throughput");
+      if (throughput != null
+          && result.throughput() < Double.parseDouble(throughput) * (1 - tolerance)) {
+        regressions.add(String.format("%s throughput %.1f/s < baseline %s/s",
+            endpoint, result.throughput(), throughput));
+      }
+    });
+    return regressions;
+  }
+
+  /** Overwrites the baseline; {@code load} names the load shape it was measured under. */
+  static void save(Path file, Map<String, EndpointResult> results, String load)
+      throws IOException {
+    Properties values = new Properties();
+    results.forEach((endpoint, result) -> {
+      // parsed back with Double.parseDouble, so never with a decimal comma
+      values.setProperty(endpoint + ".p99-ms",
+          String.format(Locale.ROOT, "%.2f", result.p99Millis()));
+      values.setProperty(endpoint + ".throughput",
+          String.format(Locale.ROOT, "%.1f", result.throughput()));
+    });
+    Files.createDirectories(file.toAbsolutePath().getParent());
+    try (Writer writer = Files.newBufferedWriter(file)) {
+      values.store(writer, "Load-test baseline for " + load
+          + "; regenerate with -Dloadtest.update-baseline=true");
+    }
+  }
+
+  record EndpointResult(long count, long errors, double p50Millis, double p99Millis,
+      double maxMillis, double throughput) {
+  }
+}
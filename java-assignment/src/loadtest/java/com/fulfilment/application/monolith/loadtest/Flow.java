@@ -0,0 +1,14 @@
+package com.fulfilment.application.monolith.loadtest;
+
+/**
+ * One scripted user journey, replayed from the hand-run scenarios in
+ * {@code src/test/resources/e2e}. Implementations clean up what they create so the data set
+ * stays stable over a long run.
+ */
+interface Flow {
+
+  String name();
+
+  /** Runs the journey once; {@code sequence} is unique per run and used to build unique keys. */
+  void run(ApiClient client, long sequence);
+}
@@ -0,0 +1,46 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Per-endpoint latency histograms (microseconds) and unexpected-status counts, safe to record
+ * into from any number of load threads.
+ */
+class LatencyRecorder {
+
+  private static final int SIGNIFICANT_DIGITS = 3;
+
+  private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+  void record(String endpoint, long micros) {
+    recorders.computeIfAbsent(endpoint, e -> new Recorder(SIGNIFICANT_DIGITS)).recordValue(micros);
+  }
+
+  void recordError(String endpoint) {
+    errors.computeIfAbsent(endpoint, e -> new LongAdder()).increment();
+  }
+
+  /** Drops everything recorded so far, e.g. at the end of the warm-up. */
+  void reset() {
+    recorders.values().forEach(Recorder::reset);
+    errors.values().forEach(LongAdder::reset);
+  }
+
+  /** Histograms recorded since the last reset or snapshot, sorted by endpoint name. */
+  Map<String, Histogram> snapshot() {
+    Map<String, Histogram> histograms = new TreeMap<>();
+    recorders.forEach((endpoint, recorder) -> histograms.put(endpoint, recorder.getIntervalHistogram()));
+    return histograms;
+  }
+
+  long errors(String endpoint) {
+    LongAdder count = errors.get(endpoint);
+    return count == null ? 0 : count.sum();
+  }
+}
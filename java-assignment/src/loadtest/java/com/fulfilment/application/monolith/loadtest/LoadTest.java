@@ -0,0 +1,178 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import com.fulfilment.application.monolith.loadtest.Baselines.EndpointResult;
+import com.fulfilment.application.monolith.loadtest.LoadTestConfig.Model;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Replays the E2E flows against a running application and checks the result against stored
+ * baselines.
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec [-Dloadtest.model=open -Dloadtest.rate=100]
+ * </pre>
+ *
+ * <p>Per-endpoint histograms are written to {@code target/loadtest/*.hgrm} (HdrHistogram
+ * percentile format). Flow latencies are recorded as {@code flow.<name>}: in the open model they
+ * are measured from the scheduled start, so queueing inside the load generator is not hidden.
+ * The application's live threads and used heap are sampled alongside and reported after the
+ * table. Exits with status 1 on a baseline regression.</p>
+ */
+public final class LoadTest {
+
+  private final LoadTestConfig config;
+  private final LatencyRecorder recorder = new LatencyRecorder();
+  private final List<Flow> flows = new ArrayList<>();
+  private final AtomicLong sequence = new AtomicLong();
+
+  private volatile boolean running = true;
+
+  LoadTest(LoadTestConfig config) {
+    this.config = config;
+    String runId = Long.toString(System.currentTimeMillis() % 1_000_000, 36);
+    for (String flow : config.flows()) {
+      switch (flow.trim()) {
+        case "store" -> flows.add(new StoreFlow(runId));
+        case "warehouse" -> flows.add(new WarehouseFlow(runId));
+        default -> throw new IllegalArgumentException("Unknown flow '" + flow + "'.");
+      }
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+    System.exit(new LoadTest(config).run(System.out));
+  }
+
+  int run(PrintStream out) throws InterruptedException, IOException {
+    out.printf("Load test against %s: %s%n", config.host(), config.describe());
+
+    ApiClient client = new ApiClient(config.host(), recorder);
+    ServerResources serverResources = new ServerResources(config.host());
+    serverResources.start();
+    Runnable stop = config.model() == Model.CLOSED ? startClosed(client) : startOpen(client);
+
+    Thread.sleep(config.warmup().toMillis());
+    recorder.reset();
+    serverResources.reset();
+    long start = System.nanoTime();
+    Thread.sleep(config.duration().toMillis());
+    Map<String, Histogram> histograms = recorder.snapshot();
+    double seconds = (System.nanoTime() - start) / 1e9;
+    serverResources.stop();
+    stop.run();
+
+    Map<String, EndpointResult> results = summarise(histograms, seconds);
+    print(out, results);
+    out.println(serverResources.summary());
+    writeHistograms(histograms);
+
+    if (config.updateBaseline()) {
+      Baselines.save(config.baseline(), results, config.describe());
+      out.printf("Baseline written to %s%n", config.baseline());
+      return 0;
+    }
+    Baselines baselines = Baselines.load(config.baseline());
+    if (baselines.isEmpty()) {
+      out.printf("No baseline at %s; run with -Dloadtest.update-baseline=true to create one%n",
+          config.baseline());
+      return 0;
+    }
+    List<String> regressions = baselines.regressions(results, config.tolerance());
+    regressions.forEach(r -> out.println("REGRESSION " + r));
+    return regressions.isEmpty() ? 0 : 1;
+  }
+
+  private Runnable startClosed(ApiClient client) {
+    ExecutorService users = Executors.newFixedThreadPool(config.concurrency());
+    for (int i = 0; i < config.concurrency(); i++) {
+      users.submit(() -> {
+        while (running) {
+          runFlow(client, System.nanoTime());
+        }
+      });
+    }
+    return () -> shutdown(users);
+  }
+
+  private Runnable startOpen(ApiClient client) {
+    ExecutorService workers = Executors.newCachedThreadPool();
+    ScheduledExecutorService arrivals = Executors.newSingleThreadScheduledExecutor();
+    long periodNanos = (long) (1e9 / config.arrivalsPerSecond());
+    arrivals.scheduleAtFixedRate(() -> {
+      long scheduled = System.nanoTime();
+      workers.submit(() -> runFlow(client, scheduled));
+    }, 0, periodNanos, TimeUnit.NANOSECONDS);
+    return () -> {
+      arrivals.shutdownNow();
+      shutdown(workers);
+    };
+  }
+
+  private void runFlow(ApiClient client, long scheduledNanos) {
+    long next = sequence.getAndIncrement();
+    Flow flow = flows.get((int) (next % flows.size()));
+    try {
+      flow.run(client, next);
+    } catch (RuntimeException e) {
+      recorder.recordError("flow." + flow.name());
+    }
+    recorder.record("flow." + flow.name(), (System.nanoTime() - scheduledNanos) / 1_000);
+  }
+
+  private void shutdown(ExecutorService executor) {
+    running = false;
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+        executor.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private Map<String, EndpointResult> summarise(Map<String, Histogram> histograms, double seconds) {
+    Map<String, EndpointResult> results = new LinkedHashMap<>();
+    histograms.forEach((endpoint, h) -> results.put(endpoint, new EndpointResult(
+        h.getTotalCount(),
+        recorder.errors(endpoint),
+        h.getValueAtPercentile(50) / 1000.0,
+        h.getValueAtPercentile(99) / 1000.0,
+        h.getMaxValue() / 1000.0,
+        h.getTotalCount() / seconds)));
+    return results;
+  }
+
+  private static void print(PrintStream out, Map<String, EndpointResult> results) {
+    out.printf("%-20s %9s %7s %10s %10s %10s %10s%n",
+        "endpoint", "count", "errors", "p50 ms", "p99 ms", "max ms", "req/s");
+    results.forEach((endpoint, r) -> out.printf("%-20s %9d %7d %10.2f %10.2f %10.2f %10.1f%n",
+        endpoint, r.count(), r.errors(), r.p50Millis(), r.p99Millis(), r.maxMillis(), r.throughput()));
+  }
+
+  private void writeHistograms(Map<String, Histogram> histograms) throws IOException {
+    Files.createDirectories(config.reportDir());
+    for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+      Path file = config.reportDir().resolve(entry.getKey() + ".hgrm");
+      try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+        // microsecond values, scaled to milliseconds in the output
+        entry.getValue().outputPercentileDistribution(out, 1000.0);
+      }
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Load-test settings, read from {@code loadtest.*} system properties (the {@code loadtest}
+ * Maven profile passes its properties through, so {@code -Dloadtest.concurrency=32} works on
+ * the command line).
+ */
+record LoadTestConfig(
+    URI host,
+    Model model,
+    int concurrency,
+    double arrivalsPerSecond,
+    Duration warmup,
+    Duration duration,
+    List<String> flows,
+    Path baseline,
+    double tolerance,
+    boolean updateBaseline,
+    Path reportDir) {
+
+  /**
+   * Closed: a fixed number of virtual users each run flows back to back, so throughput is
+   * whatever the server sustains. Open: flows start at a fixed arrival rate regardless of
+   * how many are still running, so a slow server builds a queue instead of slowing the load.
+   */
+  enum Model {
+    CLOSED, OPEN
+  }
+
+  /** The load shape, printed with the results and recorded in a baseline. */
+  String describe() {
+    return String.format("%s model, %s, warm-up %ds, measure %ds", model,
+        model == Model.CLOSED ? concurrency + " users" : arrivalsPerSecond + " flows/s",
+        warmup.toSeconds(), duration.toSeconds());
+  }
+
+  static LoadTestConfig fromSystemProperties() {
+    return new LoadTestConfig(
+        URI.create(property("host", "http://localhost:8080")),
+        Model.valueOf(property("model", "closed").toUpperCase()),
+        Integer.parseInt(property("concurrency", "8")),
+        Double.parseDouble(property("rate", "5")),
+        Duration.ofSeconds(Long.parseLong(property("warmup-seconds", "10"))),
+        Duration.ofSeconds(Long.parseLong(property("duration-seconds", "30"))),
+        List.of(property("flows", "store,warehouse").split(",")),
+        Path.of(property("baseline", "src/loadtest/resources/baseline-closed.properties")),
+        Double.parseDouble(property("tolerance", "0.2")),
+        Boolean.parseBoolean(property("update-baseline", "false")),
+        Path.of(property("report-dir", "target/loadtest")));
+  }
+
+  private static String property(String name, String defaultValue) {
+    String value = System.getProperty("loadtest." + name);
+    return value == null || value.isBlank() ? defaultValue : value.trim();
+  }
+}
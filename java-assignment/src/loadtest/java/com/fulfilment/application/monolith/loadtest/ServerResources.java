@@ -0,0 +1,111 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Samples the application's live thread count ({@code jvm_threads_live_threads}) and used heap
+ * (the {@code jvm_memory_used_bytes} of all heap pools) on {@code /q/metrics} once a second, so
+ * runs of different execution models can be compared by what they cost as well as by
+ * throughput. A sample that cannot be read is skipped.
+ */
+class ServerResources {
+
+  private static final Pattern LIVE_THREADS =
+      Pattern.compile("^jvm_threads_live_threads(?:\\{[^}]*})? (\\S+)$", Pattern.MULTILINE);
+  private static final Pattern HEAP_USED = Pattern.compile(
+      "^jvm_memory_used_bytes\\{[^}]*area=\"heap\"[^}]*} (\\S+)$", Pattern.MULTILINE);
+
+  private final HttpClient http = HttpClient.newHttpClient();
+  private final URI metrics;
+  private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+
+  private final Series threads = new Series();
+  private final Series heapMiB = new Series();
+
+  ServerResources(URI host) {
+    this.metrics = host.resolve("/q/metrics");
+  }
+
+  void start() {
+    sampler.scheduleAtFixedRate(this::sample, 0, 1, TimeUnit.SECONDS);
+  }
+
+  void stop() {
+    sampler.shutdownNow();
+  }
+
+  /** Forgets the samples so far, e.g. at the end of the warm-up. */
+  synchronized void reset() {
+    threads.reset();
+    heapMiB.reset();
+  }
+
+  synchronized String summary() {
+    if (threads.samples == 0) {
+      return "Server resources: no samples (is /q/metrics exposed?)";
+    }
+    return String.format("Server threads: mean %d, peak %d; heap used MiB: mean %d, peak %d"
+            + " (%d samples)",
+        threads.mean(), threads.peak, heapMiB.mean(), heapMiB.peak, threads.samples);
+  }
+
+  private void sample() {
+    HttpRequest request = HttpRequest.newBuilder(metrics).timeout(Duration.ofSeconds(5)).build();
+    try {
+      String body = http.send(request, HttpResponse.BodyHandlers.ofString()).body();
+      Matcher live = LIVE_THREADS.matcher(body);
+      if (!live.find()) {
+        return;
+      }
+      double heapBytes = 0;
+      Matcher heap = HEAP_USED.matcher(body);
+      while (heap.find()) {
+        heapBytes += Double.parseDouble(heap.group(1));
+      }
+      record((long) Double.parseDouble(live.group(1)), (long) (heapBytes / (1024 * 1024)));
+    } catch (IOException | NumberFormatException e) {
+      // a busy server may not answer in time; the next sample will do
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private synchronized void record(long liveThreads, long usedHeapMiB) {
+    threads.add(liveThreads);
+    heapMiB.add(usedHeapMiB);
+  }
+
+  /** Mean and peak of one sampled value. */
+  private static final class Series {
+
+    long samples;
+    long sum;
+    long peak;
+
+    void add(long value) {
+      samples++;
+      sum += value;
+      peak = Math.max(peak, value);
+    }
+
+    long mean() {
+      return samples == 0 ? 0 : sum / samples;
+    }
+
+    void reset() {
+      samples = 0;
+      sum = 0;
+      peak = 0;
+    }
+  }
+}
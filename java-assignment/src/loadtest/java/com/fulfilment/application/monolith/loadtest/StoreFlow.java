@@ -0,0 +1,36 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import com.fulfilment.application.monolith.loadtest.ApiClient.Result;
+
+/** E2E-Store.http as a loop: list, create, read, patch, then delete the created store. */
+class StoreFlow implements Flow {
+
+  private final String runId;
+
+  StoreFlow(String runId) {
+    this.runId = runId;
+  }
+
+  @Override
+  public String name() {
+    return "store";
+  }
+
+  @Override
+  public void run(ApiClient client, long sequence) {
+    client.call("store.list", "GET", "/store", null, 200);
+
+    String name = "LT-" + runId + "-" + sequence;
+    Result created = client.call("store.create", "POST", "/store",
+        "{\"name\":\"" + name + "\",\"quantityProductsInStock\":15}", 201);
+    if (created == null) {
+      return;
+    }
+    long id = created.json().path("id").asLong();
+
+    client.call("store.get", "GET", "/store/" + id, null, 200);
+    client.call("store.patch", "PATCH", "/store/" + id,
+        "{\"name\":\"" + name + "-P\",\"quantityProductsInStock\":8}", 200);
+    client.call("store.delete", "DELETE", "/store/" + id, null, 204);
+  }
+}
@@ -0,0 +1,56 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import com.fulfilment.application.monolith.loadtest.ApiClient.Result;
+import java.util.List;
+
+/**
+ * E2E-Warehouse.http as a loop: list, create, replace with more capacity, then read and
+ * archive the active warehouse.
+ *
+ * <p>Creates are spread over the larger locations. Under high concurrency a location can still
+ * be full or out of capacity; the resulting 400 is a valid business answer, so it is expected
+ * and the rest of the journey is skipped.</p>
+ */
+class WarehouseFlow implements Flow {
+
+  private static final List<String> LOCATIONS =
+      List.of("AMSTERDAM-001", "AMSTERDAM-002", "EINDHOVEN-001", "ZWOLLE-002");
+
+  private final String runId;
+
+  WarehouseFlow(String runId) {
+    this.runId = runId;
+  }
+
+  @Override
+  public String name() {
+    return "warehouse";
+  }
+
+  @Override
+  public void run(ApiClient client, long sequence) {
+    client.call("warehouse.list", "GET", "/warehouse", null, 200);
+
+    String code = "LT." + runId + "." + sequence;
+    String location = LOCATIONS.get((int) (sequence % LOCATIONS.size()));
+    Result created = client.call("warehouse.create", "POST", "/warehouse",
+        warehouse(code, location, 10, 2), 200, 201, 400);
+    if (created == null || created.status() == 400) {
+      return;
+    }
+
+    // a rejected replacement leaves the original active; it is archived instead
+    Result replaced = client.call("warehouse.replace", "POST", "/warehouse/" + code + "/replacement",
+        warehouse(code, location, 12, 2), 200, 400);
+    String id = (replaced != null && replaced.status() == 200 ? replaced : created)
+        .json().path("id").asText();
+
+    client.call("warehouse.get", "GET", "/warehouse/" + id, null, 200);
+    client.call("warehouse.archive", "DELETE", "/warehouse/" + id, null, 204);
+  }
+
+  private static String warehouse(String code, String location, int capacity, int stock) {
+    return "{\"businessUnitCode\":\"" + code + "\",\"location\":\"" + location
+        + "\",\"capacity\":" + capacity + ",\"stock\":" + stock + "}";
+  }
+}
@@ -0,0 +1,161 @@
+package com.fulfilment.application.monolith.admission;
+
+import com.fulfilment.application.monolith.http.ApiException;
+import com.fulfilment.application.monolith.http.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Admits or sheds requests of the {@code ConnectionBound} resources against two adaptive
+ * limits, one per {@link Lane}.
+ *
+ * <p>Each lane learns its limit from its own latency ({@link GradientLimit}). Writes have
+ * priority: a running write counts against the read limit, but reads do not count against the
+ * write limit, so under load the list scans are shed first. A request over its limit is
+ * answered {@code 503} with {@code Retry-After} at once, instead of queuing for a pool
+ * connection until it times out. For {@code admission.readiness-window} after a request was
+ * shed, {@link #isShedding()} is true and the instance reports itself not ready.</p>
+ */
+@ApplicationScoped
+public class AdmissionController {
+
+  // admission.limit / admission.in-flight: current limit and running requests, per lane
+  static final String LIMIT = "admission.limit";
+  static final String IN_FLIGHT = "admission.in-flight";
+  // admission.rejected: requests answered 503, per lane
+  static final String REJECTED = "admission.rejected";
+
+  /** Reads are the resources' plain methods, writes those that open a transaction. */
+  public enum Lane {
+    READ,
+    WRITE
+  }
+
+  private final boolean enabled;
+  private final Duration retryAfter;
+  private final long readinessWindowNanos;
+  private final LongSupplier nanoTime;
+
+  private final GradientLimit readLimit;
+  private final GradientLimit writeLimit;
+  private final AtomicInteger reads = new AtomicInteger();
+  private final AtomicInteger writes = new AtomicInteger();
+  // samples are dropped rather than waited for while another thread updates the limits
+  private final ReentrantLock sampling = new ReentrantLock();
+  private final Counter readsRejected;
+  private final Counter writesRejected;
+
+  private volatile long lastRejection;
+  private volatile boolean rejectedOnce;
+
+  @Inject
+  public AdmissionController(
+      @ConfigProperty(name = "admission.enabled", defaultValue = "true") boolean enabled,
+      @ConfigProperty(name = "admission.initial-limit", defaultValue = "20") int initialLimit,
+      @ConfigProperty(name = "admission.min-limit", defaultValue = "8") int minLimit,
+      @ConfigProperty(name = "admission.max-limit", defaultValue = "200") int maxLimit,
+      @ConfigProperty(name = "admission.rtt-tolerance", defaultValue = "1.5") double tolerance,
+      @ConfigProperty(name = "admission.retry-after", defaultValue = "PT1S") Duration retryAfter,
+      @ConfigProperty(name = "admission.readiness-window", defaultValue = "PT5S")
+          Duration readinessWindow,
+      MeterRegistry registry) {
+    this(enabled, new GradientLimit(initialLimit, minLimit, maxLimit, tolerance),
+        new GradientLimit(initialLimit, minLimit, maxLimit, tolerance),
+        retryAfter, readinessWindow, System::nanoTime,
+        registry.counter(REJECTED, "lane", "read"), registry.counter(REJECTED, "lane", "write"));
+    Gauge.builder(LIMIT, readLimit, GradientLimit::limit).tag("lane", "read").register(registry);
+    Gauge.builder(LIMIT, writeLimit, GradientLimit::limit).tag("lane", "write").register(registry);
+    Gauge.builder(IN_FLIGHT, reads, AtomicInteger::get).tag("lane", "read").register(registry);
+    Gauge.builder(IN_FLIGHT, writes, AtomicInteger::get).tag("lane", "write").register(registry);
+  }
+
+  AdmissionController(boolean enabled, GradientLimit readLimit, GradientLimit writeLimit,
+      Duration retryAfter, Duration readinessWindow, LongSupplier nanoTime,
+      Counter readsRejected, Counter writesRejected) {
+    this.enabled = enabled;
+    this.readLimit = readLimit;
+    this.writeLimit = writeLimit;
+    this.retryAfter = retryAfter;
+    this.readinessWindowNanos = readinessWindow.toNanos();
+    this.nanoTime = nanoTime;
+    this.readsRejected = readsRejected;
+    this.writesRejected = writesRejected;
+  }
+
+  /**
+   * Takes a place in the lane, to be given back with {@link #release}.
+   *
+   * @throws ApiException {@code SERVICE_UNAVAILABLE} with a retry delay when the lane is full
+   */
+  void acquire(Lane lane) {
+    if (!enabled) {
+      return;
+    }
+    boolean admitted = lane == Lane.WRITE
+        ? increment(writes, writeLimit.limit(), null)
+        : increment(reads, readLimit.limit(), writes);
+    if (!admitted) {
+      lastRejection = nanoTime.getAsLong();
+      rejectedOnce = true;
+      (lane == Lane.WRITE ? writesRejected : readsRejected).increment();
+      throw new ApiException(ErrorCode.SERVICE_UNAVAILABLE, "CONCURRENCY_LIMIT",
+          "Too many concurrent " + lane.name().toLowerCase() + " requests; retry later.",
+          retryAfter);
+    }
+  }
+
+  /**
+   * Gives back the place taken by {@link #acquire}. {@code rttNanos} is how long the request
+   * took, or negative when it failed and should not teach the limit anything.
+   */
+  void release(Lane lane, long rttNanos) {
+    if (!enabled) {
+      return;
+    }
+    AtomicInteger inFlight = lane == Lane.WRITE ? writes : reads;
+    int running = inFlight.getAndDecrement();
+    if (rttNanos < 0 || !sampling.tryLock()) {
+      return;
+    }
+    try {
+      (lane == Lane.WRITE ? writeLimit : readLimit).onSample(rttNanos, running);
+    } finally {
+      sampling.unlock();
+    }
+  }
+
+  /** Whether a request was shed within the readiness window. */
+  public boolean isShedding() {
+    return rejectedOnce && nanoTime.getAsLong() - lastRejection < readinessWindowNanos;
+  }
+
+  public int limit(Lane lane) {
+    return (lane == Lane.WRITE ? writeLimit : readLimit).limit();
+  }
+
+  public int inFlight(Lane lane) {
+    return (lane == Lane.WRITE ? writes : reads).get();
+  }
+
+  // admits while this lane plus the higher-priority one stay below the limit
+  private static boolean increment(AtomicInteger inFlight, int limit, AtomicInteger priority) {
+    while (true) {
+      int current = inFlight.get();
+      int ahead = priority != null ? priority.get() : 0;
+      if (current + ahead >= limit) {
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+}
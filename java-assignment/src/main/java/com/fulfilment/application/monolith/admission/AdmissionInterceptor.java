@@ -0,0 +1,67 @@
+package com.fulfilment.application.monolith.admission;
+
+import com.fulfilment.application.monolith.admission.AdmissionController.Lane;
+import com.fulfilment.application.monolith.datasource.ConnectionBound;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.Priority;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import jakarta.transaction.Transactional;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs {@link ConnectionBound} methods through the {@link AdmissionController} and reports how
+ * long they took. It runs first, before the connection permits and {@code @Transactional}, so a
+ * shed request costs neither. Methods that return a stream or a future are not limited: they
+ * return before their work is done, so their duration says nothing.
+ */
+@ConnectionBound
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE)
+public class AdmissionInterceptor {
+
+  // the lane of each method, looked up once; empty for methods that are not limited
+  private static final Map<Method, Optional<Lane>> LANES = new ConcurrentHashMap<>();
+
+  private final AdmissionController controller;
+
+  public AdmissionInterceptor(AdmissionController controller) {
+    this.controller = controller;
+  }
+
+  @AroundInvoke
+  Object admit(InvocationContext context) throws Exception {
+    Lane lane = LANES.computeIfAbsent(context.getMethod(), AdmissionInterceptor::laneOf)
+        .orElse(null);
+    if (lane == null) {
+      return context.proceed();
+    }
+    controller.acquire(lane);
+    long started = System.nanoTime();
+    long rttNanos = -1;
+    try {
+      Object result = context.proceed();
+      rttNanos = System.nanoTime() - started;
+      return result;
+    } finally {
+      controller.release(lane, rttNanos);
+    }
+  }
+
+  static Optional<Lane> laneOf(Method method) {
+    Class<?> returned = method.getReturnType();
+    if (Multi.class.isAssignableFrom(returned) || Uni.class.isAssignableFrom(returned)
+        || CompletionStage.class.isAssignableFrom(returned)) {
+      return Optional.empty();
+    }
+    boolean transactional = method.isAnnotationPresent(Transactional.class)
+        || method.getDeclaringClass().isAnnotationPresent(Transactional.class);
+    return Optional.of(transactional ? Lane.WRITE : Lane.READ);
+  }
+}
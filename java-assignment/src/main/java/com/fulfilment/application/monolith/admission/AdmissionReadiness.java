@@ -0,0 +1,33 @@
+package com.fulfilment.application.monolith.admission;
+
+import com.fulfilment.application.monolith.admission.AdmissionController.Lane;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Reports the instance not ready on {@code /q/health/ready} while it sheds load, so a load
+ * balancer sends new traffic elsewhere until the limits have recovered.
+ */
+@Readiness
+@ApplicationScoped
+public class AdmissionReadiness implements HealthCheck {
+
+  private final AdmissionController controller;
+
+  public AdmissionReadiness(AdmissionController controller) {
+    this.controller = controller;
+  }
+
+  @Override
+  public HealthCheckResponse call() {
+    return HealthCheckResponse.named("admission")
+        .status(!controller.isShedding())
+        .withData("readLimit", controller.limit(Lane.READ))
+        .withData("readsInFlight", controller.inFlight(Lane.READ))
+        .withData("writeLimit", controller.limit(Lane.WRITE))
+        .withData("writesInFlight", controller.inFlight(Lane.WRITE))
+        .build();
+  }
+}
@@ -0,0 +1,61 @@
+package com.fulfilment.application.monolith.admission;
+
+/**
+ * A concurrency limit learned from latency, after the gradient algorithm of Netflix's
+ * concurrency-limits library.
+ *
+ * <p>Each sample compares the latency of one request with a long-term average. While they are
+ * close, the limit grows by about its square root, so it probes for more capacity. When
+ * latency rises past {@code tolerance} times the average, requests are queuing for something
+ * (here: pool connections), and the limit shrinks in proportion, by at most half per step.
+ * Samples taken while less than half the limit is in use say nothing about the limit and only
+ * update the average. Not thread-safe; {@link AdmissionController} serializes the samples.</p>
+ */
+final class GradientLimit {
+
+  // weight of one sample in the long-term average, about the last 100 requests
+  private static final double LONG_RTT_WEIGHT = 2.0 / 101;
+  // weight of a new estimate in the limit, so one slow request does not halve it
+  private static final double SMOOTHING = 0.2;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double tolerance;
+
+  private double estimate;
+  private double longRttNanos;
+  private volatile int limit;
+
+  GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.tolerance = tolerance;
+    this.estimate = clamp(initialLimit, minLimit, maxLimit);
+    this.limit = (int) estimate;
+  }
+
+  int limit() {
+    return limit;
+  }
+
+  /** Learns from one request that took {@code rttNanos} with {@code inFlight} requests running. */
+  void onSample(long rttNanos, int inFlight) {
+    double rtt = Math.max(1, rttNanos);
+    longRttNanos = longRttNanos == 0 ? rtt : longRttNanos + (rtt - longRttNanos) * LONG_RTT_WEIGHT;
+    // after an overload the average is inflated; let it come down to the recovered latency
+    if (longRttNanos / rtt > 2) {
+      longRttNanos *= 0.95;
+    }
+    if (inFlight < estimate / 2) {
+      return;
+    }
+    double gradient = clamp(tolerance * longRttNanos / rtt, 0.5, 1.0);
+    double next = estimate * gradient + Math.sqrt(estimate);
+    estimate = clamp(estimate * (1 - SMOOTHING) + next * SMOOTHING, minLimit, maxLimit);
+    limit = (int) estimate;
+  }
+
+  private static double clamp(double value, double min, double max) {
+    return Math.max(min, Math.min(max, value));
+  }
+}
@@ -0,0 +1,17 @@
+/**
+ * Adaptive concurrency limits in front of the resources that use the database.
+ *
+ * <p>The primary pool has 8 connections in production. Without a limit, a burst becomes a queue
+ * of threads waiting for a connection, then acquisition timeouts, then client retries that
+ * add to the queue. {@link AdmissionInterceptor} runs every {@code ConnectionBound} method
+ * through {@link AdmissionController}, which keeps one {@link GradientLimit} for reads and one
+ * for writes. Each limit grows while latency stays flat and shrinks when it rises, so it
+ * settles near the concurrency the pool can serve without queuing. Requests over the limit
+ * are answered {@code 503} with {@code Retry-After} before they touch the pool. Writes have
+ * priority over reads.</p>
+ *
+ * <p>While requests are being shed, {@link AdmissionReadiness} reports the instance not ready.
+ * The limits, running requests and rejections per lane are published as {@code admission.*}
+ * metrics.</p>
+ */
+package com.fulfilment.application.monolith.admission;
@@ -0,0 +1,124 @@
+package com.fulfilment.application.monolith.batching;
+
+import com.fulfilment.application.monolith.http.ApiException;
+import com.fulfilment.application.monolith.http.ErrorCode;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Loads many entities by key with one {@code IN} query per chunk of at most
+ * {@code batch-loading.max-batch-size} keys, and returns them in the order the keys were asked
+ * for.
+ *
+ * <p>The multi-get endpoints ({@code ?ids=} and {@code ?businessUnitCodes=}) parse their
+ * parameter with {@link #keys}: comma-separated or repeated values, duplicates dropped, at most
+ * {@code batch-loading.max-keys} of them. The chunk size bounds the length of the {@code IN}
+ * list; some databases cap bind parameters per statement, and long lists defeat statement
+ * caching.</p>
+ */
+@ApplicationScoped
+public class BatchLoader {
+
+  private final int maxBatchSize;
+  private final int maxKeys;
+
+  @Inject
+  public BatchLoader(
+      @ConfigProperty(name = "batch-loading.max-batch-size", defaultValue = "100") int maxBatchSize,
+      @ConfigProperty(name = "batch-loading.max-keys", defaultValue = "500") int maxKeys) {
+    if (maxBatchSize < 1) {
+      throw new IllegalArgumentException("batch-loading.max-batch-size must be at least 1");
+    }
+    this.maxBatchSize = maxBatchSize;
+    this.maxKeys = maxKeys;
+  }
+
+  /**
+   * The distinct keys of a multi-get parameter, in request order.
+   *
+   * @throws ApiException {@code INVALID_REQUEST} for more than {@code batch-loading.max-keys}
+   *     keys or a key {@code parse} rejects
+   */
+  public <K> List<K> keys(String parameter, List<String> values, Function<String, K> parse) {
+    Set<K> keys = new LinkedHashSet<>();
+    for (String value : values) {
+      for (String key : value.split(",")) {
+        String trimmed = key.trim();
+        if (trimmed.isEmpty()) {
+          continue;
+        }
+        try {
+          keys.add(parse.apply(trimmed));
+        } catch (IllegalArgumentException e) {
+          throw new ApiException(ErrorCode.INVALID_REQUEST,
+              "'" + trimmed + "' is not a valid value for " + parameter + ".");
+        }
+        if (keys.size() > maxKeys) {
+          throw new ApiException(ErrorCode.INVALID_REQUEST,
+              "At most " + maxKeys + " " + parameter + " can be requested at once.");
+        }
+      }
+    }
+    return List.copyOf(keys);
+  }
+
+  /**
+   * The values found for {@code keys}, in the order of the keys; keys nothing was found for
+   * are left out. {@code query} is called once per chunk with distinct keys.
+   */
+  public <K, V> List<V> load(Collection<K> keys, Function<List<K>, ? extends Collection<V>> query,
+      Function<V, K> keyOf) {
+    return new ArrayList<>(loadAll(keys, query, keyOf).values());
+  }
+
+  /** As {@link #load}, keyed: the map iterates in the order of {@code keys}. */
+  public <K, V> Map<K, V> loadAll(Collection<K> keys,
+      Function<List<K>, ? extends Collection<V>> query, Function<V, K> keyOf) {
+    Map<K, V> found = new HashMap<>();
+    List<K> distinct = inChunks(keys, query, value -> found.put(keyOf.apply(value), value));
+    Map<K, V> ordered = new LinkedHashMap<>();
+    for (K key : distinct) {
+      V value = found.get(key);
+      if (value != null) {
+        ordered.put(key, value);
+      }
+    }
+    return ordered;
+  }
+
+  /**
+   * One-to-many: for each of {@code keys}, in their order, the values {@code keyOf} assigns to
+   * it, or an empty list. {@code query} is called once per chunk, as by {@link #load}.
+   */
+  public <K, V> Map<K, List<V>> loadGrouped(Collection<K> keys,
+      Function<List<K>, ? extends Collection<V>> query, Function<V, K> keyOf) {
+    Map<K, List<V>> grouped = new LinkedHashMap<>();
+    for (K key : new LinkedHashSet<>(keys)) {
+      grouped.put(key, new ArrayList<>());
+    }
+    inChunks(grouped.keySet(), query, value -> grouped.get(keyOf.apply(value)).add(value));
+    return grouped;
+  }
+
+  // the distinct keys, queried max-batch-size at a time
+  private <K, V> List<K> inChunks(Collection<K> keys,
+      Function<List<K>, ? extends Collection<V>> query, Consumer<V> found) {
+    List<K> distinct = List.copyOf(new LinkedHashSet<>(keys));
+    for (int from = 0; from < distinct.size(); from += maxBatchSize) {
+      List<K> chunk = distinct.subList(from, Math.min(from + maxBatchSize, distinct.size()));
+      query.apply(chunk).forEach(found);
+    }
+    return distinct;
+  }
+}
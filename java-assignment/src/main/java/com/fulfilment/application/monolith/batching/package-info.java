@@ -0,0 +1,10 @@
+/**
+ * Batched loading by key for the multi-get endpoints.
+ *
+ * <p>Dashboards used to call {@code GET /product/{id}} and {@code GET /warehouse/{id}} dozens of
+ * times per page, one round trip and one query each. {@code GET /store?ids=},
+ * {@code GET /product?ids=} and {@code GET /warehouse?ids=} (or {@code ?businessUnitCodes=})
+ * answer them in one request. {@link BatchLoader} runs one {@code IN} query per chunk of keys
+ * and returns the results in request order, without the keys that were not found.</p>
+ */
+package com.fulfilment.application.monolith.batching;
@@ -0,0 +1,108 @@
+package com.fulfilment.application.monolith.coalescing;
+
+import com.fulfilment.application.monolith.datasource.ReadConsistency;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.arc.Arc;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Single-flight lookups: concurrent calls for the same lookup and key share one execution of
+ * the loader and its result, which is forgotten as soon as it is returned.
+ *
+ * <p>The first caller runs the loader; callers arriving while it runs wait for its result
+ * and each get their own {@code copy} of it, so no caller can change what another one sees.
+ * A failure is shared the same way. Only reads outside a transaction are coalesced: a
+ * transaction must see its own writes and its locks, and a request that carries a consistency
+ * token must not be served what a replica read returned. Every coalescable call is counted as
+ * {@code read.coalescing.loads}, tagged by lookup and by whether it was {@code executed} or
+ * {@code coalesced}.</p>
+ */
+@ApplicationScoped
+public class ReadCoalescer {
+
+  // read.coalescing.loads{lookup,result}: coalesced / (executed + coalesced) is the ratio saved
+  static final String LOADS = "read.coalescing.loads";
+
+  private final boolean enabled;
+  private final BooleanSupplier coalescable;
+  private final MeterRegistry registry;
+
+  private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+  @Inject
+  public ReadCoalescer(
+      @ConfigProperty(name = "read-coalescing.enabled", defaultValue = "true") boolean enabled,
+      ReadConsistency consistency,
+      MeterRegistry registry) {
+    this(enabled, () -> !QuarkusTransaction.isActive()
+        && (!Arc.container().requestContext().isActive() || consistency.requiredPosition() == null),
+        registry);
+  }
+
+  ReadCoalescer(boolean enabled, BooleanSupplier coalescable, MeterRegistry registry) {
+    this.enabled = enabled;
+    this.coalescable = coalescable;
+    this.registry = registry;
+  }
+
+  /**
+   * The loader's result for this key, shared with any concurrent call for the same lookup and
+   * key. Callers that did not run the loader get {@code copy} of a non-null result.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T load(String lookup, Object key, Supplier<T> loader, UnaryOperator<T> copy) {
+    if (!enabled || !coalescable.getAsBoolean()) {
+      return loader.get();
+    }
+    Key flight = new Key(lookup, key);
+    CompletableFuture<Object> own = new CompletableFuture<>();
+    CompletableFuture<Object> running = inFlight.putIfAbsent(flight, own);
+    if (running != null) {
+      registry.counter(LOADS, "lookup", lookup, "result", "coalesced").increment();
+      T shared = (T) await(running);
+      return shared != null ? copy.apply(shared) : null;
+    }
+    registry.counter(LOADS, "lookup", lookup, "result", "executed").increment();
+    try {
+      T result = loader.get();
+      own.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      own.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(flight, own);
+    }
+  }
+
+  int inFlight() {
+    return inFlight.size();
+  }
+
+  private static Object await(CompletableFuture<Object> running) {
+    try {
+      return running.join();
+    } catch (CompletionException e) {
+      // the loader's own exception, as the first caller saw it
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private record Key(String lookup, Object key) {}
+}
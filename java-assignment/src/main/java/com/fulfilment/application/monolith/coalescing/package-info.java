@@ -0,0 +1,11 @@
+/**
+ * Single-flight coalescing of concurrent identical reads.
+ *
+ * <p>During a warehouse cut-over, hundreds of clients ask for the same warehouse, store or
+ * product at once, right after a write has evicted it from the caches. {@link ReadCoalescer}
+ * lets the first of them run the query while the others wait for its result, so a burst of
+ * identical lookups costs one query and one connection. Nothing is kept once the query has
+ * returned: a caller can only be served the result of a query that was already running when
+ * it arrived, never one from the past. Reads inside a transaction are never coalesced.</p>
+ */
+package com.fulfilment.application.monolith.coalescing;
@@ -0,0 +1,23 @@
+package com.fulfilment.application.monolith.coherence;
+
+/**
+ * One changed entity as sent between instances: the response-cache region, the JPA entity
+ * name and the id, or a {@code null} id for the whole region.
+ */
+public record Invalidation(String region, String entity, Long id) {
+
+  private static final String ALL = "*";
+
+  /** {@code region:entity:id}, e.g. {@code store:Store:3} or {@code store:Store:*}. */
+  String encode() {
+    return region + ':' + entity + ':' + (id == null ? ALL : id.toString());
+  }
+
+  static Invalidation decode(String text) {
+    String[] parts = text.split(":", -1);
+    if (parts.length != 3 || parts[0].isEmpty() || parts[1].isEmpty()) {
+      throw new IllegalArgumentException("Malformed invalidation '" + text + "'.");
+    }
+    return new Invalidation(parts[0], parts[1], ALL.equals(parts[2]) ? null : Long.valueOf(parts[2]));
+  }
+}
@@ -0,0 +1,54 @@
+package com.fulfilment.application.monolith.coherence;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The invalidations one instance published together, with the instance's id and the commit
+ * time of the oldest write in the batch. On the wire a batch is one {@code NOTIFY} payload:
+ * {@code <node> <millis> <invalidation>,<invalidation>,...}.
+ */
+public record InvalidationBatch(String node, long oldestCommitMillis, List<Invalidation> invalidations) {
+
+  /** PostgreSQL rejects {@code NOTIFY} payloads of 8000 bytes or more. */
+  static final int MAX_PAYLOAD_BYTES = 7900;
+
+  /** Encodes {@code invalidations} into as few payloads as fit under {@code maxBytes}. */
+  static List<String> encode(String node, long oldestCommitMillis,
+      Collection<Invalidation> invalidations, int maxBytes) {
+    String header = node + ' ' + oldestCommitMillis + ' ';
+    List<String> payloads = new ArrayList<>();
+    StringBuilder payload = new StringBuilder(header);
+    for (Invalidation invalidation : invalidations) {
+      String encoded = invalidation.encode();
+      boolean empty = payload.length() == header.length();
+      // region names, entity names and ids are ASCII, so chars are bytes
+      if (!empty && payload.length() + 1 + encoded.length() > maxBytes) {
+        payloads.add(payload.toString());
+        payload.setLength(header.length());
+        empty = true;
+      }
+      if (!empty) {
+        payload.append(',');
+      }
+      payload.append(encoded);
+    }
+    if (payload.length() > header.length()) {
+      payloads.add(payload.toString());
+    }
+    return payloads;
+  }
+
+  static InvalidationBatch decode(String payload) {
+    String[] parts = payload.split(" ", 3);
+    if (parts.length != 3) {
+      throw new IllegalArgumentException("Malformed invalidation batch '" + payload + "'.");
+    }
+    List<Invalidation> invalidations = new ArrayList<>();
+    for (String text : parts[2].split(",")) {
+      invalidations.add(Invalidation.decode(text));
+    }
+    return new InvalidationBatch(parts[0], Long.parseLong(parts[1]), invalidations);
+  }
+}
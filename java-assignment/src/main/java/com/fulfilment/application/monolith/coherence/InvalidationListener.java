@@ -0,0 +1,174 @@
+package com.fulfilment.application.monolith.coherence;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+/**
+ * Applies other instances' invalidations to this instance's {@link LocalCaches}.
+ *
+ * <p>A daemon thread holds its own connection to the primary, outside the pool, and runs
+ * {@code LISTEN cache-coherence.channel}. Notifications sent while no connection was listening
+ * are lost, so every (re)connect starts by evicting all local caches. After a failure the
+ * thread waits {@code cache-coherence.reconnect-delay} and connects again. The delay between
+ * a write's commit and its eviction here is recorded as {@code cache.coherence.staleness}.</p>
+ */
+@ApplicationScoped
+public class InvalidationListener {
+
+  private static final Logger LOGGER = Logger.getLogger(InvalidationListener.class.getName());
+  private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+  private static final int POLL_MILLIS = 1000;
+
+  static final String STALENESS = "cache.coherence.staleness";
+  static final String RESYNCS = "cache.coherence.resyncs";
+
+  /** Opens the listening connection. */
+  interface Connector {
+    Connection connect() throws SQLException;
+  }
+
+  private final boolean enabled;
+  private final String channel;
+  private final Connector connector;
+  private final LocalCaches caches;
+  private final String ownNode;
+  private final Duration reconnectDelay;
+  private final LongSupplier clock;
+  private final MeterRegistry registry;
+
+  private Thread thread;
+
+  @Inject
+  public InvalidationListener(
+      @ConfigProperty(name = "cache-coherence.enabled", defaultValue = "false") boolean enabled,
+      @ConfigProperty(name = "cache-coherence.channel", defaultValue = "cache_invalidation") String channel,
+      @ConfigProperty(name = "cache-coherence.reconnect-delay", defaultValue = "PT1S") Duration reconnectDelay,
+      @ConfigProperty(name = "quarkus.datasource.jdbc.url") Optional<String> url,
+      @ConfigProperty(name = "quarkus.datasource.username") Optional<String> username,
+      @ConfigProperty(name = "quarkus.datasource.password") Optional<String> password,
+      LocalCaches caches,
+      InvalidationPublisher publisher,
+      MeterRegistry registry) {
+    this(enabled, channel, () -> connect(url, username, password), caches, publisher.node(),
+        reconnectDelay, System::currentTimeMillis, registry);
+  }
+
+  InvalidationListener(boolean enabled, String channel, Connector connector, LocalCaches caches,
+      String ownNode, Duration reconnectDelay, LongSupplier clock, MeterRegistry registry) {
+    if (!CHANNEL.matcher(channel).matches()) {
+      throw new IllegalArgumentException("Invalid cache-coherence.channel '" + channel + "'.");
+    }
+    this.enabled = enabled;
+    this.channel = channel;
+    this.connector = connector;
+    this.caches = caches;
+    this.ownNode = ownNode;
+    this.reconnectDelay = reconnectDelay;
+    this.clock = clock;
+    this.registry = registry;
+  }
+
+  void onStart(@Observes StartupEvent event) {
+    if (!enabled) {
+      return;
+    }
+    thread = new Thread(this::run, "cache-coherence-listener");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  @PreDestroy
+  void stop() {
+    if (thread != null) {
+      thread.interrupt();
+    }
+  }
+
+  private void run() {
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        listen();
+      } catch (SQLException e) {
+        LOGGER.warnf("Cache invalidation channel lost, reconnecting: %s", e.getMessage());
+      }
+      try {
+        Thread.sleep(reconnectDelay.toMillis());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  /** One connection's lifetime: listen, resync, then apply notifications until it fails. */
+  void listen() throws SQLException {
+    try (Connection connection = connector.connect()) {
+      try (Statement statement = connection.createStatement()) {
+        statement.execute("LISTEN " + channel);
+      }
+      // anything published before LISTEN took effect was missed
+      caches.evictAll();
+      registry.counter(RESYNCS).increment();
+      PGConnection notifications = connection.unwrap(PGConnection.class);
+      while (!Thread.currentThread().isInterrupted()) {
+        PGNotification[] received = notifications.getNotifications(POLL_MILLIS);
+        if (received != null) {
+          for (PGNotification notification : received) {
+            receive(notification.getParameter());
+          }
+        }
+      }
+    }
+  }
+
+  void receive(String payload) {
+    InvalidationBatch batch;
+    try {
+      batch = InvalidationBatch.decode(payload);
+    } catch (IllegalArgumentException e) {
+      LOGGER.warnf("Ignoring malformed cache invalidation: %s", e.getMessage());
+      return;
+    }
+    // this instance evicted its own writes at commit
+    if (ownNode.equals(batch.node())) {
+      return;
+    }
+    batch.invalidations().forEach(caches::evict);
+    Timer.builder(STALENESS)
+        .publishPercentileHistogram()
+        .minimumExpectedValue(Duration.ofMillis(1))
+        .maximumExpectedValue(Duration.ofSeconds(30))
+        .register(registry)
+        .record(Duration.ofMillis(Math.max(0, clock.getAsLong() - batch.oldestCommitMillis())));
+  }
+
+  private static Connection connect(Optional<String> url, Optional<String> username,
+      Optional<String> password) throws SQLException {
+    Properties properties = new Properties();
+    username.ifPresent(user -> properties.setProperty("user", user));
+    password.ifPresent(secret -> properties.setProperty("password", secret));
+    // a silently dropped connection would otherwise block LISTEN forever
+    properties.setProperty("tcpKeepAlive", "true");
+    return DriverManager.getConnection(
+        url.orElseThrow(() -> new SQLException("quarkus.datasource.jdbc.url is not set")),
+        properties);
+  }
+}
@@ -0,0 +1,231 @@
+package com.fulfilment.application.monolith.coherence;
+
+import com.fulfilment.application.monolith.http.CacheInvalidationEvent;
+import io.agroal.api.AgroalDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Sends this instance's committed {@link CacheInvalidationEvent}s to the other instances.
+ *
+ * <p>Events are collected for {@code cache-coherence.batch-window} and de-duplicated, so a
+ * burst of writes to one store becomes one entry. The batch then goes out as
+ * {@code pg_notify(cache-coherence.channel, payload)} through the primary pool, split into
+ * several payloads only if it exceeds PostgreSQL's 8000-byte limit. A batch that cannot be
+ * sent is queued again; while sending keeps failing, the wait doubles with each attempt up
+ * to {@code cache-coherence.max-retry-delay}, and the failure is logged once a minute.</p>
+ */
+@ApplicationScoped
+public class InvalidationPublisher {
+
+  private static final Logger LOGGER = Logger.getLogger(InvalidationPublisher.class.getName());
+
+  static final String PUBLISHED = "cache.coherence.published";
+
+  private static final long WARN_INTERVAL_MILLIS = 60_000;
+
+  /** Sends one payload on the channel. */
+  interface Sender {
+    void send(String payload) throws SQLException;
+  }
+
+  /** Runs a flush after the given delay. */
+  interface Scheduler {
+    void schedule(Runnable task, long delayMillis);
+  }
+
+  private final boolean enabled;
+  private final String node;
+  private final Function<Class<?>, String> entityNames;
+  private final long batchWindowMillis;
+  private final long maxRetryDelayMillis;
+  private final Scheduler scheduler;
+  private final Sender sender;
+  private final LongSupplier clock;
+  private final MeterRegistry registry;
+
+  // guards the fields below; a lock, as commits on virtual threads would be pinned to their
+  // carrier while waiting for a monitor
+  private final ReentrantLock pendingLock = new ReentrantLock();
+  private final Set<Invalidation> pending = new LinkedHashSet<>();
+  private long oldestPendingMillis;
+  private boolean flushScheduled;
+  private int failedAttempts;
+  private long lastWarningMillis;
+
+  @Inject
+  public InvalidationPublisher(
+      @ConfigProperty(name = "cache-coherence.enabled", defaultValue = "false") boolean enabled,
+      @ConfigProperty(name = "cache-coherence.channel", defaultValue = "cache_invalidation") String channel,
+      @ConfigProperty(name = "cache-coherence.batch-window", defaultValue = "PT0.02S") Duration batchWindow,
+      @ConfigProperty(name = "cache-coherence.max-retry-delay", defaultValue = "PT5S") Duration maxRetryDelay,
+      AgroalDataSource primary,
+      EntityManagerFactory entityManagerFactory,
+      MeterRegistry registry) {
+    this(enabled, UUID.randomUUID().toString().substring(0, 8),
+        type -> entityManagerFactory.getMetamodel().entity(type).getName(),
+        batchWindow.toMillis(), maxRetryDelay.toMillis(),
+        (task, delayMillis) -> Infrastructure.getDefaultWorkerPool()
+            .schedule(task, delayMillis, TimeUnit.MILLISECONDS),
+        payload -> notify(primary, channel, payload), System::currentTimeMillis, registry);
+  }
+
+  InvalidationPublisher(boolean enabled, String node, Function<Class<?>, String> entityNames,
+      long batchWindowMillis, long maxRetryDelayMillis, Scheduler scheduler, Sender sender,
+      LongSupplier clock, MeterRegistry registry) {
+    this.enabled = enabled;
+    this.node = node;
+    this.entityNames = entityNames;
+    this.batchWindowMillis = batchWindowMillis;
+    this.maxRetryDelayMillis = maxRetryDelayMillis;
+    this.scheduler = scheduler;
+    this.sender = sender;
+    this.clock = clock;
+    this.registry = registry;
+  }
+
+  /** Identifies this instance's batches, so it can skip its own. */
+  String node() {
+    return node;
+  }
+
+  void onInvalidation(@Observes(during = TransactionPhase.AFTER_SUCCESS) CacheInvalidationEvent event) {
+    if (!enabled) {
+      return;
+    }
+    Invalidation invalidation =
+        new Invalidation(event.region(), entityNames.apply(event.entity()), event.id());
+    long delay;
+    pendingLock.lock();
+    try {
+      if (pending.isEmpty()) {
+        oldestPendingMillis = clock.getAsLong();
+      }
+      pending.add(invalidation);
+      delay = flushScheduled ? -1 : nextFlushDelay();
+      flushScheduled = true;
+    } finally {
+      pendingLock.unlock();
+    }
+    if (delay >= 0) {
+      scheduler.schedule(this::flush, delay);
+    }
+  }
+
+  void flush() {
+    List<Invalidation> batch;
+    long oldest;
+    pendingLock.lock();
+    try {
+      batch = new ArrayList<>(pending);
+      oldest = oldestPendingMillis;
+      pending.clear();
+      flushScheduled = false;
+    } finally {
+      pendingLock.unlock();
+    }
+    if (batch.isEmpty()) {
+      return;
+    }
+    try {
+      for (String payload : InvalidationBatch.encode(node, oldest, batch,
+          InvalidationBatch.MAX_PAYLOAD_BYTES)) {
+        sender.send(payload);
+        registry.counter(PUBLISHED).increment();
+      }
+    } catch (SQLException e) {
+      requeue(batch, oldest, e);
+      return;
+    }
+    recovered();
+  }
+
+  private void requeue(List<Invalidation> batch, long oldest, SQLException failure) {
+    long delay;
+    boolean warn;
+    int attempts;
+    int queued;
+    pendingLock.lock();
+    try {
+      oldestPendingMillis = pending.isEmpty() ? oldest : Math.min(oldest, oldestPendingMillis);
+      pending.addAll(batch);
+      queued = pending.size();
+      attempts = ++failedAttempts;
+      long now = clock.getAsLong();
+      warn = attempts == 1 || now - lastWarningMillis >= WARN_INTERVAL_MILLIS;
+      if (warn) {
+        lastWarningMillis = now;
+      }
+      delay = flushScheduled ? -1 : nextFlushDelay();
+      flushScheduled = true;
+    } finally {
+      pendingLock.unlock();
+    }
+    if (warn) {
+      LOGGER.warnf("Could not publish %d cache invalidations (attempt %d), retrying: %s",
+          queued, attempts, failure.getMessage());
+    }
+    if (delay >= 0) {
+      scheduler.schedule(this::flush, delay);
+    }
+  }
+
+  private void recovered() {
+    int attempts;
+    pendingLock.lock();
+    try {
+      attempts = failedAttempts;
+      failedAttempts = 0;
+    } finally {
+      pendingLock.unlock();
+    }
+    if (attempts > 0) {
+      LOGGER.infof("Publishing cache invalidations again after %d failed attempts", attempts);
+    }
+  }
+
+  // the batch window, doubled for each failed attempt in a row; called holding pendingLock
+  private long nextFlushDelay() {
+    if (failedAttempts == 0) {
+      return batchWindowMillis;
+    }
+    int doublings = Math.min(failedAttempts, 30);
+    return Math.min(maxRetryDelayMillis, batchWindowMillis << doublings);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    flush();
+  }
+
+  private static void notify(AgroalDataSource primary, String channel, String payload)
+      throws SQLException {
+    try (Connection connection = primary.getConnection();
+        PreparedStatement statement = connection.prepareStatement("select pg_notify(?, ?)")) {
+      statement.setString(1, channel);
+      statement.setString(2, payload);
+      statement.execute();
+    }
+  }
+}
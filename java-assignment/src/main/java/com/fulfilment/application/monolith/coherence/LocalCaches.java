@@ -0,0 +1,55 @@
+package com.fulfilment.application.monolith.coherence;
+
+import com.fulfilment.application.monolith.datasource.RoutedEntityCache;
+import com.fulfilment.application.monolith.http.ResponseCache;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The caches of this instance that other instances' writes make stale: the
+ * {@link ResponseCache} and Hibernate's second-level cache.
+ */
+@ApplicationScoped
+public class LocalCaches {
+
+  private final ResponseCache responses;
+  private final Cache entities;
+  private final Map<String, Class<?>> entityClasses;
+
+  @Inject
+  public LocalCaches(ResponseCache responses, EntityManagerFactory entityManagerFactory) {
+    this(responses, new RoutedEntityCache(entityManagerFactory),
+        entityManagerFactory.getMetamodel().getEntities().stream()
+            .collect(Collectors.toMap(EntityType::getName, EntityType::getJavaType)));
+  }
+
+  LocalCaches(ResponseCache responses, Cache entities, Map<String, Class<?>> entityClasses) {
+    this.responses = responses;
+    this.entities = entities;
+    this.entityClasses = entityClasses;
+  }
+
+  void evict(Invalidation invalidation) {
+    responses.invalidate(invalidation.region(), invalidation.id());
+    Class<?> entity = entityClasses.get(invalidation.entity());
+    if (entity == null) {
+      return;
+    }
+    if (invalidation.id() == null) {
+      entities.evict(entity);
+    } else {
+      entities.evict(entity, invalidation.id());
+    }
+  }
+
+  /** Drops everything, for when invalidations may have been missed. */
+  void evictAll() {
+    responses.invalidateAll();
+    entities.evictAll();
+  }
+}
@@ -0,0 +1,16 @@
+/**
+ * Cache coherence between instances over PostgreSQL {@code LISTEN/NOTIFY}.
+ *
+ * <p>Each instance keeps its own {@code ResponseCache} and Hibernate second-level cache, which
+ * go stale when another instance writes. {@link InvalidationPublisher} sends every committed
+ * {@code CacheInvalidationEvent} as a compact {@link Invalidation} (region, entity name, id),
+ * batched and de-duplicated per {@code cache-coherence.batch-window}.
+ * {@link InvalidationListener} receives the other instances' batches and evicts the matching
+ * entries through {@link LocalCaches}. After every (re)connect it clears all local caches,
+ * since notifications are not delivered to a session that was not listening.</p>
+ *
+ * <p>Enabled in the prod profile only ({@code cache-coherence.enabled}); tests run on H2,
+ * which has no {@code NOTIFY}. The commit-to-eviction delay is the
+ * {@code cache.coherence.staleness} timer on {@code /q/metrics}.</p>
+ */
+package com.fulfilment.application.monolith.coherence;
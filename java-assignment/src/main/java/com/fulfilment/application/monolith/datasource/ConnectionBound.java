@@ -0,0 +1,18 @@
+package com.fulfilment.application.monolith.datasource;
+
+import jakarta.interceptor.InterceptorBinding;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks resource methods that may need a database connection. On virtual threads they first
+ * take one of the {@link ConnectionPermits}, so callers queue on a semaphore rather than in the
+ * connection pool.
+ */
+@InterceptorBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface ConnectionBound {
+}
@@ -0,0 +1,35 @@
+package com.fulfilment.application.monolith.datasource;
+
+import jakarta.annotation.Priority;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+/**
+ * Holds a {@link ConnectionPermits} permit for the duration of a {@link ConnectionBound}
+ * method. It runs after the admission limits and before {@code @Transactional}, so no
+ * transaction is open while a request waits.
+ */
+@ConnectionBound
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 1)
+public class ConnectionPermitInterceptor {
+
+  private final ConnectionPermits permits;
+
+  public ConnectionPermitInterceptor(ConnectionPermits permits) {
+    this.permits = permits;
+  }
+
+  @AroundInvoke
+  Object withPermit(InvocationContext context) throws Exception {
+    if (!permits.acquire()) {
+      return context.proceed();
+    }
+    try {
+      return context.proceed();
+    } finally {
+      permits.release();
+    }
+  }
+}
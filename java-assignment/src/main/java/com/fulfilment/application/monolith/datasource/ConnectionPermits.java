@@ -0,0 +1,97 @@
+package com.fulfilment.application.monolith.datasource;
+
+import com.fulfilment.application.monolith.http.ApiException;
+import com.fulfilment.application.monolith.http.ErrorCode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * One permit per connection of the primary pool, taken by {@link ConnectionBound} requests that
+ * run on virtual threads.
+ *
+ * <p>Virtual threads are not limited by a worker pool, so thousands of requests can ask Agroal
+ * for a connection at once and fail after its acquisition timeout. A fair semaphore of the
+ * pool's size lets them wait in order instead, and answers {@code 503} after
+ * {@code connection-permits.timeout}. Requests on platform worker threads are already bounded
+ * by the pool and take no permit.</p>
+ */
+@ApplicationScoped
+public class ConnectionPermits {
+
+  // connection.permits.waiting: requests queued for a permit
+  static final String WAITING = "connection.permits.waiting";
+
+  private static final Predicate<Thread> VIRTUAL = virtualThreadCheck();
+
+  private final Predicate<Thread> limited;
+  private final Semaphore permits;
+  private final Duration timeout;
+
+  @Inject
+  public ConnectionPermits(
+      @ConfigProperty(name = "quarkus.datasource.jdbc.max-size", defaultValue = "20") int poolSize,
+      @ConfigProperty(name = "connection-permits.timeout", defaultValue = "PT5S") Duration timeout,
+      MeterRegistry registry) {
+    this(VIRTUAL, poolSize, timeout);
+    Gauge.builder(WAITING, permits, Semaphore::getQueueLength).register(registry);
+  }
+
+  ConnectionPermits(Predicate<Thread> limited, int poolSize, Duration timeout) {
+    this.limited = limited;
+    this.permits = new Semaphore(poolSize, true);
+    this.timeout = timeout;
+  }
+
+  /**
+   * Takes a permit if the current thread needs one, waiting at most the configured timeout.
+   * Returns whether a permit was taken, which the caller must then {@link #release()}.
+   *
+   * @throws ApiException {@code SERVICE_UNAVAILABLE} when no permit became free in time
+   */
+  boolean acquire() throws InterruptedException {
+    if (!limited.test(Thread.currentThread())) {
+      return false;
+    }
+    if (!permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+      throw new ApiException(ErrorCode.SERVICE_UNAVAILABLE,
+          "No database connection became available within " + timeout.toMillis() + " ms.");
+    }
+    return true;
+  }
+
+  void release() {
+    permits.release();
+  }
+
+  int available() {
+    return permits.availablePermits();
+  }
+
+  // Thread.isVirtual() exists from Java 21; on older runtimes no thread is virtual
+  private static Predicate<Thread> virtualThreadCheck() {
+    MethodHandle isVirtual;
+    try {
+      isVirtual = MethodHandles.publicLookup()
+          .findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      return thread -> false;
+    }
+    return thread -> {
+      try {
+        return (boolean) isVirtual.invokeExact(thread);
+      } catch (Throwable e) {
+        throw new IllegalStateException(e);
+      }
+    };
+  }
+}
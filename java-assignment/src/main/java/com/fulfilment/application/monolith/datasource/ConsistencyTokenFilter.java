@@ -0,0 +1,65 @@
+package com.fulfilment.application.monolith.datasource;
+
+import io.vertx.core.Context;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import java.util.Set;
+
+/**
+ * Returns {@value #HEADER} on every successful write and reads it back from later requests,
+ * so a client that sends it sees its own writes even when the replica lags. The write's
+ * transaction has committed by the time the response filter runs; with {@code lsn} its
+ * position was noted just before that commit, so issuing the token takes no connection.
+ */
+@Provider
+public class ConsistencyTokenFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+  public static final String HEADER = "X-Consistency-Token";
+
+  private static final Set<String> WRITES =
+      Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+
+  private final ReadConsistency consistency;
+  private final ReplicationPositions positions;
+
+  public ConsistencyTokenFilter(ReadConsistency consistency, ReplicationPositions positions) {
+    this.consistency = consistency;
+    this.positions = positions;
+  }
+
+  @Override
+  public void filter(ContainerRequestContext request) {
+    String token = token(request);
+    if (token != null) {
+      consistency.require(token);
+    }
+  }
+
+  /** The token the request carries, or null; for filters that run before this one. */
+  public static String token(ContainerRequestContext request) {
+    String token = request.getHeaderString(HEADER);
+    return token != null && !token.isBlank() ? token.trim() : null;
+  }
+
+  @Override
+  public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+    if (!WRITES.contains(request.getMethod())
+        || response.getStatusInfo().getFamily() != Response.Status.Family.SUCCESSFUL) {
+      return;
+    }
+    // writes answered on the I/O thread (the reactive warehouse resource) are read back from
+    // the primary anyway, so they get no token
+    if (Context.isOnEventLoopThread()) {
+      return;
+    }
+    String token = positions.afterWrite(consistency);
+    if (token != null) {
+      response.getHeaders().putSingle(HEADER, token);
+    }
+  }
+}
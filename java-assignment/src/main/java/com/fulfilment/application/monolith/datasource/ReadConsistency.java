@@ -0,0 +1,47 @@
+package com.fulfilment.application.monolith.datasource;
+
+import jakarta.enterprise.context.RequestScoped;
+
+/**
+ * Per-request read consistency: the {@value ConsistencyTokenFilter#HEADER} the client sent
+ * back from an earlier write, where this request's reads were routed, and the position of
+ * the request's own last write. The routing is decided once per request, so all sessions of
+ * a request read from the same datasource.
+ */
+@RequestScoped
+public class ReadConsistency {
+
+  private String requiredPosition;
+  private String dataSource;
+  private String writtenPosition;
+
+  void require(String position) {
+    this.requiredPosition = position;
+  }
+
+  public String requiredPosition() {
+    return requiredPosition;
+  }
+
+  String routedTo() {
+    return dataSource;
+  }
+
+  /** Whether this request's reads came from the replica, which may lag behind the primary. */
+  public boolean readFromReplica() {
+    return ReadReplicaRouting.REPLICA.equals(dataSource);
+  }
+
+  void routeTo(String dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  String writtenPosition() {
+    return writtenPosition;
+  }
+
+  // a later transaction of the request commits after the earlier ones, so its position wins
+  void wrote(String position) {
+    this.writtenPosition = position;
+  }
+}
@@ -0,0 +1,111 @@
+package com.fulfilment.application.monolith.datasource;
+
+import io.agroal.api.AgroalDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.agroal.DataSource.DataSourceLiteral;
+import io.quarkus.arc.Arc;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+
+/**
+ * Chooses the datasource for each JDBC connection Hibernate acquires.
+ *
+ * <p>Connections acquired inside a transaction ({@code @Transactional} writes and the reads
+ * they make) and outside any request (startup, scheduled jobs) come from the primary.
+ * Connections for the non-transactional reads of a request, the list and get endpoints, come
+ * from the {@code replica} datasource, unless the request carries a consistency token the
+ * replica has not reached yet. That choice is made once per request and counted as
+ * {@code datasource.routing} tagged by target. With
+ * {@code datasource-routing.replica-enabled=false} everything uses the primary.</p>
+ *
+ * <p>A session reading from the replica is switched to {@link CacheMode#GET}: it may use the
+ * second-level cache but not fill it. The cache is shared with primary reads and has no
+ * expiry, so a row read from a lagging replica would otherwise stay cached until the next
+ * write to it.</p>
+ *
+ * <p>A transaction of a request also has {@link ReplicationPositions} note its position
+ * before it commits, for the request's consistency token.</p>
+ */
+@ApplicationScoped
+public class ReadReplicaRouting {
+
+  static final String REPLICA = "replica";
+  static final String ROUTING = "datasource.routing";
+
+  private final boolean replicaEnabled;
+  private final BooleanSupplier inTransaction;
+  private final Supplier<ReadConsistency> currentRequest;
+  private final ReplicationPositions positions;
+  private final MeterRegistry registry;
+  private final AgroalDataSource primary;
+  private final Supplier<AgroalDataSource> replica;
+  private final Runnable replicaSession;
+
+  @Inject
+  public ReadReplicaRouting(
+      @ConfigProperty(name = "datasource-routing.replica-enabled", defaultValue = "false") boolean replicaEnabled,
+      ReadConsistency consistency,
+      ReplicationPositions positions,
+      MeterRegistry registry,
+      AgroalDataSource primary,
+      @Any Instance<AgroalDataSource> dataSources) {
+    this(replicaEnabled, QuarkusTransaction::isActive,
+        () -> Arc.container().requestContext().isActive() ? consistency : null,
+        positions, registry, primary,
+        () -> dataSources.select(new DataSourceLiteral(REPLICA)).get(),
+        // the request's session, which is acquiring this connection; looked up on use, as the
+        // session factory depends on this bean
+        () -> Arc.container().instance(Session.class).get().setCacheMode(CacheMode.GET));
+  }
+
+  ReadReplicaRouting(boolean replicaEnabled, BooleanSupplier inTransaction,
+      Supplier<ReadConsistency> currentRequest, ReplicationPositions positions,
+      MeterRegistry registry, AgroalDataSource primary, Supplier<AgroalDataSource> replica,
+      Runnable replicaSession) {
+    this.replicaEnabled = replicaEnabled;
+    this.inTransaction = inTransaction;
+    this.currentRequest = currentRequest;
+    this.positions = positions;
+    this.registry = registry;
+    this.primary = primary;
+    this.replica = replica;
+    this.replicaSession = replicaSession;
+  }
+
+  /** The datasource the next connection should come from. */
+  public AgroalDataSource dataSource() {
+    if (!useReplica()) {
+      return primary;
+    }
+    replicaSession.run();
+    return replica.get();
+  }
+
+  boolean useReplica() {
+    ReadConsistency request = currentRequest.get();
+    if (inTransaction.getAsBoolean()) {
+      if (request != null) {
+        positions.captureBeforeCommit(request);
+      }
+      return false;
+    }
+    if (!replicaEnabled || request == null) {
+      return false;
+    }
+    if (request.routedTo() == null) {
+      String token = request.requiredPosition();
+      String target = token == null || positions.replicaHasReached(token) ? REPLICA : "primary";
+      registry.counter(ROUTING, "target", target).increment();
+      request.routeTo(target);
+    }
+    return REPLICA.equals(request.routedTo());
+  }
+}
@@ -0,0 +1,166 @@
+package com.fulfilment.application.monolith.datasource;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource.DataSourceLiteral;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Issues and checks read-your-writes tokens.
+ *
+ * <p>With {@code datasource-routing.consistency=lsn} (PostgreSQL streaming replication) a
+ * token is the id of the write's transaction, {@code xid:7321}, read on the transaction's own
+ * connection just before it commits, and the replica has caught up once it has replayed that
+ * transaction's commit. A WAL position read before the commit would precede the commit record,
+ * and one read after it costs another primary connection. Tokens of the earlier form,
+ * {@code lsn:0/16B3748}, are still checked against the replayed WAL position. With
+ * {@code commit-timestamp} (any database, including the H2 used by tests) a token is the commit
+ * time, {@code ts:<millis>}, and the replica is assumed to have caught up after
+ * {@code datasource-routing.max-replica-lag}. A token that cannot be parsed or checked sends the
+ * read to the primary.</p>
+ */
+@ApplicationScoped
+public class ReplicationPositions {
+
+  private static final Logger LOGGER = Logger.getLogger(ReplicationPositions.class.getName());
+
+  static final String LSN = "lsn:";
+  static final String XID = "xid:";
+  static final String TIMESTAMP = "ts:";
+
+  // marks a transaction whose id is already going to be captured
+  private static final Object CAPTURE = ReplicationPositions.class.getName() + ".capture";
+
+  private final AgroalDataSource primary;
+  private final Instance<AgroalDataSource> dataSources;
+  private final TransactionSynchronizationRegistry transactions;
+  private final boolean useLsn;
+  private final long maxReplicaLagMillis;
+  private final LongSupplier clock;
+
+  @Inject
+  public ReplicationPositions(
+      AgroalDataSource primary,
+      @Any Instance<AgroalDataSource> dataSources,
+      TransactionSynchronizationRegistry transactions,
+      @ConfigProperty(name = "datasource-routing.consistency", defaultValue = "commit-timestamp") String consistency,
+      @ConfigProperty(name = "datasource-routing.max-replica-lag", defaultValue = "PT1S") Duration maxReplicaLag) {
+    this(primary, dataSources, transactions, consistency, maxReplicaLag, System::currentTimeMillis);
+  }
+
+  ReplicationPositions(AgroalDataSource primary, Instance<AgroalDataSource> dataSources,
+      TransactionSynchronizationRegistry transactions, String consistency,
+      Duration maxReplicaLag, LongSupplier clock) {
+    this.primary = primary;
+    this.dataSources = dataSources;
+    this.transactions = transactions;
+    this.useLsn = "lsn".equals(consistency);
+    this.maxReplicaLagMillis = maxReplicaLag.toMillis();
+    this.clock = clock;
+  }
+
+  /**
+   * The token for a write that committed just now: the id of the last transaction of the
+   * request that wrote anything with {@code lsn}, the time otherwise. {@code null} when an
+   * {@code lsn} request wrote nothing the replica has to catch up with.
+   */
+  public String afterWrite(ReadConsistency request) {
+    return useLsn ? request.writtenPosition() : TIMESTAMP + clock.getAsLong();
+  }
+
+  /**
+   * With {@code lsn}, arranges for the current transaction's id to be handed to
+   * {@code request} just before the transaction commits. Called for every connection the
+   * transaction acquires; registers once per transaction.
+   */
+  void captureBeforeCommit(ReadConsistency request) {
+    if (!useLsn || transactions.getResource(CAPTURE) != null) {
+      return;
+    }
+    transactions.putResource(CAPTURE, Boolean.TRUE);
+    transactions.registerInterposedSynchronization(new Synchronization() {
+      @Override
+      public void beforeCompletion() {
+        String xid = transactionId();
+        if (xid != null) {
+          request.wrote(XID + xid);
+        }
+      }
+
+      @Override
+      public void afterCompletion(int status) {
+      }
+    });
+  }
+
+  // still inside the transaction, so the pool hands back the connection enlisted in it; null
+  // when the transaction has not written, as no id has been assigned
+  private String transactionId() {
+    try (Connection connection = primary.getConnection();
+        Statement statement = connection.createStatement();
+        ResultSet result = statement.executeQuery("select pg_current_xact_id_if_assigned()::text")) {
+      return result.next() ? result.getString(1) : null;
+    } catch (SQLException e) {
+      LOGGER.warnf("Could not read the write's transaction id: %s", e.getMessage());
+      return null;
+    }
+  }
+
+  /** Whether the replica already shows everything up to {@code token}. */
+  public boolean replicaHasReached(String token) {
+    try {
+      if (token.startsWith(TIMESTAMP)) {
+        return clock.getAsLong() - Long.parseLong(token.substring(TIMESTAMP.length()))
+            >= maxReplicaLagMillis;
+      }
+      if (token.startsWith(XID)) {
+        return replicaHasCommitted(Long.parseLong(token.substring(XID.length())));
+      }
+      if (token.startsWith(LSN)) {
+        return replicaHasReplayed(token.substring(LSN.length()));
+      }
+    } catch (NumberFormatException | SQLException e) {
+      LOGGER.debugf("Cannot check consistency token %s: %s", token, e.getMessage());
+    }
+    return false;
+  }
+
+  // a replica that has not replayed the transaction's start yet reports it as in the future,
+  // which fails the query and so sends the read to the primary
+  private boolean replicaHasCommitted(long xid) throws SQLException {
+    return queryReplica(
+        "select not pg_is_in_recovery() or pg_xact_status(?::xid8) = 'committed'",
+        String.valueOf(xid));
+  }
+
+  private boolean replicaHasReplayed(String lsn) throws SQLException {
+    return queryReplica(
+        "select not pg_is_in_recovery() or pg_last_wal_replay_lsn() >= ?::pg_lsn", lsn);
+  }
+
+  // a replica that is not in recovery is the primary itself (single-instance setups)
+  private boolean queryReplica(String sql, String parameter) throws SQLException {
+    AgroalDataSource replica =
+        dataSources.select(new DataSourceLiteral(ReadReplicaRouting.REPLICA)).get();
+    try (Connection connection = replica.getConnection();
+        PreparedStatement statement = connection.prepareStatement(sql)) {
+      statement.setString(1, parameter);
+      try (ResultSet result = statement.executeQuery()) {
+        return result.next() && result.getBoolean(1);
+      }
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package com.fulfilment.application.monolith.datasource;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * The second-level cache as seen by sessions of the routing tenant.
+ *
+ * <p>Hibernate makes the tenant id part of every entity cache key, but
+ * {@link Cache#evict(Class, Object)} builds its key without one, so it never matches an entry
+ * cached by a request. This cache builds keys for {@link RoutingTenancy#TENANT}. Whole-region
+ * evictions need no key and are passed through.</p>
+ */
+public class RoutedEntityCache implements Cache {
+
+  private final SessionFactoryImplementor sessionFactory;
+  private final Cache delegate;
+
+  public RoutedEntityCache(EntityManagerFactory entityManagerFactory) {
+    this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    this.delegate = entityManagerFactory.getCache();
+  }
+
+  @Override
+  @SuppressWarnings("rawtypes")
+  public boolean contains(Class type, Object id) {
+    EntityPersister persister = persister(type);
+    EntityDataAccess access = persister.getCacheAccessStrategy();
+    return access != null && access.contains(key(access, persister, id));
+  }
+
+  @Override
+  @SuppressWarnings("rawtypes")
+  public void evict(Class type, Object id) {
+    EntityPersister persister = persister(type);
+    EntityDataAccess access = persister.getCacheAccessStrategy();
+    if (access != null) {
+      access.evict(key(access, persister, id));
+    }
+  }
+
+  @Override
+  @SuppressWarnings("rawtypes")
+  public void evict(Class type) {
+    delegate.evict(type);
+  }
+
+  @Override
+  public void evictAll() {
+    delegate.evictAll();
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> type) {
+    return delegate.unwrap(type);
+  }
+
+  private EntityPersister persister(Class<?> type) {
+    return sessionFactory.getMappingMetamodel().getEntityDescriptor(type);
+  }
+
+  private Object key(EntityDataAccess access, EntityPersister persister, Object id) {
+    return access.generateCacheKey(id, persister, sessionFactory, RoutingTenancy.TENANT);
+  }
+}
@@ -0,0 +1,40 @@
+package com.fulfilment.application.monolith.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+
+/** Hands out connections from whichever pool {@link ReadReplicaRouting} picks. */
+class RoutingConnectionProvider implements ConnectionProvider {
+
+  private final ReadReplicaRouting routing;
+
+  RoutingConnectionProvider(ReadReplicaRouting routing) {
+    this.routing = routing;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return routing.dataSource().getConnection();
+  }
+
+  @Override
+  public void closeConnection(Connection connection) throws SQLException {
+    connection.close();
+  }
+
+  @Override
+  public boolean supportsAggressiveRelease() {
+    return false;
+  }
+
+  @Override
+  public boolean isUnwrappableAs(Class<?> type) {
+    return false;
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> type) {
+    throw new UnsupportedOperationException("Cannot unwrap " + type);
+  }
+}
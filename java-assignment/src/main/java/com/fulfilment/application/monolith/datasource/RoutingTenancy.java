@@ -0,0 +1,60 @@
+package com.fulfilment.application.monolith.datasource;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource.DataSourceLiteral;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import io.quarkus.hibernate.orm.runtime.customized.QuarkusConnectionProvider;
+import io.quarkus.hibernate.orm.runtime.tenant.TenantConnectionResolver;
+import io.quarkus.hibernate.orm.runtime.tenant.TenantResolver;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+
+/**
+ * Plugs {@link RoutingConnectionProvider} into Hibernate. Quarkus only lets an application
+ * supply its own connection provider through database multi-tenancy, so there is exactly one
+ * tenant; it is not used to separate data. Keeping a single tenant id also keeps the
+ * second-level cache shared between primary and replica reads, since Hibernate makes the tenant
+ * part of every cache key.
+ *
+ * <p>Sessions opened explicitly for another tenant id get connections from the datasource of
+ * that name. The sharded warehouse store uses this to reach its shards, whose rows are disjoint
+ * from the primary's.</p>
+ */
+@PersistenceUnitExtension
+@ApplicationScoped
+public class RoutingTenancy implements TenantResolver, TenantConnectionResolver {
+
+  static final String TENANT = "routed";
+
+  private final ConnectionProvider connections;
+  private final Instance<AgroalDataSource> dataSources;
+  private final Map<String, ConnectionProvider> named = new ConcurrentHashMap<>();
+
+  public RoutingTenancy(ReadReplicaRouting routing, @Any Instance<AgroalDataSource> dataSources) {
+    this.connections = new RoutingConnectionProvider(routing);
+    this.dataSources = dataSources;
+  }
+
+  @Override
+  public String getDefaultTenantId() {
+    return TENANT;
+  }
+
+  @Override
+  public String resolveTenantId() {
+    return TENANT;
+  }
+
+  @Override
+  public ConnectionProvider resolve(String tenantId) {
+    if (TENANT.equals(tenantId)) {
+      return connections;
+    }
+    return named.computeIfAbsent(tenantId, name ->
+        new QuarkusConnectionProvider(dataSources.select(new DataSourceLiteral(name)).get()));
+  }
+}
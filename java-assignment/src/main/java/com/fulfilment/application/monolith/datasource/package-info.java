@@ -0,0 +1,34 @@
+/**
+ * Read/write split between the primary datasource and a read replica.
+ *
+ * <h2>Routing</h2>
+ * <p>{@link RoutingTenancy} installs a Hibernate connection provider that asks
+ * {@link ReadReplicaRouting} for a pool on every connection. Connections inside a transaction
+ * ({@code @Transactional} writes) or outside a request come from the primary. The
+ * non-transactional reads of the list and get endpoints use the {@code replica} datasource
+ * when {@code datasource-routing.replica-enabled} is set.</p>
+ *
+ * <h2>Read-your-writes</h2>
+ * <p>{@link ConsistencyTokenFilter} returns {@code X-Consistency-Token} on successful writes.
+ * A client that sends it back has its reads served by the primary until
+ * {@link ReplicationPositions} sees that the replica has caught up: by the replayed commit of
+ * the write's transaction, whose id is read inside it ({@code lsn}), or, where that cannot be
+ * queried, after {@code datasource-routing.max-replica-lag} ({@code commit-timestamp}).</p>
+ *
+ * <h2>Second-level cache</h2>
+ * <p>Hibernate keys cached entities by tenant, and JPA's {@code Cache.evict(Class, Object)}
+ * uses no tenant. Code that evicts single entities goes through {@link RoutedEntityCache},
+ * which builds the routing tenant's keys. Sessions reading from the replica only read the
+ * cache: a row from a lagging replica must not be cached over a newer one.</p>
+ *
+ * <h2>Shard tenants</h2>
+ * <p>Any other tenant id names a datasource. The sharded warehouse store opens its sessions
+ * with the shard's datasource name and gets that pool's connections, without routing.</p>
+ *
+ * <h2>Connection permits</h2>
+ * <p>The store, product and warehouse resources are {@link ConnectionBound}. When a request
+ * runs on a virtual thread, {@link ConnectionPermitInterceptor} first takes one of the
+ * {@link ConnectionPermits}, one per primary pool connection. Requests then queue on the
+ * semaphore rather than timing out in the pool. Platform worker threads take no permit.</p>
+ */
+package com.fulfilment.application.monolith.datasource;
@@ -0,0 +1,25 @@
+package com.fulfilment.application.monolith.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("fulfilment.ErrorMapping")
+@Label("Error Mapping")
+@Description("One exception rendered as an error response")
+@Category({"Fulfilment", "HTTP"})
+@StackTrace(false)
+public class ErrorMappingEvent extends Event {
+
+  @Label("Status")
+  public int status;
+
+  @Label("Error Code")
+  public String errorCode;
+
+  @Label("Exception Type")
+  public String exceptionType;
+}
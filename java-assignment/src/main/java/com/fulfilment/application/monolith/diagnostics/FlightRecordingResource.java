@@ -0,0 +1,61 @@
+package com.fulfilment.application.monolith.diagnostics;
+
+import com.fulfilment.application.monolith.diagnostics.FlightRecordings.RecordingStatus;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.InputStream;
+import java.time.Duration;
+import jdk.jfr.Recording;
+
+/**
+ * Admin endpoint for on-demand JFR recordings. Not authenticated: expose {@code /admin} only on
+ * the internal network or behind the gateway's admin policy.
+ */
+@Path("admin/jfr")
+@ApplicationScoped
+public class FlightRecordingResource {
+
+  private final FlightRecordings recordings;
+
+  public FlightRecordingResource(FlightRecordings recordings) {
+    this.recordings = recordings;
+  }
+
+  @POST
+  @Path("start")
+  @Produces(MediaType.APPLICATION_JSON)
+  public RecordingStatus start(@QueryParam("durationSeconds") Long durationSeconds) {
+    return recordings.start(durationSeconds == null ? null : Duration.ofSeconds(durationSeconds));
+  }
+
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  public RecordingStatus status() {
+    return recordings.status();
+  }
+
+  @POST
+  @Path("stop")
+  @Produces(MediaType.APPLICATION_OCTET_STREAM)
+  public Response stop() {
+    Recording recording = recordings.stop();
+    StreamingOutput body = output -> {
+      try (recording; InputStream data = recording.getStream(null, null)) {
+        if (data != null) {
+          data.transferTo(output);
+        }
+      }
+    };
+    return Response.ok(body)
+        .header("Content-Disposition",
+            "attachment; filename=\"fulfilment-" + recording.getId() + ".jfr\"")
+        .build();
+  }
+}
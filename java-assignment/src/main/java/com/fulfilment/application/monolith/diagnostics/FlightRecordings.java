@@ -0,0 +1,104 @@
+package com.fulfilment.application.monolith.diagnostics;
+
+import com.fulfilment.application.monolith.http.ApiException;
+import com.fulfilment.application.monolith.http.ErrorCode;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * At most one on-demand JFR recording at a time, bounded in size and duration.
+ *
+ * <p>Recordings use the JDK's {@code default} settings, which are designed to stay below 1%
+ * overhead (no allocation profiling, 20 ms method sampling), plus the {@code fulfilment.*}
+ * events, which capture no stack traces.</p>
+ */
+@ApplicationScoped
+public class FlightRecordings {
+
+  static final String RECORDING_NAME = "fulfilment-on-demand";
+
+  private final long maxSizeBytes;
+  private final Duration maxDuration;
+
+  private Recording recording;
+
+  public FlightRecordings(
+      @ConfigProperty(name = "diagnostics.jfr.max-size-mb", defaultValue = "50") long maxSizeMb,
+      @ConfigProperty(name = "diagnostics.jfr.max-duration", defaultValue = "PT10M") Duration maxDuration) {
+    this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+    this.maxDuration = maxDuration;
+  }
+
+  /** Starts a recording that stops by itself after {@code duration} (capped at the maximum). */
+  public synchronized RecordingStatus start(Duration duration) {
+    if (recording != null && recording.getState() == RecordingState.RUNNING) {
+      throw new ApiException(ErrorCode.CONFLICT, "A recording is already running.");
+    }
+    discard();
+
+    Recording started = new Recording(defaultConfiguration());
+    started.setName(RECORDING_NAME);
+    started.setToDisk(true);
+    started.setMaxSize(maxSizeBytes);
+    started.setDuration(duration == null || duration.compareTo(maxDuration) > 0 ? maxDuration : duration);
+    started.enable(WarehouseOperationEvent.class);
+    started.enable(WarehouseStoreEvent.class);
+    started.enable(LegacyGatewayEvent.class);
+    started.enable(ErrorMappingEvent.class);
+    started.start();
+    recording = started;
+    return status();
+  }
+
+  public synchronized RecordingStatus status() {
+    if (recording == null) {
+      throw new ApiException(ErrorCode.NOT_FOUND, "No recording has been started.");
+    }
+    return new RecordingStatus(recording.getState().name(), recording.getStartTime(),
+        recording.getDuration(), recording.getMaxSize());
+  }
+
+  /**
+   * Stops the current recording (if still running) and hands it over; the caller streams it and
+   * must close it.
+   */
+  public synchronized Recording stop() {
+    if (recording == null) {
+      throw new ApiException(ErrorCode.NOT_FOUND, "No recording has been started.");
+    }
+    Recording stopped = recording;
+    recording = null;
+    if (stopped.getState() == RecordingState.RUNNING) {
+      stopped.stop();
+    }
+    return stopped;
+  }
+
+  private void discard() {
+    if (recording != null) {
+      recording.close();
+      recording = null;
+    }
+  }
+
+  private static Configuration defaultConfiguration() {
+    try {
+      return Configuration.getConfiguration("default");
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } catch (ParseException e) {
+      throw new IllegalStateException("JDK 'default' JFR configuration is unreadable", e);
+    }
+  }
+
+  public record RecordingStatus(String state, Instant startTime, Duration duration, long maxSizeBytes) {
+  }
+}
@@ -0,0 +1,25 @@
+package com.fulfilment.application.monolith.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("fulfilment.LegacyGateway")
+@Label("Legacy Gateway Dispatch")
+@Description("One store change sent to the legacy store manager after commit")
+@Category({"Fulfilment", "Store"})
+@StackTrace(false)
+public class LegacyGatewayEvent extends Event {
+
+  @Label("Operation")
+  public String operation;
+
+  @Label("Store Name")
+  public String storeName;
+
+  @Label("Succeeded")
+  public boolean succeeded;
+}
@@ -0,0 +1,29 @@
+package com.fulfilment.application.monolith.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("fulfilment.WarehouseOperation")
+@Label("Warehouse Operation")
+@Description("One create, replace or archive use-case invocation, including its store calls")
+@Category({"Fulfilment", "Warehouse"})
+@StackTrace(false)
+public class WarehouseOperationEvent extends Event {
+
+  @Label("Operation")
+  public String operation;
+
+  @Label("Business Unit Code")
+  public String businessUnitCode;
+
+  @Label("Location")
+  public String location;
+
+  @Label("Outcome")
+  @Description("success, rejected (with the violated rule) or error")
+  public String outcome;
+}
@@ -0,0 +1,25 @@
+package com.fulfilment.application.monolith.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("fulfilment.WarehouseStore")
+@Label("Warehouse Store Call")
+@Description("One WarehouseStore call: time spent acquiring a connection and running its queries")
+@Category({"Fulfilment", "Warehouse"})
+@StackTrace(false)
+public class WarehouseStoreEvent extends Event {
+
+  @Label("Method")
+  public String method;
+
+  @Label("Business Unit Code")
+  public String businessUnitCode;
+
+  @Label("Location")
+  public String location;
+}
@@ -0,0 +1,32 @@
+/**
+ * Low-overhead production diagnostics with Java Flight Recorder.
+ *
+ * <h2>Custom events</h2>
+ * <table>
+ *   <tr><th>Event</th><th>Emitted by</th><th>Fields</th></tr>
+ *   <tr><td>{@code fulfilment.WarehouseOperation}</td>
+ *       <td>{@code WarehouseOperationInterceptor} (create, replace, archive)</td>
+ *       <td>operation, BU code, location, outcome</td></tr>
+ *   <tr><td>{@code fulfilment.WarehouseStore}</td>
+ *       <td>{@code WarehouseStoreEvents} decorator, every {@code WarehouseStore} call</td>
+ *       <td>method, BU code, location</td></tr>
+ *   <tr><td>{@code fulfilment.LegacyGateway}</td>
+ *       <td>{@code LegacyStoreManagerGateway}</td>
+ *       <td>operation, store name, succeeded</td></tr>
+ *   <tr><td>{@code fulfilment.ErrorMapping}</td>
+ *       <td>{@code ErrorMapper}</td>
+ *       <td>status, error code, exception type</td></tr>
+ * </table>
+ * <p>Nesting is visible on the thread timeline: a slow {@code replace} shows its store calls
+ * (connection wait and queries) inside the operation, and the JDK's own socket, lock and GC
+ * events around them. No event captures a stack trace, and fields are only filled in when
+ * a recording is running.</p>
+ *
+ * <h2>On-demand recordings</h2>
+ * <p>{@link FlightRecordingResource} starts ({@code POST /admin/jfr/start?durationSeconds=N}),
+ * inspects ({@code GET /admin/jfr}) and stops ({@code POST /admin/jfr/stop}) a single
+ * recording. Stopping it streams the {@code .jfr} file. {@link FlightRecordings} uses the JDK
+ * {@code default} settings (under 1% overhead) and caps size and duration via
+ * {@code diagnostics.jfr.max-size-mb} and {@code diagnostics.jfr.max-duration}.</p>
+ */
+package com.fulfilment.application.monolith.diagnostics;
@@ -0,0 +1,175 @@
+package com.fulfilment.application.monolith.graphql;
+
+import com.fulfilment.application.monolith.batching.BatchLoader;
+import com.fulfilment.application.monolith.datasource.ConnectionBound;
+import com.fulfilment.application.monolith.http.ApiException;
+import com.fulfilment.application.monolith.http.ErrorCode;
+import com.fulfilment.application.monolith.products.Product;
+import com.fulfilment.application.monolith.products.ProductRepository;
+import com.fulfilment.application.monolith.stock.HotStockCounters;
+import com.fulfilment.application.monolith.stock.StockTarget;
+import com.fulfilment.application.monolith.stores.Store;
+import com.fulfilment.application.monolith.warehouses.Location;
+import com.fulfilment.application.monolith.warehouses.LocationResolver;
+import com.fulfilment.application.monolith.warehouses.Warehouse;
+import com.fulfilment.application.monolith.warehouses.WarehouseStore;
+import com.fulfilment.application.monolith.warehouses.view.WarehouseView;
+import com.fulfilment.application.monolith.warehouses.view.WarehouseViewRepository;
+import io.quarkus.panache.common.Sort;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.eclipse.microprofile.graphql.Description;
+import org.eclipse.microprofile.graphql.GraphQLApi;
+import org.eclipse.microprofile.graphql.Name;
+import org.eclipse.microprofile.graphql.Query;
+import org.eclipse.microprofile.graphql.Source;
+
+/**
+ * Read-only GraphQL API over stores, products, warehouses and their locations at
+ * {@code /graphql}.
+ *
+ * <p>Root queries answer lists: all of a kind, or those named by key in request order, loaded
+ * by {@link BatchLoader} like the REST multi-gets. The relationships are resolved for all
+ * parents of a level at once: {@code Warehouse.location} from the location registry, and
+ * {@code Location.warehouses} with one {@code IN} query per chunk of locations. A query
+ * therefore runs a number of SQL statements that depends on its shape, not on how many
+ * warehouses it returns. Every resolver call is {@link ConnectionBound}, so it passes the same
+ * admission limits and connection permits as the REST resources.</p>
+ */
+@GraphQLApi
+@ApplicationScoped
+@ConnectionBound
+public class FulfilmentGraphQLApi {
+
+  private final WarehouseStore warehouseStore;
+  private final WarehouseViewRepository warehouseViews;
+  private final LocationResolver locationResolver;
+  private final ProductRepository productRepository;
+  private final HotStockCounters stockCounters;
+  private final BatchLoader batchLoader;
+
+  public FulfilmentGraphQLApi(
+      WarehouseStore warehouseStore,
+      WarehouseViewRepository warehouseViews,
+      LocationResolver locationResolver,
+      ProductRepository productRepository,
+      HotStockCounters stockCounters,
+      BatchLoader batchLoader) {
+    this.warehouseStore = warehouseStore;
+    this.warehouseViews = warehouseViews;
+    this.locationResolver = locationResolver;
+    this.productRepository = productRepository;
+    this.stockCounters = stockCounters;
+    this.batchLoader = batchLoader;
+  }
+
+  @Query("stores")
+  @Description("All stores by name, or the stores with these ids in the order given")
+  public List<StoreNode> stores(@Name("ids") List<String> ids) {
+    List<Store> stores = ids == null
+        ? Store.listAll(Sort.by("name"))
+        : batchLoader.load(batchLoader.keys("ids", ids, Long::valueOf),
+            chunk -> Store.<Store>list("id in ?1", chunk), store -> store.id);
+    return stores.stream().map(this::toNode).toList();
+  }
+
+  @Query("products")
+  @Description("All products by name, or the products with these ids in the order given")
+  public List<ProductNode> products(@Name("ids") List<String> ids) {
+    List<Product> products = ids == null
+        ? productRepository.listAll(Sort.by("name"))
+        : batchLoader.load(batchLoader.keys("ids", ids, Long::valueOf),
+            chunk -> productRepository.list("id in ?1", chunk), product -> product.id);
+    return products.stream().map(this::toNode).toList();
+  }
+
+  @Query("warehouses")
+  @Description("All active warehouses by business unit code, or those with these ids or business"
+      + " unit codes in the order given")
+  public List<WarehouseNode> warehouses(@Name("ids") List<String> ids,
+      @Name("businessUnitCodes") List<String> businessUnitCodes) {
+    if (ids != null && businessUnitCodes != null) {
+      throw new ApiException(ErrorCode.INVALID_REQUEST,
+          "Request warehouses by ids or by businessUnitCodes, not both.");
+    }
+    if (ids != null) {
+      return batchLoader.load(batchLoader.keys("ids", ids, Long::valueOf),
+              warehouseStore::findActiveByIds, warehouse -> warehouse.id)
+          .stream().map(FulfilmentGraphQLApi::toNode).toList();
+    }
+    if (businessUnitCodes != null) {
+      return batchLoader.load(
+              batchLoader.keys("businessUnitCodes", businessUnitCodes, Function.identity()),
+              warehouseStore::findActiveByBusinessUnitCodes,
+              warehouse -> warehouse.businessUnitCode)
+          .stream().map(FulfilmentGraphQLApi::toNode).toList();
+    }
+    // from the read model, as GET /warehouse
+    return warehouseViews.listActive().stream().map(FulfilmentGraphQLApi::toNode).toList();
+  }
+
+  @Query("location")
+  @Description("The location with this identification, if there is one")
+  public LocationNode location(@Name("identification") String identification) {
+    Location location = locationResolver.resolveByIdentifier(identification);
+    return location != null ? toNode(location) : null;
+  }
+
+  /** {@code Warehouse.location} for all warehouses of a level; the registry is in memory. */
+  @Description("The location the warehouse is at")
+  public List<LocationNode> location(@Source List<WarehouseNode> warehouses) {
+    Map<String, LocationNode> locations = batchLoader.loadAll(
+        warehouses.stream().map(WarehouseNode::locationIdentification).toList(),
+        identifications -> identifications.stream()
+            .map(locationResolver::resolveByIdentifier)
+            .filter(location -> location != null)
+            .map(FulfilmentGraphQLApi::toNode)
+            .toList(),
+        LocationNode::identification);
+    return warehouses.stream()
+        .map(warehouse -> locations.get(warehouse.locationIdentification()))
+        .toList();
+  }
+
+  /** {@code Location.warehouses} for all locations of a level, one query per chunk. */
+  @Description("The active warehouses at the location")
+  public List<List<WarehouseNode>> warehouses(@Source List<LocationNode> locations) {
+    Map<String, List<Warehouse>> byLocation = batchLoader.loadGrouped(
+        locations.stream().map(LocationNode::identification).toList(),
+        warehouseStore::findActiveByLocations, warehouse -> warehouse.location);
+    return locations.stream()
+        .map(location -> byLocation.get(location.identification()).stream()
+            .map(FulfilmentGraphQLApi::toNode)
+            .toList())
+        .toList();
+  }
+
+  private StoreNode toNode(Store store) {
+    long pending = stockCounters.pending(StockTarget.STORE, store.id, store.version);
+    return new StoreNode(String.valueOf(store.id), store.name,
+        (int) (store.quantityProductsInStock + pending));
+  }
+
+  private ProductNode toNode(Product product) {
+    long pending = stockCounters.pending(StockTarget.PRODUCT, product.id, product.version);
+    return new ProductNode(String.valueOf(product.id), product.name, product.description,
+        product.price, (int) (product.stock + pending));
+  }
+
+  private static WarehouseNode toNode(Warehouse warehouse) {
+    return new WarehouseNode(String.valueOf(warehouse.id), warehouse.businessUnitCode,
+        warehouse.location, warehouse.capacity, warehouse.stock);
+  }
+
+  private static WarehouseNode toNode(WarehouseView view) {
+    return new WarehouseNode(String.valueOf(view.warehouseId), view.businessUnitCode,
+        view.location, view.capacity, view.stock);
+  }
+
+  private static LocationNode toNode(Location location) {
+    return new LocationNode(location.identification, location.maxNumberOfWarehouses,
+        location.maxCapacity);
+  }
+}
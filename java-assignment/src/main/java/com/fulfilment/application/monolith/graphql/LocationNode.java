@@ -0,0 +1,7 @@
+package com.fulfilment.application.monolith.graphql;
+
+import org.eclipse.microprofile.graphql.Name;
+
+/** A location and its limits; its active warehouses are resolved in batches. */
+@Name("Location")
+public record LocationNode(String identification, int maxNumberOfWarehouses, int maxCapacity) {}
@@ -0,0 +1,128 @@
+package com.fulfilment.application.monolith.graphql;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * The GraphQL operations the front end ships with, read at startup from an Apollo persisted
+ * query manifest ({@code graphql.persisted-queries.manifest}) and keyed by the SHA-256 of their
+ * text.
+ *
+ * <p>A client sends {@code extensions={"persistedQuery":{"version":1,"sha256Hash":"…"}}} instead
+ * of the query. With {@code graphql.persisted-queries.only=true}, as in production, nothing else
+ * is executed: a query that is not in the manifest cannot reach the pool, however it is shaped.
+ * The manifest is not extended at runtime, so unlike Apollo's automatic persisted queries a
+ * client cannot register new ones.</p>
+ */
+@ApplicationScoped
+public class PersistedQueries {
+
+  static final String NOT_FOUND = "PERSISTED_QUERY_NOT_FOUND";
+  static final String REQUIRED = "PERSISTED_QUERY_REQUIRED";
+
+  private final boolean only;
+  private final Map<String, String> queries;
+  private final ObjectMapper mapper;
+
+  @Inject
+  public PersistedQueries(
+      @ConfigProperty(name = "graphql.persisted-queries.manifest",
+          defaultValue = "graphql/persisted-queries.json") String manifest,
+      @ConfigProperty(name = "graphql.persisted-queries.only", defaultValue = "true") boolean only,
+      ObjectMapper mapper) {
+    this(only, readManifest(manifest, mapper), mapper);
+  }
+
+  PersistedQueries(boolean only, Map<String, String> queries, ObjectMapper mapper) {
+    queries.forEach((hash, query) -> {
+      if (!hash.equals(sha256(query))) {
+        throw new IllegalStateException("Persisted query " + hash + " does not match its text.");
+      }
+    });
+    this.only = only;
+    this.queries = Map.copyOf(queries);
+    this.mapper = mapper;
+  }
+
+  /**
+   * The persisted query a request's {@code extensions} parameter names, or {@code null} when it
+   * names none and the request's own query may run.
+   *
+   * @throws Rejection when the hash is unknown, or no hash was sent and only persisted queries
+   *     are accepted
+   */
+  String resolve(String extensions) {
+    String hash = hash(extensions);
+    if (hash == null) {
+      if (only) {
+        throw new Rejection(REQUIRED, "Only persisted queries are accepted.");
+      }
+      return null;
+    }
+    String query = queries.get(hash);
+    if (query == null) {
+      throw new Rejection(NOT_FOUND, "PersistedQueryNotFound");
+    }
+    return query;
+  }
+
+  private String hash(String extensions) {
+    if (extensions == null || extensions.isBlank()) {
+      return null;
+    }
+    try {
+      JsonNode hash = mapper.readTree(extensions).path("persistedQuery").path("sha256Hash");
+      return hash.isTextual() ? hash.asText() : null;
+    } catch (IOException e) {
+      throw new Rejection(NOT_FOUND, "The extensions parameter is not valid JSON.");
+    }
+  }
+
+  static String sha256(String query) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+          .digest(query.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static Map<String, String> readManifest(String manifest, ObjectMapper mapper) {
+    try (InputStream in =
+        Thread.currentThread().getContextClassLoader().getResourceAsStream(manifest)) {
+      if (in == null) {
+        throw new IllegalStateException("Persisted query manifest " + manifest + " not found.");
+      }
+      Map<String, String> queries = new HashMap<>();
+      for (JsonNode operation : mapper.readTree(in).path("operations")) {
+        queries.put(operation.path("id").asText(), operation.path("body").asText());
+      }
+      return queries;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Why a request was not executed; {@code code} is its GraphQL error extension code. */
+  static final class Rejection extends RuntimeException {
+
+    final String code;
+
+    Rejection(String code, String message) {
+      super(message, null, false, false);
+      this.code = code;
+    }
+  }
+}
@@ -0,0 +1,88 @@
+package com.fulfilment.application.monolith.graphql;
+
+import io.quarkus.vertx.http.runtime.filters.Filters;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Applies {@link PersistedQueries} in front of the GraphQL endpoint. The endpoint is a Vert.x
+ * route, not a JAX-RS resource, so this is a route filter. A {@code GET} that names a persisted
+ * query is rerouted to the same endpoint with the query's text. Other requests, including every
+ * {@code POST}, pass only while ad-hoc queries are allowed. Rejections are answered {@code 400}
+ * with a GraphQL error whose {@code extensions.code} says why. The endpoint is also served with
+ * a trailing slash, so both paths are filtered.
+ */
+@ApplicationScoped
+public class PersistedQueryFilter {
+
+  // runs before the GraphQL handler; only the endpoint itself, not its schema or UI
+  private static final int PRIORITY = 100;
+  private static final String REROUTED = PersistedQueryFilter.class.getName();
+
+  void register(@Observes Filters filters, PersistedQueries queries,
+      @ConfigProperty(name = "quarkus.smallrye-graphql.root-path", defaultValue = "graphql")
+          String rootPath) {
+    String endpoint = rootPath.startsWith("/") ? rootPath : "/" + rootPath;
+    filters.register(context -> {
+      if (!isEndpoint(context.normalizedPath(), endpoint) || context.get(REROUTED) != null) {
+        context.next();
+        return;
+      }
+      filter(context, queries, endpoint);
+    }, PRIORITY);
+  }
+
+  static boolean isEndpoint(String path, String endpoint) {
+    return path.startsWith(endpoint)
+        && (path.length() == endpoint.length()
+            || path.length() == endpoint.length() + 1 && path.endsWith("/"));
+  }
+
+  private static void filter(RoutingContext context, PersistedQueries queries, String endpoint) {
+    HttpServerRequest request = context.request();
+    String query;
+    try {
+      query = queries.resolve(
+          request.method() == HttpMethod.GET ? request.getParam("extensions") : null);
+    } catch (PersistedQueries.Rejection e) {
+      reject(context, e);
+      return;
+    }
+    if (query == null) {
+      context.next();
+      return;
+    }
+    StringBuilder uri = new StringBuilder(endpoint).append("?query=").append(encode(query));
+    for (String parameter : new String[] {"variables", "operationName"}) {
+      String value = request.getParam(parameter);
+      if (value != null) {
+        uri.append('&').append(parameter).append('=').append(encode(value));
+      }
+    }
+    context.put(REROUTED, Boolean.TRUE);
+    context.reroute(HttpMethod.GET, uri.toString());
+  }
+
+  private static void reject(RoutingContext context, PersistedQueries.Rejection rejection) {
+    JsonObject error = new JsonObject()
+        .put("message", rejection.getMessage())
+        .put("extensions", new JsonObject().put("code", rejection.code));
+    context.response()
+        .setStatusCode(400)
+        .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+        .end(new JsonObject().put("errors", new JsonArray().add(error)).encode());
+  }
+
+  private static String encode(String value) {
+    return URLEncoder.encode(value, StandardCharsets.UTF_8);
+  }
+}
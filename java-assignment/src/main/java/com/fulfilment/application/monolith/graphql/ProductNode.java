@@ -0,0 +1,10 @@
+package com.fulfilment.application.monolith.graphql;
+
+import java.math.BigDecimal;
+import org.eclipse.microprofile.graphql.Id;
+import org.eclipse.microprofile.graphql.Name;
+
+/** A product as the GraphQL API shows it: stock includes deltas the hot counters still hold. */
+@Name("Product")
+public record ProductNode(
+    @Id String id, String name, String description, BigDecimal price, int stock) {}
@@ -0,0 +1,8 @@
+package com.fulfilment.application.monolith.graphql;
+
+import org.eclipse.microprofile.graphql.Id;
+import org.eclipse.microprofile.graphql.Name;
+
+/** A store as the GraphQL API shows it: stock includes deltas the hot counters still hold. */
+@Name("Store")
+public record StoreNode(@Id String id, String name, int quantityProductsInStock) {}
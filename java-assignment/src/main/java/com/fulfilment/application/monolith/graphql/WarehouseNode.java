@@ -0,0 +1,15 @@
+package com.fulfilment.application.monolith.graphql;
+
+import org.eclipse.microprofile.graphql.Id;
+import org.eclipse.microprofile.graphql.Ignore;
+import org.eclipse.microprofile.graphql.Name;
+
+/**
+ * An active warehouse. Its {@code location} field is the {@link LocationNode}, resolved in
+ * batches by {@link FulfilmentGraphQLApi#location}; the identification it is resolved from is
+ * not a field of its own.
+ */
+@Name("Warehouse")
+public record WarehouseNode(
+    @Id String id, String businessUnitCode, @Ignore String locationIdentification,
+    Integer capacity, Integer stock) {}
@@ -0,0 +1,15 @@
+/**
+ * GraphQL API at {@code /graphql} over stores, products, warehouses and locations.
+ *
+ * <p>A dashboard asks for exactly the fields it shows in one request instead of calling several
+ * REST endpoints. {@link FulfilmentGraphQLApi} resolves nested fields for all parents at once:
+ * the locations of a list of warehouses, and the warehouses of a list of locations, are each
+ * loaded with one batched query through the {@code BatchLoader}, however many parents there
+ * are. Query depth and complexity are limited in {@code application.properties}.</p>
+ *
+ * <p>{@link PersistedQueryFilter} lets clients send a query by the SHA-256 hash of its text with
+ * {@code GET}, which caches like any other {@code GET}. The queries come from a manifest in the
+ * application ({@link PersistedQueries}); with {@code graphql.persisted-queries.only} set, other
+ * queries are refused.</p>
+ */
+package com.fulfilment.application.monolith.graphql;
@@ -0,0 +1,51 @@
+package com.fulfilment.application.monolith.http;
+
+import jakarta.ws.rs.WebApplicationException;
+import java.time.Duration;
+
+/**
+ * An expected client error (404, 412, 422, ...) with a typed {@link ErrorCode}.
+ *
+ * <p>Stackless: these are thrown on every poll for a missing id, and a stack trace
+ * would be both the main cost of the throw and never looked at. The optional
+ * {@code reason} names the specific domain rule, e.g. {@code STOCK_MISMATCH}. The optional
+ * {@code retryAfter} of a load-shedding {@code 503} becomes a {@code Retry-After} header.</p>
+ */
+public class ApiException extends WebApplicationException {
+
+  private final ErrorCode errorCode;
+  private final String reason;
+  private final Duration retryAfter;
+
+  public ApiException(ErrorCode errorCode, String message) {
+    this(errorCode, null, message);
+  }
+
+  public ApiException(ErrorCode errorCode, String reason, String message) {
+    this(errorCode, reason, message, null);
+  }
+
+  public ApiException(ErrorCode errorCode, String reason, String message, Duration retryAfter) {
+    super(message, errorCode.status);
+    this.errorCode = errorCode;
+    this.reason = reason;
+    this.retryAfter = retryAfter;
+  }
+
+  public ErrorCode errorCode() {
+    return errorCode;
+  }
+
+  public String reason() {
+    return reason;
+  }
+
+  public Duration retryAfter() {
+    return retryAfter;
+  }
+
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
+}
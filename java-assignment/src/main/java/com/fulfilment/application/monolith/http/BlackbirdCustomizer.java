@@ -0,0 +1,21 @@
+package com.fulfilment.application.monolith.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import io.quarkus.jackson.ObjectMapperCustomizer;
+import jakarta.inject.Singleton;
+
+/**
+ * Registers Jackson's Blackbird module on the application's {@link ObjectMapper}: the getters,
+ * setters and constructors of {@code Store}, {@code Product}, the generated warehouse bean and
+ * the other bodies are called through generated lambdas instead of reflection, once each type's
+ * serializer has been built. JSON, CBOR and the response cache all use this mapper.
+ */
+@Singleton
+public class BlackbirdCustomizer implements ObjectMapperCustomizer {
+
+  @Override
+  public void customize(ObjectMapper objectMapper) {
+    objectMapper.registerModule(new BlackbirdModule());
+  }
+}
@@ -0,0 +1,8 @@
+package com.fulfilment.application.monolith.http;
+
+/**
+ * Fired by write paths when the {@code entity} with the given id in a {@link CachedResponse}
+ * region changed. Observed after the transaction commits, so a rolled-back write never
+ * evicts anything. The entity class lets other instances evict their second-level cache too.
+ */
+public record CacheInvalidationEvent(String region, Class<?> entity, Long id) {}
@@ -0,0 +1,20 @@
+package com.fulfilment.application.monolith.http;
+
+import jakarta.ws.rs.NameBinding;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Serves successful {@code GET} responses of the annotated resource from the
+ * {@link ResponseCache}. The region names the data set; writes invalidate it through a
+ * {@link CacheInvalidationEvent} with the same region.
+ */
+@NameBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface CachedResponse {
+
+  String value() default "";
+}
@@ -0,0 +1,69 @@
+package com.fulfilment.application.monolith.http;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Logs 4xx responses as one line without a stack trace, sampled and rate limited.
+ *
+ * <p>Only every {@code sample-every}-th client error is considered, and of those at most
+ * {@code max-per-second} are written. Everything dropped is counted and reported as a
+ * single summary line when the next second opens, so a client hammering missing ids
+ * costs one counter increment per request instead of a log write.</p>
+ */
+@ApplicationScoped
+public class ClientErrorLog {
+
+  private static final Logger LOGGER = Logger.getLogger(ClientErrorLog.class.getName());
+
+  private final int sampleEvery;
+  private final int maxPerSecond;
+  private final LongSupplier clock;
+
+  private final AtomicLong seen = new AtomicLong();
+  private final AtomicLong windowSecond = new AtomicLong();
+  private final AtomicInteger loggedInWindow = new AtomicInteger();
+  private final LongAdder suppressed = new LongAdder();
+
+  @Inject
+  public ClientErrorLog(
+      @ConfigProperty(name = "errors.client-log.sample-every", defaultValue = "1") int sampleEvery,
+      @ConfigProperty(name = "errors.client-log.max-per-second", defaultValue = "5") int maxPerSecond) {
+    this(sampleEvery, maxPerSecond, System::currentTimeMillis);
+  }
+
+  ClientErrorLog(int sampleEvery, int maxPerSecond, LongSupplier clock) {
+    this.sampleEvery = Math.max(1, sampleEvery);
+    this.maxPerSecond = maxPerSecond;
+    this.clock = clock;
+  }
+
+  /** Returns whether the line was written. */
+  public boolean log(int status, ErrorCode errorCode, Exception exception) {
+    if (seen.incrementAndGet() % sampleEvery != 0) {
+      suppressed.increment();
+      return false;
+    }
+    long second = clock.getAsLong() / 1000;
+    long window = windowSecond.get();
+    if (second != window && windowSecond.compareAndSet(window, second)) {
+      loggedInWindow.set(0);
+      long dropped = suppressed.sumThenReset();
+      if (dropped > 0) {
+        LOGGER.infof("Suppressed %d client error log lines", dropped);
+      }
+    }
+    if (loggedInWindow.incrementAndGet() > maxPerSecond) {
+      suppressed.increment();
+      return false;
+    }
+    LOGGER.infof("%d %s: %s", status, errorCode, exception.getMessage());
+    return true;
+  }
+}
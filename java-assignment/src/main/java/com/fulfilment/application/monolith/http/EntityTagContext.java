@@ -0,0 +1,143 @@
+package com.fulfilment.application.monolith.http;
+
+import jakarta.enterprise.context.RequestScoped;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Per-request state for conditional requests.
+ *
+ * <p>{@link EntityTagFilter} records the {@code If-Match} / {@code If-None-Match} headers
+ * before the resource runs; the resource checks preconditions against the entity's
+ * {@code @Version} and tags what it returns. After the resource, the filter writes the
+ * {@code ETag} header and turns a matching {@code If-None-Match} GET into a bodyless 304.</p>
+ *
+ * <p>A single entity gets a strong tag of its version ({@code "3"}); a collection gets a
+ * weak tag derived from every member's id and version, so it changes when any member is
+ * added, removed or modified.</p>
+ *
+ * <p>A body that adds stock deltas not yet persisted differs from what its version alone
+ * describes, so those deltas go into the tag too ({@code "3+5"}): a hot stock adjustment
+ * leaves the version as it is but still changes the tag.</p>
+ *
+ * <p>The tag is that of the JSON representation. The CBOR and gzip representations get it
+ * with a {@code -cbor} or {@code -gzip} suffix, so no two representations share a tag, and
+ * {@code If-Match} accepts the tag of any representation of the current version.</p>
+ */
+@RequestScoped
+public class EntityTagContext {
+
+  private static final String CBOR_SUFFIX = "-cbor";
+  private static final String GZIP_SUFFIX = "-gzip";
+
+  private String ifMatch;
+  private String ifNoneMatch;
+  private String entityTag;
+
+  void readConditions(String ifMatch, String ifNoneMatch) {
+    this.ifMatch = ifMatch;
+    this.ifNoneMatch = ifNoneMatch;
+  }
+
+  public void tag(long version) {
+    entityTag = strongTag(version);
+  }
+
+  /** Tags a body showing {@code pending} on top of the state at {@code version}. */
+  public void tag(long version, long pending) {
+    entityTag = pending == 0 ? strongTag(version) : "\"" + version + "+" + pending + "\"";
+  }
+
+  public <T> void tagCollection(List<T> items, ToLongFunction<T> id, ToLongFunction<T> version) {
+    tagCollection(items, id, version, item -> 0);
+  }
+
+  public <T> void tagCollection(List<T> items, ToLongFunction<T> id, ToLongFunction<T> version,
+      ToLongFunction<T> pending) {
+    long hash = 17;
+    for (T item : items) {
+      hash = 31 * hash + id.applyAsLong(item);
+      hash = 31 * hash + version.applyAsLong(item);
+      long delta = pending.applyAsLong(item);
+      if (delta != 0) {
+        hash = 31 * hash + delta;
+      }
+    }
+    entityTag = "W/\"" + items.size() + "-" + Long.toHexString(hash) + "\"";
+  }
+
+  /**
+   * Rejects the write with 412 when the client sent {@code If-Match} for another version.
+   * Without the header the write is unconditional, as before.
+   */
+  public void requireMatch(long currentVersion) {
+    if (ifMatch == null) {
+      return;
+    }
+    String current = strongTag(currentVersion);
+    List<String> representations = List.of(current, cborTag(current), gzipTag(current));
+    for (String candidate : ifMatch.split(",")) {
+      String trimmed = candidate.trim();
+      // If-Match uses strong comparison, so weak tags never match
+      if (trimmed.equals("*") || representations.contains(trimmed)) {
+        return;
+      }
+    }
+    throw new ApiException(ErrorCode.PRECONDITION_FAILED,
+        "Precondition failed: resource is at version " + current + ", not " + ifMatch + ".");
+  }
+
+  String entityTag() {
+    return entityTag;
+  }
+
+  boolean notModified() {
+    return notModified(entityTag);
+  }
+
+  /** Whether {@code If-None-Match} lists the tag of the representation about to be sent. */
+  boolean notModified(String representationTag) {
+    return matchesWeakly(ifNoneMatch, representationTag);
+  }
+
+  /** The tag of the CBOR representation of what {@code entityTag} tags as JSON. */
+  static String cborTag(String entityTag) {
+    return withSuffix(entityTag, CBOR_SUFFIX);
+  }
+
+  /** The tag of the gzip-encoded JSON representation. */
+  static String gzipTag(String entityTag) {
+    return withSuffix(entityTag, GZIP_SUFFIX);
+  }
+
+  // inside the quotes, so a weak tag stays weak
+  private static String withSuffix(String entityTag, String suffix) {
+    if (entityTag == null) {
+      return null;
+    }
+    return entityTag.substring(0, entityTag.length() - 1) + suffix + "\"";
+  }
+
+  static boolean matchesWeakly(String ifNoneMatch, String entityTag) {
+    if (ifNoneMatch == null || entityTag == null) {
+      return false;
+    }
+    String opaque = opaque(entityTag);
+    for (String candidate : ifNoneMatch.split(",")) {
+      String trimmed = candidate.trim();
+      // If-None-Match uses weak comparison
+      if (trimmed.equals("*") || opaque(trimmed).equals(opaque)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String strongTag(long version) {
+    return "\"" + version + "\"";
+  }
+
+  private static String opaque(String tag) {
+    return tag.startsWith("W/") ? tag.substring(2) : tag;
+  }
+}
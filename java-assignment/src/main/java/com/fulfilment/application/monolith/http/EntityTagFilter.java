@@ -0,0 +1,57 @@
+package com.fulfilment.application.monolith.http;
+
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Applies {@link EntityTagContext} to the HTTP exchange: reads the conditional headers on
+ * the way in, writes {@code ETag} on the way out and answers 304 for a matching
+ * {@code If-None-Match}. The 304 replaces the entity before any message body writer runs,
+ * so an unchanged resource is never serialised. A response negotiated to CBOR gets the CBOR
+ * tag.
+ */
+@Provider
+@Priority(Priorities.HEADER_DECORATOR + 100)
+public class EntityTagFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+  private final EntityTagContext entityTags;
+
+  public EntityTagFilter(EntityTagContext entityTags) {
+    this.entityTags = entityTags;
+  }
+
+  @Override
+  public void filter(ContainerRequestContext request) {
+    entityTags.readConditions(
+        request.getHeaderString(HttpHeaders.IF_MATCH),
+        request.getHeaderString(HttpHeaders.IF_NONE_MATCH));
+  }
+
+  @Override
+  public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+    String entityTag = entityTags.entityTag();
+    if (entityTag == null || response.getStatus() >= 300) {
+      return;
+    }
+    MediaType mediaType = response.getMediaType();
+    if (mediaType != null && mediaType.isCompatible(CborMessageBodyWriter.APPLICATION_CBOR_TYPE)) {
+      entityTag = EntityTagContext.cborTag(entityTag);
+    }
+    response.getHeaders().putSingle(HttpHeaders.ETAG, entityTag);
+
+    boolean safeMethod = HttpMethod.GET.equals(request.getMethod())
+        || HttpMethod.HEAD.equals(request.getMethod());
+    if (safeMethod && entityTags.notModified(entityTag)) {
+      response.setStatus(304);
+      response.setEntity(null);
+    }
+  }
+}
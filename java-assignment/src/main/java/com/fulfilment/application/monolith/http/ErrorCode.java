@@ -0,0 +1,41 @@
+package com.fulfilment.application.monolith.http;
+
+/** Machine-readable error categories returned as {@code errorCode} in every error body. */
+public enum ErrorCode {
+  VALIDATION_FAILED(400),
+  NOT_FOUND(404),
+  VERSION_CONFLICT(409),
+  CONFLICT(409),
+  PRECONDITION_FAILED(412),
+  INVALID_REQUEST(422),
+  TOO_MANY_REQUESTS(429),
+  CLIENT_ERROR(400),
+  INTERNAL_ERROR(500),
+  SERVICE_UNAVAILABLE(503);
+
+  final int status;
+
+  ErrorCode(int status) {
+    this.status = status;
+  }
+
+  // for exceptions thrown outside our code (JAX-RS routing, JSON parsing) that only carry a status
+  static ErrorCode forStatus(int status) {
+    switch (status) {
+      case 404:
+        return NOT_FOUND;
+      case 409:
+        return VERSION_CONFLICT;
+      case 412:
+        return PRECONDITION_FAILED;
+      case 422:
+        return INVALID_REQUEST;
+      case 429:
+        return TOO_MANY_REQUESTS;
+      case 503:
+        return SERVICE_UNAVAILABLE;
+      default:
+        return status >= 500 ? INTERNAL_ERROR : CLIENT_ERROR;
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package com.fulfilment.application.monolith.http;
+
+import com.fulfilment.application.monolith.diagnostics.ErrorMappingEvent;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+import java.time.Duration;
+import org.jboss.logging.Logger;
+
+/**
+ * The single mapping from exceptions to JSON error responses for all resources.
+ *
+ * <p>Client errors (4xx) go to the sampled, rate-limited {@link ClientErrorLog} without a
+ * stack trace, and so does a {@code 503} that sheds load, recognised by its
+ * {@link ApiException#retryAfter()}: a burst of them must not become a burst of log writes.
+ * Other server errors (5xx), including an {@code ApiException} without a retry delay, are
+ * logged at ERROR.</p>
+ */
+@Provider
+public class ErrorMapper implements ExceptionMapper<Exception> {
+
+  private static final Logger LOGGER = Logger.getLogger(ErrorMapper.class.getName());
+
+  private final ClientErrorLog clientErrorLog;
+
+  public ErrorMapper(ClientErrorLog clientErrorLog) {
+    this.clientErrorLog = clientErrorLog;
+  }
+
+  @Override
+  public Response toResponse(Exception exception) {
+    ErrorMappingEvent event = new ErrorMappingEvent();
+    event.begin();
+    int status = 500;
+    ErrorCode errorCode = ErrorCode.INTERNAL_ERROR;
+    String reason = null;
+    Duration retryAfter = null;
+    if (exception instanceof ApiException) {
+      ApiException apiException = (ApiException) exception;
+      errorCode = apiException.errorCode();
+      status = errorCode.status;
+      reason = apiException.reason();
+      retryAfter = apiException.retryAfter();
+    } else if (exception instanceof WebApplicationException) {
+      status = ((WebApplicationException) exception).getResponse().getStatus();
+      errorCode = ErrorCode.forStatus(status);
+    } else if (VersionConflicts.isVersionConflict(exception)) {
+      errorCode = ErrorCode.VERSION_CONFLICT;
+      status = errorCode.status;
+    }
+
+    boolean shedLoad = retryAfter != null;
+    if (status >= 500 && !shedLoad) {
+      LOGGER.error("Failed to handle request", exception);
+    } else {
+      clientErrorLog.log(status, errorCode, exception);
+    }
+
+    ErrorResponse body = new ErrorResponse(
+        exception.getClass().getName(), status, errorCode.name(), reason, exception.getMessage());
+    if (event.shouldCommit()) {
+      event.status = status;
+      event.errorCode = errorCode.name();
+      event.exceptionType = exception.getClass().getName();
+      event.commit();
+    }
+    Response.ResponseBuilder response =
+        Response.status(status).type(MediaType.APPLICATION_JSON_TYPE).entity(body);
+    if (retryAfter != null) {
+      // whole seconds, rounded up so a client never retries early
+      response.header(HttpHeaders.RETRY_AFTER, (retryAfter.toMillis() + 999) / 1000);
+    }
+    return response.build();
+  }
+}
@@ -0,0 +1,8 @@
+package com.fulfilment.application.monolith.http;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/** JSON error body; {@code exceptionType}, {@code code} and {@code error} keep the original layout. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ErrorResponse(
+    String exceptionType, int code, String errorCode, String reason, String error) {}
@@ -0,0 +1,32 @@
+package com.fulfilment.application.monolith.http;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+
+/**
+ * Publishes the per-endpoint {@code http.server.requests} timers (recorded by Quarkus for every
+ * JAX-RS method, tagged by method, URI template and status) as Prometheus histograms, so
+ * percentiles can be aggregated across instances.
+ */
+@Singleton
+public class RequestMetrics {
+
+  static final String HTTP_SERVER_REQUESTS = "http.server.requests";
+
+  @Produces
+  @Singleton
+  public MeterFilter requestLatencyHistograms() {
+    return new MeterFilter() {
+      @Override
+      public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+        if (!id.getName().equals(HTTP_SERVER_REQUESTS)) {
+          return config;
+        }
+        return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+      }
+    };
+  }
+}
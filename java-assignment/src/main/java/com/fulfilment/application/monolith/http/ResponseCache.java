@@ -0,0 +1,227 @@
+package com.fulfilment.application.monolith.http;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Pre-serialised UTF-8 JSON bodies of read-heavy endpoints, keyed per region.
+ *
+ * <p>Within a region, single resources are keyed by id and collections by path and query,
+ * so a write to one id evicts that resource and the region's collections but leaves other
+ * ids cached. Every invalidation bumps the region's generation; a response computed from
+ * data read before the bump is not stored, so a slow read can never put a stale body back
+ * after the write that replaced it.</p>
+ *
+ * <p>A region holds at most {@code maxEntriesPerRegion} bodies; storing one more evicts an
+ * entry not read since it was last passed over, oldest first (second chance, close to least
+ * recently used). Lookups take no lock and only mark the entry as read; stores and
+ * invalidations take the region's lock. Collections are kept apart from single resources,
+ * so invalidating one id removes one key and the collections, without scanning the
+ * region.</p>
+ */
+@ApplicationScoped
+public class ResponseCache {
+
+  static final String ID_PREFIX = "id:";
+
+  private final boolean enabled;
+  private final int maxEntriesPerRegion;
+  private final Map<String, Region> regions = new ConcurrentHashMap<>();
+
+  public ResponseCache(
+      @ConfigProperty(name = "response-cache.enabled", defaultValue = "true") boolean enabled,
+      @ConfigProperty(name = "response-cache.max-entries-per-region", defaultValue = "1000")
+          int maxEntriesPerRegion) {
+    this.enabled = enabled;
+    this.maxEntriesPerRegion = maxEntriesPerRegion;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public long generation(String region) {
+    return region(region).generation.get();
+  }
+
+  public Entry get(String region, String key) {
+    Entry entry = region(region).entries(key).get(key);
+    if (entry != null) {
+      entry.markRead();
+    }
+    return entry;
+  }
+
+  /**
+   * Stores the body unless the region was invalidated since {@code generation} was read. The
+   * entry is returned either way, so the caller can send one of its variants.
+   */
+  public Entry put(String region, String key, long generation, byte[] json, String entityTag) {
+    Entry entry = new Entry(json, entityTag);
+    Region target = region(region);
+    target.lock.lock();
+    try {
+      // an invalidation bumps the generation under the same lock, so it either ran before
+      // this check or will remove the entry
+      if (target.generation.get() == generation) {
+        target.entries(key).put(key, entry);
+        target.order.addLast(new Stored(key, entry));
+        target.evictOverflow();
+      }
+    } finally {
+      target.lock.unlock();
+    }
+    return entry;
+  }
+
+  public void invalidate(String region, Long id) {
+    Region target = region(region);
+    target.lock.lock();
+    try {
+      target.generation.incrementAndGet();
+      // collections may contain the changed id, single resources only if it is theirs
+      target.collections.clear();
+      if (id == null) {
+        target.resources.clear();
+        target.order.clear();
+        return;
+      }
+      target.resources.remove(idKey(id));
+    } finally {
+      target.lock.unlock();
+    }
+  }
+
+  /** Empties every region, for when invalidations may have been missed. */
+  public void invalidateAll() {
+    regions.keySet().forEach(region -> invalidate(region, null));
+  }
+
+  void onInvalidation(@Observes(during = TransactionPhase.AFTER_SUCCESS) CacheInvalidationEvent event) {
+    invalidate(event.region(), event.id());
+  }
+
+  static String idKey(Object id) {
+    return ID_PREFIX + id;
+  }
+
+  private Region region(String name) {
+    return regions.computeIfAbsent(name, n -> new Region(maxEntriesPerRegion));
+  }
+
+  private static final class Region {
+    final AtomicLong generation = new AtomicLong();
+    final Map<String, Entry> resources = new ConcurrentHashMap<>();
+    final Map<String, Entry> collections = new ConcurrentHashMap<>();
+    final ReentrantLock lock = new ReentrantLock();
+    // stored entries oldest first, guarded by lock; may still list removed or replaced ones
+    final ArrayDeque<Stored> order = new ArrayDeque<>();
+    final int maxEntries;
+
+    Region(int maxEntries) {
+      this.maxEntries = maxEntries;
+    }
+
+    Map<String, Entry> entries(String key) {
+      return key.startsWith(ID_PREFIX) ? resources : collections;
+    }
+
+    // every live entry is listed in order, so this ends once enough are removed
+    void evictOverflow() {
+      while (resources.size() + collections.size() > maxEntries) {
+        Stored oldest = order.pollFirst();
+        if (!isLive(oldest)) {
+          continue;
+        }
+        if (oldest.entry().read) {
+          oldest.entry().read = false;
+          order.addLast(oldest);
+          continue;
+        }
+        entries(oldest.key()).remove(oldest.key(), oldest.entry());
+      }
+      // drop what invalidations removed once it outnumbers the live entries
+      if (order.size() > 2 * Math.max(maxEntries, 16)) {
+        order.removeIf(stored -> !isLive(stored));
+      }
+    }
+
+    private boolean isLive(Stored stored) {
+      return entries(stored.key()).get(stored.key()) == stored.entry();
+    }
+  }
+
+  private record Stored(String key, Entry entry) {
+  }
+
+  /** A cached body; the gzip and CBOR variants are encoded on first demand and then kept. */
+  public static final class Entry {
+
+    private final byte[] json;
+    private final String entityTag;
+    private volatile byte[] gzip;
+    private volatile byte[] cbor;
+    // read since eviction last passed over it
+    private volatile boolean read;
+
+    Entry(byte[] json, String entityTag) {
+      this.json = json;
+      this.entityTag = entityTag;
+    }
+
+    // written only when it changes, so hits on a hot entry do not contend on its cache line
+    void markRead() {
+      if (!read) {
+        read = true;
+      }
+    }
+
+    public byte[] json() {
+      return json;
+    }
+
+    public String entityTag() {
+      return entityTag;
+    }
+
+    public byte[] gzip() {
+      byte[] compressed = gzip;
+      if (compressed == null) {
+        // benign race: concurrent first requests may both compress, the result is identical
+        compressed = compress(json);
+        gzip = compressed;
+      }
+      return compressed;
+    }
+
+    public byte[] cbor() {
+      byte[] encoded = cbor;
+      if (encoded == null) {
+        encoded = CborMessageBodyWriter.fromJson(json);
+        cbor = encoded;
+      }
+      return encoded;
+    }
+
+    private static byte[] compress(byte[] body) {
+      ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 2 + 32);
+      try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+        out.write(body);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return buffer.toByteArray();
+    }
+  }
+}
@@ -0,0 +1,261 @@
+package com.fulfilment.application.monolith.http;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulfilment.application.monolith.datasource.ConsistencyTokenFilter;
+import com.fulfilment.application.monolith.datasource.ReadConsistency;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers {@link CachedResponse} GETs from the {@link ResponseCache} and fills it on a miss.
+ *
+ * <p>A hit aborts the request before the resource runs and writes the stored bytes (gzip
+ * when the client accepts it), or a 304 when {@code If-None-Match} matches the stored
+ * {@code ETag}. On a miss the response entity is serialised once here, stored, and replaced
+ * by the bytes, so the message body writer copies them instead of serialising again. Runs
+ * before {@link EntityTagFilter} on the way in and after it on the way out, so the stored
+ * entry carries the resource's {@code ETag}.</p>
+ *
+ * <p>Entries are always JSON. Where the resource method also produces {@code application/cbor}
+ * and the client prefers it, the entry's CBOR variant is sent instead, transcoded from the
+ * JSON, so both formats share one entry and one invalidation. A miss is sent in the same
+ * variant a hit would be, and each variant has its own {@code ETag} (see
+ * {@link EntityTagContext}); the entry keeps the JSON one.</p>
+ *
+ * <p>Neither cache nor replica may answer a request carrying a consistency token, so those
+ * bypass the cache. A body read from the replica is sent but not stored: the replica may not
+ * have replayed the write that just invalidated the entry.</p>
+ */
+@Provider
+@CachedResponse
+@Priority(Priorities.HEADER_DECORATOR)
+public class ResponseCacheFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+  private static final String GENERATION = ResponseCacheFilter.class.getName() + ".generation";
+  private static final String GZIP = "gzip";
+
+  // whether a resource method declares application/cbor, looked up once per method
+  private static final Map<Method, Boolean> PRODUCES_CBOR = new ConcurrentHashMap<>();
+
+  private final ResponseCache cache;
+  private final ObjectMapper objectMapper;
+  private final EntityTagContext entityTags;
+  private final ReadConsistency consistency;
+
+  @Context ResourceInfo resourceInfo;
+
+  public ResponseCacheFilter(ResponseCache cache, ObjectMapper objectMapper,
+      EntityTagContext entityTags, ReadConsistency consistency) {
+    this.cache = cache;
+    this.objectMapper = objectMapper;
+    this.entityTags = entityTags;
+    this.consistency = consistency;
+  }
+
+  @Override
+  public void filter(ContainerRequestContext request) {
+    if (!cache.isEnabled() || !HttpMethod.GET.equals(request.getMethod())
+        || ConsistencyTokenFilter.token(request) != null) {
+      return;
+    }
+    String key = key(request);
+    if (key == null) {
+      return;
+    }
+    String region = region();
+    ResponseCache.Entry entry = cache.get(region, key);
+    if (entry != null) {
+      request.abortWith(fromCache(request, entry));
+      return;
+    }
+    request.setProperty(GENERATION, cache.generation(region));
+  }
+
+  @Override
+  public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+    Object generation = request.getProperty(GENERATION);
+    if (generation == null || response.getStatus() != 200 || !response.hasEntity()
+        || consistency.readFromReplica()) {
+      return;
+    }
+    byte[] json;
+    try {
+      json = objectMapper.writeValueAsBytes(response.getEntity());
+    } catch (JsonProcessingException e) {
+      // leave the entity alone; the regular writer reports the failure
+      return;
+    }
+    // the header may already hold the CBOR tag
+    ResponseCache.Entry entry =
+        cache.put(region(), key(request), (Long) generation, json, entityTags.entityTag());
+    MediaType negotiated = response.getMediaType();
+    if (producesCbor() && negotiated != null
+        && negotiated.isCompatible(CborMessageBodyWriter.APPLICATION_CBOR_TYPE)) {
+      response.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+      response.setEntity(entry.cbor(), response.getEntityAnnotations(),
+          CborMessageBodyWriter.APPLICATION_CBOR_TYPE);
+      return;
+    }
+    response.getHeaders().add(HttpHeaders.VARY, producesCbor()
+        ? HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING
+        : HttpHeaders.ACCEPT_ENCODING);
+    if (!acceptsGzip(request.getHeaderString(HttpHeaders.ACCEPT_ENCODING))) {
+      response.setEntity(json, response.getEntityAnnotations(), MediaType.APPLICATION_JSON_TYPE);
+      return;
+    }
+    String entityTag = EntityTagContext.gzipTag(entry.entityTag());
+    if (entityTag != null) {
+      response.getHeaders().putSingle(HttpHeaders.ETAG, entityTag);
+    }
+    String ifNoneMatch = request.getHeaderString(HttpHeaders.IF_NONE_MATCH);
+    if (EntityTagContext.matchesWeakly(ifNoneMatch, entityTag)) {
+      // EntityTagFilter compared the JSON tag; the client may hold the gzip one
+      response.setStatus(304);
+      response.setEntity(null);
+      return;
+    }
+    response.getHeaders().putSingle(HttpHeaders.CONTENT_ENCODING, GZIP);
+    response.setEntity(entry.gzip(), response.getEntityAnnotations(),
+        MediaType.APPLICATION_JSON_TYPE);
+  }
+
+  private Response fromCache(ContainerRequestContext request, ResponseCache.Entry entry) {
+    String ifNoneMatch = request.getHeaderString(HttpHeaders.IF_NONE_MATCH);
+    if (producesCbor() && prefersCbor(request)) {
+      String entityTag = EntityTagContext.cborTag(entry.entityTag());
+      if (EntityTagContext.matchesWeakly(ifNoneMatch, entityTag)) {
+        return Response.notModified().header(HttpHeaders.ETAG, entityTag).build();
+      }
+      return Response.ok(entry.cbor(), CborMessageBodyWriter.APPLICATION_CBOR_TYPE)
+          .header(HttpHeaders.ETAG, entityTag)
+          .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+          .build();
+    }
+    boolean gzip = acceptsGzip(request.getHeaderString(HttpHeaders.ACCEPT_ENCODING));
+    String entityTag = gzip ? EntityTagContext.gzipTag(entry.entityTag()) : entry.entityTag();
+    if (EntityTagContext.matchesWeakly(ifNoneMatch, entityTag)) {
+      return Response.notModified().header(HttpHeaders.ETAG, entityTag).build();
+    }
+    return Response.ok(gzip ? entry.gzip() : entry.json(), MediaType.APPLICATION_JSON_TYPE)
+        .header(HttpHeaders.ETAG, entityTag)
+        .header(HttpHeaders.CONTENT_ENCODING, gzip ? GZIP : null)
+        .header(HttpHeaders.VARY, producesCbor()
+            ? HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING
+            : HttpHeaders.ACCEPT_ENCODING)
+        .build();
+  }
+
+  // the most preferred acceptable type decides; wildcards match JSON first
+  static boolean prefersCbor(ContainerRequestContext request) {
+    for (MediaType accepted : request.getAcceptableMediaTypes()) {
+      if (accepted.isCompatible(MediaType.APPLICATION_JSON_TYPE)) {
+        return false;
+      }
+      if (accepted.isCompatible(CborMessageBodyWriter.APPLICATION_CBOR_TYPE)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // a q-value of 0 refuses the coding; an explicit gzip entry overrides the wildcard
+  static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    boolean wildcard = false;
+    for (String element : acceptEncoding.split(",")) {
+      String[] parts = element.split(";");
+      String coding = parts[0].trim();
+      boolean accepted = quality(parts) > 0;
+      if (coding.equalsIgnoreCase(GZIP) || coding.equalsIgnoreCase("x-gzip")) {
+        return accepted;
+      }
+      if (coding.equals("*")) {
+        wildcard = accepted;
+      }
+    }
+    return wildcard;
+  }
+
+  private static double quality(String[] parts) {
+    for (int i = 1; i < parts.length; i++) {
+      String parameter = parts[i].trim();
+      if (parameter.length() > 2 && (parameter.charAt(0) == 'q' || parameter.charAt(0) == 'Q')
+          && parameter.charAt(1) == '=') {
+        try {
+          return Double.parseDouble(parameter.substring(2).trim());
+        } catch (NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+
+  private boolean producesCbor() {
+    return PRODUCES_CBOR.computeIfAbsent(resourceInfo.getResourceMethod(), method -> {
+      Produces produces = method.getAnnotation(Produces.class);
+      // the generated warehouse API declares its media types on the interface
+      for (Class<?> type : method.getDeclaringClass().getInterfaces()) {
+        if (produces != null) {
+          break;
+        }
+        try {
+          produces = type.getMethod(method.getName(), method.getParameterTypes())
+              .getAnnotation(Produces.class);
+        } catch (NoSuchMethodException e) {
+          // not declared by this interface
+        }
+      }
+      if (produces == null) {
+        produces = method.getDeclaringClass().getAnnotation(Produces.class);
+      }
+      return produces != null && Arrays.stream(produces.value())
+          .anyMatch(value -> value.contains(CborMessageBodyWriter.APPLICATION_CBOR));
+    });
+  }
+
+  private String region() {
+    CachedResponse binding = resourceInfo.getResourceMethod().getAnnotation(CachedResponse.class);
+    if (binding == null) {
+      binding = resourceInfo.getResourceClass().getAnnotation(CachedResponse.class);
+    }
+    return binding.value();
+  }
+
+  // single resources by id, so a write to one id only evicts that one; collections by URI.
+  // The id is parsed as invalidations name it, so /store/01 and /store/1 share an entry;
+  // null, and no caching, when it is not a number
+  private static String key(ContainerRequestContext request) {
+    MultivaluedMap<String, String> pathParameters = request.getUriInfo().getPathParameters();
+    String id = pathParameters.getFirst("id");
+    if (id != null) {
+      try {
+        return ResponseCache.idKey(Long.valueOf(id));
+      } catch (NumberFormatException e) {
+        return null;
+      }
+    }
+    String query = request.getUriInfo().getRequestUri().getRawQuery();
+    return request.getUriInfo().getPath() + (query != null ? "?" + query : "");
+  }
+}
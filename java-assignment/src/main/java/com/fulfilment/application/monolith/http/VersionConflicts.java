@@ -0,0 +1,22 @@
+package com.fulfilment.application.monolith.http;
+
+import jakarta.persistence.OptimisticLockException;
+import org.hibernate.StaleStateException;
+
+/**
+ * Recognises a lost optimistic-locking race, whether it surfaces from an explicit flush
+ * or wrapped in the transaction's commit failure.
+ */
+public final class VersionConflicts {
+
+  private VersionConflicts() {}
+
+  public static boolean isVersionConflict(Throwable exception) {
+    for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+      if (cause instanceof OptimisticLockException || cause instanceof StaleStateException) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,46 @@
+/**
+ * HTTP cross-cutting concerns shared by all feature resources.
+ *
+ * <h2>Conditional requests</h2>
+ * <p>{@code Store}, {@code Product} and {@code DbWarehouse} carry a JPA {@code @Version}
+ * column. Resources tag their responses through the request-scoped
+ * {@link EntityTagContext}; {@link EntityTagFilter} turns that into HTTP semantics:</p>
+ * <ul>
+ *   <li>{@code GET} returns the version as {@code ETag} (a weak tag for collections), with
+ *       a {@code -cbor} or {@code -gzip} suffix for those representations</li>
+ *   <li>{@code GET} with a matching {@code If-None-Match} returns 304 without a body</li>
+ *   <li>{@code PUT}/{@code PATCH}/{@code DELETE} with a stale {@code If-Match} return 412</li>
+ *   <li>a write that loses the race after the check fails the version check on flush
+ *       and is reported as 409 ({@link VersionConflicts})</li>
+ * </ul>
+ * <p>Requests without conditional headers behave exactly as before. See ADR: Optimistic
+ * Versioning and Conditional Requests in {@code Docs/ADR-Architecture-Decisions.md}.</p>
+ *
+ * <h2>Response cache</h2>
+ * <p>Resources annotated with {@link CachedResponse} have their successful GET bodies
+ * kept as UTF-8 JSON bytes (plus a lazily built gzip variant) in {@link ResponseCache}:
+ * single resources by id, collections by URI. Lookups take no lock.
+ * {@link ResponseCacheFilter} serves hits without running the resource or Jackson. Write paths fire a
+ * {@link CacheInvalidationEvent} that is applied after commit and evicts the changed id
+ * and every collection of its region. Disable with {@code response-cache.enabled=false}.
+ * The {@code coherence} package forwards the same events to the other instances.</p>
+ *
+ * <h2>Binary responses</h2>
+ * <p>List and get endpoints that declare {@code application/cbor} in {@code @Produces} answer
+ * {@code Accept: application/cbor} with the same document encoded as CBOR
+ * ({@link CborMessageBodyWriter}); cached bodies are transcoded once from their JSON bytes.
+ * {@link BlackbirdCustomizer} replaces Jackson's reflective accessors for both formats.</p>
+ *
+ * <h2>Errors</h2>
+ * <p>{@link ErrorMapper} renders every exception as an {@link ErrorResponse}. Features throw
+ * the stackless {@link ApiException} with an {@link ErrorCode} for expected 4xx outcomes;
+ * these are logged through the sampled, rate-limited {@link ClientErrorLog}. Only 5xx
+ * responses are logged with a stack trace.</p>
+ *
+ * <h2>Metrics</h2>
+ * <p>Quarkus times every JAX-RS endpoint as {@code http_server_requests_seconds} (method, URI
+ * template, status); {@link RequestMetrics} publishes those timers as histograms. Agroal pool
+ * and Hibernate statistics are enabled in {@code application.properties}. All of it is
+ * scraped from {@code /q/metrics}.</p>
+ */
+package com.fulfilment.application.monolith.http;
@@ -0,0 +1,140 @@
+package com.fulfilment.application.monolith.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulfilment.application.monolith.datasource.ConsistencyTokenFilter;
+import com.fulfilment.application.monolith.http.ApiException;
+import com.fulfilment.application.monolith.http.ErrorCode;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies {@link IdempotencyStore} to {@link Idempotent} {@code POST}s that send
+ * {@value #KEY_HEADER}; requests without it, and other methods of an annotated class, run as
+ * before.
+ *
+ * <p>The key is scoped to method and path, and the request body is fingerprinted, so reusing a
+ * key for a different request is a {@code 422}. A stored response is replayed with
+ * {@value #REPLAYED_HEADER}{@code : true} before the resource runs. Only successful responses
+ * are stored: after an error the key is released and a retry runs the request again. Runs
+ * after {@code EntityTagFilter} and {@link ConsistencyTokenFilter} on the way out, so their
+ * headers are stored with the body.</p>
+ */
+@Provider
+@Idempotent
+@Priority(Priorities.HEADER_DECORATOR - 100)
+public class IdempotencyFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+  public static final String KEY_HEADER = "Idempotency-Key";
+  public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+  static final int MAX_KEY_LENGTH = 255;
+
+  private static final String CLAIM = IdempotencyFilter.class.getName() + ".claim";
+  private static final List<String> STORED_HEADERS =
+      List.of(HttpHeaders.ETAG, HttpHeaders.LOCATION, ConsistencyTokenFilter.HEADER);
+
+  private final IdempotencyStore store;
+  private final ObjectMapper objectMapper;
+
+  public IdempotencyFilter(IdempotencyStore store, ObjectMapper objectMapper) {
+    this.store = store;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public void filter(ContainerRequestContext request) throws IOException {
+    String key = request.getHeaderString(KEY_HEADER);
+    if (key == null || !HttpMethod.POST.equals(request.getMethod())) {
+      return;
+    }
+    if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+      throw new ApiException(ErrorCode.INVALID_REQUEST,
+          KEY_HEADER + " must have 1 to " + MAX_KEY_LENGTH + " characters.");
+    }
+    byte[] body = request.getEntityStream().readAllBytes();
+    request.setEntityStream(new ByteArrayInputStream(body));
+
+    String id = request.getMethod() + " " + request.getUriInfo().getRequestUri().getRawPath() + " " + key;
+    IdempotencyStore.Claim claim;
+    try {
+      claim = store.begin(id, fingerprint(body));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ApiException(ErrorCode.SERVICE_UNAVAILABLE, "Interrupted while waiting.");
+    }
+    if (claim.replay() != null) {
+      request.abortWith(replay(claim.replay()));
+      return;
+    }
+    request.setProperty(CLAIM, claim);
+  }
+
+  @Override
+  public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+    IdempotencyStore.Claim claim = (IdempotencyStore.Claim) request.getProperty(CLAIM);
+    if (claim == null) {
+      return;
+    }
+    // once per request, even if a later filter fails
+    request.removeProperty(CLAIM);
+    if (response.getStatusInfo().getFamily() != Response.Status.Family.SUCCESSFUL) {
+      store.release(claim);
+      return;
+    }
+    byte[] json;
+    try {
+      json = response.hasEntity() ? objectMapper.writeValueAsBytes(response.getEntity()) : new byte[0];
+    } catch (JsonProcessingException e) {
+      // the regular writer reports the failure; a retry runs again
+      store.release(claim);
+      return;
+    }
+    Map<String, String> headers = new LinkedHashMap<>();
+    for (String name : STORED_HEADERS) {
+      String value = response.getHeaderString(name);
+      if (value != null) {
+        headers.put(name, value);
+      }
+    }
+    store.complete(claim, response.getStatus(), json, headers);
+    if (response.hasEntity()) {
+      response.setEntity(json, response.getEntityAnnotations(), MediaType.APPLICATION_JSON_TYPE);
+    }
+  }
+
+  private static Response replay(StoredResponse stored) {
+    Response.ResponseBuilder replay = Response.status(stored.status())
+        .header(REPLAYED_HEADER, "true");
+    if (stored.body().length > 0) {
+      replay.entity(stored.body()).type(MediaType.APPLICATION_JSON_TYPE);
+    }
+    stored.headers().forEach(replay::header);
+    return replay.build();
+  }
+
+  static String fingerprint(byte[] body) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is required of every JVM", e);
+    }
+  }
+}
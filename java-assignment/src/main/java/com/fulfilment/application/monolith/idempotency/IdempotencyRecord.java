@@ -0,0 +1,43 @@
+package com.fulfilment.application.monolith.idempotency;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+
+/**
+ * The database copy of one idempotency key. A row without a status is a claim: a request with
+ * that key is running, on this or another instance, until {@code expiresAt}.
+ */
+@Entity
+@Table(name = "idempotency_record")
+public class IdempotencyRecord {
+
+  @Id
+  @Column(length = 512)
+  public String id;
+
+  @Column(length = 64)
+  public String fingerprint;
+
+  public Integer status;
+
+  @Column(length = 1_048_576)
+  public byte[] body;
+
+  @Column(length = 2048)
+  public String headers;
+
+  public Instant expiresAt;
+
+  public IdempotencyRecord() {}
+
+  IdempotencyRecord(String id) {
+    this.id = id;
+  }
+
+  boolean isCompleted() {
+    return status != null;
+  }
+}
@@ -0,0 +1,265 @@
+package com.fulfilment.application.monolith.idempotency;
+
+import com.fulfilment.application.monolith.http.ApiException;
+import com.fulfilment.application.monolith.http.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.exception.ConstraintViolationException;
+import org.jboss.logging.Logger;
+
+/**
+ * The first successful response per idempotency key, in memory and in the
+ * {@code idempotency_record} table.
+ *
+ * <p>{@link #begin} either returns a stored response to replay or claims the key for the
+ * caller, who must then {@link #complete} or {@link #release} the claim. A duplicate on the same
+ * instance waits for the running request instead of racing it. A claim is also a row without a
+ * status, so a duplicate on another instance is answered {@code 409} until the first request
+ * finishes; a claim whose instance died expires after {@code idempotency.in-progress-timeout}.
+ * Completed responses are kept for {@code idempotency.ttl}; the memory copy holds at most
+ * {@code idempotency.max-entries} of them and misses fall back to the table.</p>
+ */
+@ApplicationScoped
+public class IdempotencyStore {
+
+  private static final Logger LOGGER = Logger.getLogger(IdempotencyStore.class.getName());
+
+  // idempotency.replays: responses sent again instead of running the request
+  static final String REPLAYS = "idempotency.replays";
+
+  private static final String IN_PROGRESS =
+      "A request with this Idempotency-Key is still in progress; retry later.";
+
+  private final EntityManager entityManager;
+  private final Clock clock;
+  private final Duration ttl;
+  private final Duration inProgressTimeout;
+  private final int maxEntries;
+  private final Counter replays;
+
+  private final Map<String, StoredResponse> completed = new ConcurrentHashMap<>();
+  // the requests running on this instance; completed with null when the key is released
+  private final Map<String, CompletableFuture<StoredResponse>> running = new ConcurrentHashMap<>();
+
+  @Inject
+  public IdempotencyStore(
+      EntityManager entityManager,
+      @ConfigProperty(name = "idempotency.ttl", defaultValue = "PT24H") Duration ttl,
+      @ConfigProperty(name = "idempotency.in-progress-timeout", defaultValue = "PT30S")
+          Duration inProgressTimeout,
+      @ConfigProperty(name = "idempotency.max-entries", defaultValue = "10000") int maxEntries,
+      MeterRegistry registry) {
+    this(entityManager, Clock.systemUTC(), ttl, inProgressTimeout, maxEntries,
+        registry.counter(REPLAYS));
+  }
+
+  IdempotencyStore(EntityManager entityManager, Clock clock, Duration ttl,
+      Duration inProgressTimeout, int maxEntries, Counter replays) {
+    this.entityManager = entityManager;
+    this.clock = clock;
+    this.ttl = ttl;
+    this.inProgressTimeout = inProgressTimeout;
+    this.maxEntries = maxEntries;
+    this.replays = replays;
+  }
+
+  /**
+   * Returns the stored response for {@code id}, after waiting for a running request with the
+   * same id, or else claims {@code id} for the caller.
+   *
+   * @throws ApiException {@code INVALID_REQUEST} when the key was used with a different body,
+   *     {@code CONFLICT} when the first request is still running after the timeout or on
+   *     another instance
+   */
+  Claim begin(String id, String fingerprint) throws InterruptedException {
+    long deadline = System.nanoTime() + inProgressTimeout.toNanos();
+    while (true) {
+      StoredResponse stored = completed(id);
+      if (stored != null) {
+        return Claim.replay(id, replay(stored, fingerprint));
+      }
+      CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+      CompletableFuture<StoredResponse> first = running.putIfAbsent(id, execution);
+      if (first != null) {
+        await(id, first, deadline);
+        continue;
+      }
+      Claim claim = new Claim(id, fingerprint, null, execution);
+      try {
+        stored = claimInDatabase(id, fingerprint);
+      } catch (RuntimeException e) {
+        finish(claim, null);
+        throw e;
+      }
+      if (stored == null) {
+        return claim;
+      }
+      remember(id, stored);
+      finish(claim, stored);
+      return Claim.replay(id, replay(stored, fingerprint));
+    }
+  }
+
+  /** Stores the response of a claimed key and hands it to the duplicates waiting for it. */
+  void complete(Claim claim, int status, byte[] body, Map<String, String> headers) {
+    StoredResponse stored =
+        new StoredResponse(claim.fingerprint(), status, body, headers, clock.instant().plus(ttl));
+    remember(claim.id(), stored);
+    try {
+      QuarkusTransaction.requiringNew().run(() -> {
+        IdempotencyRecord record = entityManager.find(IdempotencyRecord.class, claim.id());
+        if (record == null) {
+          record = new IdempotencyRecord(claim.id());
+          entityManager.persist(record);
+        }
+        stored.copyTo(record);
+      });
+    } catch (RuntimeException e) {
+      // this instance still replays it; others see the claim until it expires
+      LOGGER.warn("Failed to store the response for idempotency key " + claim.id(), e);
+    }
+    finish(claim, stored);
+  }
+
+  /** Gives up a claimed key after a failed request, so that a retry runs again. */
+  void release(Claim claim) {
+    try {
+      QuarkusTransaction.requiringNew().run(() -> {
+        IdempotencyRecord record = entityManager.find(IdempotencyRecord.class, claim.id());
+        if (record != null && !record.isCompleted()) {
+          entityManager.remove(record);
+        }
+      });
+    } catch (RuntimeException e) {
+      LOGGER.warn("Failed to release idempotency key " + claim.id() + ", it expires on its own", e);
+    }
+    finish(claim, null);
+  }
+
+  @Scheduled(every = "${idempotency.purge-interval:1m}",
+      concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  void purgeExpired() {
+    Instant now = clock.instant();
+    completed.values().removeIf(stored -> stored.isExpired(now));
+    QuarkusTransaction.requiringNew().run(() ->
+        entityManager.createQuery("delete from IdempotencyRecord where expiresAt <= ?1")
+            .setParameter(1, now)
+            .executeUpdate());
+  }
+
+  private StoredResponse completed(String id) {
+    StoredResponse stored = completed.get(id);
+    if (stored != null && stored.isExpired(clock.instant())) {
+      completed.remove(id, stored);
+      return null;
+    }
+    return stored;
+  }
+
+  // the stored response if another instance completed the key, else a claim row for this one
+  private StoredResponse claimInDatabase(String id, String fingerprint) {
+    try {
+      return QuarkusTransaction.requiringNew().call(() -> {
+        Instant now = clock.instant();
+        IdempotencyRecord record = entityManager.find(IdempotencyRecord.class, id);
+        if (record != null && record.expiresAt.isAfter(now)) {
+          if (record.isCompleted()) {
+            return StoredResponse.of(record);
+          }
+          throw new ApiException(ErrorCode.CONFLICT, IN_PROGRESS);
+        }
+        if (record == null) {
+          record = new IdempotencyRecord(id);
+          entityManager.persist(record);
+        }
+        // a new claim, or one taking over an expired record
+        record.fingerprint = fingerprint;
+        record.status = null;
+        record.body = null;
+        record.headers = null;
+        record.expiresAt = now.plus(inProgressTimeout);
+        entityManager.flush();
+        return null;
+      });
+    } catch (PersistenceException e) {
+      if (isDuplicateClaim(e)) {
+        // another instance inserted its claim first
+        throw new ApiException(ErrorCode.CONFLICT, IN_PROGRESS);
+      }
+      throw e;
+    }
+  }
+
+  // thrown from the flush, or wrapped by it
+  private static boolean isDuplicateClaim(Throwable exception) {
+    for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ConstraintViolationException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private StoredResponse replay(StoredResponse stored, String fingerprint) {
+    if (!stored.fingerprint().equals(fingerprint)) {
+      throw new ApiException(ErrorCode.INVALID_REQUEST,
+          "This Idempotency-Key was already used with a different request body.");
+    }
+    replays.increment();
+    return stored;
+  }
+
+  private void remember(String id, StoredResponse stored) {
+    // when full, later keys are served from the table until the purge makes room
+    if (completed.size() < maxEntries) {
+      completed.put(id, stored);
+    }
+  }
+
+  private void finish(Claim claim, StoredResponse stored) {
+    running.remove(claim.id(), claim.execution());
+    claim.execution().complete(stored);
+  }
+
+  private void await(String id, CompletableFuture<StoredResponse> first, long deadline)
+      throws InterruptedException {
+    try {
+      first.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      // its database claim has expired by now too; the next retry may take over
+      running.remove(id, first);
+      throw new ApiException(ErrorCode.CONFLICT, IN_PROGRESS);
+    } catch (ExecutionException e) {
+      // never completed exceptionally; look again
+    }
+  }
+
+  /**
+   * The outcome of {@link #begin}: either a stored response to replay, or the caller's claim on
+   * the key, to be passed to {@link #complete} or {@link #release}.
+   */
+  record Claim(
+      String id, String fingerprint, StoredResponse replay,
+      CompletableFuture<StoredResponse> execution) {
+
+    static Claim replay(String id, StoredResponse stored) {
+      return new Claim(id, stored.fingerprint(), stored, null);
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package com.fulfilment.application.monolith.idempotency;
+
+import jakarta.ws.rs.NameBinding;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Accepts an {@code Idempotency-Key} header on the annotated {@code POST}s: the first successful
+ * response is kept by {@link IdempotencyStore}, and a retry with the same key gets it back
+ * without the resource running again. Resources implementing the generated warehouse API are
+ * annotated on the class, since Quarkus REST reads method bindings from the interface.
+ */
+@NameBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Idempotent {
+}
@@ -0,0 +1,51 @@
+package com.fulfilment.application.monolith.idempotency;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The first successful response to an idempotency key: status, JSON body and the headers that
+ * describe the write. {@code fingerprint} is the SHA-256 of the request body it answered.
+ */
+record StoredResponse(
+    String fingerprint, int status, byte[] body, Map<String, String> headers, Instant expiresAt) {
+
+  static StoredResponse of(IdempotencyRecord record) {
+    return new StoredResponse(record.fingerprint, record.status, record.body,
+        parseHeaders(record.headers), record.expiresAt);
+  }
+
+  void copyTo(IdempotencyRecord record) {
+    record.fingerprint = fingerprint;
+    record.status = status;
+    record.body = body;
+    record.headers = formatHeaders(headers);
+    record.expiresAt = expiresAt;
+  }
+
+  boolean isExpired(Instant now) {
+    return !expiresAt.isAfter(now);
+  }
+
+  // one "name: value" per line; the replayed headers never contain line breaks
+  private static String formatHeaders(Map<String, String> headers) {
+    StringBuilder formatted = new StringBuilder();
+    headers.forEach((name, value) -> formatted.append(name).append(": ").append(value).append('\n'));
+    return formatted.toString();
+  }
+
+  private static Map<String, String> parseHeaders(String formatted) {
+    Map<String, String> headers = new LinkedHashMap<>();
+    if (formatted == null) {
+      return headers;
+    }
+    for (String line : formatted.split("\n")) {
+      int colon = line.indexOf(": ");
+      if (colon > 0) {
+        headers.put(line.substring(0, colon), line.substring(colon + 2));
+      }
+    }
+    return headers;
+  }
+}
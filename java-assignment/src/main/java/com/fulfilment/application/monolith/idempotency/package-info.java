@@ -0,0 +1,15 @@
+/**
+ * Idempotency keys for create and replace endpoints.
+ *
+ * <p>Gateways retry a {@code POST} that timed out, and the retry then fails on the unique store
+ * name or business unit code after a full validation and transaction. Writes annotated with
+ * {@link Idempotent} accept an {@code Idempotency-Key} header: {@link IdempotencyFilter} keeps the
+ * first successful response in {@link IdempotencyStore} and replays it to retries without running
+ * the resource. Concurrent duplicates on one instance wait for the first execution; on another
+ * instance they are answered {@code 409} until it completes.</p>
+ *
+ * <p>The response is stored after the write has committed, in a transaction of its own. If the
+ * instance dies in between, the key stays claimed until {@code idempotency.in-progress-timeout}
+ * and a retry after that runs the write again.</p>
+ */
+package com.fulfilment.application.monolith.idempotency;
@@ -1,10 +1,12 @@
 package com.fulfilment.application.monolith.products;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
 
 @Entity
@@ -24,6 +26,9 @@ public class Product {
 
   public int stock;
 
+  // optimistic lock; exposed to clients as the ETag, not in the body
+  @Version @JsonIgnore public long version;
+
   public Product() {}
 
   public Product(String name) {
@@ -1,10 +1,22 @@
 package com.fulfilment.application.monolith.products;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fulfilment.application.monolith.batching.BatchLoader;
+import com.fulfilment.application.monolith.coalescing.ReadCoalescer;
+import com.fulfilment.application.monolith.datasource.ConnectionBound;
+import com.fulfilment.application.monolith.http.ApiException;
+import com.fulfilment.application.monolith.http.CacheInvalidationEvent;
+import com.fulfilment.application.monolith.http.CachedResponse;
+import com.fulfilment.application.monolith.http.CborMessageBodyWriter;
+import com.fulfilment.application.monolith.http.EntityTagContext;
+import com.fulfilment.application.monolith.http.ErrorCode;
+import com.fulfilment.application.monolith.idempotency.Idempotent;
+import com.fulfilment.application.monolith.stock.HotStockCounters;
+import com.fulfilment.application.monolith.stock.StockAdjustment;
+import com.fulfilment.application.monolith.stock.StockTarget;
 import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.inject.Inject;
+import jakarta.enterprise.event.Event;
+import jakarta.persistence.LockModeType;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
@@ -13,50 +25,81 @@ import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
-import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Response;
-import jakarta.ws.rs.ext.ExceptionMapper;
-import jakarta.ws.rs.ext.Provider;
 import java.util.List;
-import org.jboss.logging.Logger;
 
 @Path("product")
 @ApplicationScoped
+@ConnectionBound
 @Produces("application/json")
 @Consumes("application/json")
+@CachedResponse(ProductResource.CACHE_REGION)
 public class ProductResource {
 
-  private final ProductRepository productRepository;
-
-  private static final Logger LOGGER = Logger.getLogger(ProductResource.class.getName());
+  public static final String CACHE_REGION = "product";
 
-  public ProductResource(ProductRepository productRepository) {
+  private final ProductRepository productRepository;
+  private final HotStockCounters stockCounters;
+  private final EntityTagContext entityTags;
+  private final Event<CacheInvalidationEvent> cacheInvalidation;
+  private final ReadCoalescer coalescer;
+  private final BatchLoader batchLoader;
+
+  public ProductResource(
+      ProductRepository productRepository,
+      HotStockCounters stockCounters,
+      EntityTagContext entityTags,
+      Event<CacheInvalidationEvent> cacheInvalidation,
+      ReadCoalescer coalescer,
+      BatchLoader batchLoader) {
     this.productRepository = productRepository;
+    this.stockCounters = stockCounters;
+    this.entityTags = entityTags;
+    this.cacheInvalidation = cacheInvalidation;
+    this.coalescer = coalescer;
+    this.batchLoader = batchLoader;
   }
 
   @GET
-  public List<Product> get() {
-    return productRepository.listAll(Sort.by("name"));
+  @Produces({"application/json", CborMessageBodyWriter.APPLICATION_CBOR})
+  public List<Product> get(@QueryParam("ids") List<String> ids) {
+    // ?ids= answers a multi-get in request order; without it, all products by name
+    List<Product> products = ids == null || ids.isEmpty()
+        ? productRepository.listAll(Sort.by("name"))
+        : batchLoader.load(batchLoader.keys("ids", ids, Long::valueOf),
+            chunk -> productRepository.list("id in ?1", chunk), product -> product.id);
+    // tagged before the bodies are built, so no body is older than the tag
+    entityTags.tagCollection(products, product -> product.id, product -> product.version,
+        this::pendingStock);
+    return products.stream().map(this::withPendingStock).toList();
   }
 
   @GET
   @Path("{id}")
+  @Produces({"application/json", CborMessageBodyWriter.APPLICATION_CBOR})
   public Product getSingle(Long id) {
-    Product entity = productRepository.findById(id);
+    Product entity = coalescer.load("product.id", id,
+        () -> productRepository.findById(id), ProductResource::copyOf);
     if (entity == null) {
-      throw new WebApplicationException("Product with id of " + id + " does not exist.", 404);
+      throw new ApiException(ErrorCode.NOT_FOUND, "Product with id of " + id + " does not exist.");
     }
-    return entity;
+    long pending = pendingStock(entity);
+    entityTags.tag(entity.version, pending);
+    return withPendingStock(entity, pending);
   }
 
   @POST
   @Transactional
+  @Idempotent
   public Response create(Product product) {
     if (product.id != null) {
-      throw new WebApplicationException("Id was invalidly set on request.", 422);
+      throw new ApiException(ErrorCode.INVALID_REQUEST, "Id was invalidly set on request.");
     }
 
     productRepository.persist(product);
+    entityTags.tag(product.version);
+    invalidateCache(product.id);
     return Response.ok(product).status(201).build();
   }
 
@@ -65,14 +108,18 @@ public class ProductResource {
   @Transactional
   public Product update(Long id, Product product) {
     if (product.name == null) {
-      throw new WebApplicationException("Product Name was not set on request.", 422);
+      throw new ApiException(ErrorCode.INVALID_REQUEST, "Product Name was not set on request.");
     }
 
+    // an absolute stock value replaces any deltas still waiting in the hot counters
+    stockCounters.flush();
+
     Product entity = productRepository.findById(id);
 
     if (entity == null) {
-      throw new WebApplicationException("Product with id of " + id + " does not exist.", 404);
+      throw new ApiException(ErrorCode.NOT_FOUND, "Product with id of " + id + " does not exist.");
     }
+    entityTags.requireMatch(entity.version);
 
     entity.name = product.name;
     entity.description = product.description;
@@ -80,7 +127,34 @@ public class ProductResource {
     entity.stock = product.stock;
 
     productRepository.persist(entity);
+    // flush now so a lost race surfaces here and the ETag carries the incremented version
+    productRepository.flush();
+    entityTags.tag(entity.version);
+    invalidateCache(id);
+
+    return entity;
+  }
+
+  @POST
+  @Path("{id}/stock-adjustments")
+  @Transactional
+  public Product adjustStock(Long id, StockAdjustment adjustment) {
+    if (stockCounters.isEnabled()) {
+      Product entity = productRepository.findById(id);
+      if (entity == null) {
+        throw new ApiException(ErrorCode.NOT_FOUND, "Product with id of " + id + " does not exist.");
+      }
+      stockCounters.add(StockTarget.PRODUCT, id, adjustment.delta());
+      invalidateCache(id);
+      return withPendingStock(entity);
+    }
 
+    Product entity = productRepository.findById(id, LockModeType.PESSIMISTIC_WRITE);
+    if (entity == null) {
+      throw new ApiException(ErrorCode.NOT_FOUND, "Product with id of " + id + " does not exist.");
+    }
+    entity.stock += adjustment.delta();
+    invalidateCache(id);
     return entity;
   }
 
@@ -90,35 +164,47 @@ public class ProductResource {
   public Response delete(Long id) {
     Product entity = productRepository.findById(id);
     if (entity == null) {
-      throw new WebApplicationException("Product with id of " + id + " does not exist.", 404);
+      throw new ApiException(ErrorCode.NOT_FOUND, "Product with id of " + id + " does not exist.");
     }
+    entityTags.requireMatch(entity.version);
     productRepository.delete(entity);
+    invalidateCache(id);
     return Response.status(204).build();
   }
 
-  @Provider
-  public static class ErrorMapper implements ExceptionMapper<Exception> {
-
-    @Inject ObjectMapper objectMapper;
-
-    @Override
-    public Response toResponse(Exception exception) {
-      LOGGER.error("Failed to handle request", exception);
-
-      int code = 500;
-      if (exception instanceof WebApplicationException) {
-        code = ((WebApplicationException) exception).getResponse().getStatus();
-      }
+  private void invalidateCache(Long id) {
+    cacheInvalidation.fire(new CacheInvalidationEvent(CACHE_REGION, Product.class, id));
+  }
 
-      ObjectNode exceptionJson = objectMapper.createObjectNode();
-      exceptionJson.put("exceptionType", exception.getClass().getName());
-      exceptionJson.put("code", code);
+  // what a coalesced caller gets instead of the entity another request's session loaded
+  private static Product copyOf(Product entity) {
+    Product copy = new Product(entity.name);
+    copy.id = entity.id;
+    copy.description = entity.description;
+    copy.price = entity.price;
+    copy.stock = entity.stock;
+    copy.version = entity.version;
+    return copy;
+  }
 
-      if (exception.getMessage() != null) {
-        exceptionJson.put("error", exception.getMessage());
-      }
+  // returns a detached copy when hot counters hold deltas not yet flushed for this product
+  private Product withPendingStock(Product entity) {
+    return withPendingStock(entity, pendingStock(entity));
+  }
 
-      return Response.status(code).entity(exceptionJson).build();
+  private Product withPendingStock(Product entity, long pending) {
+    if (pending == 0) {
+      return entity;
     }
+    Product view = new Product(entity.name);
+    view.id = entity.id;
+    view.description = entity.description;
+    view.price = entity.price;
+    view.stock = (int) (entity.stock + pending);
+    return view;
+  }
+
+  private long pendingStock(Product entity) {
+    return stockCounters.pending(StockTarget.PRODUCT, entity.id, entity.version);
   }
 }
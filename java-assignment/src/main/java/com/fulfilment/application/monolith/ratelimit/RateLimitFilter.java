@@ -0,0 +1,172 @@
+package com.fulfilment.application.monolith.ratelimit;
+
+import com.fulfilment.application.monolith.http.ApiException;
+import com.fulfilment.application.monolith.http.ErrorCode;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.net.SocketAddress;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.Provider;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Applies the {@link RateLimiter} to every resource method, before any other filter, and
+ * answers {@code 429} with {@code Retry-After} when the client's bucket for the endpoint is
+ * empty.
+ *
+ * <p>The client is the remote address. Only behind a gateway that sets it on every request may
+ * {@code rate-limit.client-header} name a header to use instead; a value that is not a short
+ * token ({@value #MAX_CLIENT_LENGTH} characters of letters, digits, {@code .}, {@code _},
+ * {@code :} or {@code -}) falls back to the address. The endpoint is the HTTP method and the path template, e.g.
+ * {@code PATCH /store/{id}}, so all ids share one bucket. Every limited response carries
+ * {@value #LIMIT_HEADER}, {@value #REMAINING_HEADER} and {@value #RESET_HEADER} (seconds until
+ * the bucket is full again).</p>
+ */
+@Provider
+@Priority(Priorities.AUTHENTICATION - 100)
+public class RateLimitFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+  public static final String LIMIT_HEADER = "RateLimit-Limit";
+  public static final String REMAINING_HEADER = "RateLimit-Remaining";
+  public static final String RESET_HEADER = "RateLimit-Reset";
+
+  static final int MAX_CLIENT_LENGTH = 64;
+
+  private static final String DECISION = RateLimitFilter.class.getName() + ".decision";
+
+  // "<METHOD> <path template>" of each resource method, built once
+  private static final Map<Method, String> ENDPOINTS = new ConcurrentHashMap<>();
+
+  private final RateLimiter limiter;
+  private final Optional<String> clientHeader;
+
+  @Context ResourceInfo resourceInfo;
+  @Context HttpServerRequest httpRequest;
+
+  public RateLimitFilter(
+      RateLimiter limiter,
+      @ConfigProperty(name = "rate-limit.client-header") Optional<String> clientHeader) {
+    this.limiter = limiter;
+    this.clientHeader = clientHeader;
+  }
+
+  @Override
+  public void filter(ContainerRequestContext request) {
+    Method method = resourceInfo.getResourceMethod();
+    if (!limiter.isEnabled() || method == null) {
+      return;
+    }
+    String endpoint = ENDPOINTS.computeIfAbsent(method,
+        m -> request.getMethod() + " " + template(resourceInfo.getResourceClass(), m));
+    RateLimitRule rule = limiter.rule(endpoint);
+    long decision = limiter.tryAcquire(client(request), endpoint, rule);
+    request.setProperty(DECISION, new Decision(rule, decision));
+    if (decision < 0) {
+      throw new ApiException(ErrorCode.TOO_MANY_REQUESTS, "RATE_LIMITED",
+          "Rate limit of " + rule.perSecond() + " requests per second for " + endpoint
+              + " exceeded.",
+          Duration.ofMillis(-decision));
+    }
+  }
+
+  @Override
+  public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+    Decision decision = (Decision) request.getProperty(DECISION);
+    if (decision == null) {
+      return;
+    }
+    long remaining = Math.max(0, decision.remaining());
+    MultivaluedMap<String, Object> headers = response.getHeaders();
+    headers.putSingle(LIMIT_HEADER, decision.rule().burst());
+    headers.putSingle(REMAINING_HEADER, remaining);
+    // whole seconds, rounded up
+    headers.putSingle(RESET_HEADER, (decision.rule().millisUntilFull(remaining) + 999) / 1000);
+  }
+
+  private String client(ContainerRequestContext request) {
+    if (clientHeader.isPresent()) {
+      String client = request.getHeaderString(clientHeader.get());
+      if (isClientId(client)) {
+        return client;
+      }
+    }
+    SocketAddress remote = httpRequest.remoteAddress();
+    return remote != null ? remote.hostAddress() : "unknown";
+  }
+
+  static boolean isClientId(String value) {
+    if (value == null || value.isEmpty() || value.length() > MAX_CLIENT_LENGTH) {
+      return false;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      boolean allowed = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+          || c == '.' || c == '_' || c == ':' || c == '-';
+      if (!allowed) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // the generated warehouse API declares its paths on the interface
+  static String template(Class<?> resourceClass, Method method) {
+    String classPath = pathOf(resourceClass);
+    String methodPath = null;
+    Path annotation = method.getAnnotation(Path.class);
+    if (annotation != null) {
+      methodPath = annotation.value();
+    } else {
+      for (Class<?> type : resourceClass.getInterfaces()) {
+        try {
+          Path declared = type.getMethod(method.getName(), method.getParameterTypes())
+              .getAnnotation(Path.class);
+          if (declared != null) {
+            methodPath = declared.value();
+            break;
+          }
+        } catch (NoSuchMethodException e) {
+          // not declared by this interface
+        }
+      }
+    }
+    String template = "/" + trim(classPath) + (methodPath != null ? "/" + trim(methodPath) : "");
+    return template.endsWith("/") && template.length() > 1
+        ? template.substring(0, template.length() - 1) : template;
+  }
+
+  private static String pathOf(Class<?> resourceClass) {
+    Path path = resourceClass.getAnnotation(Path.class);
+    if (path != null) {
+      return path.value();
+    }
+    for (Class<?> type : resourceClass.getInterfaces()) {
+      path = type.getAnnotation(Path.class);
+      if (path != null) {
+        return path.value();
+      }
+    }
+    return "";
+  }
+
+  private static String trim(String path) {
+    int start = path.startsWith("/") ? 1 : 0;
+    int end = path.endsWith("/") ? path.length() - 1 : path.length();
+    return start < end ? path.substring(start, end) : "";
+  }
+
+  private record Decision(RateLimitRule rule, long remaining) {}
+}
@@ -0,0 +1,29 @@
+package com.fulfilment.application.monolith.ratelimit;
+
+/**
+ * A token bucket size: {@code perSecond} tokens are added every second, up to {@code burst}.
+ * Written as {@code <perSecond>/<burst>} in {@code application.properties}.
+ */
+record RateLimitRule(int perSecond, int burst) {
+
+  RateLimitRule {
+    if (perSecond < 1 || burst < 1 || burst > TokenBucket.MAX_BURST) {
+      throw new IllegalArgumentException("A rate limit needs at least 1 token per second and a "
+          + "burst of 1 to " + TokenBucket.MAX_BURST + ", was " + perSecond + "/" + burst);
+    }
+  }
+
+  static RateLimitRule parse(String value) {
+    String[] parts = value.trim().split("/");
+    if (parts.length != 2) {
+      throw new IllegalArgumentException(
+          "A rate limit is written <per second>/<burst>, was '" + value + "'");
+    }
+    return new RateLimitRule(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+  }
+
+  /** Milliseconds until a bucket with {@code remaining} tokens is full again. */
+  long millisUntilFull(long remaining) {
+    return (burst - remaining) * 1000L / perSecond;
+  }
+}
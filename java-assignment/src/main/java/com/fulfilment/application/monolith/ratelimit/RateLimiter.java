@@ -0,0 +1,132 @@
+package com.fulfilment.application.monolith.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * One {@link TokenBucket} per client and endpoint, sized by the endpoint's
+ * {@link RateLimitRule} or the default one.
+ *
+ * <p>A bucket that has refilled completely is the same as a new one, so idle buckets are
+ * dropped every {@code rate-limit.eviction-interval}, and at once when the map reaches
+ * {@code rate-limit.max-buckets}. If it is still full after that, the new client shares one
+ * bucket per endpoint with every other client that found no room, until there is room again;
+ * such requests are counted as {@code rate.limit.untracked}. A full map therefore tightens the
+ * limit instead of lifting it.</p>
+ */
+@ApplicationScoped
+public class RateLimiter {
+
+  // rate.limit.buckets: clients and endpoints with a bucket; rate.limit.untracked: see above
+  static final String BUCKETS = "rate.limit.buckets";
+  static final String UNTRACKED = "rate.limit.untracked";
+
+  // the client of the shared bucket; no header value or address contains a space
+  private static final String UNTRACKED_CLIENTS = " untracked";
+
+  private final boolean enabled;
+  private final RateLimitRule defaultRule;
+  private final Map<String, RateLimitRule> endpointRules;
+  private final int maxBuckets;
+  private final LongSupplier clock;
+  private final Runnable untracked;
+
+  private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+  @Inject
+  public RateLimiter(
+      @ConfigProperty(name = "rate-limit.enabled", defaultValue = "true") boolean enabled,
+      @ConfigProperty(name = "rate-limit.default", defaultValue = "50/100") String defaultRule,
+      @ConfigProperty(name = "rate-limit.endpoints") Optional<List<String>> endpointRules,
+      @ConfigProperty(name = "rate-limit.max-buckets", defaultValue = "100000") int maxBuckets,
+      MeterRegistry registry) {
+    this(enabled, RateLimitRule.parse(defaultRule), parseEndpoints(endpointRules.orElse(List.of())),
+        maxBuckets, monotonicMillis(), registry.counter(UNTRACKED)::increment);
+    Gauge.builder(BUCKETS, buckets, Map::size).register(registry);
+  }
+
+  RateLimiter(boolean enabled, RateLimitRule defaultRule, Map<String, RateLimitRule> endpointRules,
+      int maxBuckets, LongSupplier clock, Runnable untracked) {
+    this.enabled = enabled;
+    this.defaultRule = defaultRule;
+    this.endpointRules = Map.copyOf(endpointRules);
+    this.maxBuckets = maxBuckets;
+    this.clock = clock;
+    this.untracked = untracked;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** The rule for an endpoint, written {@code <METHOD> <path template>}. */
+  RateLimitRule rule(String endpoint) {
+    return endpointRules.getOrDefault(endpoint, defaultRule);
+  }
+
+  /** Takes a token for {@code client} on {@code endpoint}; see {@link TokenBucket#tryAcquire}. */
+  long tryAcquire(String client, String endpoint, RateLimitRule rule) {
+    long now = clock.getAsLong();
+    String key = endpoint + ' ' + client;
+    TokenBucket bucket = buckets.get(key);
+    if (bucket == null) {
+      bucket = newBucket(key, endpoint, rule, now);
+    }
+    return bucket.tryAcquire(now);
+  }
+
+  @Scheduled(every = "${rate-limit.eviction-interval:30s}",
+      concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  void evictIdle() {
+    long now = clock.getAsLong();
+    buckets.values().removeIf(bucket -> bucket.isFull(now));
+  }
+
+  int buckets() {
+    return buckets.size();
+  }
+
+  private TokenBucket newBucket(String key, String endpoint, RateLimitRule rule, long now) {
+    if (buckets.size() >= maxBuckets) {
+      evictIdle();
+      if (buckets.size() >= maxBuckets) {
+        untracked.run();
+        // one per endpoint on top of the maximum
+        key = endpoint + UNTRACKED_CLIENTS;
+      }
+    }
+    return buckets.computeIfAbsent(key, k -> new TokenBucket(rule, now));
+  }
+
+  // "GET /warehouse=20/40" per entry
+  static Map<String, RateLimitRule> parseEndpoints(List<String> entries) {
+    Map<String, RateLimitRule> rules = new HashMap<>();
+    for (String entry : entries) {
+      int separator = entry.lastIndexOf('=');
+      if (separator < 0) {
+        throw new IllegalArgumentException(
+            "An endpoint rate limit is written <METHOD> <path>=<per second>/<burst>, was '"
+                + entry + "'");
+      }
+      rules.put(entry.substring(0, separator).trim().replaceAll("\\s+", " "),
+          RateLimitRule.parse(entry.substring(separator + 1)));
+    }
+    return rules;
+  }
+
+  // milliseconds since the limiter was created, which always fit the bucket's 42 bits
+  private static LongSupplier monotonicMillis() {
+    long epoch = System.nanoTime();
+    return () -> (System.nanoTime() - epoch) / 1_000_000;
+  }
+}
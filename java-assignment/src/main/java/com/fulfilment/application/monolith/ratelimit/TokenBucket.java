@@ -0,0 +1,73 @@
+package com.fulfilment.application.monolith.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free token bucket. The time of the last refill and the tokens left are packed into
+ * one {@code long}, so taking a token is a single compare-and-set with no lock and no
+ * allocation. Tokens are counted in thousandths, so a refill of {@code perSecond} tokens per
+ * second adds exactly {@code perSecond} thousandths per elapsed millisecond.
+ *
+ * <pre>
+ *   63                                22 21              0
+ *   | refill time, ms since the epoch   | thousandths left |
+ * </pre>
+ */
+final class TokenBucket {
+
+  private static final int TOKEN_BITS = 22;
+  private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+  private static final long ONE = 1000;
+
+  // 22 bits of thousandths
+  static final int MAX_BURST = (int) (TOKEN_MASK / ONE);
+
+  private final long perSecond;
+  private final long capacity;
+  private final AtomicLong state;
+
+  /** A full bucket as of {@code nowMillis}. */
+  TokenBucket(RateLimitRule rule, long nowMillis) {
+    this.perSecond = rule.perSecond();
+    this.capacity = rule.burst() * ONE;
+    this.state = new AtomicLong(pack(nowMillis, capacity));
+  }
+
+  /**
+   * Takes one token. Returns the whole tokens left after it, or, when the bucket is empty,
+   * minus the milliseconds until the next token (at least {@code -1}).
+   */
+  long tryAcquire(long nowMillis) {
+    while (true) {
+      long current = state.get();
+      long available = refilled(current, nowMillis);
+      if (available < ONE) {
+        return -Math.max(1, (ONE - available + perSecond - 1) / perSecond);
+      }
+      long left = available - ONE;
+      if (state.compareAndSet(current, pack(nowMillis, left))) {
+        return left / ONE;
+      }
+    }
+  }
+
+  /** Whether the bucket has refilled completely, so dropping it changes nothing. */
+  boolean isFull(long nowMillis) {
+    return refilled(state.get(), nowMillis) == capacity;
+  }
+
+  private long refilled(long packed, long nowMillis) {
+    long tokens = packed & TOKEN_MASK;
+    long elapsed = nowMillis - (packed >>> TOKEN_BITS);
+    if (elapsed <= 0) {
+      return tokens;
+    }
+    // bounded first, so that a long idle period cannot overflow the multiplication
+    long refill = Math.min(elapsed, capacity) * perSecond;
+    return Math.min(capacity, tokens + refill);
+  }
+
+  private static long pack(long nowMillis, long tokens) {
+    return (nowMillis << TOKEN_BITS) | tokens;
+  }
+}
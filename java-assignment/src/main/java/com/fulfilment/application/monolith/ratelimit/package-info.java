@@ -0,0 +1,16 @@
+/**
+ * Token-bucket rate limits per client and endpoint.
+ *
+ * <p>{@link RateLimitFilter} runs before every other request filter. It takes one token from
+ * the {@link TokenBucket} that {@link RateLimiter} keeps for the client and the route template,
+ * such as {@code GET /warehouse/{id}}. The client is the remote address, or the header named
+ * by {@code rate-limit.client-header} where a gateway sets it. An empty bucket is answered
+ * {@code 429} with {@code Retry-After}, and every limited response carries the
+ * {@code RateLimit-*} headers.
+ * The rules are {@link RateLimitRule}s read from {@code rate-limit.default} and
+ * {@code rate-limit.endpoints}.</p>
+ *
+ * <p>Limits are per instance. Buckets that have refilled are evicted on a schedule, and above
+ * {@code rate-limit.max-buckets} new clients share one bucket per endpoint.</p>
+ */
+package com.fulfilment.application.monolith.ratelimit;
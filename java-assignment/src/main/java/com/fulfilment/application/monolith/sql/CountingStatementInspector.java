@@ -0,0 +1,55 @@
+package com.fulfilment.application.monolith.sql;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.function.Supplier;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.jboss.logging.Logger;
+
+/**
+ * Counts every statement Hibernate prepares into the request's {@link StatementCounter} and
+ * warns once per statement when the same SQL runs {@code sql.statement-count.repeat-threshold}
+ * times in one request. Statements outside a request (scheduled jobs, startup) are not counted.
+ * Every statement is also handed to {@link SlowQueryLog}, which times its execution.
+ */
+@PersistenceUnitExtension
+@ApplicationScoped
+public class CountingStatementInspector implements StatementInspector {
+
+  private static final Logger LOGGER = Logger.getLogger(CountingStatementInspector.class.getName());
+
+  private final Supplier<StatementCounter> currentCounter;
+  private final SlowQueryLog slowQueries;
+  private final int repeatThreshold;
+
+  @Inject
+  public CountingStatementInspector(
+      StatementCounter counter,
+      SlowQueryLog slowQueries,
+      @ConfigProperty(name = "sql.statement-count.repeat-threshold", defaultValue = "3") int repeatThreshold) {
+    this(() -> Arc.container().requestContext().isActive() ? counter : null, slowQueries,
+        repeatThreshold);
+  }
+
+  CountingStatementInspector(
+      Supplier<StatementCounter> currentCounter, SlowQueryLog slowQueries, int repeatThreshold) {
+    this.currentCounter = currentCounter;
+    this.slowQueries = slowQueries;
+    this.repeatThreshold = repeatThreshold;
+  }
+
+  @Override
+  public String inspect(String sql) {
+    slowQueries.prepared(sql);
+    StatementCounter counter = currentCounter.get();
+    if (counter != null && counter.record(sql) == repeatThreshold) {
+      counter.markRepeated(sql);
+      LOGGER.warnf("Possible N+1: the same statement ran %d times in one request: %s",
+          repeatThreshold, sql);
+    }
+    return sql;
+  }
+}
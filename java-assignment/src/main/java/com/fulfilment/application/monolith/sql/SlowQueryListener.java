@@ -0,0 +1,42 @@
+package com.fulfilment.application.monolith.sql;
+
+import io.quarkus.arc.Arc;
+import org.hibernate.SessionEventListener;
+
+/**
+ * Times JDBC executions for {@link SlowQueryLog}. Hibernate creates one instance per session
+ * from {@code hibernate.session.events.auto}, so it is not a CDI bean and looks the log up on
+ * first use. A session is used by one thread at a time, which makes the plain start field safe.
+ */
+public class SlowQueryListener implements SessionEventListener {
+
+  private transient SlowQueryLog log;
+  private long startNanos;
+
+  @Override
+  public void jdbcExecuteStatementStart() {
+    startNanos = System.nanoTime();
+  }
+
+  @Override
+  public void jdbcExecuteStatementEnd() {
+    log().executed(System.nanoTime() - startNanos);
+  }
+
+  @Override
+  public void jdbcExecuteBatchStart() {
+    startNanos = System.nanoTime();
+  }
+
+  @Override
+  public void jdbcExecuteBatchEnd() {
+    log().executed(System.nanoTime() - startNanos);
+  }
+
+  private SlowQueryLog log() {
+    if (log == null) {
+      log = Arc.container().instance(SlowQueryLog.class).get();
+    }
+    return log;
+  }
+}
@@ -0,0 +1,147 @@
+package com.fulfilment.application.monolith.sql;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Keeps the most recent slow or sampled SQL executions in a fixed-size ring buffer.
+ *
+ * <p>A statement is captured when it ran for at least {@code sql.slow-query.threshold}, or
+ * otherwise with probability {@code sql.slow-query.sample-rate}. Only the SQL as rendered by
+ * Hibernate is kept: bind values are {@code ?} placeholders, so an entry records the shape of
+ * its parameters (how many, and how an {@code IN} list was expanded) but never their values.
+ * Everything else costs one {@code nanoTime} pair and a comparison.</p>
+ *
+ * <p>{@link CountingStatementInspector} reports the SQL when Hibernate prepares it and
+ * {@link SlowQueryListener} reports how long its execution took, both on the session's
+ * thread.</p>
+ */
+@ApplicationScoped
+public class SlowQueryLog {
+
+  private final long thresholdNanos;
+  private final double sampleRate;
+  private final DoubleSupplier random;
+  private final LongSupplier clock;
+
+  private final ThreadLocal<String> preparedSql = new ThreadLocal<>();
+  private final CapturedStatement[] ring;
+  // not synchronized: a request on a virtual thread would stay pinned to its carrier while waiting
+  private final ReentrantLock ringLock = new ReentrantLock();
+  private long written;
+
+  @Inject
+  public SlowQueryLog(
+      @ConfigProperty(name = "sql.slow-query.threshold", defaultValue = "PT0.1S") Duration threshold,
+      @ConfigProperty(name = "sql.slow-query.sample-rate", defaultValue = "0") double sampleRate,
+      @ConfigProperty(name = "sql.slow-query.capacity", defaultValue = "1000") int capacity) {
+    this(threshold, sampleRate, capacity,
+        () -> ThreadLocalRandom.current().nextDouble(), System::currentTimeMillis);
+  }
+
+  SlowQueryLog(Duration threshold, double sampleRate, int capacity,
+      DoubleSupplier random, LongSupplier clock) {
+    this.thresholdNanos = threshold.toNanos();
+    this.sampleRate = sampleRate;
+    this.ring = new CapturedStatement[Math.max(1, capacity)];
+    this.random = random;
+    this.clock = clock;
+  }
+
+  /** Remembers the statement the current thread is about to execute. */
+  void prepared(String sql) {
+    preparedSql.set(sql);
+  }
+
+  /** Captures the last prepared statement if it was slow or is sampled. */
+  void executed(long elapsedNanos) {
+    String sql = preparedSql.get();
+    // pooled worker threads outlive the request; do not keep its SQL reachable from them
+    preparedSql.remove();
+    if (sql == null) {
+      return;
+    }
+    boolean slow = elapsedNanos >= thresholdNanos;
+    if (slow || (sampleRate > 0 && random.getAsDouble() < sampleRate)) {
+      add(new CapturedStatement(sql, bindParameters(sql), elapsedNanos / 1000,
+          Instant.ofEpochMilli(clock.getAsLong()), slow));
+    }
+  }
+
+  /** Captured statements grouped by SQL, highest total execution time first. */
+  public List<StatementSummary> top(int limit) {
+    Map<String, StatementSummary> bySql = new LinkedHashMap<>();
+    for (CapturedStatement statement : snapshot()) {
+      bySql.merge(statement.sql(), StatementSummary.of(statement), StatementSummary::plus);
+    }
+    return bySql.values().stream()
+        .sorted(Comparator.comparingLong(StatementSummary::totalMicros).reversed())
+        .limit(Math.max(0, limit))
+        .toList();
+  }
+
+  private void add(CapturedStatement statement) {
+    ringLock.lock();
+    try {
+      ring[(int) (written++ % ring.length)] = statement;
+    } finally {
+      ringLock.unlock();
+    }
+  }
+
+  private List<CapturedStatement> snapshot() {
+    ringLock.lock();
+    try {
+      return Arrays.stream(ring).filter(Objects::nonNull).toList();
+    } finally {
+      ringLock.unlock();
+    }
+  }
+
+  private static int bindParameters(String sql) {
+    int count = 0;
+    for (int i = 0; i < sql.length(); i++) {
+      if (sql.charAt(i) == '?') {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /** One captured execution. */
+  public record CapturedStatement(
+      String sql, int bindParameters, long micros, Instant capturedAt, boolean slow) {
+  }
+
+  /** All captured executions of one SQL string. */
+  public record StatementSummary(
+      String sql, int bindParameters, int executions, int slowExecutions,
+      long totalMicros, long maxMicros, Instant lastCapturedAt) {
+
+    static StatementSummary of(CapturedStatement statement) {
+      return new StatementSummary(statement.sql(), statement.bindParameters(), 1,
+          statement.slow() ? 1 : 0, statement.micros(), statement.micros(),
+          statement.capturedAt());
+    }
+
+    StatementSummary plus(StatementSummary other) {
+      return new StatementSummary(sql, bindParameters, executions + other.executions,
+          slowExecutions + other.slowExecutions, totalMicros + other.totalMicros,
+          Math.max(maxMicros, other.maxMicros),
+          lastCapturedAt.isAfter(other.lastCapturedAt) ? lastCapturedAt : other.lastCapturedAt);
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package com.fulfilment.application.monolith.sql;
+
+import com.fulfilment.application.monolith.sql.SlowQueryLog.StatementSummary;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import java.util.List;
+
+/**
+ * Admin view of the captured slow and sampled statements. Not authenticated: expose
+ * {@code /admin} only on the internal network or behind the gateway's admin policy.
+ */
+@Path("admin/slow-queries")
+@ApplicationScoped
+public class SlowQueryResource {
+
+  private final SlowQueryLog slowQueries;
+
+  public SlowQueryResource(SlowQueryLog slowQueries) {
+    this.slowQueries = slowQueries;
+  }
+
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  public List<StatementSummary> top(@QueryParam("top") @DefaultValue("10") int top) {
+    return slowQueries.top(top);
+  }
+}
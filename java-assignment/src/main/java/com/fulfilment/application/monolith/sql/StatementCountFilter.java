@@ -0,0 +1,34 @@
+package com.fulfilment.application.monolith.sql;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Reports the request's statement count as {@value #HEADER} when
+ * {@code sql.statement-count.header-enabled} is set (dev and test profiles only).
+ */
+@Provider
+public class StatementCountFilter implements ContainerResponseFilter {
+
+  public static final String HEADER = "X-SQL-Statement-Count";
+
+  private final StatementCounter counter;
+  private final boolean enabled;
+
+  public StatementCountFilter(
+      StatementCounter counter,
+      @ConfigProperty(name = "sql.statement-count.header-enabled", defaultValue = "false") boolean enabled) {
+    this.counter = counter;
+    this.enabled = enabled;
+  }
+
+  @Override
+  public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+    if (enabled) {
+      response.getHeaders().putSingle(HEADER, counter.total());
+    }
+  }
+}
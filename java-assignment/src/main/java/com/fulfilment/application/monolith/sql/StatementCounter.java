@@ -0,0 +1,39 @@
+package com.fulfilment.application.monolith.sql;
+
+import jakarta.enterprise.context.RequestScoped;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL statements prepared while serving the current request, counted by
+ * {@link CountingStatementInspector}. Statements are compared after Hibernate rendered them,
+ * so the same query with different bind values counts as a repeat.
+ */
+@RequestScoped
+public class StatementCounter {
+
+  private final Map<String, Integer> executions = new HashMap<>();
+  private final List<String> repeated = new ArrayList<>();
+  private int total;
+
+  /** Counts one statement and returns how often this exact SQL has run in the request. */
+  int record(String sql) {
+    total++;
+    return executions.merge(sql, 1, Integer::sum);
+  }
+
+  void markRepeated(String sql) {
+    repeated.add(sql);
+  }
+
+  public int total() {
+    return total;
+  }
+
+  /** Statements that reached the repeat threshold, i.e. likely N+1 patterns. */
+  public List<String> repeated() {
+    return List.copyOf(repeated);
+  }
+}
@@ -0,0 +1,24 @@
+/**
+ * SQL statement accounting on top of Hibernate's statement inspection.
+ *
+ * <h2>Statement budget</h2>
+ * <p>{@link CountingStatementInspector} sees every statement Hibernate prepares and counts it in
+ * the request-scoped {@link StatementCounter}. In the dev and test profiles
+ * {@link StatementCountFilter} returns the count as {@code X-SQL-Statement-Count}, so tests
+ * can pin an endpoint's cost ({@code StatementBudget.atMost(n)} in the test sources) and a
+ * change that adds queries fails the build.</p>
+ *
+ * <h2>N+1 detection</h2>
+ * <p>Hibernate renders bind values as {@code ?}, so a lookup repeated for different ids
+ * produces identical SQL. When one statement reaches
+ * {@code sql.statement-count.repeat-threshold} executions in a request, a single warning is
+ * logged with the SQL.</p>
+ *
+ * <h2>Slow queries</h2>
+ * <p>Production does not log SQL. {@link SlowQueryListener} times every JDBC execution, and
+ * {@link SlowQueryLog} keeps the statements over {@code sql.slow-query.threshold} plus a random
+ * {@code sql.slow-query.sample-rate} of the rest in a ring buffer, without bind values.
+ * {@link SlowQueryResource} lists them at {@code /admin/slow-queries}, highest total time
+ * first.</p>
+ */
+package com.fulfilment.application.monolith.sql;
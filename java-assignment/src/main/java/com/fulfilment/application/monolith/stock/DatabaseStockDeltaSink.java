@@ -0,0 +1,100 @@
+package com.fulfilment.application.monolith.stock;
+
+import com.fulfilment.application.monolith.datasource.RoutedEntityCache;
+import com.fulfilment.application.monolith.http.CacheInvalidationEvent;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import java.sql.PreparedStatement;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.hibernate.Session;
+
+/**
+ * Applies flushed stock sums with one JDBC batch per target table and records the
+ * flushed segment in {@link StockFlushCheckpoint} within the same transaction.
+ */
+@ApplicationScoped
+public class DatabaseStockDeltaSink implements StockDeltaSink {
+
+  private final EntityManager entityManager;
+  private final Event<CacheInvalidationEvent> cacheInvalidation;
+
+  public DatabaseStockDeltaSink(
+      EntityManager entityManager, Event<CacheInvalidationEvent> cacheInvalidation) {
+    this.entityManager = entityManager;
+    this.cacheInvalidation = cacheInvalidation;
+  }
+
+  @Override
+  public long lastFlushedSegment() {
+    return QuarkusTransaction.requiringNew().call(() -> {
+      StockFlushCheckpoint checkpoint =
+          entityManager.find(StockFlushCheckpoint.class, StockFlushCheckpoint.SINGLETON_ID);
+      return checkpoint != null ? checkpoint.segment : 0L;
+    });
+  }
+
+  @Override
+  public void apply(Map<StockKey, Long> deltas, long segment,
+      Consumer<Map<StockKey, Long>> beforeCommit) {
+    Map<StockTarget, Map<Long, Long>> byTarget = new EnumMap<>(StockTarget.class);
+    deltas.forEach((key, delta) ->
+        byTarget.computeIfAbsent(key.target(), t -> new HashMap<>()).put(key.id(), delta));
+
+    QuarkusTransaction.requiringNew().run(() -> {
+      entityManager.unwrap(Session.class).doWork(connection -> {
+        for (Map.Entry<StockTarget, Map<Long, Long>> entry : byTarget.entrySet()) {
+          StockTarget target = entry.getKey();
+          // bumping the version keeps ETags and optimistic locks honest about the new stock
+          String sql = "UPDATE " + target.table + " SET " + target.column + " = " + target.column
+              + " + ?, version = version + 1 WHERE id = ?";
+          try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (Map.Entry<Long, Long> delta : entry.getValue().entrySet()) {
+              statement.setLong(1, delta.getValue());
+              statement.setLong(2, delta.getKey());
+              statement.addBatch();
+            }
+            statement.executeBatch();
+          }
+        }
+      });
+      beforeCommit.accept(versions(byTarget));
+
+      StockFlushCheckpoint checkpoint =
+          entityManager.find(StockFlushCheckpoint.class, StockFlushCheckpoint.SINGLETON_ID);
+      if (checkpoint == null) {
+        checkpoint = new StockFlushCheckpoint();
+        checkpoint.id = StockFlushCheckpoint.SINGLETON_ID;
+        entityManager.persist(checkpoint);
+      }
+      checkpoint.segment = segment;
+    });
+
+    // the batch bypassed Hibernate, so drop the now stale second-level cache entries;
+    // cached responses go too, as the flush bumped the versions behind their ETags
+    Cache cache = new RoutedEntityCache(entityManager.getEntityManagerFactory());
+    byTarget.forEach((target, ids) -> ids.keySet().forEach(id -> {
+      cache.evict(target.entityClass, id);
+      cacheInvalidation.fire(
+          new CacheInvalidationEvent(target.cacheRegion, target.entityClass, id));
+    }));
+  }
+
+  // the rows are locked by this transaction's updates, so these are the versions it commits
+  private Map<StockKey, Long> versions(Map<StockTarget, Map<Long, Long>> byTarget) {
+    Map<StockKey, Long> versions = new HashMap<>();
+    byTarget.forEach((target, ids) -> entityManager
+        .createQuery("select id, version from " + target.entityClass.getSimpleName()
+            + " where id in ?1", Object[].class)
+        .setParameter(1, ids.keySet())
+        .getResultStream()
+        .forEach(row -> versions.put(
+            new StockKey(target, (Long) row[0]), ((Number) row[1]).longValue())));
+    return versions;
+  }
+}
@@ -0,0 +1,271 @@
+package com.fulfilment.application.monolith.stock;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Opt-in write-behind counters for hot stock values.
+ *
+ * <p>Each delta is appended to the {@link StockDeltaLog} and summed into a per-id
+ * {@link LongAdder}, so concurrent adjustments of the same product or store never wait
+ * on a database row lock. Adding takes no lock: log appends are group-committed, and the
+ * counters of a log segment form a {@link Generation} that a flush seals once its last
+ * writer is done. A scheduled flush drains the sealed counters and hands the sums to the
+ * {@link StockDeltaSink} as one batched update. Until then, {@link #pending} reports the
+ * not yet persisted part so reads can show persisted + pending.</p>
+ *
+ * <p>The sums of the last committed flush are kept, with the row versions it produced,
+ * until the next flush: a reader may have loaded the row, or a cached copy of it, just before
+ * that commit and only ask for the pending part afterwards.</p>
+ */
+@ApplicationScoped
+public class HotStockCounters {
+
+  private static final Logger LOGGER = Logger.getLogger(HotStockCounters.class.getName());
+
+  // the row version of a delta whose flush has not reached the database yet
+  private static final long NOT_APPLIED = Long.MAX_VALUE;
+
+  private final boolean enabled;
+  private final StockDeltaLog deltaLog;
+  private final StockDeltaSink sink;
+
+  private final ReentrantLock flushLock = new ReentrantLock();
+
+  // replaced as a whole, so a reader sees every counted delta exactly once
+  private volatile State state;
+
+  @Inject
+  public HotStockCounters(
+      @ConfigProperty(name = "stock.hot-counters.enabled", defaultValue = "false") boolean enabled,
+      @ConfigProperty(name = "stock.hot-counters.log-dir", defaultValue = "data/stock-deltas") String logDir,
+      StockDeltaSink sink) {
+    this(enabled, enabled ? new StockDeltaLog(Path.of(logDir)) : null, sink);
+  }
+
+  HotStockCounters(boolean enabled, StockDeltaLog deltaLog, StockDeltaSink sink) {
+    this.enabled = enabled;
+    this.deltaLog = deltaLog;
+    this.sink = sink;
+    this.state = enabled
+        ? new State(new Generation(deltaLog.current()), null, Map.of(), Map.of())
+        : null;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void add(StockTarget target, long id, long delta) {
+    if (!enabled) {
+      throw new IllegalStateException("Hot stock counters are disabled.");
+    }
+    StockKey key = new StockKey(target, id);
+    while (true) {
+      Generation generation = state.current;
+      if (generation.add(key, delta)) {
+        return;
+      }
+      // sealed by a flush in the meantime; its successor is already current
+    }
+  }
+
+  /**
+   * Deltas not yet in a row read at the given version. A delta whose flush has committed is
+   * left out once the row shows the version that flush gave it.
+   */
+  public long pending(StockTarget target, long id, long version) {
+    if (!enabled) {
+      return 0;
+    }
+    StockKey key = new StockKey(target, id);
+    State current = state;
+    long pending = current.current.sum(key);
+    if (current.sealed != null) {
+      pending += current.sealed.sum(key);
+    }
+    InFlight inFlight = current.inFlight.get(key);
+    if (inFlight != null && version < inFlight.version()) {
+      pending += inFlight.delta();
+    }
+    InFlight applied = current.applied.get(key);
+    if (applied != null && version < applied.version()) {
+      pending += applied.delta();
+    }
+    return pending;
+  }
+
+  @Scheduled(every = "${stock.hot-counters.flush-interval:1s}",
+      concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  void scheduledFlush() {
+    if (enabled) {
+      flush();
+    }
+  }
+
+  public void flush() {
+    if (!enabled) {
+      return;
+    }
+    flushLock.lock();
+    try {
+      State before = state;
+      Generation sealed = before.current;
+      state = new State(new Generation(deltaLog.rotate()), sealed, before.inFlight, before.applied);
+      sealed.seal();
+      closeQuietly(sealed.segment);
+
+      // deltas of an earlier failed flush go out with this one
+      Map<StockKey, InFlight> drained = new HashMap<>(before.inFlight);
+      sealed.counters.forEach((key, counter) -> {
+        long sum = counter.sum();
+        if (sum != 0) {
+          drained.merge(key, new InFlight(sum, NOT_APPLIED),
+              (carried, added) -> new InFlight(carried.delta() + added.delta(), NOT_APPLIED));
+        }
+      });
+      if (drained.isEmpty()) {
+        // the previous flush committed at least one interval ago
+        state = new State(state.current, null, drained, Map.of());
+        deltaLog.deleteUpTo(sealed.segment.number());
+        return;
+      }
+      state = new State(state.current, null, drained, before.applied);
+
+      Map<StockKey, Long> sums = new HashMap<>();
+      drained.forEach((key, inFlight) -> sums.put(key, inFlight.delta()));
+      Map<StockKey, InFlight> applied = new HashMap<>();
+      try {
+        sink.apply(sums, sealed.segment.number(), versions -> {
+          drained.forEach((key, inFlight) -> applied.put(key,
+              new InFlight(inFlight.delta(), versions.getOrDefault(key, NOT_APPLIED))));
+          state = new State(state.current, null, applied, before.applied);
+        });
+        // a sum without a row version updated no row, so no reader can miss it
+        Map<StockKey, InFlight> committed = new HashMap<>();
+        applied.forEach((key, inFlight) -> {
+          if (inFlight.version() != NOT_APPLIED) {
+            committed.put(key, inFlight);
+          }
+        });
+        state = new State(state.current, null, Map.of(), committed);
+        deltaLog.deleteUpTo(sealed.segment.number());
+      } catch (RuntimeException e) {
+        // the sealed segment stays on disk; the sums are carried into the next flush
+        LOGGER.warn("Failed to flush " + drained.size() + " stock counters, will retry", e);
+        state = new State(state.current, null, drained, before.applied);
+      }
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  void onStart(@Observes StartupEvent event) {
+    if (enabled) {
+      recover();
+    }
+  }
+
+  void onStop(@Observes ShutdownEvent event) throws IOException {
+    if (enabled) {
+      flush();
+      deltaLog.close();
+    }
+  }
+
+  // replays segments left behind by a crash, skipping those the database already contains
+  void recover() {
+    long checkpoint = sink.lastFlushedSegment();
+    deltaLog.deleteUpTo(checkpoint);
+    Map<StockKey, Long> recovered = deltaLog.replay(checkpoint);
+    if (!recovered.isEmpty()) {
+      LOGGER.info("Recovered unflushed stock deltas for " + recovered.size() + " ids");
+      flushLock.lock();
+      try {
+        Map<StockKey, InFlight> carried = new HashMap<>(state.inFlight);
+        recovered.forEach((key, delta) -> carried.merge(key, new InFlight(delta, NOT_APPLIED),
+            (left, right) -> new InFlight(left.delta() + right.delta(), NOT_APPLIED)));
+        state = new State(state.current, state.sealed, carried, state.applied);
+      } finally {
+        flushLock.unlock();
+      }
+      flush();
+    }
+  }
+
+  private static void closeQuietly(StockDeltaLog.Segment segment) {
+    try {
+      segment.close();
+    } catch (IOException e) {
+      LOGGER.warn("Failed to close stock delta segment " + segment.number(), e);
+    }
+  }
+
+  /**
+   * The generation taking new deltas, one being sealed, sums handed to the sink, and those the
+   * last flush committed.
+   */
+  private record State(Generation current, Generation sealed, Map<StockKey, InFlight> inFlight,
+      Map<StockKey, InFlight> applied) {
+  }
+
+  /** A drained sum and the row version its flush gives the row, or {@code NOT_APPLIED}. */
+  private record InFlight(long delta, long version) {
+  }
+
+  /** The counters of one log segment. */
+  private static final class Generation {
+
+    final StockDeltaLog.Segment segment;
+    final ConcurrentHashMap<StockKey, LongAdder> counters = new ConcurrentHashMap<>();
+
+    // adds in progress; a flush seals, then waits for them to finish
+    private final LongAdder writers = new LongAdder();
+    private volatile boolean sealed;
+
+    Generation(StockDeltaLog.Segment segment) {
+      this.segment = segment;
+    }
+
+    // false when the generation was sealed before the add could start
+    boolean add(StockKey key, long delta) {
+      writers.increment();
+      try {
+        if (sealed) {
+          return false;
+        }
+        segment.append(key, delta);
+        counters.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+        return true;
+      } finally {
+        writers.decrement();
+      }
+    }
+
+    long sum(StockKey key) {
+      LongAdder counter = counters.get(key);
+      return counter != null ? counter.sum() : 0;
+    }
+
+    // an add that saw the generation open has registered as a writer before the flag was set
+    void seal() {
+      sealed = true;
+      while (writers.sum() != 0) {
+        Thread.yield();
+      }
+    }
+  }
+}
@@ -0,0 +1,4 @@
+package com.fulfilment.application.monolith.stock;
+
+// request body of the stock-adjustment endpoints: a signed delta, not an absolute value
+public record StockAdjustment(int delta) {}
@@ -0,0 +1,206 @@
+package com.fulfilment.application.monolith.stock;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of stock deltas, split into numbered segments.
+ *
+ * <p>Every delta is written here before it is counted in memory. A flush seals the
+ * current segment and opens the next one; sealed segments are deleted once their deltas
+ * are committed. Appends are group-committed: each caller queues its line, and whichever
+ * caller holds the segment's write lock writes every queued line in one call. Writes go
+ * straight to the file channel (no user-space buffer), so a process crash loses no delta
+ * whose append returned; power-loss durability would additionally need an fsync.</p>
+ */
+public class StockDeltaLog implements Closeable {
+
+  private static final String PREFIX = "deltas-";
+  private static final String SUFFIX = ".log";
+
+  private final Path directory;
+
+  private volatile Segment current;
+
+  public StockDeltaLog(Path directory) {
+    this.directory = directory;
+    try {
+      Files.createDirectories(directory);
+      long last = segments().stream().mapToLong(Long::longValue).max().orElse(0);
+      this.current = new Segment(last + 1, open(last + 1));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public Segment current() {
+    return current;
+  }
+
+  // opens the next segment and makes it current; the caller closes the previous one
+  public Segment rotate() {
+    try {
+      long next = current.number + 1;
+      current = new Segment(next, open(next));
+      return current;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  // sums all deltas recorded in segments newer than the given one
+  public Map<StockKey, Long> replay(long afterSegment) {
+    Map<StockKey, Long> totals = new HashMap<>();
+    try {
+      for (long number : segments()) {
+        if (number <= afterSegment) {
+          continue;
+        }
+        for (String line : Files.readAllLines(file(number), StandardCharsets.US_ASCII)) {
+          String[] parts = line.split(",");
+          // a torn final line from a crash mid-write is skipped
+          if (parts.length != 3 || parts[0].length() != 1) {
+            continue;
+          }
+          StockKey key = new StockKey(StockTarget.fromTag(parts[0].charAt(0)), Long.parseLong(parts[1]));
+          totals.merge(key, Long.parseLong(parts[2]), Long::sum);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return totals;
+  }
+
+  public void deleteUpTo(long lastSegment) {
+    try {
+      for (long number : segments()) {
+        if (number <= lastSegment && number != current.number) {
+          Files.deleteIfExists(file(number));
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    current.close();
+  }
+
+  private FileChannel open(long number) throws IOException {
+    return FileChannel.open(file(number),
+        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+  }
+
+  private Path file(long number) {
+    return directory.resolve(PREFIX + number + SUFFIX);
+  }
+
+  private List<Long> segments() throws IOException {
+    List<Long> numbers = new ArrayList<>();
+    try (Stream<Path> files = Files.list(directory)) {
+      files.map(path -> path.getFileName().toString())
+          .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+          .forEach(name -> numbers.add(
+              Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()))));
+    }
+    numbers.sort(Long::compare);
+    return numbers;
+  }
+
+  /** One numbered segment file and the lines queued for it. */
+  public static final class Segment implements Closeable {
+
+    private final long number;
+    private final FileChannel channel;
+    private final Queue<Line> queued = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private Segment(long number, FileChannel channel) {
+      this.number = number;
+      this.channel = channel;
+    }
+
+    public long number() {
+      return number;
+    }
+
+    // returns once the delta is written, usually by another caller's write
+    public void append(StockKey key, long delta) {
+      Line line = new Line((key.target().tag + "," + key.id() + "," + delta + "\n")
+          .getBytes(StandardCharsets.US_ASCII));
+      queued.add(line);
+      writeLock.lock();
+      try {
+        if (!line.done) {
+          writeQueued();
+        }
+      } finally {
+        writeLock.unlock();
+      }
+      if (line.failure != null) {
+        throw new UncheckedIOException(line.failure);
+      }
+    }
+
+    // must not run concurrently with append()
+    @Override
+    public void close() throws IOException {
+      channel.close();
+    }
+
+    private void writeQueued() {
+      List<Line> batch = new ArrayList<>();
+      for (Line line = queued.poll(); line != null; line = queued.poll()) {
+        batch.add(line);
+      }
+      ByteBuffer[] buffers = new ByteBuffer[batch.size()];
+      long remaining = 0;
+      for (int i = 0; i < buffers.length; i++) {
+        buffers[i] = ByteBuffer.wrap(batch.get(i).bytes);
+        remaining += buffers[i].remaining();
+      }
+      IOException failure = null;
+      try {
+        while (remaining > 0) {
+          remaining -= channel.write(buffers);
+        }
+      } catch (IOException e) {
+        failure = e;
+      }
+      for (Line line : batch) {
+        line.failure = failure;
+        line.done = true;
+      }
+    }
+  }
+
+  private static final class Line {
+
+    final byte[] bytes;
+    // both are written by the caller that wrote the line, before it releases the write lock
+    IOException failure;
+    boolean done;
+
+    Line(byte[] bytes) {
+      this.bytes = bytes;
+    }
+  }
+}
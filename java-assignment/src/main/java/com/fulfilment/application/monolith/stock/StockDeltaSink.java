@@ -0,0 +1,15 @@
+package com.fulfilment.application.monolith.stock;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+public interface StockDeltaSink {
+
+  // highest delta-log segment whose deltas are already applied to the database
+  long lastFlushedSegment();
+
+  // applies the summed deltas and records the segment as flushed, atomically; before the
+  // commit, hands beforeCommit the version each updated row has once the commit is visible
+  void apply(Map<StockKey, Long> deltas, long segment,
+      Consumer<Map<StockKey, Long>> beforeCommit);
+}
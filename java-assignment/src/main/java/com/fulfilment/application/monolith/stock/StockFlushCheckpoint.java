@@ -0,0 +1,19 @@
+package com.fulfilment.application.monolith.stock;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "stock_flush_checkpoint")
+public class StockFlushCheckpoint {
+
+  static final long SINGLETON_ID = 1L;
+
+  @Id public Long id;
+
+  // last delta-log segment applied to the stock columns, written in the same transaction
+  public long segment;
+
+  public StockFlushCheckpoint() {}
+}
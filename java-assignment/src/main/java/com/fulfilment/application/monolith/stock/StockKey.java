@@ -0,0 +1,3 @@
+package com.fulfilment.application.monolith.stock;
+
+public record StockKey(StockTarget target, long id) {}
@@ -0,0 +1,39 @@
+package com.fulfilment.application.monolith.stock;
+
+import com.fulfilment.application.monolith.products.Product;
+import com.fulfilment.application.monolith.products.ProductResource;
+import com.fulfilment.application.monolith.stores.Store;
+import com.fulfilment.application.monolith.stores.StoreResource;
+
+public enum StockTarget {
+  PRODUCT('P', "product", "stock", Product.class, ProductResource.CACHE_REGION),
+  STORE('S', "store", "quantityProductsInStock", Store.class, StoreResource.CACHE_REGION);
+
+  // single-character tag used in the delta log
+  final char tag;
+
+  final String table;
+
+  final String column;
+
+  final Class<?> entityClass;
+
+  final String cacheRegion;
+
+  StockTarget(char tag, String table, String column, Class<?> entityClass, String cacheRegion) {
+    this.tag = tag;
+    this.table = table;
+    this.column = column;
+    this.entityClass = entityClass;
+    this.cacheRegion = cacheRegion;
+  }
+
+  static StockTarget fromTag(char tag) {
+    for (StockTarget target : values()) {
+      if (target.tag == tag) {
+        return target;
+      }
+    }
+    throw new IllegalArgumentException("Unknown stock target tag '" + tag + "'.");
+  }
+}
@@ -0,0 +1,35 @@
+/**
+ * Stock — relative stock adjustments and opt-in write-behind counters for hot rows.
+ *
+ * <h2>Two write paths</h2>
+ * <p>{@code POST /product/{id}/stock-adjustments} and
+ * {@code POST /store/{id}/stock-adjustments} apply a signed {@link StockAdjustment}.
+ * By default the delta is applied under a {@code PESSIMISTIC_WRITE} row lock, so
+ * concurrent adjustments serialise on the row but never lose an update. With
+ * {@code stock.hot-counters.enabled=true} the delta is instead recorded in
+ * {@link HotStockCounters}:</p>
+ * <ol>
+ *   <li>the delta is appended to the {@link StockDeltaLog} (crash safety); appends are
+ *       group-committed, so concurrent adjustments share one file write</li>
+ *   <li>and summed into a per-id {@code LongAdder} (no lock contention)</li>
+ *   <li>a scheduled flush ({@code stock.hot-counters.flush-interval}) seals the
+ *       log segment and hands the sums to {@link DatabaseStockDeltaSink}, which
+ *       applies them as one JDBC batch of {@code col = col + ?} updates</li>
+ * </ol>
+ *
+ * <h2>Consistency</h2>
+ * <p>Reads return persisted + pending, so a client sees its own adjustment
+ * immediately. Sums being flushed stay pending for rows read before the flush commits: the
+ * sink reports the version each row gets, and a row read at that version already holds the
+ * sum. Absolute writes (PUT/PATCH) flush pending deltas first so they
+ * are not silently overwritten. The sink stores the flushed segment number in
+ * {@link StockFlushCheckpoint} in the same transaction as the updates; on
+ * startup, segments newer than the checkpoint are replayed, older ones are
+ * deleted, so a crash between commit and file deletion never double-applies.</p>
+ *
+ * <p>The trade-off: with hot counters the database lags behind by up to one
+ * flush interval, and other processes writing the same columns directly see
+ * only persisted values. Enable it only for single-instance deployments with
+ * a writable {@code stock.hot-counters.log-dir}.</p>
+ */
+package com.fulfilment.application.monolith.stock;
@@ -1,5 +1,6 @@
 package com.fulfilment.application.monolith.stores;
 
+import io.opentelemetry.context.Scope;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
 import jakarta.enterprise.event.TransactionPhase;
@@ -15,9 +16,11 @@ public class LegacyStoreChangeObserver {
 
   public void onStoreChange(
       @Observes(during = TransactionPhase.AFTER_SUCCESS) StoreChangeEvent event) {
-    switch (event.operationType()) {
-      case CREATE -> legacyStoreManagerGateway.createStoreOnLegacySystem(event.store());
-      case UPDATE -> legacyStoreManagerGateway.updateStoreOnLegacySystem(event.store());
+    try (Scope ignored = event.traceContext().makeCurrent()) {
+      switch (event.operationType()) {
+        case CREATE -> legacyStoreManagerGateway.createStoreOnLegacySystem(event.store());
+        case UPDATE -> legacyStoreManagerGateway.updateStoreOnLegacySystem(event.store());
+      }
     }
   }
 }
@@ -1,23 +1,71 @@
 package com.fulfilment.application.monolith.stores;
 
+import com.fulfilment.application.monolith.diagnostics.LegacyGatewayEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
 import jakarta.enterprise.context.ApplicationScoped;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 
 @ApplicationScoped
 public class LegacyStoreManagerGateway {
 
+  // legacy.gateway.calls{operation, outcome}: latency of every call, failures tagged outcome=failure
+  static final String TIMER = "legacy.gateway.calls";
+
+  private final MeterRegistry registry;
+  private final Tracer tracer;
+
+  public LegacyStoreManagerGateway(MeterRegistry registry, Tracer tracer) {
+    this.registry = registry;
+    this.tracer = tracer;
+  }
+
   public void createStoreOnLegacySystem(Store store) {
     // just to emulate as this would send this to a legacy system, let's write a temp file with the
-    writeToFile(store);
+    timed("create", store);
   }
 
   public void updateStoreOnLegacySystem(Store store) {
     // just to emulate as this would send this to a legacy system, let's write a temp file with the
-    writeToFile(store);
+    timed("update", store);
+  }
+
+  private void timed(String operation, Store store) {
+    LegacyGatewayEvent event = new LegacyGatewayEvent();
+    event.begin();
+    Timer.Sample sample = Timer.start(registry);
+    // client span: the legacy system is a remote call in production
+    Span span = tracer.spanBuilder("legacy." + operation)
+        .setSpanKind(SpanKind.CLIENT)
+        .setAttribute("store.name", store.name)
+        .startSpan();
+    boolean succeeded = writeToFile(store);
+    if (!succeeded) {
+      span.setStatus(StatusCode.ERROR);
+    }
+    span.end();
+    if (event.shouldCommit()) {
+      event.operation = operation;
+      event.storeName = store.name;
+      event.succeeded = succeeded;
+      event.commit();
+    }
+    sample.stop(Timer.builder(TIMER)
+        .tag("operation", operation)
+        .tag("outcome", succeeded ? "success" : "failure")
+        .publishPercentileHistogram()
+        .minimumExpectedValue(Duration.ofNanos(100_000))
+        .maximumExpectedValue(Duration.ofSeconds(10))
+        .register(registry));
   }
 
-  private void writeToFile(Store store) {
+  private boolean writeToFile(Store store) {
     try {
       // Step 1: Create a temporary file
       Path tempFile;
@@ -43,9 +91,11 @@ public class LegacyStoreManagerGateway {
       // Step 4: Delete the temporary file when done
       Files.delete(tempFile);
       System.out.println("Temporary file deleted.");
+      return true;
 
     } catch (Exception e) {
       e.printStackTrace();
+      return false;
     }
   }
 }
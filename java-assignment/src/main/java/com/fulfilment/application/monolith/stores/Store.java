@@ -1,9 +1,11 @@
 package com.fulfilment.application.monolith.stores;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.quarkus.hibernate.orm.panache.PanacheEntity;
 import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Version;
 
 @Entity
 @Cacheable
@@ -14,6 +16,9 @@ public class Store extends PanacheEntity {
 
   public int quantityProductsInStock;
 
+  // optimistic lock; exposed to clients as the ETag, not in the body
+  @Version @JsonIgnore public long version;
+
   public Store() {}
 
   public Store(String name) {
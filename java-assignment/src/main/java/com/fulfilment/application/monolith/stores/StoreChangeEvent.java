@@ -1,6 +1,16 @@
 package com.fulfilment.application.monolith.stores;
 
-public record StoreChangeEvent(Store store, OperationType operationType) {
+import io.opentelemetry.context.Context;
+
+/**
+ * A committed store change for the legacy system. Carries the trace context of the request that
+ * made the change, so the dispatch is recorded in the same trace however late it runs.
+ */
+public record StoreChangeEvent(Store store, OperationType operationType, Context traceContext) {
+
+  public StoreChangeEvent(Store store, OperationType operationType) {
+    this(store, operationType, Context.current());
+  }
 
   public enum OperationType {
     CREATE,
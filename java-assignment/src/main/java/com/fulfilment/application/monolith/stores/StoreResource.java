@@ -1,11 +1,22 @@
 package com.fulfilment.application.monolith.stores;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fulfilment.application.monolith.batching.BatchLoader;
+import com.fulfilment.application.monolith.coalescing.ReadCoalescer;
+import com.fulfilment.application.monolith.datasource.ConnectionBound;
+import com.fulfilment.application.monolith.http.ApiException;
+import com.fulfilment.application.monolith.http.CacheInvalidationEvent;
+import com.fulfilment.application.monolith.http.CachedResponse;
+import com.fulfilment.application.monolith.http.CborMessageBodyWriter;
+import com.fulfilment.application.monolith.http.EntityTagContext;
+import com.fulfilment.application.monolith.http.ErrorCode;
+import com.fulfilment.application.monolith.idempotency.Idempotent;
+import com.fulfilment.application.monolith.stock.HotStockCounters;
+import com.fulfilment.application.monolith.stock.StockAdjustment;
+import com.fulfilment.application.monolith.stock.StockTarget;
 import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Event;
-import jakarta.inject.Inject;
+import jakarta.persistence.LockModeType;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
@@ -15,50 +26,81 @@ import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
-import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Response;
-import jakarta.ws.rs.ext.ExceptionMapper;
-import jakarta.ws.rs.ext.Provider;
 import java.util.List;
-import org.jboss.logging.Logger;
 
 @Path("store")
 @ApplicationScoped
+@ConnectionBound
 @Produces("application/json")
 @Consumes("application/json")
+@CachedResponse(StoreResource.CACHE_REGION)
 public class StoreResource {
 
-  private final Event<StoreChangeEvent> storeChangeEvent;
-
-  private static final Logger LOGGER = Logger.getLogger(StoreResource.class.getName());
+  public static final String CACHE_REGION = "store";
 
-  public StoreResource(Event<StoreChangeEvent> storeChangeEvent) {
+  private final Event<StoreChangeEvent> storeChangeEvent;
+  private final HotStockCounters stockCounters;
+  private final EntityTagContext entityTags;
+  private final Event<CacheInvalidationEvent> cacheInvalidation;
+  private final ReadCoalescer coalescer;
+  private final BatchLoader batchLoader;
+
+  public StoreResource(
+      Event<StoreChangeEvent> storeChangeEvent,
+      HotStockCounters stockCounters,
+      EntityTagContext entityTags,
+      Event<CacheInvalidationEvent> cacheInvalidation,
+      ReadCoalescer coalescer,
+      BatchLoader batchLoader) {
     this.storeChangeEvent = storeChangeEvent;
+    this.stockCounters = stockCounters;
+    this.entityTags = entityTags;
+    this.cacheInvalidation = cacheInvalidation;
+    this.coalescer = coalescer;
+    this.batchLoader = batchLoader;
   }
 
   @GET
-  public List<Store> get() {
-    return Store.listAll(Sort.by("name"));
+  @Produces({"application/json", CborMessageBodyWriter.APPLICATION_CBOR})
+  public List<Store> get(@QueryParam("ids") List<String> ids) {
+    // ?ids= answers a multi-get in request order; without it, all stores by name
+    List<Store> stores = ids == null || ids.isEmpty()
+        ? Store.listAll(Sort.by("name"))
+        : batchLoader.load(batchLoader.keys("ids", ids, Long::valueOf),
+            chunk -> Store.<Store>list("id in ?1", chunk), store -> store.id);
+    // tagged before the bodies are built, so no body is older than the tag
+    entityTags.tagCollection(stores, store -> store.id, store -> store.version,
+        this::pendingStock);
+    return stores.stream().map(this::withPendingStock).toList();
   }
 
   @GET
   @Path("{id}")
+  @Produces({"application/json", CborMessageBodyWriter.APPLICATION_CBOR})
   public Store getSingle(Long id) {
-    Store entity = Store.findById(id);
+    Store entity = coalescer.load("store.id", id,
+        () -> Store.<Store>findById(id), StoreResource::copyOf);
     if (entity == null) {
-      throw new WebApplicationException("Store with id of " + id + " does not exist.", 404);
+      throw new ApiException(ErrorCode.NOT_FOUND, "Store with id of " + id + " does not exist.");
     }
-    return entity;
+    long pending = pendingStock(entity);
+    entityTags.tag(entity.version, pending);
+    return withPendingStock(entity, pending);
   }
 
   @POST
   @Transactional
+  @Idempotent
   public Response create(Store store) {
     if (store.id != null) {
-      throw new WebApplicationException("Id was invalidly set on request.", 422);
+      throw new ApiException(ErrorCode.INVALID_REQUEST, "Id was invalidly set on request.");
     }
 
     store.persist();
+    entityTags.tag(store.version);
+    invalidateCache(store.id);
 
     storeChangeEvent.fire(new StoreChangeEvent(store, StoreChangeEvent.OperationType.CREATE));
 
@@ -70,18 +112,27 @@ public class StoreResource {
   @Transactional
   public Store update(Long id, Store updatedStore) {
     if (updatedStore.name == null) {
-      throw new WebApplicationException("Store Name was not set on request.", 422);
+      throw new ApiException(ErrorCode.INVALID_REQUEST, "Store Name was not set on request.");
     }
 
+    // an absolute stock value replaces any deltas still waiting in the hot counters
+    stockCounters.flush();
+
     Store entity = Store.findById(id);
 
     if (entity == null) {
-      throw new WebApplicationException("Store with id of " + id + " does not exist.", 404);
+      throw new ApiException(ErrorCode.NOT_FOUND, "Store with id of " + id + " does not exist.");
     }
+    entityTags.requireMatch(entity.version);
 
     entity.name = updatedStore.name;
     entity.quantityProductsInStock = updatedStore.quantityProductsInStock;
 
+    // flush now so a lost race surfaces here and the ETag carries the incremented version
+    Store.flush();
+    entityTags.tag(entity.version);
+    invalidateCache(id);
+
     storeChangeEvent.fire(new StoreChangeEvent(entity, StoreChangeEvent.OperationType.UPDATE));
 
     return entity;
@@ -92,14 +143,18 @@ public class StoreResource {
   @Transactional
   public Store patch(Long id, Store updatedStore) {
     if (updatedStore.name == null) {
-      throw new WebApplicationException("Store Name was not set on request.", 422);
+      throw new ApiException(ErrorCode.INVALID_REQUEST, "Store Name was not set on request.");
     }
 
+    // an absolute stock value replaces any deltas still waiting in the hot counters
+    stockCounters.flush();
+
     Store entity = Store.findById(id);
 
     if (entity == null) {
-      throw new WebApplicationException("Store with id of " + id + " does not exist.", 404);
+      throw new ApiException(ErrorCode.NOT_FOUND, "Store with id of " + id + " does not exist.");
     }
+    entityTags.requireMatch(entity.version);
 
     if (entity.name != null) {
       entity.name = updatedStore.name;
@@ -109,6 +164,39 @@ public class StoreResource {
       entity.quantityProductsInStock = updatedStore.quantityProductsInStock;
     }
 
+    Store.flush();
+    entityTags.tag(entity.version);
+    invalidateCache(id);
+
+    storeChangeEvent.fire(new StoreChangeEvent(entity, StoreChangeEvent.OperationType.UPDATE));
+
+    return entity;
+  }
+
+  @POST
+  @Path("{id}/stock-adjustments")
+  @Transactional
+  public Store adjustStock(Long id, StockAdjustment adjustment) {
+    if (stockCounters.isEnabled()) {
+      Store entity = Store.findById(id);
+      if (entity == null) {
+        throw new ApiException(ErrorCode.NOT_FOUND, "Store with id of " + id + " does not exist.");
+      }
+      stockCounters.add(StockTarget.STORE, id, adjustment.delta());
+      invalidateCache(id);
+      // the legacy system learns the stock as readers see it, persisted + pending
+      Store adjusted = withPendingStock(entity);
+      storeChangeEvent.fire(new StoreChangeEvent(adjusted, StoreChangeEvent.OperationType.UPDATE));
+      return adjusted;
+    }
+
+    Store entity = Store.findById(id, LockModeType.PESSIMISTIC_WRITE);
+    if (entity == null) {
+      throw new ApiException(ErrorCode.NOT_FOUND, "Store with id of " + id + " does not exist.");
+    }
+    entity.quantityProductsInStock += adjustment.delta();
+    invalidateCache(id);
+
     storeChangeEvent.fire(new StoreChangeEvent(entity, StoreChangeEvent.OperationType.UPDATE));
 
     return entity;
@@ -120,35 +208,43 @@ public class StoreResource {
   public Response delete(Long id) {
     Store entity = Store.findById(id);
     if (entity == null) {
-      throw new WebApplicationException("Store with id of " + id + " does not exist.", 404);
+      throw new ApiException(ErrorCode.NOT_FOUND, "Store with id of " + id + " does not exist.");
     }
+    entityTags.requireMatch(entity.version);
     entity.delete();
+    invalidateCache(id);
     return Response.status(204).build();
   }
 
-  @Provider
-  public static class ErrorMapper implements ExceptionMapper<Exception> {
-
-    @Inject ObjectMapper objectMapper;
-
-    @Override
-    public Response toResponse(Exception exception) {
-      LOGGER.error("Failed to handle request", exception);
-
-      int code = 500;
-      if (exception instanceof WebApplicationException) {
-        code = ((WebApplicationException) exception).getResponse().getStatus();
-      }
+  private void invalidateCache(Long id) {
+    cacheInvalidation.fire(new CacheInvalidationEvent(CACHE_REGION, Store.class, id));
+  }
 
-      ObjectNode exceptionJson = objectMapper.createObjectNode();
-      exceptionJson.put("exceptionType", exception.getClass().getName());
-      exceptionJson.put("code", code);
+  // what a coalesced caller gets instead of the entity another request's session loaded
+  private static Store copyOf(Store entity) {
+    Store copy = new Store(entity.name);
+    copy.id = entity.id;
+    copy.quantityProductsInStock = entity.quantityProductsInStock;
+    copy.version = entity.version;
+    return copy;
+  }
 
-      if (exception.getMessage() != null) {
-        exceptionJson.put("error", exception.getMessage());
-      }
+  // returns a detached copy when hot counters hold deltas not yet flushed for this store
+  private Store withPendingStock(Store entity) {
+    return withPendingStock(entity, pendingStock(entity));
+  }
 
-      return Response.status(code).entity(exceptionJson).build();
+  private Store withPendingStock(Store entity, long pending) {
+    if (pending == 0) {
+      return entity;
     }
+    Store view = new Store(entity.name);
+    view.id = entity.id;
+    view.quantityProductsInStock = (int) (entity.quantityProductsInStock + pending);
+    return view;
+  }
+
+  private long pendingStock(Store entity) {
+    return stockCounters.pending(StockTarget.STORE, entity.id, entity.version);
   }
 }
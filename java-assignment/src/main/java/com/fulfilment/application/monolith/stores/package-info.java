@@ -16,10 +16,14 @@
  * <p>This guarantees the legacy system is never notified of a change that
  * was rolled back. See ADR: CDI Events for Post-Commit Legacy System Sync
  * in {@code Docs/ADR-Architecture-Decisions.md}.</p>
+ * <p>Every gateway call is timed as {@code legacy_gateway_calls_seconds}, tagged with the
+ * operation and whether it succeeded; failures are still swallowed so the committed change
+ * is unaffected. The event carries the request's trace context, so the {@code legacy.*} span
+ * belongs to the trace of the change that caused it.</p>
  *
  * <h2>Exception handling</h2>
- * <p>{@link StoreResource} throws {@code WebApplicationException} directly
- * with domain-appropriate status codes (404, 422). This is the domain-scoped
+ * <p>{@link StoreResource} throws a stackless {@code ApiException} directly
+ * with domain-appropriate error codes (404, 412, 422). This is the domain-scoped
  * exception handling pattern — see ADR: Domain-Scoped Exception Handling
  * in {@code Docs/ADR-Architecture-Decisions.md}.</p>
  *
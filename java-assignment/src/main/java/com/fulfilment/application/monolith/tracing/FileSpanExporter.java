@@ -0,0 +1,100 @@
+package com.fulfilment.application.monolith.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.quarkus.arc.DefaultBean;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Appends the sampled spans to {@code tracing.export.file} as one JSON object per line, for a
+ * log shipper or collector file receiver to pick up. The file is opened on the first export.
+ */
+@Singleton
+@SampledTraces
+@DefaultBean
+public class FileSpanExporter implements SpanExporter {
+
+  private static final Logger LOGGER = Logger.getLogger(FileSpanExporter.class.getName());
+
+  private final Path file;
+  private final ObjectMapper mapper;
+
+  private Writer writer;
+
+  @Inject
+  public FileSpanExporter(
+      @ConfigProperty(name = "tracing.export.file", defaultValue = "traces.jsonl") Path file,
+      ObjectMapper mapper) {
+    this.file = file;
+    this.mapper = mapper;
+  }
+
+  @Override
+  public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+    try {
+      if (writer == null) {
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+      }
+      for (SpanData span : spans) {
+        writer.write(mapper.writeValueAsString(toJson(span)));
+        writer.write('\n');
+      }
+      writer.flush();
+      return CompletableResultCode.ofSuccess();
+    } catch (IOException e) {
+      LOGGER.warnf("Could not write %d spans to %s: %s", spans.size(), file, e.getMessage());
+      return CompletableResultCode.ofFailure();
+    }
+  }
+
+  static Map<String, Object> toJson(SpanData span) {
+    Map<String, Object> json = new LinkedHashMap<>();
+    json.put("traceId", span.getTraceId());
+    json.put("spanId", span.getSpanId());
+    json.put("parentSpanId", span.getParentSpanContext().isValid() ? span.getParentSpanId() : null);
+    json.put("name", span.getName());
+    json.put("kind", span.getKind().name());
+    json.put("start", Instant.ofEpochSecond(0, span.getStartEpochNanos()).toString());
+    json.put("durationMicros", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1000);
+    json.put("status", span.getStatus().getStatusCode().name());
+    Map<String, Object> attributes = new LinkedHashMap<>();
+    span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), value));
+    json.put("attributes", attributes);
+    return json;
+  }
+
+  @Override
+  public CompletableResultCode flush() {
+    return CompletableResultCode.ofSuccess();
+  }
+
+  @Override
+  public synchronized CompletableResultCode shutdown() {
+    if (writer != null) {
+      try {
+        writer.close();
+      } catch (IOException e) {
+        return CompletableResultCode.ofFailure();
+      } finally {
+        writer = null;
+      }
+    }
+    return CompletableResultCode.ofSuccess();
+  }
+}
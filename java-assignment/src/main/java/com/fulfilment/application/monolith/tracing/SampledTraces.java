@@ -0,0 +1,17 @@
+package com.fulfilment.application.monolith.tracing;
+
+import jakarta.inject.Qualifier;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Qualifies the {@code SpanExporter} that receives the traces kept by
+ * {@link TailSamplingSpanExporter}. Tests replace it with an in-memory exporter.
+ */
+@Qualifier
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.FIELD, ElementType.PARAMETER, ElementType.TYPE})
+public @interface SampledTraces {
+}
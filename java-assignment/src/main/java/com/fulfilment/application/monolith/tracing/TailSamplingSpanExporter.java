@@ -0,0 +1,115 @@
+package com.fulfilment.application.monolith.tracing;
+
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Tail-based sampling in front of the {@link SampledTraces} exporter.
+ *
+ * <p>Every span is recorded, and ended spans are held per trace until the trace's local root
+ * ends. At that point the whole trace is forwarded if the root took at least
+ * {@code tracing.tail-sampling.latency-threshold} or any span ended with an error status. All
+ * other traces are dropped. Spans that end after their root, such as a late legacy dispatch,
+ * follow the decision already taken for their trace.</p>
+ *
+ * <p>At most {@code tracing.tail-sampling.max-pending-traces} undecided traces are held. Beyond
+ * that the oldest is dropped, so a root that never ends cannot grow the buffer. Quarkus calls
+ * {@link #export} from its single batch-processor thread, so the lock is uncontended.</p>
+ */
+@Singleton
+public class TailSamplingSpanExporter implements SpanExporter {
+
+  private final SpanExporter delegate;
+  private final long latencyThresholdNanos;
+  private final int maxPendingTraces;
+
+  private final Map<String, List<SpanData>> pending = new LinkedHashMap<>();
+  private final Map<String, Boolean> decided;
+
+  @Inject
+  public TailSamplingSpanExporter(
+      @SampledTraces SpanExporter delegate,
+      @ConfigProperty(name = "tracing.tail-sampling.latency-threshold", defaultValue = "PT0.5S") Duration latencyThreshold,
+      @ConfigProperty(name = "tracing.tail-sampling.max-pending-traces", defaultValue = "10000") int maxPendingTraces) {
+    this.delegate = delegate;
+    this.latencyThresholdNanos = latencyThreshold.toNanos();
+    this.maxPendingTraces = Math.max(1, maxPendingTraces);
+    this.decided = new LinkedHashMap<>() {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+        return size() > TailSamplingSpanExporter.this.maxPendingTraces;
+      }
+    };
+  }
+
+  @Override
+  public CompletableResultCode export(Collection<SpanData> spans) {
+    List<SpanData> kept = sample(spans);
+    return kept.isEmpty() ? CompletableResultCode.ofSuccess() : delegate.export(kept);
+  }
+
+  private synchronized List<SpanData> sample(Collection<SpanData> spans) {
+    List<SpanData> kept = new ArrayList<>();
+    for (SpanData span : spans) {
+      Boolean keep = decided.get(span.getTraceId());
+      if (keep != null) {
+        if (keep) {
+          kept.add(span);
+        }
+        continue;
+      }
+      List<SpanData> trace = pending.computeIfAbsent(span.getTraceId(), id -> new ArrayList<>());
+      trace.add(span);
+      if (isLocalRoot(span)) {
+        pending.remove(span.getTraceId());
+        keep = isSlow(span) || trace.stream().anyMatch(TailSamplingSpanExporter::isError);
+        decided.put(span.getTraceId(), keep);
+        if (keep) {
+          kept.addAll(trace);
+        }
+      }
+    }
+    Iterator<String> oldest = pending.keySet().iterator();
+    while (pending.size() > maxPendingTraces) {
+      oldest.next();
+      oldest.remove();
+    }
+    return kept;
+  }
+
+  private boolean isSlow(SpanData root) {
+    return root.getEndEpochNanos() - root.getStartEpochNanos() >= latencyThresholdNanos;
+  }
+
+  private static boolean isLocalRoot(SpanData span) {
+    SpanContext parent = span.getParentSpanContext();
+    return !parent.isValid() || parent.isRemote();
+  }
+
+  private static boolean isError(SpanData span) {
+    return span.getStatus().getStatusCode() == StatusCode.ERROR;
+  }
+
+  @Override
+  public CompletableResultCode flush() {
+    return delegate.flush();
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    return delegate.shutdown();
+  }
+}
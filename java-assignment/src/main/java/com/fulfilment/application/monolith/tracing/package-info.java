@@ -0,0 +1,24 @@
+/**
+ * OpenTelemetry tracing with tail-based sampling.
+ *
+ * <h2>Spans</h2>
+ * <table>
+ *   <tr><th>Span</th><th>Created by</th></tr>
+ *   <tr><td>{@code GET /warehouse}, {@code PUT /warehouse/{businessUnitCode}/replacement}, ...</td>
+ *       <td>Quarkus, for every JAX-RS request</td></tr>
+ *   <tr><td>{@code warehouse.create}, {@code warehouse.replace}, {@code warehouse.archive}</td>
+ *       <td>{@code WarehouseOperationInterceptor}</td></tr>
+ *   <tr><td>{@code WarehouseStore.<method>}</td>
+ *       <td>{@code WarehouseStoreEvents} decorator</td></tr>
+ *   <tr><td>{@code legacy.create}, {@code legacy.update}</td>
+ *       <td>{@code LegacyStoreManagerGateway}; {@code StoreChangeEvent} carries the request's
+ *       context so the post-commit dispatch joins its trace</td></tr>
+ * </table>
+ *
+ * <h2>Sampling and export</h2>
+ * <p>Every span is recorded. {@link TailSamplingSpanExporter} decides per trace once its root
+ * has ended: slow traces ({@code tracing.tail-sampling.latency-threshold}) and traces with an
+ * error are passed to the {@link SampledTraces} exporter, all others are dropped. By default
+ * that is {@link FileSpanExporter} (JSON lines); tests swap in an in-memory exporter.</p>
+ */
+package com.fulfilment.application.monolith.tracing;
@@ -0,0 +1,222 @@
+package com.fulfilment.application.monolith.warehouses;
+
+import com.fulfilment.application.monolith.http.CacheInvalidationEvent;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.SqlClient;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.persistence.OptimisticLockException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.StreamSupport;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * {@link ReactiveWarehouseStore} on the Vert.x SQL client pool of the default datasource, used
+ * instead of {@link WarehouseRepository} when built with {@code warehouse-store.reactive=true}.
+ *
+ * <p>It writes the {@code warehouse} table that Hibernate maps for {@link DbWarehouse}: ids come
+ * from the same sequence, and every update checks and bumps {@code version} as Hibernate's
+ * optimistic lock does. Each id is a sequence value of its own, never one from a block Hibernate
+ * may have allocated. Writes evict cached responses like the blocking adapter; inside
+ * {@link #inTransaction} only once the transaction has committed.</p>
+ */
+@IfBuildProperty(name = "warehouse-store.reactive", stringValue = "true")
+@ApplicationScoped
+public class ReactiveWarehouseRepository implements ReactiveWarehouseStore {
+
+  private static final String COLUMNS =
+      "id, businessUnitCode, location, capacity, stock, createdAt, archivedAt, version";
+
+  private final Pool pool;
+  // the pool, or the connection of the transaction this instance was created for
+  private final SqlClient client;
+  private final Statements statements;
+  private final Event<CacheInvalidationEvent> cacheInvalidation;
+  // ids written in the current transaction, evicted after commit; null outside a transaction
+  private final List<Long> pendingInvalidations;
+
+  @Inject
+  public ReactiveWarehouseRepository(
+      Pool pool,
+      @ConfigProperty(name = "quarkus.datasource.db-kind") String dbKind,
+      Event<CacheInvalidationEvent> cacheInvalidation) {
+    this(pool, pool, Statements.forDbKind(dbKind), cacheInvalidation, null);
+  }
+
+  private ReactiveWarehouseRepository(Pool pool, SqlClient client, Statements statements,
+      Event<CacheInvalidationEvent> cacheInvalidation, List<Long> pendingInvalidations) {
+    this.pool = pool;
+    this.client = client;
+    this.statements = statements;
+    this.cacheInvalidation = cacheInvalidation;
+    this.pendingInvalidations = pendingInvalidations;
+  }
+
+  @Override
+  public Multi<Warehouse> getAll() {
+    return client.preparedQuery(statements.active).execute()
+        .onItem().transformToMulti(rows -> Multi.createFrom().iterable(rows))
+        .map(ReactiveWarehouseRepository::toWarehouse);
+  }
+
+  @Override
+  public Uni<Void> create(Warehouse warehouse) {
+    return client.query(statements.nextId).execute()
+        .map(rows -> rows.iterator().next().getLong(0))
+        .flatMap(id -> client.preparedQuery(statements.insert)
+            .execute(tuple(id, warehouse.businessUnitCode, warehouse.location, warehouse.capacity,
+                warehouse.stock, warehouse.createdAt, warehouse.archivedAt))
+            .invoke(() -> {
+              warehouse.id = id;
+              warehouse.version = 0;
+              invalidateCache(id);
+            }))
+        .replaceWithVoid();
+  }
+
+  @Override
+  public Uni<Void> update(Warehouse warehouse) {
+    return client.preparedQuery(statements.update)
+        .execute(tuple(warehouse.location, warehouse.capacity, warehouse.stock,
+            warehouse.archivedAt, warehouse.businessUnitCode, warehouse.version))
+        .invoke(rows -> {
+          if (rows.rowCount() == 0) {
+            throw new OptimisticLockException("Warehouse '" + warehouse.businessUnitCode
+                + "' was changed or archived since version " + warehouse.version + " was read.");
+          }
+          warehouse.version++;
+          invalidateCache(warehouse.id);
+        })
+        .replaceWithVoid();
+  }
+
+  @Override
+  public Uni<Void> remove(Warehouse warehouse) {
+    return client.preparedQuery(statements.delete)
+        .execute(tuple(warehouse.businessUnitCode))
+        .invoke(rows -> {
+          if (rows.rowCount() > 0) {
+            invalidateCache(warehouse.id);
+          }
+        })
+        .replaceWithVoid();
+  }
+
+  @Override
+  public Uni<Warehouse> findByBusinessUnitCode(String buCode) {
+    return client.preparedQuery(statements.activeByCode).execute(tuple(buCode))
+        .map(ReactiveWarehouseRepository::first);
+  }
+
+  @Override
+  public Uni<Warehouse> findActiveById(Long id) {
+    return client.preparedQuery(statements.activeById).execute(tuple(id))
+        .map(ReactiveWarehouseRepository::first);
+  }
+
+  @Override
+  public Uni<List<Warehouse>> findActiveByLocation(String location) {
+    return client.preparedQuery(statements.activeByLocation).execute(tuple(location))
+        .map(rows -> StreamSupport.stream(rows.spliterator(), false)
+            .map(ReactiveWarehouseRepository::toWarehouse)
+            .toList());
+  }
+
+  @Override
+  public <T> Uni<T> inTransaction(Function<ReactiveWarehouseStore, Uni<T>> work) {
+    if (pendingInvalidations != null) {
+      return work.apply(this);
+    }
+    List<Long> committed = new ArrayList<>();
+    return pool.withTransaction(connection -> work.apply(new ReactiveWarehouseRepository(
+            pool, connection, statements, cacheInvalidation, committed)))
+        .invoke(() -> committed.forEach(this::invalidateCache));
+  }
+
+  private void invalidateCache(Long id) {
+    if (pendingInvalidations != null) {
+      pendingInvalidations.add(id);
+      return;
+    }
+    cacheInvalidation.fire(new CacheInvalidationEvent(
+        WarehouseRepository.CACHE_REGION, DbWarehouse.class, id));
+  }
+
+  private static Warehouse first(RowSet<Row> rows) {
+    return rows.iterator().hasNext() ? toWarehouse(rows.iterator().next()) : null;
+  }
+
+  // by position: PostgreSQL reports the unquoted column names in lower case, H2 in upper case
+  static Warehouse toWarehouse(Row row) {
+    Warehouse warehouse = new Warehouse();
+    warehouse.id = row.getLong(0);
+    warehouse.businessUnitCode = row.getString(1);
+    warehouse.location = row.getString(2);
+    warehouse.capacity = row.getInteger(3);
+    warehouse.stock = row.getInteger(4);
+    warehouse.createdAt = row.getLocalDateTime(5);
+    warehouse.archivedAt = row.getLocalDateTime(6);
+    warehouse.version = row.getLong(7);
+    return warehouse;
+  }
+
+  // Arrays.asList rather than Tuple.of: parameters may be null
+  private static Tuple tuple(Object... values) {
+    return Tuple.tuple(Arrays.asList(values));
+  }
+
+  /**
+   * The statements in the datasource's dialect. The PostgreSQL client takes numbered
+   * parameters ({@code $1}); other drivers, such as H2 behind a JDBC pool in tests, take
+   * {@code ?} in order.
+   */
+  static final class Statements {
+
+    private static final Pattern NUMBERED_PARAMETER = Pattern.compile("\\$\\d+");
+
+    final String active;
+    final String activeByCode;
+    final String activeById;
+    final String activeByLocation;
+    final String nextId;
+    final String insert;
+    final String update;
+    final String delete;
+
+    private Statements(boolean postgresql) {
+      Function<String, String> dialect = postgresql
+          ? Function.identity()
+          : sql -> NUMBERED_PARAMETER.matcher(sql).replaceAll("?");
+      String select = "select " + COLUMNS + " from warehouse where archivedAt is null";
+      active = select;
+      activeByCode = dialect.apply(select + " and businessUnitCode = $1");
+      activeById = dialect.apply(select + " and id = $1");
+      activeByLocation = dialect.apply(select + " and location = $1");
+      nextId = postgresql
+          ? "select nextval('warehouse_seq')"
+          : "select next value for warehouse_seq";
+      insert = dialect.apply("insert into warehouse (" + COLUMNS + ")"
+          + " values ($1, $2, $3, $4, $5, $6, $7, 0)");
+      update = dialect.apply("update warehouse"
+          + " set location = $1, capacity = $2, stock = $3, archivedAt = $4, version = version + 1"
+          + " where businessUnitCode = $5 and archivedAt is null and version = $6");
+      delete = dialect.apply(
+          "delete from warehouse where businessUnitCode = $1 and archivedAt is null");
+    }
+
+    static Statements forDbKind(String dbKind) {
+      return new Statements("postgresql".equals(dbKind));
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package com.fulfilment.application.monolith.warehouses;
+
+import static com.fulfilment.application.monolith.warehouses.WarehouseResourceImpl.toApiException;
+import static com.fulfilment.application.monolith.warehouses.WarehouseResourceImpl.toDomainWarehouse;
+import static com.fulfilment.application.monolith.warehouses.WarehouseResourceImpl.toWarehouseResponse;
+
+import com.fulfilment.application.monolith.http.ApiException;
+import com.fulfilment.application.monolith.http.CachedResponse;
+import com.fulfilment.application.monolith.http.EntityTagContext;
+import com.fulfilment.application.monolith.http.ErrorCode;
+import com.fulfilment.application.monolith.warehouses.archive.ReactiveArchiveWarehouseOperation;
+import com.fulfilment.application.monolith.warehouses.create.ReactiveCreateWarehouseOperation;
+import com.fulfilment.application.monolith.warehouses.replace.ReactiveReplaceWarehouseOperation;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.validation.constraints.NotNull;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import java.util.List;
+
+/**
+ * The warehouse API of {@link WarehouseResourceImpl} on the reactive use cases, served in its
+ * place when built with {@code warehouse-store.reactive=true}.
+ *
+ * <p>Every method returns a {@code Uni} or {@code Multi}, so Quarkus REST runs it on the I/O
+ * thread and no worker thread waits for the database. Paths, bodies and status codes are those
+ * of {@code warehouse-openapi.yaml}. The list is streamed as a JSON array and is not kept in the
+ * response cache; single warehouses are, as in the blocking resource.</p>
+ */
+@Path("/warehouse")
+@RequestScoped
+@IfBuildProperty(name = "warehouse-store.reactive", stringValue = "true")
+public class ReactiveWarehouseResource {
+
+  private final ReactiveWarehouseStore warehouseStore;
+  private final ReactiveCreateWarehouseOperation createWarehouseOperation;
+  private final ReactiveArchiveWarehouseOperation archiveWarehouseOperation;
+  private final ReactiveReplaceWarehouseOperation replaceWarehouseOperation;
+  private final EntityTagContext entityTags;
+
+  public ReactiveWarehouseResource(
+      ReactiveWarehouseStore warehouseStore,
+      ReactiveCreateWarehouseOperation createWarehouseOperation,
+      ReactiveArchiveWarehouseOperation archiveWarehouseOperation,
+      ReactiveReplaceWarehouseOperation replaceWarehouseOperation,
+      EntityTagContext entityTags) {
+    this.warehouseStore = warehouseStore;
+    this.createWarehouseOperation = createWarehouseOperation;
+    this.archiveWarehouseOperation = archiveWarehouseOperation;
+    this.replaceWarehouseOperation = replaceWarehouseOperation;
+    this.entityTags = entityTags;
+  }
+
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  public Multi<com.warehouse.api.beans.Warehouse> listAllWarehousesUnits(
+      @QueryParam("ids") List<String> ids,
+      @QueryParam("businessUnitCodes") List<String> businessUnitCodes) {
+    // the batched multi-get needs IN queries this store does not have; refuse rather than list
+    if (!ids.isEmpty() || !businessUnitCodes.isEmpty()) {
+      throw new ApiException(ErrorCode.INVALID_REQUEST,
+          "Multi-get by ids or businessUnitCodes is not available on the reactive warehouse API.");
+    }
+    return warehouseStore.getAll().map(WarehouseResourceImpl::toWarehouseResponse);
+  }
+
+  @POST
+  @Produces(MediaType.APPLICATION_JSON)
+  @Consumes(MediaType.APPLICATION_JSON)
+  public Uni<com.warehouse.api.beans.Warehouse> createANewWarehouseUnit(
+      @NotNull com.warehouse.api.beans.Warehouse data) {
+    Warehouse domainWarehouse = toDomainWarehouse(data);
+    return rejectionsAsApiErrors(createWarehouseOperation.create(domainWarehouse))
+        .map(created -> toWarehouseResponse(domainWarehouse));
+  }
+
+  @GET
+  @Path("/{id}")
+  @Produces(MediaType.APPLICATION_JSON)
+  @CachedResponse(WarehouseRepository.CACHE_REGION)
+  public Uni<com.warehouse.api.beans.Warehouse> getAWarehouseUnitByID(@PathParam("id") String id) {
+    return activeWarehouse(id).map(warehouse -> {
+      entityTags.tag(warehouse.version);
+      return toWarehouseResponse(warehouse);
+    });
+  }
+
+  @DELETE
+  @Path("/{id}")
+  public Uni<Void> archiveAWarehouseUnitByID(@PathParam("id") String id) {
+    return activeWarehouse(id).flatMap(warehouse -> {
+      entityTags.requireMatch(warehouse.version);
+      return rejectionsAsApiErrors(archiveWarehouseOperation.archive(warehouse));
+    });
+  }
+
+  @POST
+  @Path("/{businessUnitCode}/replacement")
+  @Produces(MediaType.APPLICATION_JSON)
+  @Consumes(MediaType.APPLICATION_JSON)
+  public Uni<com.warehouse.api.beans.Warehouse> replaceTheCurrentActiveWarehouse(
+      @PathParam("businessUnitCode") String businessUnitCode,
+      @NotNull com.warehouse.api.beans.Warehouse data) {
+    Warehouse domainWarehouse = toDomainWarehouse(data);
+    domainWarehouse.businessUnitCode = businessUnitCode;
+    return rejectionsAsApiErrors(replaceWarehouseOperation.replace(domainWarehouse))
+        .map(replaced -> toWarehouseResponse(domainWarehouse));
+  }
+
+  private Uni<Warehouse> activeWarehouse(String id) {
+    return warehouseStore.findActiveById(Long.valueOf(id)).invoke(warehouse -> {
+      if (warehouse == null) {
+        throw new ApiException(ErrorCode.NOT_FOUND, "Warehouse with id " + id + " not found.");
+      }
+    });
+  }
+
+  private static <T> Uni<T> rejectionsAsApiErrors(Uni<T> operation) {
+    return operation.onFailure(WarehouseValidationException.class)
+        .transform(e -> toApiException((WarehouseValidationException) e));
+  }
+}
@@ -0,0 +1,36 @@
+package com.fulfilment.application.monolith.warehouses;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Non-blocking counterpart of {@link WarehouseStore}: the same operations, completing when the
+ * database answers instead of holding a thread until it does. Lookups that find nothing
+ * complete with {@code null}.
+ */
+public interface ReactiveWarehouseStore {
+
+  Multi<Warehouse> getAll();
+
+  Uni<Void> create(Warehouse warehouse);
+
+  /** Fails with {@code OptimisticLockException} when the row changed since it was read. */
+  Uni<Void> update(Warehouse warehouse);
+
+  Uni<Void> remove(Warehouse warehouse);
+
+  Uni<Warehouse> findByBusinessUnitCode(String buCode);
+
+  /** The warehouse with this id, or {@code null} if there is none or it is archived. */
+  Uni<Warehouse> findActiveById(Long id);
+
+  Uni<List<Warehouse>> findActiveByLocation(String location);
+
+  /**
+   * Runs {@code work} against a store whose calls share one transaction, committed when the
+   * returned {@code Uni} succeeds and rolled back when it fails.
+   */
+  <T> Uni<T> inTransaction(Function<ReactiveWarehouseStore, Uni<T>> work);
+}
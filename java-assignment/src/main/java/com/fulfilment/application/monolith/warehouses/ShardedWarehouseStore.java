@@ -0,0 +1,281 @@
+package com.fulfilment.application.monolith.warehouses;
+
+import com.fulfilment.application.monolith.http.CacheInvalidationEvent;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+
+/**
+ * {@link WarehouseStore} spread over the datasources in {@code warehouse-sharding.datasources},
+ * replacing {@link WarehouseRepository} when built with {@code warehouse-sharding.enabled=true}.
+ *
+ * <p>Every warehouse rule is scoped to one location, and all warehouses of a location live on
+ * the shard {@link WarehouseShards} assigns to it, so {@code findActiveByLocation} and the
+ * validations built on it query a single shard. Business unit codes are resolved through
+ * {@link WarehouseDirectoryEntry} on the primary, ids through the shard folded into them.
+ * {@code getAll} queries all shards in parallel and merges their sorted results.</p>
+ *
+ * <p>Each call opens its own Hibernate session for the shard's datasource (a tenant of
+ * {@code RoutingTenancy}) and joins the caller's transaction, if any. Shard sessions bypass the
+ * second-level cache: their ids are shard-local, and cluster-wide eviction only knows global
+ * ids.</p>
+ */
+@Alternative
+@Priority(1)
+@IfBuildProperty(name = "warehouse-sharding.enabled", stringValue = "true")
+@ApplicationScoped
+public class ShardedWarehouseStore implements WarehouseStore {
+
+  private static final String ACTIVE_BY_CODE =
+      "from DbWarehouse where businessUnitCode = ?1 and archivedAt is null";
+
+  private static final Comparator<Warehouse> BY_CODE =
+      Comparator.comparing((Warehouse warehouse) -> warehouse.businessUnitCode);
+
+  private final WarehouseShards shards;
+  private final SessionFactory sessionFactory;
+  private final EntityManager primary;
+  private final Event<CacheInvalidationEvent> cacheInvalidation;
+
+  public ShardedWarehouseStore(WarehouseShards shards, SessionFactory sessionFactory,
+      EntityManager primary, Event<CacheInvalidationEvent> cacheInvalidation) {
+    this.shards = shards;
+    this.sessionFactory = sessionFactory;
+    this.primary = primary;
+    this.cacheInvalidation = cacheInvalidation;
+  }
+
+  @Override
+  public List<Warehouse> getAll() {
+    List<CompletableFuture<List<Warehouse>>> perShard = shards.all().stream()
+        .map(shard -> CompletableFuture.supplyAsync(() -> inShard(shard, session -> session
+            .createQuery("from DbWarehouse where archivedAt is null order by businessUnitCode",
+                DbWarehouse.class)
+            .getResultStream()
+            .map(entity -> toWarehouse(shard, entity))
+            .toList()), Infrastructure.getDefaultWorkerPool()))
+        .toList();
+    return mergeSorted(perShard.stream().map(CompletableFuture::join).toList(), BY_CODE);
+  }
+
+  @Override
+  public void create(Warehouse warehouse) {
+    String shard = shards.forLocation(warehouse.location);
+    DbWarehouse entity = DbWarehouse.fromWarehouse(warehouse);
+    inShard(shard, session -> {
+      session.persist(entity);
+      session.flush();
+      return entity;
+    });
+    warehouse.id = shards.globalId(shard, entity.id);
+    warehouse.version = entity.version;
+    WarehouseDirectoryEntry entry =
+        primary.find(WarehouseDirectoryEntry.class, warehouse.businessUnitCode);
+    if (entry == null) {
+      primary.persist(new WarehouseDirectoryEntry(warehouse.businessUnitCode, shard));
+    } else {
+      // a replacement at another location moves the code to that location's shard
+      entry.shard = shard;
+    }
+    invalidateCache(warehouse.id);
+  }
+
+  @Override
+  public void update(Warehouse warehouse) {
+    String shard = directoryShard(warehouse.businessUnitCode);
+    if (shard == null) {
+      return;
+    }
+    DbWarehouse entity = inShard(shard, session -> {
+      DbWarehouse existing = activeByCode(session, warehouse.businessUnitCode);
+      if (existing != null) {
+        existing.location = warehouse.location;
+        existing.capacity = warehouse.capacity;
+        existing.stock = warehouse.stock;
+        existing.archivedAt = warehouse.archivedAt;
+        session.flush();
+      }
+      return existing;
+    });
+    if (entity != null) {
+      invalidateCache(shards.globalId(shard, entity.id));
+    }
+  }
+
+  @Override
+  public void remove(Warehouse warehouse) {
+    String shard = directoryShard(warehouse.businessUnitCode);
+    if (shard == null) {
+      return;
+    }
+    DbWarehouse entity = inShard(shard, session -> {
+      DbWarehouse existing = activeByCode(session, warehouse.businessUnitCode);
+      if (existing != null) {
+        session.remove(existing);
+        session.flush();
+      }
+      return existing;
+    });
+    if (entity != null) {
+      invalidateCache(shards.globalId(shard, entity.id));
+    }
+  }
+
+  @Override
+  public Warehouse findByBusinessUnitCode(String buCode) {
+    String shard = directoryShard(buCode);
+    if (shard == null) {
+      return null;
+    }
+    DbWarehouse entity = inShard(shard, session -> activeByCode(session, buCode));
+    return entity != null ? toWarehouse(shard, entity) : null;
+  }
+
+  @Override
+  public Warehouse findActiveById(Long id) {
+    String shard = shards.shardOf(id);
+    if (shard == null) {
+      return null;
+    }
+    DbWarehouse entity = inShard(shard,
+        session -> session.find(DbWarehouse.class, WarehouseShards.localId(id)));
+    return entity != null && entity.archivedAt == null ? toWarehouse(shard, entity) : null;
+  }
+
+  @Override
+  public List<Warehouse> findActiveByLocation(String location) {
+    String shard = shards.forLocation(location);
+    return inShard(shard, session -> session
+        .createQuery("from DbWarehouse where location = ?1 and archivedAt is null",
+            DbWarehouse.class)
+        .setParameter(1, location)
+        .getResultStream()
+        .map(entity -> toWarehouse(shard, entity))
+        .toList());
+  }
+
+  @Override
+  public List<Warehouse> findActiveByIds(Collection<Long> ids) {
+    Map<String, List<Long>> localIdsByShard = ids.stream()
+        .filter(id -> shards.shardOf(id) != null)
+        .collect(Collectors.groupingBy(shards::shardOf,
+            Collectors.mapping(WarehouseShards::localId, Collectors.toList())));
+    List<Warehouse> found = new ArrayList<>();
+    localIdsByShard.forEach((shard, localIds) -> found.addAll(inShard(shard, session -> session
+        .createQuery("from DbWarehouse where id in ?1 and archivedAt is null", DbWarehouse.class)
+        .setParameter(1, localIds)
+        .getResultStream()
+        .map(entity -> toWarehouse(shard, entity))
+        .toList())));
+    return found;
+  }
+
+  @Override
+  public List<Warehouse> findActiveByBusinessUnitCodes(Collection<String> buCodes) {
+    Map<String, List<String>> codesByShard = primary
+        .createQuery("from WarehouseDirectoryEntry where businessUnitCode in ?1",
+            WarehouseDirectoryEntry.class)
+        .setParameter(1, buCodes)
+        .getResultStream()
+        .collect(Collectors.groupingBy(entry -> entry.shard,
+            Collectors.mapping(entry -> entry.businessUnitCode, Collectors.toList())));
+    List<Warehouse> found = new ArrayList<>();
+    codesByShard.forEach((shard, codes) -> found.addAll(inShard(shard, session -> session
+        .createQuery("from DbWarehouse where businessUnitCode in ?1 and archivedAt is null",
+            DbWarehouse.class)
+        .setParameter(1, codes)
+        .getResultStream()
+        .map(entity -> toWarehouse(shard, entity))
+        .toList())));
+    return found;
+  }
+
+  @Override
+  public List<Warehouse> findActiveByLocations(Collection<String> locations) {
+    Map<String, List<String>> locationsByShard =
+        locations.stream().collect(Collectors.groupingBy(shards::forLocation));
+    List<Warehouse> found = new ArrayList<>();
+    locationsByShard.forEach((shard, shardLocations) ->
+        found.addAll(inShard(shard, session -> session
+            .createQuery("from DbWarehouse where location in ?1 and archivedAt is null",
+                DbWarehouse.class)
+            .setParameter(1, shardLocations)
+            .getResultStream()
+            .map(entity -> toWarehouse(shard, entity))
+            .toList())));
+    return found;
+  }
+
+  private String directoryShard(String buCode) {
+    WarehouseDirectoryEntry entry = primary.find(WarehouseDirectoryEntry.class, buCode);
+    return entry != null ? entry.shard : null;
+  }
+
+  private <T> T inShard(String shard, Function<Session, T> work) {
+    try (Session session = sessionFactory.withOptions().tenantIdentifier((Object) shard)
+        .openSession()) {
+      session.setCacheMode(CacheMode.IGNORE);
+      return work.apply(session);
+    }
+  }
+
+  private static DbWarehouse activeByCode(Session session, String buCode) {
+    return session.createQuery(ACTIVE_BY_CODE, DbWarehouse.class)
+        .setParameter(1, buCode)
+        .setMaxResults(1)
+        .uniqueResult();
+  }
+
+  private Warehouse toWarehouse(String shard, DbWarehouse entity) {
+    Warehouse warehouse = entity.toWarehouse();
+    warehouse.id = shards.globalId(shard, entity.id);
+    return warehouse;
+  }
+
+  private void invalidateCache(Long id) {
+    cacheInvalidation.fire(
+        new CacheInvalidationEvent(WarehouseRepository.CACHE_REGION, DbWarehouse.class, id));
+  }
+
+  /** K-way merge of lists that are each sorted by {@code order}. */
+  static <T> List<T> mergeSorted(List<List<T>> sorted, Comparator<? super T> order) {
+    PriorityQueue<Head<T>> heads =
+        new PriorityQueue<>((a, b) -> order.compare(a.value, b.value));
+    int size = 0;
+    for (List<T> list : sorted) {
+      size += list.size();
+      Iterator<T> values = list.iterator();
+      if (values.hasNext()) {
+        heads.add(new Head<>(values.next(), values));
+      }
+    }
+    List<T> merged = new ArrayList<>(size);
+    while (!heads.isEmpty()) {
+      Head<T> head = heads.poll();
+      merged.add(head.value);
+      if (head.rest.hasNext()) {
+        heads.add(new Head<>(head.rest.next(), head.rest));
+      }
+    }
+    return merged;
+  }
+
+  private record Head<T>(T value, Iterator<T> rest) {}
+}
@@ -4,6 +4,9 @@ import java.time.LocalDateTime;
 
 public class Warehouse {
 
+  // database id, known once the warehouse has been stored
+  public Long id;
+
   // unique identifier
   public String businessUnitCode;
 
@@ -16,4 +19,7 @@ public class Warehouse {
   public LocalDateTime createdAt;
 
   public LocalDateTime archivedAt;
+
+  // optimistic lock version as read, exposed to clients as the ETag
+  public long version;
 }
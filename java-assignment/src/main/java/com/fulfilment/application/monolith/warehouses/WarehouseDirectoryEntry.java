@@ -0,0 +1,25 @@
+package com.fulfilment.application.monolith.warehouses;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Routing directory of the sharded warehouse store, kept on the primary datasource: the shard
+ * holding the latest warehouse of each business unit code.
+ */
+@Entity
+@Table(name = "warehouse_directory")
+public class WarehouseDirectoryEntry {
+
+  @Id public String businessUnitCode;
+
+  public String shard;
+
+  public WarehouseDirectoryEntry() {}
+
+  WarehouseDirectoryEntry(String businessUnitCode, String shard) {
+    this.businessUnitCode = businessUnitCode;
+    this.shard = shard;
+  }
+}
@@ -0,0 +1,21 @@
+package com.fulfilment.application.monolith.warehouses;
+
+import java.time.Instant;
+
+/**
+ * A warehouse change made by a use case: the created warehouse, the replacement, or the
+ * archived one. Observers that react after commit, such as the warehouse view projector, see
+ * only changes that were committed; {@code occurredAt} is when the use case made the change.
+ */
+public record WarehouseEvent(Type type, Warehouse warehouse, Instant occurredAt) {
+
+  public WarehouseEvent(Type type, Warehouse warehouse) {
+    this(type, warehouse, Instant.now());
+  }
+
+  public enum Type {
+    CREATED,
+    REPLACED,
+    ARCHIVED
+  }
+}
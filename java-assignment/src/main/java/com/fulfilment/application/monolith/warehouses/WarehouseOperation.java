@@ -0,0 +1,21 @@
+package com.fulfilment.application.monolith.warehouses;
+
+import jakarta.enterprise.util.Nonbinding;
+import jakarta.interceptor.InterceptorBinding;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a use-case method as a warehouse operation, timed and counted by
+ * {@link WarehouseOperationInterceptor} under the given operation name.
+ */
+@InterceptorBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface WarehouseOperation {
+
+  @Nonbinding
+  String value() default "";
+}
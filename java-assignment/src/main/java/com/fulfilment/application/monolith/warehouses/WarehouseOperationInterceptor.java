@@ -0,0 +1,137 @@
+package com.fulfilment.application.monolith.warehouses;
+
+import com.fulfilment.application.monolith.diagnostics.WarehouseOperationEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.Priority;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Records {@code warehouse.operation} latency histograms tagged by operation and outcome
+ * ({@code success}, {@code rejected}, {@code error}), and counts business-rule rejections as
+ * {@code warehouse.validation.rejections} tagged by operation and {@link
+ * WarehouseValidationException.Rule}. Each call is also a {@link WarehouseOperationEvent} for
+ * JFR recordings and a {@code warehouse.<operation>} span; only unexpected exceptions mark the
+ * span as an error, rejections are recorded in its {@code warehouse.outcome} attribute.
+ * Operations returning a {@link Uni} are measured until it terminates; a cancelled one counts
+ * as an error.
+ */
+@WarehouseOperation
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION)
+public class WarehouseOperationInterceptor {
+
+  static final String TIMER = "warehouse.operation";
+  static final String REJECTIONS = "warehouse.validation.rejections";
+
+  private final MeterRegistry registry;
+  private final Tracer tracer;
+
+  public WarehouseOperationInterceptor(MeterRegistry registry, Tracer tracer) {
+    this.registry = registry;
+    this.tracer = tracer;
+  }
+
+  @AroundInvoke
+  Object measure(InvocationContext context) throws Exception {
+    Measurement measurement = new Measurement(operation(context), context.getParameters());
+    Object result;
+    try (Scope ignored = measurement.span.makeCurrent()) {
+      result = context.proceed();
+    } catch (Exception e) {
+      measurement.finish(e);
+      throw e;
+    }
+    if (result instanceof Uni<?> uni) {
+      // a reactive use case returns before its work is done: measure until the Uni terminates
+      return uni.onTermination().invoke((item, failure, cancelled) ->
+          measurement.finish(cancelled ? new CancellationException() : failure));
+    }
+    measurement.finish(null);
+    return result;
+  }
+
+  /** One operation from its start until {@link #finish} records its outcome. */
+  private final class Measurement {
+
+    final String operation;
+    final Object[] parameters;
+    final WarehouseOperationEvent event = new WarehouseOperationEvent();
+    final Timer.Sample sample;
+    final Span span;
+
+    Measurement(String operation, Object[] parameters) {
+      this.operation = operation;
+      this.parameters = parameters;
+      event.begin();
+      sample = Timer.start(registry);
+      span = startSpan(operation, parameters);
+    }
+
+    void finish(Throwable failure) {
+      String outcome = "success";
+      String detail = outcome;
+      if (failure instanceof WarehouseValidationException) {
+        WarehouseValidationException rejection = (WarehouseValidationException) failure;
+        outcome = "rejected";
+        detail = outcome + ":" + rejection.rule().name();
+        registry.counter(REJECTIONS, "operation", operation, "rule", rejection.rule().name())
+            .increment();
+      } else if (failure != null) {
+        outcome = "error";
+        detail = outcome;
+        span.recordException(failure);
+        span.setStatus(StatusCode.ERROR);
+      }
+      span.setAttribute("warehouse.outcome", detail);
+      span.end();
+      commit(event, operation, parameters, detail);
+      sample.stop(Timer.builder(TIMER)
+          .tag("operation", operation)
+          .tag("outcome", outcome)
+          .publishPercentileHistogram()
+          .minimumExpectedValue(Duration.ofNanos(100_000))
+          .maximumExpectedValue(Duration.ofSeconds(10))
+          .register(registry));
+    }
+  }
+
+  private Span startSpan(String operation, Object[] parameters) {
+    Span span = tracer.spanBuilder("warehouse." + operation).startSpan();
+    if (parameters.length > 0 && parameters[0] instanceof Warehouse) {
+      Warehouse warehouse = (Warehouse) parameters[0];
+      span.setAttribute("warehouse.business_unit_code", warehouse.businessUnitCode);
+      span.setAttribute("warehouse.location", warehouse.location);
+    }
+    return span;
+  }
+
+  private static void commit(
+      WarehouseOperationEvent event, String operation, Object[] parameters, String outcome) {
+    if (!event.shouldCommit()) {
+      return;
+    }
+    event.operation = operation;
+    event.outcome = outcome;
+    if (parameters.length > 0 && parameters[0] instanceof Warehouse) {
+      Warehouse warehouse = (Warehouse) parameters[0];
+      event.businessUnitCode = warehouse.businessUnitCode;
+      event.location = warehouse.location;
+    }
+    event.commit();
+  }
+
+  private static String operation(InvocationContext context) {
+    WarehouseOperation binding = context.getMethod().getAnnotation(WarehouseOperation.class);
+    return binding == null || binding.value().isEmpty() ? context.getMethod().getName() : binding.value();
+  }
+}
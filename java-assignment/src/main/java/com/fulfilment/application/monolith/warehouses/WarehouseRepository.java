@@ -1,12 +1,24 @@
 package com.fulfilment.application.monolith.warehouses;
 
+import com.fulfilment.application.monolith.http.CacheInvalidationEvent;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import java.util.Collection;
 import java.util.List;
 
 @ApplicationScoped
 public class WarehouseRepository implements WarehouseStore, PanacheRepository<DbWarehouse> {
 
+  // every warehouse write funnels through this adapter, so it evicts cached responses for all use cases
+  public static final String CACHE_REGION = "warehouse";
+
+  private final Event<CacheInvalidationEvent> cacheInvalidation;
+
+  public WarehouseRepository(Event<CacheInvalidationEvent> cacheInvalidation) {
+    this.cacheInvalidation = cacheInvalidation;
+  }
+
   @Override
   public List<Warehouse> getAll() {
     return find("archivedAt is null").list().stream().map(DbWarehouse::toWarehouse).toList();
@@ -14,25 +26,30 @@ public class WarehouseRepository implements WarehouseStore, PanacheRepository<Db
 
   @Override
   public void create(Warehouse warehouse) {
-    persist(DbWarehouse.fromWarehouse(warehouse));
+    DbWarehouse entity = DbWarehouse.fromWarehouse(warehouse);
+    persist(entity);
+    warehouse.id = entity.id;
+    invalidateCache(entity.id);
   }
 
   @Override
   public void update(Warehouse warehouse) {
-    DbWarehouse entity = find("businessUnitCode = ?1 and archivedAt is null", warehouse.businessUnitCode).firstResult();
+    DbWarehouse entity = activeEntity(warehouse);
     if (entity != null) {
       entity.location = warehouse.location;
       entity.capacity = warehouse.capacity;
       entity.stock = warehouse.stock;
       entity.archivedAt = warehouse.archivedAt;
+      invalidateCache(entity.id);
     }
   }
 
   @Override
   public void remove(Warehouse warehouse) {
-    DbWarehouse entity = find("businessUnitCode = ?1 and archivedAt is null", warehouse.businessUnitCode).firstResult();
+    DbWarehouse entity = activeEntity(warehouse);
     if (entity != null) {
       delete(entity);
+      invalidateCache(entity.id);
     }
   }
 
@@ -42,8 +59,43 @@ public class WarehouseRepository implements WarehouseStore, PanacheRepository<Db
     return entity != null ? entity.toWarehouse() : null;
   }
 
+  @Override
+  public Warehouse findActiveById(Long id) {
+    DbWarehouse entity = findById(id);
+    return entity != null && entity.archivedAt == null ? entity.toWarehouse() : null;
+  }
+
   @Override
   public List<Warehouse> findActiveByLocation(String location) {
     return find("location = ?1 and archivedAt is null", location).list().stream().map(DbWarehouse::toWarehouse).toList();
   }
+
+  @Override
+  public List<Warehouse> findActiveByIds(Collection<Long> ids) {
+    return find("id in ?1 and archivedAt is null", ids).list().stream().map(DbWarehouse::toWarehouse).toList();
+  }
+
+  @Override
+  public List<Warehouse> findActiveByBusinessUnitCodes(Collection<String> buCodes) {
+    return find("businessUnitCode in ?1 and archivedAt is null", buCodes).list().stream().map(DbWarehouse::toWarehouse).toList();
+  }
+
+  @Override
+  public List<Warehouse> findActiveByLocations(Collection<String> locations) {
+    return find("location in ?1 and archivedAt is null", locations).list().stream().map(DbWarehouse::toWarehouse).toList();
+  }
+
+  // a warehouse read in this transaction carries its id, and the entity is already managed:
+  // looking it up by id runs no statement, where the code query would run again
+  private DbWarehouse activeEntity(Warehouse warehouse) {
+    if (warehouse.id != null) {
+      DbWarehouse entity = findById(warehouse.id);
+      return entity != null && entity.archivedAt == null ? entity : null;
+    }
+    return find("businessUnitCode = ?1 and archivedAt is null", warehouse.businessUnitCode).firstResult();
+  }
+
+  private void invalidateCache(Long id) {
+    cacheInvalidation.fire(new CacheInvalidationEvent(CACHE_REGION, DbWarehouse.class, id));
+  }
 }
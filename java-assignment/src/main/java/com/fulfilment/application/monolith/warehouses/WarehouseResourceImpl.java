@@ -1,37 +1,80 @@
 package com.fulfilment.application.monolith.warehouses;
 
+import com.fulfilment.application.monolith.batching.BatchLoader;
+import com.fulfilment.application.monolith.datasource.ConnectionBound;
+import com.fulfilment.application.monolith.http.ApiException;
+import com.fulfilment.application.monolith.http.CachedResponse;
+import com.fulfilment.application.monolith.http.EntityTagContext;
+import com.fulfilment.application.monolith.http.ErrorCode;
+import com.fulfilment.application.monolith.idempotency.Idempotent;
 import com.fulfilment.application.monolith.warehouses.archive.ArchiveWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.create.CreateWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.replace.ReplaceWarehouseOperation;
+import com.fulfilment.application.monolith.warehouses.view.WarehouseView;
+import com.fulfilment.application.monolith.warehouses.view.WarehouseViewRepository;
 import com.warehouse.api.WarehouseResource;
+import io.quarkus.arc.properties.UnlessBuildProperty;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.NotNull;
-import jakarta.ws.rs.WebApplicationException;
 import java.util.List;
+import java.util.function.Function;
 
 @RequestScoped
+@UnlessBuildProperty(name = "warehouse-store.reactive", stringValue = "true", enableIfMissing = true)
+@CachedResponse(WarehouseRepository.CACHE_REGION)
+@Idempotent
+@ConnectionBound
 public class WarehouseResourceImpl implements WarehouseResource {
 
-  private final WarehouseRepository warehouseRepository;
+  private final WarehouseStore warehouseStore;
   private final CreateWarehouseOperation createWarehouseOperation;
   private final ArchiveWarehouseOperation archiveWarehouseOperation;
   private final ReplaceWarehouseOperation replaceWarehouseOperation;
+  private final EntityTagContext entityTags;
+  private final WarehouseViewRepository warehouseViews;
+  private final BatchLoader batchLoader;
 
   public WarehouseResourceImpl(
-      WarehouseRepository warehouseRepository,
+      WarehouseStore warehouseStore,
       CreateWarehouseOperation createWarehouseOperation,
       ArchiveWarehouseOperation archiveWarehouseOperation,
-      ReplaceWarehouseOperation replaceWarehouseOperation) {
-    this.warehouseRepository = warehouseRepository;
+      ReplaceWarehouseOperation replaceWarehouseOperation,
+      EntityTagContext entityTags,
+      WarehouseViewRepository warehouseViews,
+      BatchLoader batchLoader) {
+    this.warehouseStore = warehouseStore;
     this.createWarehouseOperation = createWarehouseOperation;
     this.archiveWarehouseOperation = archiveWarehouseOperation;
     this.replaceWarehouseOperation = replaceWarehouseOperation;
+    this.entityTags = entityTags;
+    this.warehouseViews = warehouseViews;
+    this.batchLoader = batchLoader;
   }
 
   @Override
-  public List<com.warehouse.api.beans.Warehouse> listAllWarehousesUnits() {
-    return warehouseRepository.getAll().stream().map(this::toWarehouseResponse).toList();
+  public List<com.warehouse.api.beans.Warehouse> listAllWarehousesUnits(
+      List<String> ids, List<String> businessUnitCodes) {
+    if (!isEmpty(ids) && !isEmpty(businessUnitCodes)) {
+      throw new ApiException(ErrorCode.INVALID_REQUEST,
+          "Request warehouses by ids or by businessUnitCodes, not both.");
+    }
+    List<Warehouse> warehouses;
+    if (!isEmpty(ids)) {
+      warehouses = batchLoader.load(batchLoader.keys("ids", ids, Long::valueOf),
+          warehouseStore::findActiveByIds, warehouse -> warehouse.id);
+    } else if (!isEmpty(businessUnitCodes)) {
+      warehouses = batchLoader.load(
+          batchLoader.keys("businessUnitCodes", businessUnitCodes, Function.identity()),
+          warehouseStore::findActiveByBusinessUnitCodes, warehouse -> warehouse.businessUnitCode);
+    } else {
+      // from the read model, which the projector updates right after each write commits
+      List<WarehouseView> views = warehouseViews.listActive();
+      entityTags.tagCollection(views, view -> view.warehouseId, view -> view.version);
+      return views.stream().map(WarehouseResourceImpl::toWarehouseResponse).toList();
+    }
+    entityTags.tagCollection(warehouses, warehouse -> warehouse.id, warehouse -> warehouse.version);
+    return warehouses.stream().map(WarehouseResourceImpl::toWarehouseResponse).toList();
   }
 
   @Override
@@ -41,32 +84,33 @@ public class WarehouseResourceImpl implements WarehouseResource {
     try {
       createWarehouseOperation.create(domainWarehouse);
     } catch (WarehouseValidationException e) {
-      throw new WebApplicationException(e.getMessage(), 400);
+      throw toApiException(e);
     }
     return toWarehouseResponse(domainWarehouse);
   }
 
   @Override
   public com.warehouse.api.beans.Warehouse getAWarehouseUnitByID(String id) {
-    DbWarehouse entity = warehouseRepository.findById(Long.valueOf(id));
-    if (entity == null || entity.archivedAt != null) {
-      throw new WebApplicationException("Warehouse with id " + id + " not found.", 404);
+    Warehouse warehouse = warehouseStore.findActiveById(Long.valueOf(id));
+    if (warehouse == null) {
+      throw new ApiException(ErrorCode.NOT_FOUND, "Warehouse with id " + id + " not found.");
     }
-    return toWarehouseResponseFromDb(entity);
+    entityTags.tag(warehouse.version);
+    return toWarehouseResponse(warehouse);
   }
 
   @Override
   @Transactional
   public void archiveAWarehouseUnitByID(String id) {
-    DbWarehouse entity = warehouseRepository.findById(Long.valueOf(id));
-    if (entity == null || entity.archivedAt != null) {
-      throw new WebApplicationException("Warehouse with id " + id + " not found.", 404);
+    Warehouse domainWarehouse = warehouseStore.findActiveById(Long.valueOf(id));
+    if (domainWarehouse == null) {
+      throw new ApiException(ErrorCode.NOT_FOUND, "Warehouse with id " + id + " not found.");
     }
-    Warehouse domainWarehouse = entity.toWarehouse();
+    entityTags.requireMatch(domainWarehouse.version);
     try {
       archiveWarehouseOperation.archive(domainWarehouse);
     } catch (WarehouseValidationException e) {
-      throw new WebApplicationException(e.getMessage(), 400);
+      throw toApiException(e);
     }
   }
 
@@ -78,16 +122,31 @@ public class WarehouseResourceImpl implements WarehouseResource {
     try {
       replaceWarehouseOperation.replace(domainWarehouse);
     } catch (WarehouseValidationException e) {
-      if (e.getMessage().contains("not found")) {
-        throw new WebApplicationException(e.getMessage(), 404);
-      }
-      throw new WebApplicationException(e.getMessage(), 400);
+      throw toApiException(e);
     }
     return toWarehouseResponse(domainWarehouse);
   }
 
-  private com.warehouse.api.beans.Warehouse toWarehouseResponse(Warehouse warehouse) {
+  private static boolean isEmpty(List<String> values) {
+    return values == null || values.isEmpty();
+  }
+
+  // the violated rule decides the status; its name travels to the client as the reason
+  static ApiException toApiException(WarehouseValidationException e) {
+    ErrorCode errorCode =
+        e.rule() == WarehouseValidationException.Rule.NOT_FOUND
+            ? ErrorCode.NOT_FOUND
+            : ErrorCode.VALIDATION_FAILED;
+    return new ApiException(errorCode, e.rule().name(), e.getMessage());
+  }
+
+  // package-private mappings: shared with ReactiveWarehouseResource and exercised directly by
+  // the mapping benchmark
+  static com.warehouse.api.beans.Warehouse toWarehouseResponse(Warehouse warehouse) {
     com.warehouse.api.beans.Warehouse response = new com.warehouse.api.beans.Warehouse();
+    if (warehouse.id != null) {
+      response.setId(String.valueOf(warehouse.id));
+    }
     response.setBusinessUnitCode(warehouse.businessUnitCode);
     response.setLocation(warehouse.location);
     response.setCapacity(warehouse.capacity);
@@ -95,17 +154,17 @@ public class WarehouseResourceImpl implements WarehouseResource {
     return response;
   }
 
-  private com.warehouse.api.beans.Warehouse toWarehouseResponseFromDb(DbWarehouse entity) {
+  static com.warehouse.api.beans.Warehouse toWarehouseResponse(WarehouseView view) {
     com.warehouse.api.beans.Warehouse response = new com.warehouse.api.beans.Warehouse();
-    response.setId(String.valueOf(entity.id));
-    response.setBusinessUnitCode(entity.businessUnitCode);
-    response.setLocation(entity.location);
-    response.setCapacity(entity.capacity);
-    response.setStock(entity.stock);
+    response.setId(String.valueOf(view.warehouseId));
+    response.setBusinessUnitCode(view.businessUnitCode);
+    response.setLocation(view.location);
+    response.setCapacity(view.capacity);
+    response.setStock(view.stock);
     return response;
   }
 
-  private Warehouse toDomainWarehouse(com.warehouse.api.beans.Warehouse data) {
+  static Warehouse toDomainWarehouse(com.warehouse.api.beans.Warehouse data) {
     Warehouse warehouse = new Warehouse();
     warehouse.businessUnitCode = data.getBusinessUnitCode();
     warehouse.location = data.getLocation();
@@ -0,0 +1,79 @@
+package com.fulfilment.application.monolith.warehouses;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.List;
+import java.util.Optional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * The datasources of the sharded warehouse store and which one owns a location.
+ *
+ * <p>A location belongs to the shard with the highest hash of (location, shard name)
+ * (rendezvous hashing), so adding a shard moves only the locations the new shard wins.
+ * Ids are made unique across shards by folding the shard's position in
+ * {@code warehouse-sharding.datasources} into them; shards must therefore only ever be
+ * appended to that list.</p>
+ */
+@ApplicationScoped
+public class WarehouseShards {
+
+  static final int MAX_SHARDS = 64;
+
+  private final List<String> dataSources;
+
+  @Inject
+  public WarehouseShards(
+      @ConfigProperty(name = "warehouse-sharding.datasources") Optional<List<String>> dataSources) {
+    this(dataSources.orElse(List.of()));
+  }
+
+  WarehouseShards(List<String> dataSources) {
+    if (dataSources.size() > MAX_SHARDS) {
+      throw new IllegalArgumentException("At most " + MAX_SHARDS + " warehouse shards.");
+    }
+    this.dataSources = List.copyOf(dataSources);
+  }
+
+  public List<String> all() {
+    return dataSources;
+  }
+
+  /** The shard that holds every warehouse at {@code location}. */
+  public String forLocation(String location) {
+    String owner = null;
+    long highest = Long.MIN_VALUE;
+    for (String shard : dataSources) {
+      long weight = mix(((long) shard.hashCode() << 32) ^ (location.hashCode() & 0xffffffffL));
+      if (owner == null || weight > highest) {
+        owner = shard;
+        highest = weight;
+      }
+    }
+    if (owner == null) {
+      throw new IllegalStateException("No warehouse shards configured.");
+    }
+    return owner;
+  }
+
+  long globalId(String shard, long localId) {
+    return localId * MAX_SHARDS + dataSources.indexOf(shard);
+  }
+
+  /** The shard a global id was issued by, or {@code null} for an id no shard issued. */
+  String shardOf(long globalId) {
+    int index = (int) Math.floorMod(globalId, (long) MAX_SHARDS);
+    return globalId > 0 && index < dataSources.size() ? dataSources.get(index) : null;
+  }
+
+  static long localId(long globalId) {
+    return globalId / MAX_SHARDS;
+  }
+
+  // SplitMix64 finaliser: spreads the weak String hashes over all 64 bits
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -1,5 +1,6 @@
 package com.fulfilment.application.monolith.warehouses;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface WarehouseStore {
@@ -14,5 +15,17 @@ public interface WarehouseStore {
 
   Warehouse findByBusinessUnitCode(String buCode);
 
+  /** The warehouse with this id, or {@code null} if there is none or it is archived. */
+  Warehouse findActiveById(Long id);
+
   List<Warehouse> findActiveByLocation(String location);
+
+  /** The active warehouses among these ids, in no particular order. */
+  List<Warehouse> findActiveByIds(Collection<Long> ids);
+
+  /** The active warehouses among these business unit codes, in no particular order. */
+  List<Warehouse> findActiveByBusinessUnitCodes(Collection<String> buCodes);
+
+  /** The active warehouses at any of these locations, in no particular order. */
+  List<Warehouse> findActiveByLocations(Collection<String> locations);
 }
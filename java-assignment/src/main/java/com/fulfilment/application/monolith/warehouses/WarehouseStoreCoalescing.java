@@ -0,0 +1,98 @@
+package com.fulfilment.application.monolith.warehouses;
+
+import com.fulfilment.application.monolith.coalescing.ReadCoalescer;
+import jakarta.annotation.Priority;
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.enterprise.inject.Any;
+import jakarta.inject.Inject;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Coalesces concurrent identical {@link WarehouseStore} lookups by id through
+ * {@link ReadCoalescer}. It sits inside {@link WarehouseStoreEvents}, so every
+ * caller's span still shows the time it spent waiting, and it works the same for
+ * {@link ShardedWarehouseStore}. Callers that shared a result get their own copies, because the
+ * use cases change the warehouses they read.
+ */
+@Decorator
+@Priority(2)
+public class WarehouseStoreCoalescing implements WarehouseStore {
+
+  private final WarehouseStore delegate;
+  private final ReadCoalescer coalescer;
+
+  @Inject
+  public WarehouseStoreCoalescing(@Delegate @Any WarehouseStore delegate, ReadCoalescer coalescer) {
+    this.delegate = delegate;
+    this.coalescer = coalescer;
+  }
+
+  @Override
+  public List<Warehouse> getAll() {
+    return delegate.getAll();
+  }
+
+  @Override
+  public void create(Warehouse warehouse) {
+    delegate.create(warehouse);
+  }
+
+  @Override
+  public void update(Warehouse warehouse) {
+    delegate.update(warehouse);
+  }
+
+  @Override
+  public void remove(Warehouse warehouse) {
+    delegate.remove(warehouse);
+  }
+
+  // the lookups by code and location are only made by the write use cases, inside their
+  // transaction, where nothing is coalesced
+  @Override
+  public Warehouse findByBusinessUnitCode(String buCode) {
+    return delegate.findByBusinessUnitCode(buCode);
+  }
+
+  @Override
+  public Warehouse findActiveById(Long id) {
+    return coalescer.load("warehouse.id", id,
+        () -> delegate.findActiveById(id), WarehouseStoreCoalescing::copyOf);
+  }
+
+  @Override
+  public List<Warehouse> findActiveByLocation(String location) {
+    return delegate.findActiveByLocation(location);
+  }
+
+  // batches rarely repeat exactly; they go to the database as they are
+  @Override
+  public List<Warehouse> findActiveByIds(Collection<Long> ids) {
+    return delegate.findActiveByIds(ids);
+  }
+
+  @Override
+  public List<Warehouse> findActiveByBusinessUnitCodes(Collection<String> buCodes) {
+    return delegate.findActiveByBusinessUnitCodes(buCodes);
+  }
+
+  @Override
+  public List<Warehouse> findActiveByLocations(Collection<String> locations) {
+    return delegate.findActiveByLocations(locations);
+  }
+
+  private static Warehouse copyOf(Warehouse warehouse) {
+    Warehouse copy = new Warehouse();
+    copy.id = warehouse.id;
+    copy.businessUnitCode = warehouse.businessUnitCode;
+    copy.location = warehouse.location;
+    copy.capacity = warehouse.capacity;
+    copy.stock = warehouse.stock;
+    copy.createdAt = warehouse.createdAt;
+    copy.archivedAt = warehouse.archivedAt;
+    copy.version = warehouse.version;
+    return copy;
+  }
+}
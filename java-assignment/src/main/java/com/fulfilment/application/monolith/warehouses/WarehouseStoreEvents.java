@@ -0,0 +1,124 @@
+package com.fulfilment.application.monolith.warehouses;
+
+import com.fulfilment.application.monolith.diagnostics.WarehouseStoreEvent;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import jakarta.annotation.Priority;
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.enterprise.inject.Any;
+import jakarta.inject.Inject;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Emits a {@link WarehouseStoreEvent} and a {@code WarehouseStore.<method>} span around every
+ * {@link WarehouseStore} call, so a JFR recording or a trace shows how much of a use case was
+ * spent in persistence. The JFR event costs nothing measurable while no recording is running.
+ */
+@Decorator
+@Priority(1)
+public class WarehouseStoreEvents implements WarehouseStore {
+
+  private final WarehouseStore delegate;
+  private final Tracer tracer;
+
+  @Inject
+  public WarehouseStoreEvents(@Delegate @Any WarehouseStore delegate, Tracer tracer) {
+    this.delegate = delegate;
+    this.tracer = tracer;
+  }
+
+  @Override
+  public List<Warehouse> getAll() {
+    return recorded("getAll", null, null, delegate::getAll);
+  }
+
+  @Override
+  public void create(Warehouse warehouse) {
+    recorded("create", warehouse.businessUnitCode, warehouse.location, () -> {
+      delegate.create(warehouse);
+      return null;
+    });
+  }
+
+  @Override
+  public void update(Warehouse warehouse) {
+    recorded("update", warehouse.businessUnitCode, warehouse.location, () -> {
+      delegate.update(warehouse);
+      return null;
+    });
+  }
+
+  @Override
+  public void remove(Warehouse warehouse) {
+    recorded("remove", warehouse.businessUnitCode, warehouse.location, () -> {
+      delegate.remove(warehouse);
+      return null;
+    });
+  }
+
+  @Override
+  public Warehouse findByBusinessUnitCode(String buCode) {
+    return recorded("findByBusinessUnitCode", buCode, null,
+        () -> delegate.findByBusinessUnitCode(buCode));
+  }
+
+  @Override
+  public Warehouse findActiveById(Long id) {
+    return recorded("findActiveById", null, null, () -> delegate.findActiveById(id));
+  }
+
+  @Override
+  public List<Warehouse> findActiveByLocation(String location) {
+    return recorded("findActiveByLocation", null, location,
+        () -> delegate.findActiveByLocation(location));
+  }
+
+  @Override
+  public List<Warehouse> findActiveByIds(Collection<Long> ids) {
+    return recorded("findActiveByIds", null, null, () -> delegate.findActiveByIds(ids));
+  }
+
+  @Override
+  public List<Warehouse> findActiveByBusinessUnitCodes(Collection<String> buCodes) {
+    return recorded("findActiveByBusinessUnitCodes", null, null,
+        () -> delegate.findActiveByBusinessUnitCodes(buCodes));
+  }
+
+  @Override
+  public List<Warehouse> findActiveByLocations(Collection<String> locations) {
+    return recorded("findActiveByLocations", null, null,
+        () -> delegate.findActiveByLocations(locations));
+  }
+
+  private <T> T recorded(String method, String buCode, String location, Supplier<T> call) {
+    WarehouseStoreEvent event = new WarehouseStoreEvent();
+    event.begin();
+    Span span = tracer.spanBuilder("WarehouseStore." + method).startSpan();
+    if (buCode != null) {
+      span.setAttribute("warehouse.business_unit_code", buCode);
+    }
+    if (location != null) {
+      span.setAttribute("warehouse.location", location);
+    }
+    try (Scope ignored = span.makeCurrent()) {
+      return call.get();
+    } catch (RuntimeException e) {
+      span.recordException(e);
+      span.setStatus(StatusCode.ERROR);
+      throw e;
+    } finally {
+      span.end();
+      if (event.shouldCommit()) {
+        event.method = method;
+        event.businessUnitCode = buCode;
+        event.location = location;
+        event.commit();
+      }
+    }
+  }
+}
@@ -1,8 +1,34 @@
 package com.fulfilment.application.monolith.warehouses;
 
+/**
+ * A warehouse business rule rejected the request.
+ *
+ * <p>Rejections are expected outcomes, not bugs, so the exception carries the violated
+ * {@link Rule} for callers to branch on and skips the stack trace, which would never be
+ * read and dominates the cost of throwing.</p>
+ */
 public class WarehouseValidationException extends RuntimeException {
 
-  public WarehouseValidationException(String message) {
-    super(message);
+  public enum Rule {
+    NOT_FOUND,
+    ALREADY_ARCHIVED,
+    DUPLICATE_BUSINESS_UNIT,
+    INVALID_LOCATION,
+    LOCATION_FULL,
+    CAPACITY_EXCEEDED,
+    STOCK_EXCEEDS_CAPACITY,
+    CAPACITY_BELOW_STOCK,
+    STOCK_MISMATCH
+  }
+
+  private final Rule rule;
+
+  public WarehouseValidationException(Rule rule, String message) {
+    super(message, null, false, false);
+    this.rule = rule;
+  }
+
+  public Rule rule() {
+    return rule;
   }
 }
@@ -1,33 +1,46 @@
 package com.fulfilment.application.monolith.warehouses.archive;
 
 import com.fulfilment.application.monolith.warehouses.Warehouse;
+import com.fulfilment.application.monolith.warehouses.WarehouseEvent;
+import com.fulfilment.application.monolith.warehouses.WarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.WarehouseStore;
 import com.fulfilment.application.monolith.warehouses.WarehouseValidationException;
+import com.fulfilment.application.monolith.warehouses.WarehouseValidationException.Rule;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import java.time.LocalDateTime;
 
 @ApplicationScoped
 public class ArchiveWarehouseUseCase implements ArchiveWarehouseOperation {
 
   private final WarehouseStore warehouseStore;
+  private final Event<WarehouseEvent> warehouseEvents;
 
-  public ArchiveWarehouseUseCase(WarehouseStore warehouseStore) {
+  public ArchiveWarehouseUseCase(WarehouseStore warehouseStore, Event<WarehouseEvent> warehouseEvents) {
     this.warehouseStore = warehouseStore;
+    this.warehouseEvents = warehouseEvents;
   }
 
   @Override
+  @WarehouseOperation("archive")
   public void archive(Warehouse warehouse) {
     Warehouse existing = warehouseStore.findByBusinessUnitCode(warehouse.businessUnitCode);
+    validateArchivable(warehouse, existing);
+
+    existing.archivedAt = LocalDateTime.now();
+    warehouseStore.update(existing);
+    warehouseEvents.fire(new WarehouseEvent(WarehouseEvent.Type.ARCHIVED, existing));
+  }
+
+  // static so that ReactiveArchiveWarehouseUseCase applies the same rules
+  static void validateArchivable(Warehouse warehouse, Warehouse existing) {
     if (existing == null) {
-      throw new WarehouseValidationException(
+      throw new WarehouseValidationException(Rule.NOT_FOUND,
           "Warehouse with business unit code '" + warehouse.businessUnitCode + "' not found.");
     }
     if (existing.archivedAt != null) {
-      throw new WarehouseValidationException(
+      throw new WarehouseValidationException(Rule.ALREADY_ARCHIVED,
           "Warehouse with business unit code '" + warehouse.businessUnitCode + "' is already archived.");
     }
-
-    existing.archivedAt = LocalDateTime.now();
-    warehouseStore.update(existing);
   }
 }
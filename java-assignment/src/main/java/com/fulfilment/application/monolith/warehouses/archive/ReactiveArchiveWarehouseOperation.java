@@ -0,0 +1,8 @@
+package com.fulfilment.application.monolith.warehouses.archive;
+
+import com.fulfilment.application.monolith.warehouses.Warehouse;
+import io.smallrye.mutiny.Uni;
+
+public interface ReactiveArchiveWarehouseOperation {
+  Uni<Void> archive(Warehouse warehouse);
+}
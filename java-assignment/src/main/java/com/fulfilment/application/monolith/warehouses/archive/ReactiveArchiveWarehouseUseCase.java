@@ -0,0 +1,35 @@
+package com.fulfilment.application.monolith.warehouses.archive;
+
+import static com.fulfilment.application.monolith.warehouses.archive.ArchiveWarehouseUseCase.validateArchivable;
+
+import com.fulfilment.application.monolith.warehouses.ReactiveWarehouseStore;
+import com.fulfilment.application.monolith.warehouses.Warehouse;
+import com.fulfilment.application.monolith.warehouses.WarehouseOperation;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.time.LocalDateTime;
+
+/** {@link ArchiveWarehouseUseCase} on the {@link ReactiveWarehouseStore}. */
+@IfBuildProperty(name = "warehouse-store.reactive", stringValue = "true")
+@ApplicationScoped
+public class ReactiveArchiveWarehouseUseCase implements ReactiveArchiveWarehouseOperation {
+
+  private final ReactiveWarehouseStore warehouseStore;
+
+  public ReactiveArchiveWarehouseUseCase(ReactiveWarehouseStore warehouseStore) {
+    this.warehouseStore = warehouseStore;
+  }
+
+  @Override
+  @WarehouseOperation("archive")
+  public Uni<Void> archive(Warehouse warehouse) {
+    return warehouseStore.inTransaction(store -> store
+        .findByBusinessUnitCode(warehouse.businessUnitCode)
+        .flatMap(existing -> {
+          validateArchivable(warehouse, existing);
+          existing.archivedAt = LocalDateTime.now();
+          return store.update(existing);
+        }));
+  }
+}
@@ -0,0 +1,52 @@
+package com.fulfilment.application.monolith.warehouses.changes;
+
+import com.fulfilment.application.monolith.warehouses.Warehouse;
+import com.fulfilment.application.monolith.warehouses.WarehouseEvent;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+
+/**
+ * One entry of the warehouse change log. Sequence numbers are assigned by
+ * {@link WarehouseChangeLog} in commit order, so a reader that has seen {@code n} has seen every
+ * change up to {@code n}. Entries are keyed by business unit code: a replacement carries the new
+ * warehouse, which supersedes the code's previous one.
+ */
+@Entity
+@Table(name = "warehouse_change")
+public class WarehouseChange {
+
+  @Id public Long sequence;
+
+  @Enumerated(EnumType.STRING)
+  public WarehouseEvent.Type type;
+
+  public Long warehouseId;
+
+  public String businessUnitCode;
+
+  public String location;
+
+  public Integer capacity;
+
+  public Integer stock;
+
+  public Instant occurredAt;
+
+  public WarehouseChange() {}
+
+  WarehouseChange(long sequence, WarehouseEvent event) {
+    Warehouse warehouse = event.warehouse();
+    this.sequence = sequence;
+    this.type = event.type();
+    this.warehouseId = warehouse.id;
+    this.businessUnitCode = warehouse.businessUnitCode;
+    this.location = warehouse.location;
+    this.capacity = warehouse.capacity;
+    this.stock = warehouse.stock;
+    this.occurredAt = event.occurredAt();
+  }
+}
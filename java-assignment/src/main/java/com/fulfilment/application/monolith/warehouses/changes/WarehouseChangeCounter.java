@@ -0,0 +1,17 @@
+package com.fulfilment.application.monolith.warehouses.changes;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/** The last sequence number handed out; a single row, locked by every writer of the log. */
+@Entity
+@Table(name = "warehouse_change_counter")
+public class WarehouseChangeCounter {
+
+  static final int SINGLETON_ID = 1;
+
+  @Id public int id;
+
+  public long lastSequence;
+}
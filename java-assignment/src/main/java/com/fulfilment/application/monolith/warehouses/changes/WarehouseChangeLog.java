@@ -0,0 +1,72 @@
+package com.fulfilment.application.monolith.warehouses.changes;
+
+import com.fulfilment.application.monolith.warehouses.WarehouseEvent;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.operators.multi.processors.BroadcastProcessor;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import java.util.List;
+
+/**
+ * Writes every {@link WarehouseEvent} to the {@code warehouse_change} table in the transaction
+ * of the change itself, and reads the log back from a sequence number.
+ *
+ * <p>A sequence from a database sequence would be handed out at insert but become visible at
+ * commit, so a reader could pass over a lower number that commits later. Instead each writer
+ * increments {@link WarehouseChangeCounter} under a row lock held until its commit: warehouse
+ * writes are serialized at that point, and numbers become visible in order.</p>
+ */
+@ApplicationScoped
+public class WarehouseChangeLog {
+
+  private final EntityManager entityManager;
+
+  // one item per committed change on this instance; the log itself carries the content
+  private final BroadcastProcessor<Long> commits = BroadcastProcessor.create();
+
+  public WarehouseChangeLog(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  void record(@Observes WarehouseEvent event) {
+    WarehouseChangeCounter counter = entityManager.find(
+        WarehouseChangeCounter.class, WarehouseChangeCounter.SINGLETON_ID,
+        LockModeType.PESSIMISTIC_WRITE);
+    counter.lastSequence++;
+    entityManager.persist(new WarehouseChange(counter.lastSequence, event));
+  }
+
+  void onCommit(@Observes(during = TransactionPhase.AFTER_SUCCESS) WarehouseEvent event) {
+    commits.onNext(System.nanoTime());
+  }
+
+  /** The changes after {@code since}, in sequence order, at most {@code limit} of them. */
+  public List<WarehouseChange> since(long since, int limit) {
+    return entityManager.createQuery(
+            "from WarehouseChange where sequence > ?1 order by sequence", WarehouseChange.class)
+        .setParameter(1, since)
+        .setMaxResults(limit)
+        .getResultList();
+  }
+
+  /** Emits whenever a change has committed on this instance. */
+  public Multi<Long> commits() {
+    return commits;
+  }
+
+  // writers lock the counter row, so it must exist before the first change
+  void onStart(@Observes StartupEvent event) {
+    QuarkusTransaction.requiringNew().run(() -> {
+      if (entityManager.find(WarehouseChangeCounter.class, WarehouseChangeCounter.SINGLETON_ID) == null) {
+        WarehouseChangeCounter counter = new WarehouseChangeCounter();
+        counter.id = WarehouseChangeCounter.SINGLETON_ID;
+        entityManager.persist(counter);
+      }
+    });
+  }
+}
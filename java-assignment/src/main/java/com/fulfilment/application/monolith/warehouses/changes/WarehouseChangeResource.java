@@ -0,0 +1,137 @@
+package com.fulfilment.application.monolith.warehouses.changes;
+
+import com.fulfilment.application.monolith.datasource.ConnectionBound;
+import com.fulfilment.application.monolith.http.ApiException;
+import com.fulfilment.application.monolith.http.ErrorCode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.arc.properties.UnlessBuildProperty;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * The warehouse change log for clients that keep a copy of the fleet: they fetch the changes
+ * after the last sequence number they have seen instead of the whole list.
+ *
+ * <p>{@code GET /warehouse/changes?since=n} returns one page and the cursor for the next
+ * request. {@code GET /warehouse/changes/stream} sends the same changes as Server-Sent Events
+ * with the sequence number as event id, so a reconnecting client resumes from
+ * {@code Last-Event-ID}. A stream reads the log again whenever a change commits on this
+ * instance, and every {@code warehouse-changes.poll-interval} for changes committed on
+ * others.</p>
+ */
+@Path("warehouse/changes")
+@ApplicationScoped
+@UnlessBuildProperty(name = "warehouse-store.reactive", stringValue = "true", enableIfMissing = true)
+public class WarehouseChangeResource {
+
+  // warehouse.changes.subscribers: open change streams on this instance
+  static final String SUBSCRIBERS = "warehouse.changes.subscribers";
+
+  private final WarehouseChangeLog changeLog;
+  private final int maxPageSize;
+  private final Duration pollInterval;
+  private final AtomicInteger subscribers = new AtomicInteger();
+
+  @Inject
+  public WarehouseChangeResource(WarehouseChangeLog changeLog,
+      @ConfigProperty(name = "warehouse-changes.max-page-size", defaultValue = "500") int maxPageSize,
+      @ConfigProperty(name = "warehouse-changes.poll-interval", defaultValue = "PT2S") Duration pollInterval,
+      MeterRegistry registry) {
+    this.changeLog = changeLog;
+    this.maxPageSize = maxPageSize;
+    this.pollInterval = pollInterval;
+    Gauge.builder(SUBSCRIBERS, subscribers, AtomicInteger::get).register(registry);
+  }
+
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  @ConnectionBound
+  public ChangePage changes(@QueryParam("since") @DefaultValue("0") long since,
+      @QueryParam("limit") @DefaultValue("100") int limit) {
+    if (limit < 1 || limit > maxPageSize) {
+      throw new ApiException(ErrorCode.INVALID_REQUEST,
+          "limit must be between 1 and " + maxPageSize + ".");
+    }
+    // one more than asked tells whether another page follows
+    List<WarehouseChange> changes = changeLog.since(since, limit + 1);
+    boolean more = changes.size() > limit;
+    List<Change> page = changes.stream().limit(limit).map(Change::of).toList();
+    long next = page.isEmpty() ? since : page.get(page.size() - 1).sequence();
+    return new ChangePage(page, next, more);
+  }
+
+  @GET
+  @Path("stream")
+  @Produces(MediaType.SERVER_SENT_EVENTS)
+  public Multi<OutboundSseEvent> stream(@QueryParam("since") @DefaultValue("0") long since,
+      @HeaderParam("Last-Event-ID") Long lastEventId, @Context Sse sse) {
+    AtomicLong cursor = new AtomicLong(lastEventId != null ? lastEventId : since);
+    // a commit or poll that arrives while the log is being read needs only one more read
+    Multi<Long> wakeUps = Multi.createBy().merging().streams(
+            Multi.createFrom().item(0L),
+            changeLog.commits(),
+            Multi.createFrom().ticks().every(pollInterval))
+        .onOverflow().dropPreviousItems();
+    return wakeUps
+        .onItem().transformToMultiAndConcatenate(wakeUp -> unseen(cursor))
+        .map(change -> sse.newEventBuilder()
+            .id(String.valueOf(change.sequence()))
+            .name("warehouse-change")
+            .mediaType(MediaType.APPLICATION_JSON_TYPE)
+            .data(Change.class, change)
+            .build())
+        .onSubscription().invoke(subscribers::incrementAndGet)
+        .onTermination().invoke(subscribers::decrementAndGet);
+  }
+
+  // the changes after the cursor, read page by page on a worker thread
+  private Multi<Change> unseen(AtomicLong cursor) {
+    return Multi.createBy().repeating()
+        .uni(() -> Uni.createFrom()
+            .item(() -> {
+              List<Change> page = QuarkusTransaction.requiringNew().call(() ->
+                  changeLog.since(cursor.get(), maxPageSize).stream().map(Change::of).toList());
+              if (!page.isEmpty()) {
+                cursor.set(page.get(page.size() - 1).sequence());
+              }
+              return page;
+            })
+            .runSubscriptionOn(Infrastructure.getDefaultWorkerPool()))
+        .whilst(page -> page.size() == maxPageSize)
+        .onItem().transformToIterable(page -> page);
+  }
+
+  public record Change(long sequence, String type, Long warehouseId, String businessUnitCode,
+      String location, Integer capacity, Integer stock, Instant occurredAt) {
+
+    static Change of(WarehouseChange change) {
+      return new Change(change.sequence, change.type.name(), change.warehouseId,
+          change.businessUnitCode, change.location, change.capacity, change.stock,
+          change.occurredAt);
+    }
+  }
+
+  /** A page of changes; {@code next} is the {@code since} of the following request. */
+  public record ChangePage(List<Change> changes, long next, boolean more) {}
+}
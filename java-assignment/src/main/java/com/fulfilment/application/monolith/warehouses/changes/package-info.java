@@ -0,0 +1,18 @@
+/**
+ * Change feed of the warehouse feature.
+ *
+ * <h2>Log</h2>
+ * <p>{@link WarehouseChangeLog} writes each
+ * {@link com.fulfilment.application.monolith.warehouses.WarehouseEvent} to
+ * {@link WarehouseChange} within the change's own transaction. Sequence numbers are taken from
+ * {@link WarehouseChangeCounter} under a row lock held until commit, so a reader never sees
+ * a number before a lower one.</p>
+ *
+ * <h2>Delivery</h2>
+ * <p>{@link WarehouseChangeResource} serves the log after a cursor, either as pages
+ * ({@code GET /warehouse/changes?since=}) or as Server-Sent Events
+ * ({@code GET /warehouse/changes/stream}) whose ids are the sequence numbers. Open streams are
+ * the {@code warehouse.changes.subscribers} gauge. See ADR: Warehouse Change Feed with Sequence
+ * Cursors and Server-Sent Events.</p>
+ */
+package com.fulfilment.application.monolith.warehouses.changes;
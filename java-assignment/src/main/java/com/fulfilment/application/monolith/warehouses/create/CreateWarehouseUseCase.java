@@ -3,9 +3,13 @@ package com.fulfilment.application.monolith.warehouses.create;
 import com.fulfilment.application.monolith.warehouses.Location;
 import com.fulfilment.application.monolith.warehouses.LocationResolver;
 import com.fulfilment.application.monolith.warehouses.Warehouse;
+import com.fulfilment.application.monolith.warehouses.WarehouseEvent;
+import com.fulfilment.application.monolith.warehouses.WarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.WarehouseStore;
 import com.fulfilment.application.monolith.warehouses.WarehouseValidationException;
+import com.fulfilment.application.monolith.warehouses.WarehouseValidationException.Rule;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -14,17 +18,22 @@ public class CreateWarehouseUseCase implements CreateWarehouseOperation {
 
   private final WarehouseStore warehouseStore;
   private final LocationResolver locationResolver;
+  private final Event<WarehouseEvent> warehouseEvents;
 
-  public CreateWarehouseUseCase(WarehouseStore warehouseStore, LocationResolver locationResolver) {
+  public CreateWarehouseUseCase(WarehouseStore warehouseStore, LocationResolver locationResolver,
+      Event<WarehouseEvent> warehouseEvents) {
     this.warehouseStore = warehouseStore;
     this.locationResolver = locationResolver;
+    this.warehouseEvents = warehouseEvents;
   }
 
   @Override
+  @WarehouseOperation("create")
   public void create(Warehouse warehouse) {
-    validateBusinessUnitCodeUniqueness(warehouse.businessUnitCode);
+    validateBusinessUnitCodeUniqueness(
+        warehouseStore.findByBusinessUnitCode(warehouse.businessUnitCode), warehouse.businessUnitCode);
 
-    Location location = validateLocationExists(warehouse.location);
+    Location location = validateLocationExists(locationResolver, warehouse.location);
 
     List<Warehouse> activeAtLocation = warehouseStore.findActiveByLocation(warehouse.location);
 
@@ -34,45 +43,47 @@ public class CreateWarehouseUseCase implements CreateWarehouseOperation {
 
     warehouse.createdAt = LocalDateTime.now();
     warehouseStore.create(warehouse);
+    warehouseEvents.fire(new WarehouseEvent(WarehouseEvent.Type.CREATED, warehouse));
   }
 
-  private void validateBusinessUnitCodeUniqueness(String businessUnitCode) {
-    Warehouse existing = warehouseStore.findByBusinessUnitCode(businessUnitCode);
+  // the rules are static so that ReactiveCreateWarehouseUseCase applies the same ones
+
+  static void validateBusinessUnitCodeUniqueness(Warehouse existing, String businessUnitCode) {
     if (existing != null) {
-      throw new WarehouseValidationException(
+      throw new WarehouseValidationException(Rule.DUPLICATE_BUSINESS_UNIT,
           "A warehouse with business unit code '" + businessUnitCode + "' already exists.");
     }
   }
 
-  Location validateLocationExists(String locationIdentifier) {
+  static Location validateLocationExists(LocationResolver locationResolver, String locationIdentifier) {
     Location location = locationResolver.resolveByIdentifier(locationIdentifier);
     if (location == null) {
-      throw new WarehouseValidationException(
+      throw new WarehouseValidationException(Rule.INVALID_LOCATION,
           "Location '" + locationIdentifier + "' is not a valid location.");
     }
     return location;
   }
 
-  void validateCreationFeasibility(List<Warehouse> activeAtLocation, Location location) {
+  static void validateCreationFeasibility(List<Warehouse> activeAtLocation, Location location) {
     if (activeAtLocation.size() >= location.maxNumberOfWarehouses) {
-      throw new WarehouseValidationException(
+      throw new WarehouseValidationException(Rule.LOCATION_FULL,
           "Maximum number of warehouses (" + location.maxNumberOfWarehouses
               + ") already reached at location '" + location.identification + "'.");
     }
   }
 
-  void validateCapacity(List<Warehouse> activeAtLocation, Warehouse warehouse, Location location) {
+  static void validateCapacity(List<Warehouse> activeAtLocation, Warehouse warehouse, Location location) {
     int currentCapacitySum = activeAtLocation.stream().mapToInt(w -> w.capacity).sum();
     if (currentCapacitySum + warehouse.capacity > location.maxCapacity) {
-      throw new WarehouseValidationException(
+      throw new WarehouseValidationException(Rule.CAPACITY_EXCEEDED,
           "Adding capacity " + warehouse.capacity + " would exceed the maximum capacity ("
               + location.maxCapacity + ") at location '" + location.identification + "'.");
     }
   }
 
-  void validateStockWithinCapacity(Warehouse warehouse) {
+  static void validateStockWithinCapacity(Warehouse warehouse) {
     if (warehouse.stock > warehouse.capacity) {
-      throw new WarehouseValidationException(
+      throw new WarehouseValidationException(Rule.STOCK_EXCEEDS_CAPACITY,
           "Stock (" + warehouse.stock + ") cannot exceed capacity (" + warehouse.capacity + ").");
     }
   }
@@ -0,0 +1,8 @@
+package com.fulfilment.application.monolith.warehouses.create;
+
+import com.fulfilment.application.monolith.warehouses.Warehouse;
+import io.smallrye.mutiny.Uni;
+
+public interface ReactiveCreateWarehouseOperation {
+  Uni<Void> create(Warehouse warehouse);
+}
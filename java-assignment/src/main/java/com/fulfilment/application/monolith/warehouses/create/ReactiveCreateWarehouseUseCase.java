@@ -0,0 +1,55 @@
+package com.fulfilment.application.monolith.warehouses.create;
+
+import static com.fulfilment.application.monolith.warehouses.create.CreateWarehouseUseCase.validateBusinessUnitCodeUniqueness;
+import static com.fulfilment.application.monolith.warehouses.create.CreateWarehouseUseCase.validateCapacity;
+import static com.fulfilment.application.monolith.warehouses.create.CreateWarehouseUseCase.validateCreationFeasibility;
+import static com.fulfilment.application.monolith.warehouses.create.CreateWarehouseUseCase.validateLocationExists;
+import static com.fulfilment.application.monolith.warehouses.create.CreateWarehouseUseCase.validateStockWithinCapacity;
+
+import com.fulfilment.application.monolith.warehouses.Location;
+import com.fulfilment.application.monolith.warehouses.LocationResolver;
+import com.fulfilment.application.monolith.warehouses.ReactiveWarehouseStore;
+import com.fulfilment.application.monolith.warehouses.Warehouse;
+import com.fulfilment.application.monolith.warehouses.WarehouseOperation;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.time.LocalDateTime;
+
+/**
+ * {@link CreateWarehouseUseCase} on the {@link ReactiveWarehouseStore}: the same rules, with
+ * the lookups and the insert in one transaction of the store.
+ */
+@IfBuildProperty(name = "warehouse-store.reactive", stringValue = "true")
+@ApplicationScoped
+public class ReactiveCreateWarehouseUseCase implements ReactiveCreateWarehouseOperation {
+
+  private final ReactiveWarehouseStore warehouseStore;
+  private final LocationResolver locationResolver;
+
+  public ReactiveCreateWarehouseUseCase(
+      ReactiveWarehouseStore warehouseStore, LocationResolver locationResolver) {
+    this.warehouseStore = warehouseStore;
+    this.locationResolver = locationResolver;
+  }
+
+  @Override
+  @WarehouseOperation("create")
+  public Uni<Void> create(Warehouse warehouse) {
+    return warehouseStore.inTransaction(store -> store
+        .findByBusinessUnitCode(warehouse.businessUnitCode)
+        .flatMap(existing -> {
+          validateBusinessUnitCodeUniqueness(existing, warehouse.businessUnitCode);
+          Location location = validateLocationExists(locationResolver, warehouse.location);
+          return store.findActiveByLocation(warehouse.location).invoke(activeAtLocation -> {
+            validateCreationFeasibility(activeAtLocation, location);
+            validateCapacity(activeAtLocation, warehouse, location);
+            validateStockWithinCapacity(warehouse);
+          });
+        })
+        .flatMap(activeAtLocation -> {
+          warehouse.createdAt = LocalDateTime.now();
+          return store.create(warehouse);
+        }));
+  }
+}
@@ -14,6 +14,34 @@
  *       <td>{@link WarehouseRepository} (JPA), {@link WarehouseResourceImpl} (REST)</td></tr>
  * </table>
  *
+ * <h2>Sharding</h2>
+ * <p>Built with {@code warehouse-sharding.enabled=true}, {@link ShardedWarehouseStore}
+ * replaces {@link WarehouseRepository} and spreads warehouses over several datasources by
+ * location ({@link WarehouseShards}). Every rule is per location, so validation reads one shard;
+ * business unit codes are found through {@link WarehouseDirectoryEntry}. The use cases and the
+ * REST adapter only see the {@link WarehouseStore} port and do not change. See ADR:
+ * Location-Sharded Warehouse Storage.</p>
+ *
+ * <h2>Reactive</h2>
+ * <p>Built with {@code warehouse-store.reactive=true}, {@link ReactiveWarehouseResource} serves
+ * the same API with {@code Uni}/{@code Multi} results. It runs the reactive create, replace and
+ * archive use cases on {@link ReactiveWarehouseRepository}, an adapter of the
+ * {@link ReactiveWarehouseStore} port on the Vert.x SQL client, so no thread waits for the
+ * database. Both variants share the static validators of the blocking use cases. See ADR:
+ * Non-Blocking Warehouse Adapter on the Reactive PostgreSQL Client.</p>
+ *
+ * <h2>Read model</h2>
+ * <p>The create, replace and archive use cases fire a {@link WarehouseEvent} after their write.
+ * The {@code view} package projects the committed events into the denormalized
+ * {@code warehouse_view} table, and the list and dashboard endpoints read only that table. See
+ * ADR: CQRS Read Model for Warehouse Lists and Dashboards.</p>
+ *
+ * <h2>Change feed</h2>
+ * <p>The {@code changes} package also logs every event under a sequence number that becomes
+ * visible in commit order. Clients fetch the changes after their last sequence number as pages or
+ * as a Server-Sent Events stream, instead of polling the full list. See ADR: Warehouse Change
+ * Feed with Sequence Cursors and Server-Sent Events.</p>
+ *
  * <h2>Package layout</h2>
  * <p>Sub-packages are named by <strong>business operation</strong>, not technical role:</p>
  * <pre>
@@ -21,15 +49,33 @@
  *   warehouses/create/    — "create a warehouse" use case + port interface
  *   warehouses/archive/   — "archive a warehouse" use case + port interface
  *   warehouses/replace/   — "replace a warehouse" use case + port interface
+ *   warehouses/view/      — read model for lists and dashboards, projected from events
+ *   warehouses/changes/   — change log of the events, as pages and as an SSE stream
  * </pre>
  *
  * <h2>Exception handling: domain-scoped</h2>
- * <p>{@link WarehouseValidationException} carries domain-specific error messages
- * (capacity limits, BU code conflicts, stock validation). The REST adapter
- * ({@link WarehouseResourceImpl}) maps these to HTTP 400/404 — each feature
+ * <p>{@link WarehouseValidationException} carries the violated
+ * {@link WarehouseValidationException.Rule} and a domain-specific message (capacity
+ * limits, BU code conflicts, stock validation). It is stackless, as rejections are
+ * expected outcomes. The REST adapter ({@link WarehouseResourceImpl}) maps the rule to
+ * HTTP 400/404 and passes its name on as the error {@code reason} — each feature
  * owns its error contract. See ADR: Domain-Scoped Exception Handling in
  * {@code Docs/ADR-Architecture-Decisions.md}.</p>
  *
+ * <h2>Metrics</h2>
+ * <p>Use-case methods annotated with {@link WarehouseOperation} are timed by
+ * {@link WarehouseOperationInterceptor} ({@code warehouse_operation_seconds} by operation and
+ * outcome), which also counts rejections by rule
+ * ({@code warehouse_validation_rejections_total}). The use cases themselves stay free of
+ * metrics code. The interceptor and the {@link WarehouseStoreEvents} decorator also emit JFR
+ * events (see the {@code diagnostics} package).</p>
+ *
+ * <h2>Read coalescing</h2>
+ * <p>{@link WarehouseStoreCoalescing} decorates the store inside {@link WarehouseStoreEvents}:
+ * concurrent identical lookups by id outside a transaction share one query (see the
+ * {@code coalescing} package). Lookups by business unit code or location are only made inside
+ * the write use cases' transactions and are not coalesced.</p>
+ *
  * @see <a href="../../../../../../../Docs/ADR-Architecture-Decisions.md">
  *      Docs/ADR-Architecture-Decisions.md</a>
  */
@@ -0,0 +1,8 @@
+package com.fulfilment.application.monolith.warehouses.replace;
+
+import com.fulfilment.application.monolith.warehouses.Warehouse;
+import io.smallrye.mutiny.Uni;
+
+public interface ReactiveReplaceWarehouseOperation {
+  Uni<Void> replace(Warehouse newWarehouse);
+}
@@ -0,0 +1,55 @@
+package com.fulfilment.application.monolith.warehouses.replace;
+
+import static com.fulfilment.application.monolith.warehouses.replace.ReplaceWarehouseUseCase.validateAgainstExisting;
+import static com.fulfilment.application.monolith.warehouses.replace.ReplaceWarehouseUseCase.validateLocationCapacity;
+
+import com.fulfilment.application.monolith.warehouses.Location;
+import com.fulfilment.application.monolith.warehouses.LocationResolver;
+import com.fulfilment.application.monolith.warehouses.ReactiveWarehouseStore;
+import com.fulfilment.application.monolith.warehouses.Warehouse;
+import com.fulfilment.application.monolith.warehouses.WarehouseOperation;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.time.LocalDateTime;
+
+/**
+ * {@link ReplaceWarehouseUseCase} on the {@link ReactiveWarehouseStore}: the same rules, and the
+ * archive-then-create sequence in one transaction of the store.
+ */
+@IfBuildProperty(name = "warehouse-store.reactive", stringValue = "true")
+@ApplicationScoped
+public class ReactiveReplaceWarehouseUseCase implements ReactiveReplaceWarehouseOperation {
+
+  private final ReactiveWarehouseStore warehouseStore;
+  private final LocationResolver locationResolver;
+
+  public ReactiveReplaceWarehouseUseCase(
+      ReactiveWarehouseStore warehouseStore, LocationResolver locationResolver) {
+    this.warehouseStore = warehouseStore;
+    this.locationResolver = locationResolver;
+  }
+
+  @Override
+  @WarehouseOperation("replace")
+  public Uni<Void> replace(Warehouse newWarehouse) {
+    return warehouseStore.inTransaction(store -> store
+        .findByBusinessUnitCode(newWarehouse.businessUnitCode)
+        .flatMap(existing -> {
+          Location location = validateAgainstExisting(newWarehouse, existing, locationResolver);
+          return store.findActiveByLocation(newWarehouse.location)
+              .invoke(activeAtLocation ->
+                  validateLocationCapacity(newWarehouse, existing, location, activeAtLocation))
+              .replaceWith(existing);
+        })
+        .flatMap(existing -> {
+          existing.archivedAt = LocalDateTime.now();
+          return store.update(existing);
+        })
+        .flatMap(archived -> {
+          newWarehouse.createdAt = LocalDateTime.now();
+          newWarehouse.archivedAt = null;
+          return store.create(newWarehouse);
+        }));
+  }
+}
@@ -3,9 +3,13 @@ package com.fulfilment.application.monolith.warehouses.replace;
 import com.fulfilment.application.monolith.warehouses.Location;
 import com.fulfilment.application.monolith.warehouses.LocationResolver;
 import com.fulfilment.application.monolith.warehouses.Warehouse;
+import com.fulfilment.application.monolith.warehouses.WarehouseEvent;
+import com.fulfilment.application.monolith.warehouses.WarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.WarehouseStore;
 import com.fulfilment.application.monolith.warehouses.WarehouseValidationException;
+import com.fulfilment.application.monolith.warehouses.WarehouseValidationException.Rule;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -14,17 +18,40 @@ public class ReplaceWarehouseUseCase implements ReplaceWarehouseOperation {
 
   private final WarehouseStore warehouseStore;
   private final LocationResolver locationResolver;
+  private final Event<WarehouseEvent> warehouseEvents;
 
-  public ReplaceWarehouseUseCase(WarehouseStore warehouseStore, LocationResolver locationResolver) {
+  public ReplaceWarehouseUseCase(WarehouseStore warehouseStore, LocationResolver locationResolver,
+      Event<WarehouseEvent> warehouseEvents) {
     this.warehouseStore = warehouseStore;
     this.locationResolver = locationResolver;
+    this.warehouseEvents = warehouseEvents;
   }
 
   @Override
+  @WarehouseOperation("replace")
   public void replace(Warehouse newWarehouse) {
     Warehouse existing = warehouseStore.findByBusinessUnitCode(newWarehouse.businessUnitCode);
+    Location location = validateAgainstExisting(newWarehouse, existing, locationResolver);
+
+    List<Warehouse> activeAtLocation = warehouseStore.findActiveByLocation(newWarehouse.location);
+    validateLocationCapacity(newWarehouse, existing, location, activeAtLocation);
+
+    existing.archivedAt = LocalDateTime.now();
+    warehouseStore.update(existing);
+
+    newWarehouse.createdAt = LocalDateTime.now();
+    newWarehouse.archivedAt = null;
+    warehouseStore.create(newWarehouse);
+    warehouseEvents.fire(new WarehouseEvent(WarehouseEvent.Type.REPLACED, newWarehouse));
+  }
+
+  // the rules are static so that ReactiveReplaceWarehouseUseCase applies the same ones
+
+  /** Checks the replacement against the warehouse it replaces and returns its location. */
+  static Location validateAgainstExisting(
+      Warehouse newWarehouse, Warehouse existing, LocationResolver locationResolver) {
     if (existing == null) {
-      throw new WarehouseValidationException(
+      throw new WarehouseValidationException(Rule.NOT_FOUND,
           "Warehouse with business unit code '" + newWarehouse.businessUnitCode + "' not found.");
     }
 
@@ -33,43 +60,39 @@ public class ReplaceWarehouseUseCase implements ReplaceWarehouseOperation {
 
     Location location = locationResolver.resolveByIdentifier(newWarehouse.location);
     if (location == null) {
-      throw new WarehouseValidationException(
+      throw new WarehouseValidationException(Rule.INVALID_LOCATION,
           "Location '" + newWarehouse.location + "' is not a valid location.");
     }
+    return location;
+  }
 
-    List<Warehouse> activeAtLocation = warehouseStore.findActiveByLocation(newWarehouse.location);
+  static void validateLocationCapacity(Warehouse newWarehouse, Warehouse existing,
+      Location location, List<Warehouse> activeAtLocation) {
     int currentCapacitySum = activeAtLocation.stream().mapToInt(w -> w.capacity).sum();
     int adjustedCapacitySum = currentCapacitySum - existing.capacity;
     if (adjustedCapacitySum + newWarehouse.capacity > location.maxCapacity) {
-      throw new WarehouseValidationException(
+      throw new WarehouseValidationException(Rule.CAPACITY_EXCEEDED,
           "New warehouse capacity would exceed the maximum capacity ("
               + location.maxCapacity + ") at location '" + location.identification + "'.");
     }
 
     if (newWarehouse.stock > newWarehouse.capacity) {
-      throw new WarehouseValidationException(
+      throw new WarehouseValidationException(Rule.STOCK_EXCEEDS_CAPACITY,
           "Stock (" + newWarehouse.stock + ") cannot exceed capacity (" + newWarehouse.capacity + ").");
     }
-
-    existing.archivedAt = LocalDateTime.now();
-    warehouseStore.update(existing);
-
-    newWarehouse.createdAt = LocalDateTime.now();
-    newWarehouse.archivedAt = null;
-    warehouseStore.create(newWarehouse);
   }
 
-  private void validateCapacityAccommodation(Warehouse newWarehouse, Warehouse existing) {
+  private static void validateCapacityAccommodation(Warehouse newWarehouse, Warehouse existing) {
     if (newWarehouse.capacity < existing.stock) {
-      throw new WarehouseValidationException(
+      throw new WarehouseValidationException(Rule.CAPACITY_BELOW_STOCK,
           "New warehouse capacity (" + newWarehouse.capacity
               + ") cannot accommodate the existing stock (" + existing.stock + ").");
     }
   }
 
-  private void validateStockMatching(Warehouse newWarehouse, Warehouse existing) {
+  private static void validateStockMatching(Warehouse newWarehouse, Warehouse existing) {
     if (!newWarehouse.stock.equals(existing.stock)) {
-      throw new WarehouseValidationException(
+      throw new WarehouseValidationException(Rule.STOCK_MISMATCH,
           "New warehouse stock (" + newWarehouse.stock
               + ") must match the existing warehouse stock (" + existing.stock + ").");
     }
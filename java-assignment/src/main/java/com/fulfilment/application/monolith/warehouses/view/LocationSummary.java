@@ -0,0 +1,18 @@
+package com.fulfilment.application.monolith.warehouses.view;
+
+/** Active warehouses of one location against the location's limits. */
+public record LocationSummary(
+    String location,
+    Integer maxWarehouses,
+    Integer maxCapacity,
+    long warehouses,
+    long capacity,
+    long stock,
+    double utilization) {
+
+  public LocationSummary(String location, Integer maxWarehouses, Integer maxCapacity,
+      Long warehouses, Long capacity, Long stock) {
+    this(location, maxWarehouses, maxCapacity, warehouses, capacity, stock,
+        capacity == 0 ? 0 : (double) stock / capacity);
+  }
+}
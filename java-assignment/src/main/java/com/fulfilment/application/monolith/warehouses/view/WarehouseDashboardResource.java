@@ -0,0 +1,51 @@
+package com.fulfilment.application.monolith.warehouses.view;
+
+import com.fulfilment.application.monolith.datasource.ConnectionBound;
+import com.fulfilment.application.monolith.http.CachedResponse;
+import com.fulfilment.application.monolith.warehouses.WarehouseRepository;
+import io.quarkus.arc.properties.UnlessBuildProperty;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import java.util.List;
+
+/**
+ * Utilization of the active warehouses per location and per business unit code, read from
+ * {@link WarehouseView} alone. It lags the writes by the projection, see
+ * {@link WarehouseViewProjector}.
+ */
+@Path("warehouse/dashboard")
+@ApplicationScoped
+@UnlessBuildProperty(name = "warehouse-store.reactive", stringValue = "true", enableIfMissing = true)
+@CachedResponse(WarehouseRepository.CACHE_REGION)
+@ConnectionBound
+public class WarehouseDashboardResource {
+
+  private final WarehouseViewRepository views;
+
+  public WarehouseDashboardResource(WarehouseViewRepository views) {
+    this.views = views;
+  }
+
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  public Dashboard dashboard() {
+    List<WarehouseSummary> warehouses = views.listActive().stream()
+        .map(WarehouseSummary::of)
+        .toList();
+    return new Dashboard(views.locationSummaries(), warehouses);
+  }
+
+  public record Dashboard(List<LocationSummary> locations, List<WarehouseSummary> warehouses) {}
+
+  public record WarehouseSummary(String businessUnitCode, String location, Integer capacity,
+      Integer stock, double utilization, int generation) {
+
+    static WarehouseSummary of(WarehouseView view) {
+      return new WarehouseSummary(view.businessUnitCode, view.location, view.capacity,
+          view.stock, view.utilization, view.generation);
+    }
+  }
+}
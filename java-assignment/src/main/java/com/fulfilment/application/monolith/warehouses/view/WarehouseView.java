@@ -0,0 +1,67 @@
+package com.fulfilment.application.monolith.warehouses.view;
+
+import com.fulfilment.application.monolith.warehouses.Location;
+import com.fulfilment.application.monolith.warehouses.Warehouse;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.time.LocalDateTime;
+
+/**
+ * One row per business unit code: its latest warehouse, the limits of that warehouse's
+ * location, its utilization and how many warehouses have carried the code. Written only by
+ * {@link WarehouseViewProjector}; list and dashboard reads need no join or aggregate over the
+ * {@code warehouse} table.
+ */
+@Entity
+@Table(name = "warehouse_view")
+public class WarehouseView {
+
+  @Id public String businessUnitCode;
+
+  // id of the latest warehouse with this code
+  public Long warehouseId;
+
+  public String location;
+
+  public Integer capacity;
+
+  public Integer stock;
+
+  // stock / capacity, 0 for a warehouse without capacity
+  public double utilization;
+
+  // warehouses created under this code so far: 1, plus one per replacement or re-creation
+  public int generation;
+
+  // null when the location is no longer known
+  public Integer locationMaxWarehouses;
+
+  public Integer locationMaxCapacity;
+
+  public LocalDateTime createdAt;
+
+  public LocalDateTime archivedAt;
+
+  // bumped by every projection of the row; with warehouseId it tags the list responses
+  @Version public long version;
+
+  public WarehouseView() {}
+
+  WarehouseView(String businessUnitCode) {
+    this.businessUnitCode = businessUnitCode;
+  }
+
+  void project(Warehouse warehouse, Location location) {
+    warehouseId = warehouse.id;
+    this.location = warehouse.location;
+    capacity = warehouse.capacity;
+    stock = warehouse.stock;
+    utilization = capacity == null || capacity == 0 || stock == null ? 0 : (double) stock / capacity;
+    locationMaxWarehouses = location != null ? location.maxNumberOfWarehouses : null;
+    locationMaxCapacity = location != null ? location.maxCapacity : null;
+    createdAt = warehouse.createdAt;
+    archivedAt = warehouse.archivedAt;
+  }
+}
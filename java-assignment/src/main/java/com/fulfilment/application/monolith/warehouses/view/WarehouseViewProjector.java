@@ -0,0 +1,157 @@
+package com.fulfilment.application.monolith.warehouses.view;
+
+import com.fulfilment.application.monolith.http.ApiException;
+import com.fulfilment.application.monolith.http.CacheInvalidationEvent;
+import com.fulfilment.application.monolith.http.ErrorCode;
+import com.fulfilment.application.monolith.warehouses.DbWarehouse;
+import com.fulfilment.application.monolith.warehouses.Location;
+import com.fulfilment.application.monolith.warehouses.LocationResolver;
+import com.fulfilment.application.monolith.warehouses.Warehouse;
+import com.fulfilment.application.monolith.warehouses.WarehouseEvent;
+import com.fulfilment.application.monolith.warehouses.WarehouseRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.persistence.EntityManager;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Keeps {@link WarehouseView} in step with the committed {@link WarehouseEvent}s, each applied
+ * in a transaction of its own once the write has committed, and rebuilds it from the
+ * {@code warehouse} table on demand or when it is empty at startup.
+ *
+ * <p>{@code warehouse.projection.lag}, by event type, is the time from the use case's change to
+ * the commit of its projection. A projection that fails leaves its row stale and is counted in
+ * {@code warehouse.projection.failures}; the next event for the code or a rebuild repairs it.</p>
+ *
+ * <p>A sharded build keeps its warehouses on the shards, not in the primary's {@code warehouse}
+ * table, so there the view is maintained by events only and cannot be rebuilt.</p>
+ */
+@ApplicationScoped
+public class WarehouseViewProjector {
+
+  static final String LAG = "warehouse.projection.lag";
+  static final String FAILURES = "warehouse.projection.failures";
+
+  private static final Logger LOGGER = Logger.getLogger(WarehouseViewProjector.class.getName());
+
+  private final WarehouseViewRepository views;
+  private final EntityManager entityManager;
+  private final LocationResolver locationResolver;
+  private final Event<CacheInvalidationEvent> cacheInvalidation;
+  private final MeterRegistry registry;
+  private final boolean sharded;
+
+  // a rebuild must not interleave with a projection of this instance
+  private final ReentrantLock projectionLock = new ReentrantLock();
+
+  public WarehouseViewProjector(WarehouseViewRepository views, EntityManager entityManager,
+      LocationResolver locationResolver, Event<CacheInvalidationEvent> cacheInvalidation,
+      MeterRegistry registry,
+      @ConfigProperty(name = "warehouse-sharding.enabled", defaultValue = "false") boolean sharded) {
+    this.views = views;
+    this.entityManager = entityManager;
+    this.locationResolver = locationResolver;
+    this.cacheInvalidation = cacheInvalidation;
+    this.registry = registry;
+    this.sharded = sharded;
+  }
+
+  void onWarehouseEvent(@Observes(during = TransactionPhase.AFTER_SUCCESS) WarehouseEvent event) {
+    String type = event.type().name().toLowerCase(Locale.ROOT);
+    try {
+      project(event);
+    } catch (RuntimeException e) {
+      registry.counter(FAILURES, "type", type).increment();
+      LOGGER.warn("Failed to project " + type + " of warehouse "
+          + event.warehouse().businessUnitCode + "; its view row stays stale until the next"
+          + " change or POST /admin/warehouse-view/rebuild", e);
+      return;
+    }
+    registry.timer(LAG, "type", type)
+        .record(Duration.between(event.occurredAt(), Instant.now()));
+  }
+
+  void project(WarehouseEvent event) {
+    Warehouse warehouse = event.warehouse();
+    projectionLock.lock();
+    try {
+      QuarkusTransaction.requiringNew().run(() -> {
+        WarehouseView view = views.findById(warehouse.businessUnitCode);
+        if (view == null) {
+          view = new WarehouseView(warehouse.businessUnitCode);
+          views.persist(view);
+        }
+        // an archive only closes the current generation
+        if (event.type() != WarehouseEvent.Type.ARCHIVED || view.generation == 0) {
+          view.generation++;
+        }
+        view.project(warehouse, locationResolver.resolveByIdentifier(warehouse.location));
+        // list and dashboard responses are cached; evict them once the view has committed
+        invalidateCache(warehouse.id);
+      });
+    } finally {
+      projectionLock.unlock();
+    }
+  }
+
+  /**
+   * Replaces the view with one derived from every row of the {@code warehouse} table and
+   * returns the number of business unit codes in it.
+   *
+   * @throws ApiException {@code CONFLICT} in a sharded build
+   */
+  public int rebuild() {
+    if (sharded) {
+      throw new ApiException(ErrorCode.CONFLICT,
+          "The warehouse view cannot be rebuilt while warehouses are sharded.");
+    }
+    projectionLock.lock();
+    try {
+      return QuarkusTransaction.requiringNew().call(() -> {
+        views.deleteAll();
+        Map<String, WarehouseView> byCode = new LinkedHashMap<>();
+        Map<String, Location> locations = new HashMap<>();
+        // in id order, so the latest warehouse of a code is projected last
+        entityManager.createQuery("from DbWarehouse order by id", DbWarehouse.class)
+            .getResultStream()
+            .map(DbWarehouse::toWarehouse)
+            .forEach(warehouse -> {
+              WarehouseView view = byCode.computeIfAbsent(
+                  warehouse.businessUnitCode, WarehouseView::new);
+              view.generation++;
+              view.project(warehouse, locations.computeIfAbsent(
+                  warehouse.location, locationResolver::resolveByIdentifier));
+            });
+        byCode.values().forEach(views::persist);
+        invalidateCache(null);
+        return byCode.size();
+      });
+    } finally {
+      projectionLock.unlock();
+    }
+  }
+
+  void onStart(@Observes StartupEvent event) {
+    if (!sharded && QuarkusTransaction.requiringNew().call(views::count) == 0) {
+      LOGGER.info("Warehouse view is empty, rebuilt " + rebuild() + " business unit codes");
+    }
+  }
+
+  private void invalidateCache(Long id) {
+    cacheInvalidation.fire(
+        new CacheInvalidationEvent(WarehouseRepository.CACHE_REGION, DbWarehouse.class, id));
+  }
+}
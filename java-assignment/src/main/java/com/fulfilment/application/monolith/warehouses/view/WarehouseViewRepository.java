@@ -0,0 +1,25 @@
+package com.fulfilment.application.monolith.warehouses.view;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import io.quarkus.panache.common.Sort;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.List;
+
+@ApplicationScoped
+public class WarehouseViewRepository implements PanacheRepositoryBase<WarehouseView, String> {
+
+  public List<WarehouseView> listActive() {
+    return list("archivedAt is null", Sort.by("businessUnitCode"));
+  }
+
+  public List<LocationSummary> locationSummaries() {
+    return getEntityManager().createQuery(
+            "select new " + LocationSummary.class.getName() + "(v.location,"
+                + " v.locationMaxWarehouses, v.locationMaxCapacity, count(v), sum(v.capacity),"
+                + " sum(v.stock)) from WarehouseView v where v.archivedAt is null"
+                + " group by v.location, v.locationMaxWarehouses, v.locationMaxCapacity"
+                + " order by v.location",
+            LocationSummary.class)
+        .getResultList();
+  }
+}
@@ -0,0 +1,32 @@
+package com.fulfilment.application.monolith.warehouses.view;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+/**
+ * Admin endpoint that rebuilds {@link WarehouseView} from the {@code warehouse} table. Not
+ * authenticated: expose {@code /admin} only on the internal network or behind the gateway's
+ * admin policy.
+ */
+@Path("admin/warehouse-view")
+@ApplicationScoped
+public class WarehouseViewResource {
+
+  private final WarehouseViewProjector projector;
+
+  public WarehouseViewResource(WarehouseViewProjector projector) {
+    this.projector = projector;
+  }
+
+  @POST
+  @Path("rebuild")
+  @Produces(MediaType.APPLICATION_JSON)
+  public RebuildResult rebuild() {
+    return new RebuildResult(projector.rebuild());
+  }
+
+  public record RebuildResult(int businessUnitCodes) {}
+}
@@ -0,0 +1,18 @@
+/**
+ * Read model of the warehouse feature.
+ *
+ * <h2>Projection</h2>
+ * <p>{@link WarehouseViewProjector} applies each committed
+ * {@link com.fulfilment.application.monolith.warehouses.WarehouseEvent} to
+ * {@link WarehouseView}, the {@code warehouse_view} table with one denormalized row per business
+ * unit code. It records the time from change to projection as {@code warehouse.projection.lag}.
+ * It rebuilds the table from the {@code warehouse} table on {@code POST
+ * /admin/warehouse-view/rebuild}, or at startup when the table is empty.</p>
+ *
+ * <h2>Queries</h2>
+ * <p>{@link WarehouseViewRepository} serves the warehouse list of {@code WarehouseResourceImpl}
+ * and {@link WarehouseDashboardResource}: utilization per location against its limits, and
+ * utilization and generation count per business unit code. Neither joins nor aggregates over
+ * the {@code warehouse} table. See ADR: CQRS Read Model for Warehouse Lists and Dashboards.</p>
+ */
+package com.fulfilment.application.monolith.warehouses.view;
@@ -0,0 +1,16 @@
+-- Schema of a warehouse shard (warehouse-sharding.datasources). Idempotent: H2 runs it on every
+-- connection through INIT, PostgreSQL shards are set up with it once.
+create sequence if not exists warehouse_SEQ start with 1 increment by 50;
+create table if not exists warehouse (
+    capacity integer,
+    stock integer,
+    archivedAt timestamp(6),
+    createdAt timestamp(6),
+    id bigint not null,
+    version bigint not null,
+    businessUnitCode varchar(255),
+    location varchar(255),
+    primary key (id)
+);
+create index if not exists warehouse_location on warehouse (location);
+create index if not exists warehouse_business_unit_code on warehouse (businessUnitCode);
@@ -0,0 +1,94 @@
+package com.fulfilment.application.monolith.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fulfilment.application.monolith.admission.AdmissionController.Lane;
+import com.fulfilment.application.monolith.http.ApiException;
+import com.fulfilment.application.monolith.http.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class AdmissionControllerTest {
+
+  private final AtomicLong now = new AtomicLong();
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @Test
+  void shouldShedReadsFirstBecauseWritesCountAgainstThem() {
+    // Given
+    AdmissionController controller = controller(true, 2);
+    controller.acquire(Lane.WRITE);
+    controller.acquire(Lane.READ);
+
+    // When
+    ApiException exception = assertThrows(ApiException.class, () -> controller.acquire(Lane.READ));
+    controller.acquire(Lane.WRITE);
+
+    // Then
+    assertEquals(ErrorCode.SERVICE_UNAVAILABLE, exception.errorCode());
+    assertEquals("CONCURRENCY_LIMIT", exception.reason());
+    assertEquals(Duration.ofSeconds(1), exception.retryAfter());
+    assertEquals(2, controller.inFlight(Lane.WRITE));
+    assertEquals(1.0, registry.counter(AdmissionController.REJECTED, "lane", "read").count());
+  }
+
+  @Test
+  void shouldAdmitAgainOnceRequestsComplete() {
+    // Given
+    AdmissionController controller = controller(true, 2);
+    controller.acquire(Lane.WRITE);
+    controller.acquire(Lane.WRITE);
+    assertThrows(ApiException.class, () -> controller.acquire(Lane.WRITE));
+
+    // When
+    controller.release(Lane.WRITE, -1);
+
+    // Then
+    controller.acquire(Lane.WRITE);
+    assertEquals(2, controller.inFlight(Lane.WRITE));
+  }
+
+  @Test
+  void shouldReportSheddingForReadinessWindow() {
+    // Given
+    AdmissionController controller = controller(true, 1);
+    controller.acquire(Lane.READ);
+    assertFalse(controller.isShedding());
+
+    // When
+    assertThrows(ApiException.class, () -> controller.acquire(Lane.READ));
+
+    // Then
+    assertTrue(controller.isShedding());
+    now.addAndGet(Duration.ofSeconds(6).toNanos());
+    assertFalse(controller.isShedding());
+  }
+
+  @Test
+  void shouldAdmitEverythingWhenDisabled() {
+    // Given
+    AdmissionController controller = controller(false, 1);
+
+    // When
+    for (int i = 0; i < 10; i++) {
+      controller.acquire(Lane.READ);
+    }
+
+    // Then
+    assertEquals(0, controller.inFlight(Lane.READ));
+    assertFalse(controller.isShedding());
+  }
+
+  private AdmissionController controller(boolean enabled, int limit) {
+    return new AdmissionController(enabled,
+        new GradientLimit(limit, limit, limit, 1.5), new GradientLimit(limit, limit, limit, 1.5),
+        Duration.ofSeconds(1), Duration.ofSeconds(5), now::get,
+        registry.counter(AdmissionController.REJECTED, "lane", "read"),
+        registry.counter(AdmissionController.REJECTED, "lane", "write"));
+  }
+}
@@ -0,0 +1,23 @@
+package com.fulfilment.application.monolith.admission;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class AdmissionReadinessTest {
+
+  @Test
+  void shouldReportReadyWithLimitsWhileNothingIsShed() {
+    // Given
+    given().when().get("/product").then().statusCode(200);
+
+    // When / Then
+    given().when().get("/q/health/ready")
+        .then().statusCode(200)
+        .body("checks.find { it.name == 'admission' }.status", is("UP"))
+        .body("checks.find { it.name == 'admission' }.data.readLimit", is(20));
+  }
+}
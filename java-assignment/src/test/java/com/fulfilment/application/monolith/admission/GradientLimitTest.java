@@ -0,0 +1,75 @@
+package com.fulfilment.application.monolith.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class GradientLimitTest {
+
+  private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+  private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(60);
+
+  @Test
+  void shouldGrowWhileLatencyStaysFlat() {
+    // Given
+    GradientLimit limit = new GradientLimit(20, 8, 200, 1.5);
+
+    // When
+    for (int i = 0; i < 50; i++) {
+      limit.onSample(FAST, limit.limit());
+    }
+
+    // Then
+    assertTrue(limit.limit() > 20, "limit " + limit.limit());
+  }
+
+  @Test
+  void shouldShrinkWhenLatencyRises() {
+    // Given
+    GradientLimit limit = new GradientLimit(40, 8, 200, 1.5);
+    for (int i = 0; i < 100; i++) {
+      limit.onSample(FAST, 1);
+    }
+
+    // When
+    for (int i = 0; i < 10; i++) {
+      limit.onSample(SLOW, limit.limit());
+    }
+
+    // Then
+    assertTrue(limit.limit() < 40, "limit " + limit.limit());
+  }
+
+  @Test
+  void shouldNotGrowWhileLimitIsNotUsed() {
+    // Given
+    GradientLimit limit = new GradientLimit(20, 8, 200, 1.5);
+
+    // When
+    for (int i = 0; i < 50; i++) {
+      limit.onSample(FAST, 3);
+    }
+
+    // Then
+    assertEquals(20, limit.limit());
+  }
+
+  @Test
+  void shouldNotShrinkBelowMinimum() {
+    // Given
+    GradientLimit limit = new GradientLimit(8, 8, 200, 1.5);
+    for (int i = 0; i < 100; i++) {
+      limit.onSample(FAST, 1);
+    }
+
+    // When
+    for (int i = 0; i < 10; i++) {
+      limit.onSample(SLOW * 10, limit.limit());
+    }
+
+    // Then
+    assertEquals(8, limit.limit());
+  }
+}
@@ -0,0 +1,23 @@
+/**
+ * Tests for the adaptive concurrency limits.
+ *
+ * <h2>Test classification</h2>
+ * <ul>
+ *   <li><strong>Unit tests</strong> ({@code GradientLimitTest}) &mdash; plain JUnit with
+ *       synthetic latencies. Cover growth at flat latency, shrinking when latency rises, no
+ *       growth while the limit is not used, and the lower bound.</li>
+ *   <li><strong>Unit tests</strong> ({@code AdmissionControllerTest}) &mdash; plain JUnit with
+ *       fixed limits and a fake clock. Cover write priority over reads, the {@code 503} with
+ *       a retry delay, release, the readiness window and the disabled switch.</li>
+ *   <li><strong>Integration tests</strong> ({@code AdmissionReadinessTest}) &mdash;
+ *       {@code @QuarkusTest}. Check the {@code admission} check on {@code /q/health/ready}.</li>
+ * </ul>
+ *
+ * <p>The interceptor is exercised by every {@code @QuarkusTest} of the store, product and
+ * warehouse resources, which stay below the minimum limit.</p>
+ *
+ * <h2>Code style: explicit types over {@code var}</h2>
+ * <p>Explicit type declarations are preferred over {@code var} to maximise
+ * readability for human reviewers and AI coding agents.</p>
+ */
+package com.fulfilment.application.monolith.admission;
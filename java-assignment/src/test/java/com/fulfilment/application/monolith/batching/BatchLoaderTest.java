@@ -0,0 +1,91 @@
+package com.fulfilment.application.monolith.batching;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fulfilment.application.monolith.http.ApiException;
+import com.fulfilment.application.monolith.http.ErrorCode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class BatchLoaderTest {
+
+  private static final Map<Long, String> NAMES =
+      Map.of(1L, "TONSTAD", 2L, "KALLAX", 3L, "BESTÅ", 4L, "HEMNES", 5L, "BILLY");
+
+  @Test
+  void shouldQueryOncePerChunkAndKeepRequestOrder() {
+    // Given
+    BatchLoader loader = new BatchLoader(2, 500);
+    List<List<Long>> queries = new ArrayList<>();
+
+    // When
+    List<String> names = loader.load(List.of(5L, 3L, 99L, 1L, 3L, 4L), chunk -> {
+      queries.add(chunk);
+      // the database answers in its own order
+      return chunk.stream().filter(NAMES::containsKey).sorted().map(NAMES::get).toList();
+    }, name -> idOf(name));
+
+    // Then
+    assertEquals(List.of(List.of(5L, 3L), List.of(99L, 1L), List.of(4L)), queries);
+    assertEquals(List.of("BILLY", "BESTÅ", "TONSTAD", "HEMNES"), names);
+  }
+
+  @Test
+  void shouldNotQueryWithoutKeys() {
+    // Given
+    BatchLoader loader = new BatchLoader(2, 500);
+    List<List<Long>> queries = new ArrayList<>();
+
+    // When
+    List<String> names = loader.load(List.<Long>of(), chunk -> {
+      queries.add(chunk);
+      return List.of();
+    }, name -> idOf(name));
+
+    // Then
+    assertEquals(List.of(), names);
+    assertEquals(List.of(), queries);
+  }
+
+  @Test
+  void shouldParseCommaSeparatedAndRepeatedKeys() {
+    // Given
+    BatchLoader loader = new BatchLoader(100, 500);
+
+    // When
+    List<Long> keys = loader.keys("ids", List.of("3, 1,,2", "1", "4"), Long::valueOf);
+
+    // Then
+    assertEquals(List.of(3L, 1L, 2L, 4L), keys);
+  }
+
+  @Test
+  void shouldRejectInvalidAndTooManyKeys() {
+    // Given
+    BatchLoader loader = new BatchLoader(100, 3);
+
+    // When
+    ApiException invalid = assertThrows(ApiException.class,
+        () -> loader.keys("ids", List.of("1,two"), Long::valueOf));
+    ApiException tooMany = assertThrows(ApiException.class,
+        () -> loader.keys("businessUnitCodes", List.of("A,B,C,D"), Function.identity()));
+
+    // Then
+    assertEquals(ErrorCode.INVALID_REQUEST, invalid.errorCode());
+    assertEquals(ErrorCode.INVALID_REQUEST, tooMany.errorCode());
+    assertEquals(List.of("A", "B", "C"),
+        loader.keys("businessUnitCodes", List.of("A,B,C,A"), Function.identity()));
+  }
+
+  private static Long idOf(String name) {
+    return NAMES.entrySet().stream()
+        .filter(entry -> entry.getValue().equals(name))
+        .findFirst()
+        .orElseThrow()
+        .getKey();
+  }
+}
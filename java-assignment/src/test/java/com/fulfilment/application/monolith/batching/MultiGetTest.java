@@ -0,0 +1,55 @@
+package com.fulfilment.application.monolith.batching;
+
+import static com.fulfilment.application.monolith.sql.StatementBudget.HEADER;
+import static com.fulfilment.application.monolith.sql.StatementBudget.atMost;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class MultiGetTest {
+
+  @Test
+  void shouldGetStoresAndProductsByIdsInOneQuery() {
+    // When / Then — unknown ids are left out, duplicates answered once
+    given().when().get("/store?ids=3,1,99,2,1")
+        .then().statusCode(200)
+        .header(HEADER, atMost(1))
+        .body("id", contains(3, 1, 2));
+    given().when().get("/product?ids=2&ids=1")
+        .then().statusCode(200)
+        .header(HEADER, atMost(1))
+        .body("id", contains(2, 1));
+  }
+
+  @Test
+  void shouldGetWarehousesByIdsOrBusinessUnitCodes() {
+    // When / Then
+    given().when().get("/warehouse?ids=3,1")
+        .then().statusCode(200)
+        .header(HEADER, atMost(1))
+        .body("id", contains("3", "1"));
+    given().when().get("/warehouse?businessUnitCodes=MWH.023,MWH.404,MWH.012")
+        .then().statusCode(200)
+        .header(HEADER, atMost(1))
+        .body("businessUnitCode", contains("MWH.023", "MWH.012"));
+    given().when().get("/warehouse?ids=")
+        .then().statusCode(200)
+        .body("$", empty());
+  }
+
+  @Test
+  void shouldRejectInvalidMultiGets() {
+    // When / Then
+    given().when().get("/store?ids=1,two")
+        .then().statusCode(422)
+        .body("errorCode", is("INVALID_REQUEST"));
+    given().when().get("/warehouse?ids=1&businessUnitCodes=MWH.001")
+        .then().statusCode(422)
+        .body("errorCode", is("INVALID_REQUEST"));
+  }
+}
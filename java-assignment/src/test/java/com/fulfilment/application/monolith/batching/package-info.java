@@ -0,0 +1,19 @@
+/**
+ * Tests for batched loading and the multi-get endpoints.
+ *
+ * <h2>Test classification</h2>
+ * <ul>
+ *   <li><strong>Unit tests</strong> ({@code BatchLoaderTest}) &mdash; plain JUnit with a
+ *       recording query. Cover one query per chunk, request order, unknown and duplicate keys,
+ *       and the parsing and limits of the key parameters.</li>
+ *   <li><strong>Integration tests</strong> ({@code MultiGetTest}) &mdash; {@code @QuarkusTest}
+ *       with RestAssured. Check {@code ?ids=} on {@code /store}, {@code /product} and
+ *       {@code /warehouse}, {@code ?businessUnitCodes=}, the {@code 422}s, and that each
+ *       multi-get ran one statement ({@code X-SQL-Statement-Count}).</li>
+ * </ul>
+ *
+ * <h2>Code style: explicit types over {@code var}</h2>
+ * <p>Explicit type declarations are preferred over {@code var} to maximise
+ * readability for human reviewers and AI coding agents.</p>
+ */
+package com.fulfilment.application.monolith.batching;
@@ -0,0 +1,173 @@
+package com.fulfilment.application.monolith.coalescing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReadCoalescerTest {
+
+  private static final UnaryOperator<StringBuilder> COPY = StringBuilder::new;
+
+  private SimpleMeterRegistry registry;
+  private ExecutorService callers;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    callers = Executors.newFixedThreadPool(8);
+  }
+
+  @AfterEach
+  void tearDown() {
+    callers.shutdownNow();
+  }
+
+  @Test
+  void shouldShareOneExecutionBetweenConcurrentCallers() throws Exception {
+    // Given
+    ReadCoalescer coalescer = new ReadCoalescer(true, () -> true, registry);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger executions = new AtomicInteger();
+    Supplier<StringBuilder> loader = () -> {
+      executions.incrementAndGet();
+      await(release);
+      return new StringBuilder("MWH.001");
+    };
+
+    // When
+    List<Future<StringBuilder>> results = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      results.add(callers.submit(() -> coalescer.load("warehouse.id", 1L, loader, COPY)));
+    }
+    waitForCoalesced(7);
+    release.countDown();
+
+    // Then
+    List<StringBuilder> loaded = new ArrayList<>();
+    for (Future<StringBuilder> result : results) {
+      loaded.add(result.get(5, TimeUnit.SECONDS));
+    }
+    assertEquals(1, executions.get());
+    assertEquals(8, loaded.stream().map(StringBuilder::toString).filter("MWH.001"::equals).count());
+    assertEquals(8, loaded.stream().distinct().count());
+    assertEquals(1.0, count("executed"));
+    assertEquals(0, coalescer.inFlight());
+  }
+
+  @Test
+  void shouldShareFailureAndRunAgainAfterwards() throws Exception {
+    // Given
+    ReadCoalescer coalescer = new ReadCoalescer(true, () -> true, registry);
+    CountDownLatch release = new CountDownLatch(1);
+    Supplier<StringBuilder> failing = () -> {
+      await(release);
+      throw new IllegalStateException("connection reset");
+    };
+    Future<StringBuilder> first =
+        callers.submit(() -> coalescer.load("store.id", 7L, failing, COPY));
+    waitForInFlight(coalescer);
+    Future<StringBuilder> second =
+        callers.submit(() -> coalescer.load("store.id", 7L, () -> new StringBuilder(), COPY));
+    waitForCoalesced(1);
+
+    // When
+    release.countDown();
+
+    // Then
+    for (Future<StringBuilder> result : List.of(first, second)) {
+      Exception exception = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+      assertEquals("connection reset", exception.getCause().getMessage());
+    }
+    StringBuilder retried =
+        coalescer.load("store.id", 7L, () -> new StringBuilder("Utrecht"), COPY);
+    assertEquals("Utrecht", retried.toString());
+  }
+
+  @Test
+  void shouldNotCoalesceWhenNotCoalescable() throws Exception {
+    // Given
+    ReadCoalescer coalescer = new ReadCoalescer(true, () -> false, registry);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger executions = new AtomicInteger();
+    Supplier<StringBuilder> loader = () -> {
+      executions.incrementAndGet();
+      await(release);
+      return new StringBuilder("MWH.001");
+    };
+    Future<StringBuilder> first =
+        callers.submit(() -> coalescer.load("warehouse.id", 1L, loader, COPY));
+    Future<StringBuilder> second =
+        callers.submit(() -> coalescer.load("warehouse.id", 1L, loader, COPY));
+
+    // When
+    while (executions.get() < 2) {
+      Thread.onSpinWait();
+    }
+    release.countDown();
+
+    // Then
+    assertNotSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+    assertEquals(0.0, count("executed"));
+  }
+
+  @Test
+  void shouldReturnLoaderResultItselfToTheCallerThatRanIt() {
+    // Given
+    ReadCoalescer coalescer = new ReadCoalescer(true, () -> true, registry);
+    StringBuilder loaded = new StringBuilder("Zwolle");
+
+    // When
+    StringBuilder result = coalescer.load("product.id", 3L, () -> loaded, COPY);
+    StringBuilder missing = coalescer.load("product.id", 4L, () -> null, COPY);
+
+    // Then
+    assertSame(loaded, result);
+    assertNull(missing);
+    assertEquals(2.0, count("executed"));
+  }
+
+  private void waitForCoalesced(int callers) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (count("coalesced") < callers && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    assertEquals(callers, count("coalesced"));
+  }
+
+  private static void waitForInFlight(ReadCoalescer coalescer) throws InterruptedException {
+    while (coalescer.inFlight() == 0) {
+      Thread.sleep(1);
+    }
+  }
+
+  private double count(String result) {
+    return registry.find(ReadCoalescer.LOADS).tag("result", result).counters().stream()
+        .mapToDouble(Counter::count).sum();
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
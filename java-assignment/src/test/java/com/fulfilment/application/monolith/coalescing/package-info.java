@@ -0,0 +1,19 @@
+/**
+ * Tests for single-flight read coalescing.
+ *
+ * <h2>Test classification</h2>
+ * <ul>
+ *   <li><strong>Unit tests</strong> ({@code ReadCoalescerTest}) &mdash; plain JUnit with
+ *       loaders held on a latch. Cover one execution shared by concurrent callers with a copy
+ *       each, a shared failure followed by a fresh execution, no coalescing where it is not
+ *       allowed, and the loader's own result for the caller that ran it.</li>
+ * </ul>
+ *
+ * <p>The warehouse store decorator and the store and product lookups are exercised by every
+ * {@code @QuarkusTest} that reads them outside a transaction.</p>
+ *
+ * <h2>Code style: explicit types over {@code var}</h2>
+ * <p>Explicit type declarations are preferred over {@code var} to maximise
+ * readability for human reviewers and AI coding agents.</p>
+ */
+package com.fulfilment.application.monolith.coalescing;
@@ -0,0 +1,59 @@
+package com.fulfilment.application.monolith.coherence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class InvalidationBatchTest {
+
+  @Test
+  void shouldRoundTripInvalidations() {
+    // Given
+    List<Invalidation> invalidations = List.of(
+        new Invalidation("store", "Store", 3L), new Invalidation("warehouse", "DbWarehouse", null));
+
+    // When
+    List<String> payloads = InvalidationBatch.encode("node-a", 1_000L, invalidations,
+        InvalidationBatch.MAX_PAYLOAD_BYTES);
+    InvalidationBatch decoded = InvalidationBatch.decode(payloads.get(0));
+
+    // Then
+    assertEquals(List.of("node-a 1000 store:Store:3,warehouse:DbWarehouse:*"), payloads);
+    assertEquals(new InvalidationBatch("node-a", 1_000L, invalidations), decoded);
+  }
+
+  @Test
+  void shouldSplitBatchesOverPayloadLimit() {
+    // Given
+    List<Invalidation> invalidations = new ArrayList<>();
+    for (long id = 0; id < 1_000; id++) {
+      invalidations.add(new Invalidation("product", "Product", id));
+    }
+
+    // When
+    List<String> payloads = InvalidationBatch.encode("node-a", 1L, invalidations, 200);
+
+    // Then
+    List<Invalidation> decoded = new ArrayList<>();
+    for (String payload : payloads) {
+      assertTrue(payload.length() <= 200, payload);
+      decoded.addAll(InvalidationBatch.decode(payload).invalidations());
+    }
+    assertTrue(payloads.size() > 1);
+    assertEquals(invalidations, decoded);
+  }
+
+  @Test
+  void shouldRejectMalformedPayloads() {
+    // When / Then
+    assertThrows(IllegalArgumentException.class, () -> InvalidationBatch.decode("node-a"));
+    assertThrows(IllegalArgumentException.class,
+        () -> InvalidationBatch.decode("node-a 1 store:Store"));
+    assertThrows(IllegalArgumentException.class,
+        () -> InvalidationBatch.decode("node-a later store:Store:1"));
+  }
+}
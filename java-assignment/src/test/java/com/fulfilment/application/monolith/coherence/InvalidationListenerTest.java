@@ -0,0 +1,94 @@
+package com.fulfilment.application.monolith.coherence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+class InvalidationListenerTest {
+
+  private final LocalCaches caches = mock(LocalCaches.class);
+  private SimpleMeterRegistry registry;
+  private InvalidationListener listener;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    listener = new InvalidationListener(true, "cache_invalidation", null, caches, "node-a",
+        Duration.ofSeconds(1), () -> 1_250L, registry);
+  }
+
+  @Test
+  void shouldEvictOtherInstancesWritesAndRecordStaleness() {
+    // When
+    listener.receive("node-b 1000 store:Store:3,product:Product:*");
+
+    // Then
+    verify(caches).evict(new Invalidation("store", "Store", 3L));
+    verify(caches).evict(new Invalidation("product", "Product", null));
+    assertEquals(250.0, registry.timer(InvalidationListener.STALENESS)
+        .totalTime(TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  void shouldSkipOwnAndMalformedBatches() {
+    // When
+    listener.receive("node-a 1000 store:Store:3");
+    listener.receive("garbage");
+
+    // Then
+    verify(caches, never()).evict(any());
+  }
+
+  @Test
+  void shouldResyncOnConnectThenApplyNotificationsUntilConnectionFails() throws SQLException {
+    // Given
+    Connection connection = mock(Connection.class);
+    Statement statement = mock(Statement.class);
+    PGConnection notifications = mock(PGConnection.class);
+    PGNotification notification = mock(PGNotification.class);
+    when(connection.createStatement()).thenReturn(statement);
+    when(connection.unwrap(PGConnection.class)).thenReturn(notifications);
+    when(notification.getParameter()).thenReturn("node-b 1000 store:Store:3");
+    when(notifications.getNotifications(any(Integer.class)))
+        .thenReturn(null, new PGNotification[] {notification})
+        .thenThrow(new SQLException("connection reset"));
+    InvalidationListener connected = new InvalidationListener(true, "cache_invalidation",
+        () -> connection, caches, "node-a", Duration.ofSeconds(1), () -> 1_250L, registry);
+
+    // When
+    assertThrows(SQLException.class, connected::listen);
+
+    // Then
+    InOrder order = inOrder(statement, caches, connection);
+    order.verify(statement).execute("LISTEN cache_invalidation");
+    order.verify(caches).evictAll();
+    order.verify(caches).evict(new Invalidation("store", "Store", 3L));
+    order.verify(connection).close();
+    assertEquals(1.0, registry.counter(InvalidationListener.RESYNCS).count());
+  }
+
+  @Test
+  void shouldRejectChannelThatIsNotAnIdentifier() {
+    // When / Then
+    assertThrows(IllegalArgumentException.class, () -> new InvalidationListener(true,
+        "x; drop table store", null, caches, "node-a", Duration.ofSeconds(1), () -> 0L,
+        registry));
+  }
+}
@@ -0,0 +1,133 @@
+package com.fulfilment.application.monolith.coherence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fulfilment.application.monolith.http.CacheInvalidationEvent;
+import com.fulfilment.application.monolith.stores.Store;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InvalidationPublisherTest {
+
+  private final List<Runnable> scheduled = new ArrayList<>();
+  private final List<Long> delays = new ArrayList<>();
+  private final List<String> sent = new ArrayList<>();
+  private final AtomicBoolean failing = new AtomicBoolean();
+  private final AtomicLong now = new AtomicLong(1_000);
+  private SimpleMeterRegistry registry;
+  private InvalidationPublisher publisher;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    publisher = publisher(true);
+  }
+
+  @Test
+  void shouldSendOneDeduplicatedBatchPerWindow() {
+    // Given
+    publisher.onInvalidation(new CacheInvalidationEvent("store", Store.class, 1L));
+    now.addAndGet(5);
+    publisher.onInvalidation(new CacheInvalidationEvent("store", Store.class, 2L));
+    publisher.onInvalidation(new CacheInvalidationEvent("store", Store.class, 1L));
+
+    // When
+    runScheduled();
+
+    // Then — the batch is stamped with its oldest write
+    assertEquals(List.of("node-a 1000 store:Store:1,store:Store:2"), sent);
+    assertEquals(1.0, registry.counter(InvalidationPublisher.PUBLISHED).count());
+  }
+
+  @Test
+  void shouldRetryFailedBatchInNextWindow() {
+    // Given
+    failing.set(true);
+    publisher.onInvalidation(new CacheInvalidationEvent("store", Store.class, 1L));
+    runScheduled();
+    now.addAndGet(50);
+    publisher.onInvalidation(new CacheInvalidationEvent("store", Store.class, 2L));
+
+    // When
+    failing.set(false);
+    runScheduled();
+
+    // Then
+    assertEquals(List.of("node-a 1000 store:Store:1,store:Store:2"), sent);
+  }
+
+  @Test
+  void shouldBackOffWhileSendingFailsAndResetOnceItSucceeds() {
+    // Given
+    failing.set(true);
+    publisher.onInvalidation(new CacheInvalidationEvent("store", Store.class, 1L));
+
+    // When
+    for (int attempt = 0; attempt < 10; attempt++) {
+      runScheduled();
+    }
+    failing.set(false);
+    runScheduled();
+    publisher.onInvalidation(new CacheInvalidationEvent("store", Store.class, 2L));
+
+    // Then — the wait doubles up to the cap, and is back to the window after a success
+    assertEquals(List.of(20L, 40L, 80L, 160L, 320L, 640L, 1280L, 2560L, 5000L, 5000L, 5000L, 20L),
+        delays);
+    assertEquals(List.of("node-a 1000 store:Store:1"), sent);
+  }
+
+  @Test
+  void shouldNotScheduleEarlierFlushForWritesDuringBackOff() {
+    // Given
+    failing.set(true);
+    publisher.onInvalidation(new CacheInvalidationEvent("store", Store.class, 1L));
+    runScheduled();
+
+    // When
+    publisher.onInvalidation(new CacheInvalidationEvent("store", Store.class, 2L));
+
+    // Then — the retry already scheduled takes the new write along
+    assertEquals(List.of(20L, 40L), delays);
+    assertEquals(1, scheduled.size());
+  }
+
+  @Test
+  void shouldDoNothingWhenDisabled() {
+    // Given
+    InvalidationPublisher disabled = publisher(false);
+
+    // When
+    disabled.onInvalidation(new CacheInvalidationEvent("store", Store.class, 1L));
+
+    // Then
+    assertTrue(scheduled.isEmpty());
+    assertTrue(sent.isEmpty());
+  }
+
+  private void runScheduled() {
+    List<Runnable> tasks = new ArrayList<>(scheduled);
+    scheduled.clear();
+    tasks.forEach(Runnable::run);
+  }
+
+  private InvalidationPublisher publisher(boolean enabled) {
+    return new InvalidationPublisher(enabled, "node-a", Class::getSimpleName, 20, 5_000,
+        (task, delayMillis) -> {
+          scheduled.add(task);
+          delays.add(delayMillis);
+        },
+        payload -> {
+          if (failing.get()) {
+            throw new SQLException("connection refused");
+          }
+          sent.add(payload);
+        }, now::get, registry);
+  }
+}
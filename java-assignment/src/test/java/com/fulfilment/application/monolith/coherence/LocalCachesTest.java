@@ -0,0 +1,89 @@
+package com.fulfilment.application.monolith.coherence;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.fulfilment.application.monolith.http.ResponseCache;
+import com.fulfilment.application.monolith.stores.Store;
+import jakarta.persistence.Cache;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LocalCachesTest {
+
+  private final Cache entities = mock(Cache.class);
+  private ResponseCache responses;
+  private LocalCaches caches;
+
+  @BeforeEach
+  void setUp() {
+    responses = new ResponseCache(true, 100);
+    caches = new LocalCaches(responses, entities, Map.of("Store", Store.class));
+  }
+
+  @Test
+  void shouldEvictEntityAndCachedResponse() {
+    // Given
+    cache("store", "id:3");
+    cache("store", "id:4");
+
+    // When
+    caches.evict(new Invalidation("store", "Store", 3L));
+
+    // Then
+    verify(entities).evict(Store.class, 3L);
+    assertNull(responses.get("store", "id:3"));
+    assertNotNull(responses.get("store", "id:4"));
+  }
+
+  @Test
+  void shouldEvictWholeRegion() {
+    // Given
+    cache("store", "id:4");
+
+    // When
+    caches.evict(new Invalidation("store", "Store", null));
+
+    // Then
+    verify(entities).evict(Store.class);
+    assertNull(responses.get("store", "id:4"));
+  }
+
+  @Test
+  void shouldOnlyEvictResponsesOfUnknownEntity() {
+    // Given — an instance running an older version may not know the entity
+    cache("pallet", "id:1");
+
+    // When
+    caches.evict(new Invalidation("pallet", "Pallet", 1L));
+
+    // Then
+    verifyNoInteractions(entities);
+    assertNull(responses.get("pallet", "id:1"));
+  }
+
+  @Test
+  void shouldEvictEverythingOnResync() {
+    // Given
+    cache("store", "id:4");
+    cache("product", "/product");
+
+    // When
+    caches.evictAll();
+
+    // Then
+    verify(entities).evictAll();
+    assertNull(responses.get("store", "id:4"));
+    assertNull(responses.get("product", "/product"));
+  }
+
+  private void cache(String region, String key) {
+    responses.put(region, key, responses.generation(region),
+        "{}".getBytes(StandardCharsets.UTF_8), "\"1\"");
+  }
+}
@@ -0,0 +1,21 @@
+/**
+ * Tests for cache coherence between instances.
+ *
+ * <h2>Test classification</h2>
+ * <ul>
+ *   <li><strong>Unit tests</strong> ({@code InvalidationBatchTest}) &mdash; plain JUnit. Cover
+ *       the payload format, splitting under the size limit and malformed payloads.</li>
+ *   <li><strong>Unit tests</strong> ({@code InvalidationPublisherTest}) &mdash; plain JUnit
+ *       with a captured batch window and sender. Cover de-duplication, the oldest-write stamp,
+ *       retry after a failed send and the disabled switch.</li>
+ *   <li><strong>Unit tests</strong> ({@code InvalidationListenerTest}) &mdash; plain JUnit with
+ *       a mocked PostgreSQL connection. Cover resync on connect, skipping own batches and the
+ *       staleness timer.</li>
+ *   <li><strong>Unit tests</strong> ({@code LocalCachesTest}) &mdash; plain JUnit with a real
+ *       {@code ResponseCache} and a mocked entity cache.</li>
+ * </ul>
+ *
+ * <p>There is no {@code @QuarkusTest}: the test profile uses H2, which cannot
+ * {@code LISTEN}.</p>
+ */
+package com.fulfilment.application.monolith.coherence;
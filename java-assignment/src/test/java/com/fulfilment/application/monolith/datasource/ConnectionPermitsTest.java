@@ -0,0 +1,64 @@
+package com.fulfilment.application.monolith.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fulfilment.application.monolith.http.ApiException;
+import com.fulfilment.application.monolith.http.ErrorCode;
+import jakarta.interceptor.InvocationContext;
+import java.sql.SQLException;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class ConnectionPermitsTest {
+
+  @Test
+  void shouldNotLimitPlatformThreads() throws Exception {
+    // Given
+    ConnectionPermits permits = new ConnectionPermits(thread -> false, 1, Duration.ofMillis(10));
+
+    // When
+    boolean first = permits.acquire();
+    boolean second = permits.acquire();
+
+    // Then
+    assertFalse(first);
+    assertFalse(second);
+    assertEquals(1, permits.available());
+  }
+
+  @Test
+  void shouldAnswerServiceUnavailableWhenNoPermitFreesInTime() throws Exception {
+    // Given
+    ConnectionPermits permits = new ConnectionPermits(thread -> true, 2, Duration.ofMillis(10));
+    assertTrue(permits.acquire());
+    assertTrue(permits.acquire());
+
+    // When
+    ApiException exception = assertThrows(ApiException.class, permits::acquire);
+
+    // Then
+    assertEquals(ErrorCode.SERVICE_UNAVAILABLE, exception.errorCode());
+    permits.release();
+    assertTrue(permits.acquire());
+  }
+
+  @Test
+  void shouldReturnPermitWhenMethodFails() throws Exception {
+    // Given
+    ConnectionPermits permits = new ConnectionPermits(thread -> true, 1, Duration.ofMillis(10));
+    ConnectionPermitInterceptor interceptor = new ConnectionPermitInterceptor(permits);
+    InvocationContext context = mock(InvocationContext.class);
+    when(context.proceed()).thenThrow(new SQLException("connection reset"));
+
+    // When
+    assertThrows(SQLException.class, () -> interceptor.withPermit(context));
+
+    // Then
+    assertEquals(1, permits.available());
+  }
+}
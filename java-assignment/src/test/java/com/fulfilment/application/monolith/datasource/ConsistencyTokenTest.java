@@ -0,0 +1,67 @@
+package com.fulfilment.application.monolith.datasource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+@TestProfile(ReplicaRoutingProfile.class)
+class ConsistencyTokenTest {
+
+  @Inject
+  MeterRegistry registry;
+
+  @Test
+  void shouldReturnTokenOnWritesOnly() {
+    // When / Then — createStore checks the write's token
+    createStore("TOKEN_WRITE");
+    given().when().get("/store/1")
+        .then().statusCode(200).header(ConsistencyTokenFilter.HEADER, nullValue());
+  }
+
+  @Test
+  void shouldReadOwnWriteFromPrimaryAndOtherReadsFromReplica() {
+    // Given — each create evicts the cached store list, so the next list hits the database
+    String token = createStore("TOKEN_READ_OWN");
+    double primaryBefore = routed("primary");
+
+    // When
+    given().header(ConsistencyTokenFilter.HEADER, token).when().get("/store")
+        .then().statusCode(200);
+
+    // Then
+    assertEquals(primaryBefore + 1, routed("primary"));
+
+    // Given
+    createStore("TOKEN_READ_OTHER");
+    double replicaBefore = routed("replica");
+
+    // When
+    given().when().get("/store").then().statusCode(200);
+
+    // Then
+    assertEquals(replicaBefore + 1, routed("replica"));
+  }
+
+  private String createStore(String name) {
+    return given()
+        .contentType(ContentType.JSON)
+        .body("{\"name\": \"" + name + "\", \"quantityProductsInStock\": 1}")
+        .when().post("/store")
+        .then().statusCode(201)
+        .header(ConsistencyTokenFilter.HEADER, startsWith("ts:"))
+        .extract().header(ConsistencyTokenFilter.HEADER);
+  }
+
+  private double routed(String target) {
+    return registry.counter(ReadReplicaRouting.ROUTING, "target", target).count();
+  }
+}
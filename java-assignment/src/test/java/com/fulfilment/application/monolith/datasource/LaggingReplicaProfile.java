@@ -0,0 +1,20 @@
+package com.fulfilment.application.monolith.datasource;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+import java.util.Map;
+
+/**
+ * Points the "replica" at a database of its own that never receives the primary's writes, and
+ * keeps tokens unreached for an hour.
+ */
+public class LaggingReplicaProfile implements QuarkusTestProfile {
+
+  @Override
+  public Map<String, String> getConfigOverrides() {
+    return Map.of(
+        "datasource-routing.replica-enabled", "true",
+        "quarkus.datasource.replica.jdbc.url", "jdbc:h2:mem:lagging-replica;DB_CLOSE_DELAY=-1;"
+            + "INIT=RUNSCRIPT FROM 'classpath:db/lagging-replica.sql'",
+        "datasource-routing.max-replica-lag", "PT1H");
+  }
+}
@@ -0,0 +1,56 @@
+package com.fulfilment.application.monolith.datasource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.fulfilment.application.monolith.stores.Store;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+@TestProfile(LaggingReplicaProfile.class)
+class LaggingReplicaTest {
+
+  @Inject
+  EntityManagerFactory entityManagerFactory;
+
+  @Test
+  void shouldReadOwnWriteAfterReplicaReadsOfTheSameStore() {
+    // Given — store id=1 read from the replica before and after the write
+    given().when().get("/store/1").then().statusCode(200).body("name", is("TONSTAD"));
+    String token = given()
+        .contentType(ContentType.JSON)
+        .body("{\"name\": \"TONSTAD_RENAMED\", \"quantityProductsInStock\": 10}")
+        .when().put("/store/1")
+        .then().statusCode(200)
+        .extract().header(ConsistencyTokenFilter.HEADER);
+    // as when the write was made on another instance and its invalidation arrived
+    new RoutedEntityCache(entityManagerFactory).evict(Store.class, 1L);
+    given().when().get("/store/1").then().statusCode(200).body("name", is("TONSTAD"));
+
+    // When / Then — neither cache holds what the replica returned
+    given()
+        .header(ConsistencyTokenFilter.HEADER, token)
+        .when().get("/store/1")
+        .then().statusCode(200)
+        .body("name", is("TONSTAD_RENAMED"));
+  }
+
+  @Test
+  void shouldNotCacheEntitiesReadFromReplica() {
+    // Given
+    RoutedEntityCache cache = new RoutedEntityCache(entityManagerFactory);
+    cache.evict(Store.class, 2L);
+
+    // When
+    given().when().get("/store/2").then().statusCode(200).body("name", is("KALLAX"));
+
+    // Then
+    assertFalse(cache.contains(Store.class, 2L));
+  }
+}
@@ -0,0 +1,125 @@
+package com.fulfilment.application.monolith.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.agroal.api.AgroalDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReadReplicaRoutingTest {
+
+  private final AgroalDataSource primary = mock(AgroalDataSource.class);
+  private final AgroalDataSource replica = mock(AgroalDataSource.class);
+  private final ReplicationPositions positions = mock(ReplicationPositions.class);
+  private MeterRegistry registry;
+  private ReadConsistency request;
+  private int replicaSessions;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    request = new ReadConsistency();
+  }
+
+  @Test
+  void shouldReadFromReplicaWithoutToken() {
+    // Given
+    ReadReplicaRouting routing = routing(true, false);
+
+    // When
+    AgroalDataSource chosen = routing.dataSource();
+
+    // Then
+    assertSame(replica, chosen);
+    assertEquals(1.0, registry.counter(ReadReplicaRouting.ROUTING, "target", "replica").count());
+  }
+
+  @Test
+  void shouldUsePrimaryInsideTransaction() {
+    // Given
+    ReadReplicaRouting routing = routing(true, true);
+
+    // When / Then
+    assertSame(primary, routing.dataSource());
+  }
+
+  @Test
+  void shouldNoteWritePositionOfTransactionOfRequest() {
+    // When
+    routing(false, true).dataSource();
+
+    // Then
+    verify(positions).captureBeforeCommit(request);
+  }
+
+  @Test
+  void shouldUsePrimaryWhenReplicaIsDisabled() {
+    // Given
+    ReadReplicaRouting routing = routing(false, false);
+
+    // When / Then
+    assertSame(primary, routing.dataSource());
+  }
+
+  @Test
+  void shouldUsePrimaryOutsideRequest() {
+    // Given — startup and scheduled jobs have no request context
+    ReadReplicaRouting routing = new ReadReplicaRouting(true, () -> false, () -> null,
+        positions, registry, primary, () -> replica, () -> replicaSessions++);
+
+    // When / Then
+    assertSame(primary, routing.dataSource());
+  }
+
+  @Test
+  void shouldUsePrimaryUntilReplicaReachesToken() {
+    // Given
+    request.require("ts:1");
+    when(positions.replicaHasReached("ts:1")).thenReturn(false);
+    ReadReplicaRouting routing = routing(true, false);
+
+    // When
+    AgroalDataSource first = routing.dataSource();
+    AgroalDataSource second = routing.dataSource();
+
+    // Then — decided once per request
+    assertSame(primary, first);
+    assertSame(primary, second);
+    verify(positions, times(1)).replicaHasReached("ts:1");
+    assertEquals(1.0, registry.counter(ReadReplicaRouting.ROUTING, "target", "primary").count());
+  }
+
+  @Test
+  void shouldUseReplicaOnceTokenIsReached() {
+    // Given
+    request.require("ts:1");
+    when(positions.replicaHasReached("ts:1")).thenReturn(true);
+
+    // When / Then
+    assertSame(replica, routing(true, false).dataSource());
+  }
+
+  @Test
+  void shouldKeepOnlyReplicaSessionsFromFillingSecondLevelCache() {
+    // When
+    routing(true, false).dataSource();
+    routing(true, true).dataSource();
+
+    // Then — the transaction reads the primary and may fill the cache
+    assertEquals(1, replicaSessions);
+    assertTrue(request.readFromReplica());
+  }
+
+  private ReadReplicaRouting routing(boolean replicaEnabled, boolean inTransaction) {
+    return new ReadReplicaRouting(replicaEnabled, () -> inTransaction, () -> request,
+        positions, registry, primary, () -> replica, () -> replicaSessions++);
+  }
+}
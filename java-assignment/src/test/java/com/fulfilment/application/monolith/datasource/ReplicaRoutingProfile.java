@@ -0,0 +1,13 @@
+package com.fulfilment.application.monolith.datasource;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+import java.util.Map;
+
+/** Routes request reads to the test "replica", a second pool on the primary's H2 database. */
+public class ReplicaRoutingProfile implements QuarkusTestProfile {
+
+  @Override
+  public Map<String, String> getConfigOverrides() {
+    return Map.of("datasource-routing.replica-enabled", "true");
+  }
+}
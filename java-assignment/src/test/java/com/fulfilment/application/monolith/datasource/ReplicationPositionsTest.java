@@ -0,0 +1,101 @@
+package com.fulfilment.application.monolith.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.agroal.api.AgroalDataSource;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class ReplicationPositionsTest {
+
+  private AtomicLong now;
+  private ReplicationPositions positions;
+
+  @BeforeEach
+  void setUp() {
+    now = new AtomicLong(10_000);
+    positions = new ReplicationPositions(null, null, null, "commit-timestamp",
+        Duration.ofSeconds(1), now::get);
+  }
+
+  @Test
+  void shouldIssueCommitTimestampToken() {
+    // When
+    String token = positions.afterWrite(new ReadConsistency());
+
+    // Then
+    assertEquals("ts:10000", token);
+  }
+
+  @Test
+  void shouldTreatReplicaAsBehindUntilMaxLagHasPassed() {
+    // Given
+    String token = positions.afterWrite(new ReadConsistency());
+
+    // When
+    now.addAndGet(999);
+    boolean withinLag = positions.replicaHasReached(token);
+    now.addAndGet(1);
+    boolean afterLag = positions.replicaHasReached(token);
+
+    // Then
+    assertFalse(withinLag);
+    assertTrue(afterLag);
+  }
+
+  @Test
+  void shouldSendMalformedTokensToPrimary() {
+    // When / Then
+    assertFalse(positions.replicaHasReached("ts:yesterday"));
+    assertFalse(positions.replicaHasReached("whatever"));
+  }
+
+  @Test
+  void shouldIssueIdOfWritingTransactionReadBeforeItCommits() throws SQLException {
+    // Given
+    AgroalDataSource primary = mock(AgroalDataSource.class);
+    Connection connection = mock(Connection.class);
+    Statement statement = mock(Statement.class);
+    ResultSet result = mock(ResultSet.class);
+    when(primary.getConnection()).thenReturn(connection);
+    when(connection.createStatement()).thenReturn(statement);
+    when(statement.executeQuery(anyString())).thenReturn(result);
+    when(result.next()).thenReturn(true);
+    when(result.getString(1)).thenReturn("7321");
+    TransactionSynchronizationRegistry transactions = mock(TransactionSynchronizationRegistry.class);
+    when(transactions.getResource(any())).thenReturn(null, Boolean.TRUE);
+    ReplicationPositions lsn = new ReplicationPositions(primary, null, transactions, "lsn",
+        Duration.ofSeconds(1), now::get);
+    ReadConsistency request = new ReadConsistency();
+
+    // When — the transaction acquires two connections, then commits
+    lsn.captureBeforeCommit(request);
+    lsn.captureBeforeCommit(request);
+    ArgumentCaptor<Synchronization> synchronization = ArgumentCaptor.forClass(Synchronization.class);
+    verify(transactions, times(1)).registerInterposedSynchronization(synchronization.capture());
+    String beforeCommit = lsn.afterWrite(request);
+    synchronization.getValue().beforeCompletion();
+
+    // Then
+    assertNull(beforeCommit);
+    assertEquals("xid:7321", lsn.afterWrite(request));
+  }
+}
@@ -0,0 +1,34 @@
+package com.fulfilment.application.monolith.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fulfilment.application.monolith.stores.Store;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class RoutedEntityCacheTest {
+
+  @Inject
+  EntityManagerFactory entityManagerFactory;
+
+  @Test
+  void shouldEvictEntityCachedUnderRoutingTenant() {
+    // Given — a session of the routing tenant caches store id=1
+    RoutedEntityCache cache = new RoutedEntityCache(entityManagerFactory);
+    QuarkusTransaction.requiringNew().run(() -> Store.findById(1L));
+    assertTrue(cache.contains(Store.class, 1L));
+    // JPA's own lookup builds a key without the tenant and misses the entry
+    assertFalse(entityManagerFactory.getCache().contains(Store.class, 1L));
+
+    // When
+    cache.evict(Store.class, 1L);
+
+    // Then
+    assertFalse(cache.contains(Store.class, 1L));
+  }
+}
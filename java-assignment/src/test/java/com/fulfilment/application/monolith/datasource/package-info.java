@@ -0,0 +1,28 @@
+/**
+ * Tests for read replica routing.
+ *
+ * <h2>Test classification</h2>
+ * <ul>
+ *   <li><strong>Unit tests</strong> ({@code ReadReplicaRoutingTest}) &mdash; plain JUnit with
+ *       mocked pools. Cover transactions, requests without a token, tokens the replica has or
+ *       has not reached, the disabled switch and the once-per-request decision.</li>
+ *   <li><strong>Unit tests</strong> ({@code ReplicationPositionsTest}) &mdash; plain JUnit with
+ *       a fixed clock. Cover commit-timestamp tokens and malformed tokens.</li>
+ *   <li><strong>Integration tests</strong> ({@code ConsistencyTokenTest}) &mdash;
+ *       {@code @QuarkusTest} with {@code ReplicaRoutingProfile}, which turns routing on. The
+ *       test "replica" is a second pool on the same H2 database.
+ *       Check the token header on writes and the {@code datasource.routing} counter for reads
+ *       with and without it.</li>
+ *   <li><strong>Integration tests</strong> ({@code LaggingReplicaTest}) &mdash;
+ *       {@code @QuarkusTest} with {@code LaggingReplicaProfile}, whose replica is a separate H2
+ *       database that never sees a write. Checks that replica reads fill neither the response
+ *       cache nor the second-level cache, so a read with a token sees the write.</li>
+ *   <li><strong>Unit tests</strong> ({@code ConnectionPermitsTest}) &mdash; plain JUnit with a
+ *       stubbed virtual-thread check. Cover unlimited platform threads, the {@code 503} on
+ *       timeout and the permit returned when the method fails.</li>
+ *   <li><strong>Integration tests</strong> ({@code RoutedEntityCacheTest}) &mdash;
+ *       {@code @QuarkusTest}. Checks that an entity cached by a routing-tenant session is found
+ *       and evicted, where JPA's own {@code Cache} misses it.</li>
+ * </ul>
+ */
+package com.fulfilment.application.monolith.datasource;
@@ -0,0 +1,56 @@
+package com.fulfilment.application.monolith.diagnostics;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class FlightRecordingResourceTest {
+
+  @Test
+  void shouldRecordWarehouseStoreAndErrorEventsAndStreamTheFile() throws Exception {
+    // Given — a running recording and a rejected create (duplicate code)
+    given().when().post("/admin/jfr/start?durationSeconds=60")
+        .then().statusCode(200).body("state", is("RUNNING"));
+    given().when().post("/admin/jfr/start").then().statusCode(409);
+    given()
+        .contentType(ContentType.JSON)
+        .body("{\"businessUnitCode\":\"MWH.001\",\"location\":\"AMSTERDAM-001\","
+            + "\"capacity\":20,\"stock\":5}")
+        .when().post("/warehouse")
+        .then().statusCode(400);
+
+    // When
+    byte[] jfr = given().when().post("/admin/jfr/stop")
+        .then()
+        .statusCode(200)
+        .header("Content-Disposition", containsString(".jfr"))
+        .extract().asByteArray();
+
+    // Then
+    Path file = Files.createTempFile("recording", ".jfr");
+    try {
+      Files.write(file, jfr);
+      List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+      assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("fulfilment.WarehouseStore")
+          && "MWH.001".equals(e.getString("businessUnitCode"))));
+      assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("fulfilment.WarehouseOperation")
+          && "rejected:DUPLICATE_BUSINESS_UNIT".equals(e.getString("outcome"))));
+      assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("fulfilment.ErrorMapping")
+          && e.getInt("status") == 400));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+    given().when().post("/admin/jfr/stop").then().statusCode(404);
+  }
+}
@@ -0,0 +1,97 @@
+package com.fulfilment.application.monolith.diagnostics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fulfilment.application.monolith.diagnostics.FlightRecordings.RecordingStatus;
+import com.fulfilment.application.monolith.http.ApiException;
+import com.fulfilment.application.monolith.http.ErrorCode;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FlightRecordingsTest {
+
+  @TempDir Path dir;
+
+  private FlightRecordings recordings;
+
+  @BeforeEach
+  void setUp() {
+    recordings = new FlightRecordings(5, Duration.ofMinutes(1));
+  }
+
+  @AfterEach
+  void tearDown() {
+    try {
+      recordings.stop().close();
+    } catch (ApiException ignored) {
+      // nothing left running
+    }
+  }
+
+  @Test
+  void shouldCapRequestedDurationAndSize() {
+    // When
+    RecordingStatus status = recordings.start(Duration.ofHours(2));
+
+    // Then
+    assertEquals("RUNNING", status.state());
+    assertEquals(Duration.ofMinutes(1), status.duration());
+    assertEquals(5L * 1024 * 1024, status.maxSizeBytes());
+  }
+
+  @Test
+  void shouldRejectSecondConcurrentRecording() {
+    // Given
+    recordings.start(null);
+
+    // When / Then
+    ApiException exception = assertThrows(ApiException.class, () -> recordings.start(null));
+    assertEquals(ErrorCode.CONFLICT, exception.errorCode());
+  }
+
+  @Test
+  void shouldReturn404WhenStoppingWithoutRecording() {
+    // When / Then
+    ApiException exception = assertThrows(ApiException.class, () -> recordings.stop());
+    assertEquals(ErrorCode.NOT_FOUND, exception.errorCode());
+  }
+
+  @Test
+  void shouldCaptureCustomEventsWithFields() throws IOException {
+    // Given
+    recordings.start(null);
+    WarehouseOperationEvent event = new WarehouseOperationEvent();
+    event.begin();
+    event.operation = "replace";
+    event.businessUnitCode = "MWH.012";
+    event.location = "AMSTERDAM-001";
+    event.outcome = "success";
+    event.commit();
+
+    // When
+    Path file = dir.resolve("recording.jfr");
+    try (Recording recording = recordings.stop()) {
+      recording.dump(file);
+    }
+
+    // Then
+    List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+        .filter(e -> e.getEventType().getName().equals("fulfilment.WarehouseOperation"))
+        .toList();
+    assertEquals(1, events.size());
+    assertEquals("MWH.012", events.get(0).getString("businessUnitCode"));
+    assertEquals("AMSTERDAM-001", events.get(0).getString("location"));
+    assertTrue(events.get(0).getStackTrace() == null, "events are recorded without stack traces");
+  }
+}
@@ -0,0 +1,14 @@
+/**
+ * Tests for the JFR diagnostics.
+ *
+ * <h2>Test classification</h2>
+ * <ul>
+ *   <li><strong>Unit tests</strong> ({@code FlightRecordingsTest}) &mdash; plain JUnit against
+ *       a real JFR recording. Cover the size and duration caps, the single-recording rule and
+ *       custom event fields read back with {@code RecordingFile}.</li>
+ *   <li><strong>Integration tests</strong> ({@code FlightRecordingResourceTest}) &mdash;
+ *       {@code @QuarkusTest}. Start, stop and download a recording over HTTP and check that
+ *       a rejected warehouse create produced operation, store-call and error events.</li>
+ * </ul>
+ */
+package com.fulfilment.application.monolith.diagnostics;
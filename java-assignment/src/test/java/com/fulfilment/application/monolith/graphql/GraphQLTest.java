@@ -0,0 +1,104 @@
+package com.fulfilment.application.monolith.graphql;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import java.util.Arrays;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class GraphQLTest {
+
+  // WarehouseLocations in src/main/resources/graphql/persisted-queries.json
+  private static final String WAREHOUSE_LOCATIONS =
+      "613f3558babd135c791f4f2f78f947c9648026a2cdc0df057c6612cdf8899cf4";
+
+  @Inject
+  SessionFactory sessionFactory;
+
+  @Test
+  void shouldResolveWarehousesAndLocationsWithOneQueryPerLevel() {
+    // Given — three warehouses at three locations
+    long before = warehouseQueries();
+
+    // When / Then
+    given().contentType(ContentType.JSON)
+        .body(query("{ warehouses(ids: [\\\"3\\\", \\\"2\\\", \\\"1\\\"]) { businessUnitCode"
+            + " location { identification maxCapacity warehouses { businessUnitCode } } } }"))
+        .when().post("/graphql")
+        .then().statusCode(200)
+        .body("errors", is((Object) null))
+        .body("data.warehouses.businessUnitCode", contains("MWH.023", "MWH.012", "MWH.001"))
+        .body("data.warehouses.location.identification",
+            contains("TILBURG-001", "AMSTERDAM-001", "ZWOLLE-001"))
+        .body("data.warehouses[0].location.warehouses.businessUnitCode", contains("MWH.023"));
+    // one IN query for the warehouses, one for the warehouses of all their locations
+    assertEquals(2, warehouseQueries() - before);
+  }
+
+  @Test
+  void shouldServeStoresAndProducts() {
+    // When / Then
+    given().contentType(ContentType.JSON)
+        .body(query("{ stores(ids: [\\\"2\\\", \\\"1\\\"]) { id name }"
+            + " products { name stock } }"))
+        .when().post("/graphql")
+        .then().statusCode(200)
+        .body("data.stores.name", contains("KALLAX", "TONSTAD"))
+        .body("data.products.name", notNullValue());
+  }
+
+  @Test
+  void shouldRunPersistedQueryByHash() {
+    // When / Then
+    given()
+        .queryParam("extensions",
+            "{\"persistedQuery\":{\"version\":1,\"sha256Hash\":\"" + WAREHOUSE_LOCATIONS + "\"}}")
+        .queryParam("variables", "{\"businessUnitCodes\":[\"MWH.012\"]}")
+        .when().get("/graphql")
+        .then().statusCode(200)
+        .body("data.warehouses.businessUnitCode", contains("MWH.012"))
+        .body("data.warehouses[0].location.identification", is("AMSTERDAM-001"));
+    given()
+        .queryParam("extensions",
+            "{\"persistedQuery\":{\"version\":1,\"sha256Hash\":\"" + "0".repeat(64) + "\"}}")
+        .when().get("/graphql")
+        .then().statusCode(400)
+        .body("errors[0].extensions.code", is(PersistedQueries.NOT_FOUND));
+  }
+
+  @Test
+  void shouldRejectTooDeepQuery() {
+    // Given — warehouses, location and their fields nested seven levels deep
+    String tooDeep = "{ warehouses { location { warehouses { location { warehouses { location"
+        + " { identification } } } } } } }";
+
+    // When / Then
+    given().contentType(ContentType.JSON)
+        .body(query(tooDeep))
+        .when().post("/graphql")
+        .then().statusCode(200)
+        .body("data", is((Object) null))
+        .body("errors[0].message", notNullValue());
+  }
+
+  private static String query(String query) {
+    return "{\"query\":\"" + query + "\"}";
+  }
+
+  private long warehouseQueries() {
+    Statistics statistics = sessionFactory.getStatistics();
+    return Arrays.stream(statistics.getQueries())
+        .filter(query -> query.contains("DbWarehouse"))
+        .mapToLong(query -> statistics.getQueryStatistics(query).getExecutionCount())
+        .sum();
+  }
+}
@@ -0,0 +1,13 @@
+package com.fulfilment.application.monolith.graphql;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+import java.util.Map;
+
+/** Only persisted queries are accepted, as in production. */
+public class PersistedQueriesOnlyProfile implements QuarkusTestProfile {
+
+  @Override
+  public Map<String, String> getConfigOverrides() {
+    return Map.of("graphql.persisted-queries.only", "true");
+  }
+}
@@ -0,0 +1,50 @@
+package com.fulfilment.application.monolith.graphql;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+@TestProfile(PersistedQueriesOnlyProfile.class)
+class PersistedQueriesOnlyTest {
+
+  // WarehouseLocations in src/main/resources/graphql/persisted-queries.json
+  private static final String WAREHOUSE_LOCATIONS =
+      "613f3558babd135c791f4f2f78f947c9648026a2cdc0df057c6612cdf8899cf4";
+
+  private static final String AD_HOC = "{\"query\": \"{ stores { id name } }\"}";
+
+  @Test
+  void shouldRejectAdHocQueryWithOrWithoutTrailingSlash() {
+    // When / Then
+    for (String path : new String[] {"/graphql", "/graphql/"}) {
+      given().contentType(ContentType.JSON).body(AD_HOC)
+          .when().post(path)
+          .then().statusCode(400)
+          .body("errors[0].extensions.code", is(PersistedQueries.REQUIRED));
+      given().queryParam("query", "{ stores { id name } }")
+          .when().get(path)
+          .then().statusCode(400)
+          .body("errors[0].extensions.code", is(PersistedQueries.REQUIRED));
+    }
+  }
+
+  @Test
+  void shouldRunPersistedQueryWithOrWithoutTrailingSlash() {
+    // When / Then
+    for (String path : new String[] {"/graphql", "/graphql/"}) {
+      given()
+          .queryParam("extensions",
+              "{\"persistedQuery\":{\"version\":1,\"sha256Hash\":\"" + WAREHOUSE_LOCATIONS + "\"}}")
+          .queryParam("variables", "{\"businessUnitCodes\":[\"MWH.012\"]}")
+          .when().get(path)
+          .then().statusCode(200)
+          .body("data.warehouses.businessUnitCode", contains("MWH.012"));
+    }
+  }
+}
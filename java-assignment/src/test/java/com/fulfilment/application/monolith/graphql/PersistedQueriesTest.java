@@ -0,0 +1,64 @@
+package com.fulfilment.application.monolith.graphql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class PersistedQueriesTest {
+
+  private static final String QUERY = "{ stores { name } }";
+  private static final String HASH = PersistedQueries.sha256(QUERY);
+
+  @Test
+  void shouldResolvePersistedQueryByHash() {
+    // Given
+    PersistedQueries queries = new PersistedQueries(true, Map.of(HASH, QUERY), new ObjectMapper());
+
+    // When
+    String query = queries.resolve(extensions(HASH));
+
+    // Then
+    assertEquals(QUERY, query);
+  }
+
+  @Test
+  void shouldRejectUnknownHashAndAdHocQueriesWhenOnlyPersistedAreAccepted() {
+    // Given
+    PersistedQueries queries = new PersistedQueries(true, Map.of(HASH, QUERY), new ObjectMapper());
+
+    // When
+    PersistedQueries.Rejection unknown = assertThrows(PersistedQueries.Rejection.class,
+        () -> queries.resolve(extensions(PersistedQueries.sha256("{ products { name } }"))));
+    PersistedQueries.Rejection adHoc =
+        assertThrows(PersistedQueries.Rejection.class, () -> queries.resolve(null));
+
+    // Then
+    assertEquals(PersistedQueries.NOT_FOUND, unknown.code);
+    assertEquals(PersistedQueries.REQUIRED, adHoc.code);
+  }
+
+  @Test
+  void shouldLetAdHocQueriesPassWhenAllowed() {
+    // Given
+    PersistedQueries queries = new PersistedQueries(false, Map.of(HASH, QUERY), new ObjectMapper());
+
+    // When / Then
+    assertNull(queries.resolve(null));
+    assertNull(queries.resolve("{}"));
+  }
+
+  @Test
+  void shouldRefuseManifestWhoseHashDoesNotMatchItsQuery() {
+    // When / Then
+    assertThrows(IllegalStateException.class, () -> new PersistedQueries(
+        true, Map.of(HASH, "{ stores { name quantityProductsInStock } }"), new ObjectMapper()));
+  }
+
+  private static String extensions(String hash) {
+    return "{\"persistedQuery\":{\"version\":1,\"sha256Hash\":\"" + hash + "\"}}";
+  }
+}
@@ -0,0 +1,22 @@
+/**
+ * Tests for the GraphQL API.
+ *
+ * <h2>Test classification</h2>
+ * <ul>
+ *   <li><strong>Unit tests</strong> ({@code PersistedQueriesTest}) &mdash; plain JUnit. Cover
+ *       lookup by hash, the rejection of unknown hashes and of ad-hoc queries when only
+ *       persisted ones are accepted, and a manifest whose hash does not match.</li>
+ *   <li><strong>Integration tests</strong> ({@code GraphQLTest}) &mdash; {@code @QuarkusTest}
+ *       with RestAssured against {@code /graphql}. Check warehouses with their locations in
+ *       request order and one warehouse query per level (Hibernate statistics), stores and
+ *       products, a persisted query sent as {@code GET}, and the depth limit.
+ *       {@code PersistedQueriesOnlyTest} runs under {@code PersistedQueriesOnlyProfile} and
+ *       checks that ad-hoc queries are refused on {@code /graphql} and {@code /graphql/}
+ *       alike.</li>
+ * </ul>
+ *
+ * <h2>Code style: explicit types over {@code var}</h2>
+ * <p>Explicit type declarations are preferred over {@code var} to maximise
+ * readability for human reviewers and AI coding agents.</p>
+ */
+package com.fulfilment.application.monolith.graphql;
@@ -0,0 +1,88 @@
+package com.fulfilment.application.monolith.http;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.RestAssured;
+import io.restassured.config.DecoderConfig;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class CborContentNegotiationTest {
+
+  private final ObjectMapper cbor = new CBORMapper();
+  private final ObjectMapper json = new ObjectMapper();
+
+  @Test
+  void shouldServeSameFieldsAsJsonWhenCborIsAccepted() throws Exception {
+    // Given
+    byte[] jsonBody = given().accept("application/json").when().get("/product")
+        .then().statusCode(200).extract().asByteArray();
+
+    // When
+    Response response = given().accept(CborMessageBodyWriter.APPLICATION_CBOR)
+        .when().get("/product");
+
+    // Then
+    assertEquals(200, response.statusCode());
+    assertEquals(CborMessageBodyWriter.APPLICATION_CBOR, response.contentType());
+    assertTrue(response.header("Vary").contains("Accept"));
+    assertEquals(json.readTree(jsonBody), cbor.readTree(response.asByteArray()));
+  }
+
+  @Test
+  void shouldServeCachedCborVariant() throws Exception {
+    // Given — the first request fills the cache, the second is answered from it
+    byte[] miss = given().accept(CborMessageBodyWriter.APPLICATION_CBOR)
+        .when().get("/warehouse/1").then().statusCode(200).extract().asByteArray();
+
+    // When
+    Response hit = given().accept(CborMessageBodyWriter.APPLICATION_CBOR)
+        .when().get("/warehouse/1");
+
+    // Then
+    assertEquals(CborMessageBodyWriter.APPLICATION_CBOR, hit.contentType());
+    assertArrayEquals(miss, hit.asByteArray());
+    JsonNode warehouse = cbor.readTree(hit.asByteArray());
+    assertEquals("MWH.001", warehouse.get("businessUnitCode").asText());
+  }
+
+  @Test
+  void shouldTagJsonCborAndGzipVariantsDifferently() {
+    // Given — served once uncached, then from the cache
+    // without content decoders RestAssured does not ask for gzip
+    String jsonTag = given().config(RestAssured.config().decoderConfig(
+            DecoderConfig.decoderConfig().noContentDecoders()))
+        .accept("application/json")
+        .when().get("/warehouse/2").then().statusCode(200).extract().header("ETag");
+    String cborTag = given().accept(CborMessageBodyWriter.APPLICATION_CBOR)
+        .when().get("/warehouse/2").then().statusCode(200).extract().header("ETag");
+
+    // When
+    String gzipTag = given().accept("application/json").header("Accept-Encoding", "gzip")
+        .when().get("/warehouse/2").then().statusCode(200).extract().header("ETag");
+
+    // Then — the JSON tag does not validate the CBOR body
+    String version = jsonTag.substring(0, jsonTag.length() - 1);
+    assertEquals(version + "-cbor\"", cborTag);
+    assertEquals(version + "-gzip\"", gzipTag);
+    given().accept(CborMessageBodyWriter.APPLICATION_CBOR).header("If-None-Match", jsonTag)
+        .when().get("/warehouse/2").then().statusCode(200);
+    given().accept(CborMessageBodyWriter.APPLICATION_CBOR).header("If-None-Match", cborTag)
+        .when().get("/warehouse/2").then().statusCode(304);
+  }
+
+  @Test
+  void shouldPreferJsonForWildcardAccept() {
+    // When / Then
+    given().accept("*/*").when().get("/store/1")
+        .then().statusCode(200).contentType("application/json");
+  }
+}
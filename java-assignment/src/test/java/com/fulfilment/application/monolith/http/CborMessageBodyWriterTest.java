@@ -0,0 +1,47 @@
+package com.fulfilment.application.monolith.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import java.io.ByteArrayOutputStream;
+import java.lang.annotation.Annotation;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CborMessageBodyWriterTest {
+
+  private final CborMessageBodyWriter writer = new CborMessageBodyWriter(new ObjectMapper());
+
+  @Test
+  void shouldWriteEntityAsCborAndLeaveStreamOpen() throws Exception {
+    // Given
+    com.warehouse.api.beans.Warehouse warehouse = new com.warehouse.api.beans.Warehouse();
+    warehouse.setBusinessUnitCode("MWH.001");
+    warehouse.setCapacity(100);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // When
+    writer.writeTo(List.of(warehouse), List.class, List.class, new Annotation[0],
+        CborMessageBodyWriter.APPLICATION_CBOR_TYPE, new MultivaluedHashMap<>(), out);
+    out.write(0);
+
+    // Then
+    JsonNode written = new CBORMapper().readTree(out.toByteArray());
+    assertEquals("MWH.001", written.get(0).get("businessUnitCode").asText());
+    assertEquals(100, written.get(0).get("capacity").asInt());
+  }
+
+  @Test
+  void shouldLeaveBytesToBuiltInWriters() {
+    // When / Then
+    assertFalse(writer.isWriteable(byte[].class, byte[].class, new Annotation[0],
+        CborMessageBodyWriter.APPLICATION_CBOR_TYPE));
+    assertTrue(writer.isWriteable(List.class, List.class, new Annotation[0],
+        CborMessageBodyWriter.APPLICATION_CBOR_TYPE));
+  }
+}
@@ -0,0 +1,49 @@
+package com.fulfilment.application.monolith.http;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class ClientErrorLogTest {
+
+  private final AtomicLong now = new AtomicLong(10_000);
+  private final ApiException notFound = new ApiException(ErrorCode.NOT_FOUND, "missing");
+
+  @Test
+  void shouldWriteAtMostMaxPerSecond() {
+    // Given
+    ClientErrorLog log = new ClientErrorLog(1, 2, now::get);
+
+    // When / Then
+    assertTrue(log.log(404, ErrorCode.NOT_FOUND, notFound));
+    assertTrue(log.log(404, ErrorCode.NOT_FOUND, notFound));
+    assertFalse(log.log(404, ErrorCode.NOT_FOUND, notFound));
+  }
+
+  @Test
+  void shouldStartNewBudgetInNextSecond() {
+    // Given
+    ClientErrorLog log = new ClientErrorLog(1, 1, now::get);
+    log.log(404, ErrorCode.NOT_FOUND, notFound);
+    assertFalse(log.log(404, ErrorCode.NOT_FOUND, notFound));
+
+    // When
+    now.addAndGet(1_000);
+
+    // Then
+    assertTrue(log.log(404, ErrorCode.NOT_FOUND, notFound));
+  }
+
+  @Test
+  void shouldOnlyConsiderEveryNthErrorWhenSampling() {
+    // Given
+    ClientErrorLog log = new ClientErrorLog(3, 100, now::get);
+
+    // When / Then
+    assertFalse(log.log(404, ErrorCode.NOT_FOUND, notFound));
+    assertFalse(log.log(404, ErrorCode.NOT_FOUND, notFound));
+    assertTrue(log.log(404, ErrorCode.NOT_FOUND, notFound));
+  }
+}
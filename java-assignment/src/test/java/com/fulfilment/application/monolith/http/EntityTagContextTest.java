@@ -0,0 +1,127 @@
+package com.fulfilment.application.monolith.http;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.persistence.OptimisticLockException;
+import jakarta.transaction.RollbackException;
+import jakarta.ws.rs.WebApplicationException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class EntityTagContextTest {
+
+  private final EntityTagContext context = new EntityTagContext();
+
+  @Test
+  void shouldAllowWriteWithoutIfMatch() {
+    // When / Then
+    assertDoesNotThrow(() -> context.requireMatch(3));
+  }
+
+  @Test
+  void shouldAllowWriteWhenIfMatchListsCurrentVersionOrWildcard() {
+    // Given
+    context.readConditions("\"2\", \"3\"", null);
+
+    // When / Then
+    assertDoesNotThrow(() -> context.requireMatch(3));
+    context.readConditions("*", null);
+    assertDoesNotThrow(() -> context.requireMatch(3));
+  }
+
+  @Test
+  void shouldReject412WhenIfMatchIsStaleOrWeak() {
+    // Given
+    context.readConditions("\"2\"", null);
+
+    // When / Then
+    WebApplicationException stale =
+        assertThrows(WebApplicationException.class, () -> context.requireMatch(3));
+    assertEquals(412, stale.getResponse().getStatus());
+    context.readConditions("W/\"3\"", null);
+    assertThrows(WebApplicationException.class, () -> context.requireMatch(3));
+  }
+
+  @Test
+  void shouldTagPendingStockAlongsideVersion() {
+    // Given — the client holds the tag of version 7 without pending stock
+    context.readConditions(null, "\"7\"");
+
+    // When
+    context.tag(7, 2);
+
+    // Then
+    assertEquals("\"7+2\"", context.entityTag());
+    assertFalse(context.notModified());
+    context.tag(7, 0);
+    assertEquals("\"7\"", context.entityTag());
+  }
+
+  @Test
+  void shouldReportNotModifiedUsingWeakComparison() {
+    // Given
+    context.readConditions(null, "W/\"7\"");
+
+    // When
+    context.tag(7);
+
+    // Then
+    assertEquals("\"7\"", context.entityTag());
+    assertTrue(context.notModified());
+    context.tag(8);
+    assertFalse(context.notModified());
+  }
+
+  @Test
+  void shouldTagEachRepresentationDifferently() {
+    // Given
+    context.readConditions("\"3-cbor\"", "\"3\"");
+    context.tag(3);
+
+    // When
+    String cbor = EntityTagContext.cborTag(context.entityTag());
+    String gzip = EntityTagContext.gzipTag(context.entityTag());
+
+    // Then — the JSON tag validates neither; a write may name any of them
+    assertEquals("\"3-cbor\"", cbor);
+    assertEquals("\"3-gzip\"", gzip);
+    assertFalse(context.notModified(cbor));
+    assertFalse(context.notModified(gzip));
+    assertEquals("W/\"2-ab-cbor\"", EntityTagContext.cborTag("W/\"2-ab\""));
+    assertDoesNotThrow(() -> context.requireMatch(3));
+    context.readConditions("\"3-gzip\"", null);
+    assertDoesNotThrow(() -> context.requireMatch(3));
+  }
+
+  @Test
+  void shouldChangeCollectionTagWhenAnyMemberChanges() {
+    // Given
+    List<long[]> members = List.of(new long[] {1, 0}, new long[] {2, 0});
+    List<long[]> updated = List.of(new long[] {1, 0}, new long[] {2, 1});
+
+    // When
+    context.tagCollection(members, m -> m[0], m -> m[1]);
+    String before = context.entityTag();
+    context.tagCollection(updated, m -> m[0], m -> m[1]);
+
+    // Then
+    assertTrue(before.startsWith("W/\"2-"));
+    assertNotEquals(before, context.entityTag());
+  }
+
+  @Test
+  void shouldRecogniseVersionConflictInCauseChain() {
+    // Given
+    RollbackException commitFailure = new RollbackException("commit failed");
+    commitFailure.initCause(new OptimisticLockException("row was updated"));
+
+    // When / Then
+    assertTrue(VersionConflicts.isVersionConflict(commitFailure));
+    assertFalse(VersionConflicts.isVersionConflict(new IllegalStateException("other")));
+  }
+}
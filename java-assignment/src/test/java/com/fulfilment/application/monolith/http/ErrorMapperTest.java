@@ -0,0 +1,122 @@
+package com.fulfilment.application.monolith.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import jakarta.persistence.OptimisticLockException;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class ErrorMapperTest {
+
+  private ClientErrorLog clientErrorLog;
+  private ErrorMapper mapper;
+
+  @BeforeEach
+  void setUp() {
+    clientErrorLog = Mockito.mock(ClientErrorLog.class);
+    mapper = new ErrorMapper(clientErrorLog);
+  }
+
+  @Test
+  void shouldMapApiExceptionToItsCodeAndReason() {
+    // Given
+    ApiException exception =
+        new ApiException(ErrorCode.VALIDATION_FAILED, "STOCK_MISMATCH", "Stock must match.");
+
+    // When
+    Response response = mapper.toResponse(exception);
+
+    // Then
+    ErrorResponse body = (ErrorResponse) response.getEntity();
+    assertEquals(400, response.getStatus());
+    assertEquals(400, body.code());
+    assertEquals("VALIDATION_FAILED", body.errorCode());
+    assertEquals("STOCK_MISMATCH", body.reason());
+    assertEquals("Stock must match.", body.error());
+    assertEquals(ApiException.class.getName(), body.exceptionType());
+    verify(clientErrorLog).log(400, ErrorCode.VALIDATION_FAILED, exception);
+  }
+
+  @Test
+  void shouldDeriveErrorCodeFromStatusOfForeignWebApplicationException() {
+    // When
+    Response response = mapper.toResponse(new NotFoundException("No route"));
+
+    // Then
+    ErrorResponse body = (ErrorResponse) response.getEntity();
+    assertEquals(404, response.getStatus());
+    assertEquals("NOT_FOUND", body.errorCode());
+    assertNull(body.reason());
+  }
+
+  @Test
+  void shouldMapLostOptimisticLockTo409() {
+    // When
+    Response response = mapper.toResponse(new OptimisticLockException("row was updated"));
+
+    // Then
+    assertEquals(409, response.getStatus());
+    assertEquals("VERSION_CONFLICT", ((ErrorResponse) response.getEntity()).errorCode());
+  }
+
+  @Test
+  void shouldMapUnexpectedExceptionTo500WithoutClientErrorLog() {
+    // When
+    Response response = mapper.toResponse(new IllegalStateException("boom"));
+
+    // Then
+    assertEquals(500, response.getStatus());
+    assertEquals("INTERNAL_ERROR", ((ErrorResponse) response.getEntity()).errorCode());
+    verify(clientErrorLog, never()).log(anyInt(), any(), any());
+  }
+
+  @Test
+  void shouldSendRetryAfterWithShedLoadAndLogItAsExpected() {
+    // Given
+    ApiException exception = new ApiException(ErrorCode.SERVICE_UNAVAILABLE, "CONCURRENCY_LIMIT",
+        "Too many concurrent requests.", Duration.ofMillis(1500));
+
+    // When
+    Response response = mapper.toResponse(exception);
+
+    // Then
+    assertEquals(503, response.getStatus());
+    assertEquals("2", response.getHeaderString(HttpHeaders.RETRY_AFTER));
+    verify(clientErrorLog).log(503, ErrorCode.SERVICE_UNAVAILABLE, exception);
+  }
+
+  @Test
+  void shouldLogServerErrorWithoutRetryDelayAsFailure() {
+    // Given — e.g. no database connection became available
+    ApiException exception = new ApiException(ErrorCode.SERVICE_UNAVAILABLE,
+        "No database connection became available within 500 ms.");
+
+    // When
+    Response response = mapper.toResponse(exception);
+
+    // Then
+    assertEquals(503, response.getStatus());
+    assertNull(response.getHeaderString(HttpHeaders.RETRY_AFTER));
+    verify(clientErrorLog, never()).log(anyInt(), any(), any());
+  }
+
+  @Test
+  void shouldNotCaptureStackTraceForApiException() {
+    // When
+    ApiException exception = new ApiException(ErrorCode.NOT_FOUND, "Store with id of 9 does not exist.");
+
+    // Then
+    assertEquals(0, exception.getStackTrace().length);
+    assertEquals(404, exception.getResponse().getStatus());
+  }
+}
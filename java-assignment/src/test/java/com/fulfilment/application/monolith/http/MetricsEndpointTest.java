@@ -0,0 +1,44 @@
+package com.fulfilment.application.monolith.http;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class MetricsEndpointTest {
+
+  @Test
+  void shouldExposeEndpointUseCasePoolAndHibernateMetrics() {
+    // Given — successful reads and one rejected warehouse creation (duplicate code)
+    given().when().get("/store").then().statusCode(200);
+    given().when().get("/warehouse/1");
+    given()
+        .contentType(ContentType.JSON)
+        .body("{\"businessUnitCode\":\"MWH.001\",\"location\":\"AMSTERDAM-001\","
+            + "\"capacity\":20,\"stock\":5}")
+        .when().post("/warehouse")
+        .then().statusCode(400);
+
+    // When / Then
+    given()
+        .when().get("/q/metrics")
+        .then()
+        .statusCode(200)
+        .body(
+            containsString("http_server_requests_seconds_bucket{method=\"GET\",outcome=\"SUCCESS\","
+                + "status=\"200\",uri=\"/store\""),
+            containsString("warehouse_operation_seconds_count{operation=\"create\",outcome=\"rejected\"}"),
+            containsString("warehouse_validation_rejections_total{operation=\"create\","
+                + "rule=\"DUPLICATE_BUSINESS_UNIT\"}"),
+            containsString("agroal_active_count{datasource=\"default\"}"),
+            containsString("agroal_available_count{datasource=\"default\"}"),
+            containsString("agroal_blocking_time_max_milliseconds{datasource=\"default\"}"),
+            containsString("hibernate_query_executions_total"),
+            containsString("admission_limit{lane=\"read\"}"),
+            containsString("admission_in_flight{lane=\"write\"}"),
+            containsString("read_coalescing_loads_total{lookup=\"warehouse.id\",result=\"executed\"}"));
+  }
+}
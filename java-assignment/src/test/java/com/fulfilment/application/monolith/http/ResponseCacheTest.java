@@ -0,0 +1,151 @@
+package com.fulfilment.application.monolith.http;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+class ResponseCacheTest {
+
+  private static final byte[] BODY = "[{\"name\":\"TONSTAD\"}]".getBytes(StandardCharsets.UTF_8);
+
+  private final ResponseCache cache = new ResponseCache(true, 10);
+
+  @Test
+  void shouldServeStoredBodyAndTag() {
+    // Given
+    long generation = cache.generation("store");
+
+    // When
+    cache.put("store", "store", generation, BODY, "W/\"3-a\"");
+
+    // Then
+    ResponseCache.Entry entry = cache.get("store", "store");
+    assertArrayEquals(BODY, entry.json());
+    assertEquals("W/\"3-a\"", entry.entityTag());
+  }
+
+  @Test
+  void shouldEvictChangedIdAndCollectionsButKeepOtherIds() {
+    // Given
+    long generation = cache.generation("store");
+    cache.put("store", ResponseCache.idKey(1), generation, BODY, "\"0\"");
+    cache.put("store", ResponseCache.idKey(2), generation, BODY, "\"0\"");
+    cache.put("store", "store", generation, BODY, "W/\"2-a\"");
+    cache.put("product", "product", cache.generation("product"), BODY, "W/\"1-b\"");
+
+    // When
+    cache.invalidate("store", 1L);
+
+    // Then
+    assertNull(cache.get("store", ResponseCache.idKey(1)));
+    assertNull(cache.get("store", "store"));
+    assertNotNull(cache.get("store", ResponseCache.idKey(2)));
+    assertNotNull(cache.get("product", "product"), "other regions are untouched");
+  }
+
+  @Test
+  void shouldDropPutComputedBeforeAnInvalidation() {
+    // Given — a read starts, then a write commits before the read stores its body
+    long generation = cache.generation("warehouse");
+    cache.invalidate("warehouse", 7L);
+
+    // When
+    cache.put("warehouse", "warehouse", generation, BODY, "W/\"1-c\"");
+
+    // Then
+    assertNull(cache.get("warehouse", "warehouse"));
+  }
+
+  @Test
+  void shouldEvictLeastRecentlyUsedWhenRegionIsFull() {
+    // Given
+    ResponseCache small = new ResponseCache(true, 2);
+    small.put("store", "a", 0, BODY, null);
+    small.put("store", "b", 0, BODY, null);
+    small.get("store", "a");
+
+    // When
+    small.put("store", "c", 0, BODY, null);
+
+    // Then
+    assertNotNull(small.get("store", "a"));
+    assertNull(small.get("store", "b"));
+    assertNotNull(small.get("store", "c"));
+  }
+
+  @Test
+  void shouldCountOnlyLiveEntriesTowardsTheLimit() {
+    // Given — id 2 replaced and id 4 invalidated many times over
+    ResponseCache small = new ResponseCache(true, 3);
+    small.put("store", ResponseCache.idKey(1), 0, BODY, null);
+    for (int i = 0; i < 100; i++) {
+      small.put("store", ResponseCache.idKey(2), small.generation("store"), BODY, null);
+      small.put("store", ResponseCache.idKey(4), small.generation("store"), BODY, null);
+      small.invalidate("store", 4L);
+    }
+
+    // When
+    small.put("store", ResponseCache.idKey(3), small.generation("store"), BODY, null);
+
+    // Then — three live entries fit, whatever was replaced or removed before
+    assertNotNull(small.get("store", ResponseCache.idKey(1)));
+    assertNotNull(small.get("store", ResponseCache.idKey(2)));
+    assertNotNull(small.get("store", ResponseCache.idKey(3)));
+    assertNull(small.get("store", ResponseCache.idKey(4)));
+  }
+
+  @Test
+  void shouldHonourZeroQualityForGzip() {
+    // When / Then — q=0 refuses a coding, an explicit gzip entry overrides the wildcard
+    assertTrue(ResponseCacheFilter.acceptsGzip("gzip, deflate"));
+    assertTrue(ResponseCacheFilter.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+    assertTrue(ResponseCacheFilter.acceptsGzip("*"));
+    assertFalse(ResponseCacheFilter.acceptsGzip("gzip;q=0"));
+    assertFalse(ResponseCacheFilter.acceptsGzip("gzip; q=0.000, *"));
+    assertFalse(ResponseCacheFilter.acceptsGzip("*;q=0"));
+    assertFalse(ResponseCacheFilter.acceptsGzip("identity"));
+    assertFalse(ResponseCacheFilter.acceptsGzip(null));
+  }
+
+  @Test
+  void shouldCompressGzipVariantOnceOnDemand() throws IOException {
+    // Given
+    cache.put("store", "store", cache.generation("store"), BODY, null);
+    ResponseCache.Entry entry = cache.get("store", "store");
+
+    // When
+    byte[] gzip = entry.gzip();
+
+    // Then
+    assertSame(gzip, entry.gzip());
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+      assertArrayEquals(BODY, in.readAllBytes());
+    }
+  }
+
+  @Test
+  void shouldTranscodeCborVariantOnceOnDemand() throws IOException {
+    // Given
+    cache.put("store", "store", cache.generation("store"), BODY, null);
+    ResponseCache.Entry entry = cache.get("store", "store");
+
+    // When
+    byte[] cbor = entry.cbor();
+
+    // Then
+    assertSame(cbor, entry.cbor());
+    assertEquals(new ObjectMapper().readTree(BODY), new CBORMapper().readTree(cbor));
+  }
+}
@@ -0,0 +1,28 @@
+/**
+ * Tests for the HTTP cross-cutting concerns.
+ *
+ * <h2>Test classification</h2>
+ * <ul>
+ *   <li><strong>Unit tests</strong> ({@code EntityTagContextTest}) &mdash; plain JUnit.
+ *       Cover {@code If-Match} strong comparison, {@code If-None-Match} weak comparison,
+ *       collection tags and version-conflict detection.</li>
+ *   <li><strong>Unit tests</strong> ({@code ResponseCacheTest}) &mdash; plain JUnit. Cover
+ *       per-id eviction, the generation guard against stale puts, the size cap and
+ *       the gzip and CBOR variants.</li>
+ *   <li><strong>Unit tests</strong> ({@code CborMessageBodyWriterTest}) &mdash; plain JUnit.
+ *       Cover the uncached CBOR writer.</li>
+ *   <li><strong>Integration tests</strong> ({@code CborContentNegotiationTest}) &mdash;
+ *       {@code @QuarkusTest}. Cover {@code Accept} negotiation and cached CBOR bodies.</li>
+ *   <li><strong>Unit tests</strong> ({@code ErrorMapperTest}, {@code ClientErrorLogTest})
+ *       &mdash; Mockito / plain JUnit with a fake clock. Cover the error body and status
+ *       for each exception family, stackless {@code ApiException}, and log sampling and
+ *       rate limiting.</li>
+ *   <li><strong>Integration tests</strong> ({@code MetricsEndpointTest}) &mdash;
+ *       {@code @QuarkusTest}. Scrape {@code /q/metrics} and check endpoint, use-case, rejection,
+ *       pool and Hibernate metrics.</li>
+ * </ul>
+ *
+ * <p>The filters are exercised end-to-end by {@code StoreResourceTest} and
+ * {@code WarehouseEndpointIT} (ETag, 304, 412 and cached gzip responses over real HTTP).</p>
+ */
+package com.fulfilment.application.monolith.http;
@@ -0,0 +1,121 @@
+package com.fulfilment.application.monolith.idempotency;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class IdempotencyTest {
+
+  @Test
+  void shouldReplayFirstResponseToRetriedCreation() {
+    // Given
+    Response first = createStore("store-retry-1", "{\"name\":\"IDEMPOTENT-STORE\"}");
+
+    // When
+    Response retry = createStore("store-retry-1", "{\"name\":\"IDEMPOTENT-STORE\"}");
+
+    // Then
+    first.then().statusCode(201).header(IdempotencyFilter.REPLAYED_HEADER, nullValue());
+    retry.then().statusCode(201).header(IdempotencyFilter.REPLAYED_HEADER, is("true"));
+    assertEquals(first.jsonPath().getLong("id"), retry.jsonPath().getLong("id"));
+    assertEquals(first.header("ETag"), retry.header("ETag"));
+    List<String> names = given().when().get("/store").then().statusCode(200)
+        .extract().jsonPath().getList("findAll { it.name == 'IDEMPOTENT-STORE' }.name");
+    assertEquals(1, names.size());
+  }
+
+  @Test
+  void shouldRejectKeyReusedForDifferentRequest() {
+    // Given
+    createProduct("product-reuse-1", "{\"name\":\"IDEMPOTENT-A\",\"stock\":1}")
+        .then().statusCode(201);
+
+    // When / Then
+    createProduct("product-reuse-1", "{\"name\":\"IDEMPOTENT-B\",\"stock\":1}")
+        .then().statusCode(422).body("errorCode", is("INVALID_REQUEST"));
+  }
+
+  @Test
+  void shouldRunAgainAfterFailedAttempt() {
+    // Given
+    createProduct("product-failed-1", "{\"id\":99,\"name\":\"IDEMPOTENT-C\"}")
+        .then().statusCode(422);
+
+    // When / Then
+    createProduct("product-failed-1", "{\"name\":\"IDEMPOTENT-C\"}")
+        .then().statusCode(201).header(IdempotencyFilter.REPLAYED_HEADER, nullValue());
+  }
+
+  @Test
+  void shouldLetConcurrentDuplicatesWaitForFirstExecution() throws Exception {
+    // Given
+    String warehouse = "{\"businessUnitCode\":\"MWH.IK1\",\"location\":\"HELMOND-001\","
+        + "\"capacity\":20,\"stock\":5}";
+    Callable<Response> create = () -> given().contentType(ContentType.JSON)
+        .header(IdempotencyFilter.KEY_HEADER, "warehouse-concurrent-1")
+        .body(warehouse)
+        .when().post("/warehouse");
+    ExecutorService clients = Executors.newFixedThreadPool(4);
+
+    // When
+    List<Future<Response>> responses;
+    try {
+      responses = clients.invokeAll(List.of(create, create, create, create));
+    } finally {
+      clients.shutdown();
+    }
+
+    // Then
+    String id = responses.get(0).get().then().statusCode(200).extract().jsonPath().getString("id");
+    int executed = 0;
+    for (Future<Response> response : responses) {
+      response.get().then().statusCode(200).body("id", is(id));
+      if (response.get().header(IdempotencyFilter.REPLAYED_HEADER) == null) {
+        executed++;
+      }
+    }
+    assertEquals(1, executed);
+
+    // a replacement is keyed by its own path
+    String replacement = "{\"location\":\"HELMOND-001\",\"capacity\":30,\"stock\":5}";
+    String replacedId = replace("warehouse-concurrent-1", replacement)
+        .then().statusCode(200).header(IdempotencyFilter.REPLAYED_HEADER, nullValue())
+        .extract().jsonPath().getString("id");
+    replace("warehouse-concurrent-1", replacement)
+        .then().statusCode(200).header(IdempotencyFilter.REPLAYED_HEADER, is("true"))
+        .body("id", is(replacedId));
+  }
+
+  private static Response createStore(String key, String body) {
+    return given().contentType(ContentType.JSON)
+        .header(IdempotencyFilter.KEY_HEADER, key)
+        .body(body)
+        .when().post("/store");
+  }
+
+  private static Response createProduct(String key, String body) {
+    return given().contentType(ContentType.JSON)
+        .header(IdempotencyFilter.KEY_HEADER, key)
+        .body(body)
+        .when().post("/product");
+  }
+
+  private static Response replace(String key, String body) {
+    return given().contentType(ContentType.JSON)
+        .header(IdempotencyFilter.KEY_HEADER, key)
+        .body(body)
+        .when().post("/warehouse/MWH.IK1/replacement");
+  }
+}
@@ -0,0 +1,14 @@
+/**
+ * Tests for idempotency keys.
+ *
+ * <h2>Test classification: INTEGRATION</h2>
+ * <p>{@code IdempotencyTest} runs the application with H2. It retries store, product and
+ * warehouse writes with the same {@code Idempotency-Key}: a retry gets the first response,
+ * a different body under the same key is rejected, a failed attempt frees the key, and
+ * concurrent duplicates run the write once.</p>
+ *
+ * <h2>Code style: explicit types over {@code var}</h2>
+ * <p>Explicit type declarations are preferred over {@code var} to maximise
+ * readability for human reviewers and AI coding agents.</p>
+ */
+package com.fulfilment.application.monolith.idempotency;
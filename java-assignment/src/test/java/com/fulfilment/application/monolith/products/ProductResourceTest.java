@@ -8,7 +8,17 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.fulfilment.application.monolith.batching.BatchLoader;
+import com.fulfilment.application.monolith.coalescing.ReadCoalescer;
+import com.fulfilment.application.monolith.http.CacheInvalidationEvent;
+import com.fulfilment.application.monolith.http.EntityTagContext;
+import com.fulfilment.application.monolith.stock.HotStockCounters;
+import com.fulfilment.application.monolith.stock.StockAdjustment;
+import com.fulfilment.application.monolith.stock.StockTarget;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.quarkus.panache.common.Sort;
+import jakarta.enterprise.event.Event;
+import jakarta.persistence.LockModeType;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
 import java.math.BigDecimal;
@@ -21,12 +31,19 @@ import org.mockito.Mockito;
 class ProductResourceTest {
 
   private ProductRepository productRepository;
+  private HotStockCounters stockCounters;
+  private Event<CacheInvalidationEvent> cacheInvalidation;
   private ProductResource resource;
 
   @BeforeEach
+  @SuppressWarnings("unchecked")
   void setUp() {
     productRepository = Mockito.mock(ProductRepository.class);
-    resource = new ProductResource(productRepository);
+    stockCounters = Mockito.mock(HotStockCounters.class);
+    cacheInvalidation = Mockito.mock(Event.class);
+    resource = new ProductResource(
+        productRepository, stockCounters, new EntityTagContext(), cacheInvalidation,
+        new ReadCoalescer(false, null, new SimpleMeterRegistry()), new BatchLoader(100, 500));
   }
 
   // --- GET /product ---
@@ -39,7 +56,7 @@ class ProductResourceTest {
     when(productRepository.listAll(any(Sort.class))).thenReturn(List.of(p1, p2));
 
     // When
-    List<Product> result = resource.get();
+    List<Product> result = resource.get(List.of());
 
     // Then
     assertEquals(2, result.size());
@@ -53,7 +70,7 @@ class ProductResourceTest {
     when(productRepository.listAll(any(Sort.class))).thenReturn(Collections.emptyList());
 
     // When
-    List<Product> result = resource.get();
+    List<Product> result = resource.get(List.of());
 
     // Then
     assertNotNull(result);
@@ -143,6 +160,8 @@ class ProductResourceTest {
     assertEquals(BigDecimal.valueOf(12.00), result.price);
     assertEquals(20, result.stock);
     verify(productRepository).persist(existing);
+    verify(cacheInvalidation).fire(
+        new CacheInvalidationEvent(ProductResource.CACHE_REGION, Product.class, 1L));
   }
 
   @Test
@@ -168,6 +187,66 @@ class ProductResourceTest {
     assertEquals(404, exception.getResponse().getStatus());
   }
 
+  // --- POST /product/{id}/stock-adjustments ---
+
+  @Test
+  void shouldAdjustStockUnderRowLockWhenHotCountersDisabled() {
+    // Given
+    Product existing = buildProduct(1L, "Widget", null, null, 10);
+    when(productRepository.findById(1L, LockModeType.PESSIMISTIC_WRITE)).thenReturn(existing);
+
+    // When
+    Product result = resource.adjustStock(1L, new StockAdjustment(-3));
+
+    // Then
+    assertEquals(7, result.stock);
+    verify(stockCounters, never()).add(any(), Mockito.anyLong(), Mockito.anyLong());
+  }
+
+  @Test
+  void shouldRecordDeltaInHotCountersWhenEnabled() {
+    // Given
+    Product existing = buildProduct(1L, "Widget", "A widget", null, 10);
+    when(stockCounters.isEnabled()).thenReturn(true);
+    when(productRepository.findById(1L)).thenReturn(existing);
+    when(stockCounters.pending(StockTarget.PRODUCT, 1L, 0L)).thenReturn(5L);
+
+    // When
+    Product result = resource.adjustStock(1L, new StockAdjustment(5));
+
+    // Then — persisted entity untouched, response shows persisted + pending
+    verify(stockCounters).add(StockTarget.PRODUCT, 1L, 5);
+    assertEquals(10, existing.stock);
+    assertEquals(15, result.stock);
+    assertEquals("A widget", result.description);
+  }
+
+  @Test
+  void shouldThrow404WhenAdjustingStockOfNonExistentProduct() {
+    // Given
+    when(productRepository.findById(99L, LockModeType.PESSIMISTIC_WRITE)).thenReturn(null);
+
+    // When / Then
+    WebApplicationException exception =
+        assertThrows(WebApplicationException.class,
+            () -> resource.adjustStock(99L, new StockAdjustment(1)));
+    assertEquals(404, exception.getResponse().getStatus());
+  }
+
+  @Test
+  void shouldIncludePendingDeltasWhenReadingProduct() {
+    // Given
+    Product product = buildProduct(1L, "Widget", null, null, 10);
+    when(productRepository.findById(1L)).thenReturn(product);
+    when(stockCounters.pending(StockTarget.PRODUCT, 1L, 0L)).thenReturn(-4L);
+
+    // When
+    Product result = resource.getSingle(1L);
+
+    // Then
+    assertEquals(6, result.stock);
+  }
+
   // --- DELETE /product/{id} ---
 
   @Test
@@ -182,6 +261,8 @@ class ProductResourceTest {
     // Then
     assertEquals(204, response.getStatus());
     verify(productRepository).delete(existing);
+    verify(cacheInvalidation).fire(
+        new CacheInvalidationEvent(ProductResource.CACHE_REGION, Product.class, 1L));
   }
 
   @Test
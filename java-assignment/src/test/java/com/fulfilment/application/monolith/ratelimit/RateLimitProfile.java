@@ -0,0 +1,19 @@
+package com.fulfilment.application.monolith.ratelimit;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+import java.util.Map;
+
+/**
+ * Small buckets on two endpoints, one of them from the generated warehouse API, with clients
+ * told apart by {@code X-Client-Id}.
+ */
+public class RateLimitProfile implements QuarkusTestProfile {
+
+  @Override
+  public Map<String, String> getConfigOverrides() {
+    return Map.of(
+        "rate-limit.client-header", "X-Client-Id",
+        "rate-limit.default", "1000/1000",
+        "rate-limit.endpoints", "GET /store/{id}=1/2,GET /warehouse/{id}=1/1");
+  }
+}
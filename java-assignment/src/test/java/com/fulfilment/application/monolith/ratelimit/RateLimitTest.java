@@ -0,0 +1,70 @@
+package com.fulfilment.application.monolith.ratelimit;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+@TestProfile(RateLimitProfile.class)
+class RateLimitTest {
+
+  // buckets refill one token per second, so tests drain them in a loop rather than count on
+  // a fixed number of requests landing within one second; this is far more than they hold
+  private static final int MAX_ATTEMPTS = 20;
+
+  @Test
+  void shouldCountDownThenAnswer429PerClient() {
+    // Given
+    given().header("X-Client-Id", "erp").when().get("/store/1")
+        .then().statusCode(200)
+        .header(RateLimitFilter.LIMIT_HEADER, "2")
+        .header(RateLimitFilter.REMAINING_HEADER, "1");
+
+    // When
+    Response limited = drain("erp", "/store/2");
+
+    // Then
+    limited.then()
+        .header("Retry-After", "1")
+        .header(RateLimitFilter.REMAINING_HEADER, "0")
+        .header(RateLimitFilter.RESET_HEADER, notNullValue())
+        .body("errorCode", is("TOO_MANY_REQUESTS"))
+        .body("reason", is("RATE_LIMITED"));
+    given().header("X-Client-Id", "wms").when().get("/store/1")
+        .then().statusCode(200)
+        .header(RateLimitFilter.REMAINING_HEADER, "1");
+  }
+
+  @Test
+  void shouldMatchPathTemplateOfGeneratedApi() {
+    // Given
+    given().when().get("/warehouse/1").then().statusCode(200);
+
+    // When / Then — another id shares the bucket of GET /warehouse/{id}
+    drain(null, "/warehouse/2");
+    given().when().get("/warehouse")
+        .then().statusCode(200)
+        .header(RateLimitFilter.LIMIT_HEADER, "1000")
+        .header(RateLimitFilter.RESET_HEADER, notNullValue());
+  }
+
+  // requests until the first 429, which every request before it must not be
+  private static Response drain(String client, String path) {
+    for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+      Response response = client != null
+          ? given().header("X-Client-Id", client).when().get(path)
+          : given().when().get(path);
+      if (response.statusCode() != 200) {
+        assertEquals(429, response.statusCode());
+        return response;
+      }
+    }
+    throw new AssertionError("No 429 after " + MAX_ATTEMPTS + " requests to " + path);
+  }
+}
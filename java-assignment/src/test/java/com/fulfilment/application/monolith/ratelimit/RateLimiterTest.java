@@ -0,0 +1,100 @@
+package com.fulfilment.application.monolith.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+
+  private final AtomicLong now = new AtomicLong();
+  private final AtomicInteger untracked = new AtomicInteger();
+
+  @Test
+  void shouldKeepOneBucketPerClientAndEndpoint() {
+    // Given
+    RateLimiter limiter = limiter(Map.of("PATCH /store/{id}", new RateLimitRule(1, 1)), 100);
+    RateLimitRule patch = limiter.rule("PATCH /store/{id}");
+
+    // When
+    long first = limiter.tryAcquire("erp", "PATCH /store/{id}", patch);
+    long second = limiter.tryAcquire("erp", "PATCH /store/{id}", patch);
+    long otherClient = limiter.tryAcquire("wms", "PATCH /store/{id}", patch);
+    long otherEndpoint = limiter.tryAcquire("erp", "GET /store", limiter.rule("GET /store"));
+
+    // Then
+    assertEquals(0, first);
+    assertTrue(second < 0);
+    assertEquals(0, otherClient);
+    assertEquals(9, otherEndpoint);
+  }
+
+  @Test
+  void shouldDropOnlyBucketsThatHaveRefilled() {
+    // Given
+    RateLimiter limiter = limiter(Map.of(), 100);
+    limiter.tryAcquire("erp", "GET /store", limiter.rule("GET /store"));
+    now.set(1_050);
+    limiter.tryAcquire("wms", "GET /store", limiter.rule("GET /store"));
+
+    // When
+    now.set(1_100);
+    limiter.evictIdle();
+
+    // Then
+    assertEquals(1, limiter.buckets());
+  }
+
+  @Test
+  void shouldShareOneBucketPerEndpointBetweenClientsOverMaximum() {
+    // Given
+    RateLimiter limiter = limiter(Map.of(), 1);
+    RateLimitRule rule = limiter.rule("GET /store");
+    limiter.tryAcquire("erp", "GET /store", rule);
+
+    // When
+    long first = limiter.tryAcquire("wms", "GET /store", rule);
+    long second = limiter.tryAcquire("mes", "GET /store", rule);
+
+    // Then — the two untracked clients draw from the same bucket
+    assertEquals(9, first);
+    assertEquals(8, second);
+    assertEquals(2, limiter.buckets());
+    assertEquals(2, untracked.get());
+  }
+
+  @Test
+  void shouldOnlyTakeShortTokensAsClientId() {
+    // When / Then
+    assertTrue(RateLimitFilter.isClientId("erp-01.eu:batch_2"));
+    assertFalse(RateLimitFilter.isClientId(null));
+    assertFalse(RateLimitFilter.isClientId(""));
+    assertFalse(RateLimitFilter.isClientId("erp 01"));
+    assertFalse(RateLimitFilter.isClientId("e".repeat(RateLimitFilter.MAX_CLIENT_LENGTH + 1)));
+  }
+
+  @Test
+  void shouldParseEndpointRules() {
+    // When
+    Map<String, RateLimitRule> rules =
+        RateLimiter.parseEndpoints(List.of("GET  /warehouse=20/40", " PATCH /store/{id} = 5/10"));
+
+    // Then
+    assertEquals(new RateLimitRule(20, 40), rules.get("GET /warehouse"));
+    assertEquals(new RateLimitRule(5, 10), rules.get("PATCH /store/{id}"));
+    assertThrows(IllegalArgumentException.class,
+        () -> RateLimiter.parseEndpoints(List.of("GET /warehouse=20")));
+    assertThrows(IllegalArgumentException.class, () -> RateLimitRule.parse("0/10"));
+  }
+
+  private RateLimiter limiter(Map<String, RateLimitRule> endpointRules, int maxBuckets) {
+    return new RateLimiter(true, new RateLimitRule(10, 10), endpointRules, maxBuckets, now::get,
+        untracked::incrementAndGet);
+  }
+}
@@ -0,0 +1,83 @@
+package com.fulfilment.application.monolith.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+  @Test
+  void shouldAllowBurstThenReportWaitForNextToken() {
+    // Given
+    TokenBucket bucket = new TokenBucket(new RateLimitRule(4, 2), 0);
+
+    // When
+    long first = bucket.tryAcquire(0);
+    long second = bucket.tryAcquire(0);
+    long third = bucket.tryAcquire(0);
+
+    // Then
+    assertEquals(1, first);
+    assertEquals(0, second);
+    assertEquals(-250, third);
+  }
+
+  @Test
+  void shouldRefillByRateUpToBurst() {
+    // Given
+    TokenBucket bucket = new TokenBucket(new RateLimitRule(4, 2), 0);
+    bucket.tryAcquire(0);
+    bucket.tryAcquire(0);
+
+    // When
+    long afterQuarterSecond = bucket.tryAcquire(250);
+    long afterTenSeconds = bucket.tryAcquire(10_250);
+
+    // Then
+    assertEquals(0, afterQuarterSecond);
+    assertEquals(1, afterTenSeconds);
+    assertFalse(bucket.isFull(10_250));
+    assertTrue(bucket.isFull(10_500));
+  }
+
+  @Test
+  void shouldHandOutEachTokenOnceUnderContention() throws Exception {
+    // Given
+    TokenBucket bucket = new TokenBucket(new RateLimitRule(1, 1000), 0);
+    Callable<Integer> taker = () -> {
+      int taken = 0;
+      for (int i = 0; i < 500; i++) {
+        if (bucket.tryAcquire(0) >= 0) {
+          taken++;
+        }
+      }
+      return taken;
+    };
+    List<Callable<Integer>> takers = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      takers.add(taker);
+    }
+    ExecutorService threads = Executors.newFixedThreadPool(8);
+
+    // When
+    int taken = 0;
+    try {
+      for (Future<Integer> result : threads.invokeAll(takers)) {
+        taken += result.get();
+      }
+    } finally {
+      threads.shutdown();
+    }
+
+    // Then
+    assertEquals(1000, taken);
+  }
+}
@@ -0,0 +1,22 @@
+/**
+ * Tests for per-client rate limiting.
+ *
+ * <h2>Test classification</h2>
+ * <ul>
+ *   <li><strong>Unit tests</strong> ({@code TokenBucketTest}, {@code RateLimiterTest}) &mdash;
+ *       plain JUnit with a fake clock. Cover burst and refill, the wait for the next token, one
+ *       token per taker under contention, buckets per client and endpoint, eviction of idle
+ *       buckets, the bucket cap and the rule syntax.</li>
+ *   <li><strong>Integration tests</strong> ({@code RateLimitTest}) &mdash; {@code @QuarkusTest}
+ *       with {@code RateLimitProfile}. Check the headers, the {@code 429} with
+ *       {@code Retry-After}, separate clients and path templates of the generated API.</li>
+ * </ul>
+ *
+ * <p>The per-request cost is measured by {@code RateLimiterBenchmark} in the benchmark
+ * profile.</p>
+ *
+ * <h2>Code style: explicit types over {@code var}</h2>
+ * <p>Explicit type declarations are preferred over {@code var} to maximise
+ * readability for human reviewers and AI coding agents.</p>
+ */
+package com.fulfilment.application.monolith.ratelimit;
@@ -0,0 +1,67 @@
+package com.fulfilment.application.monolith.sql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CountingStatementInspectorTest {
+
+  private static final String LOOKUP = "select w from DbWarehouse w where businessUnitCode=?";
+
+  private StatementCounter counter;
+  private SlowQueryLog slowQueries;
+  private CountingStatementInspector inspector;
+
+  @BeforeEach
+  void setUp() {
+    counter = new StatementCounter();
+    slowQueries = new SlowQueryLog(Duration.ZERO, 0, 10, () -> 1, () -> 0);
+    inspector = new CountingStatementInspector(() -> counter, slowQueries, 3);
+  }
+
+  @Test
+  void shouldCountStatementsAndLeaveSqlUnchanged() {
+    // When
+    String result = inspector.inspect(LOOKUP);
+    inspector.inspect("insert into store values (?)");
+
+    // Then
+    assertEquals(LOOKUP, result);
+    assertEquals(2, counter.total());
+    assertEquals(List.of(), counter.repeated());
+  }
+
+  @Test
+  void shouldHandPreparedStatementToSlowQueryLog() {
+    // When
+    inspector.inspect(LOOKUP);
+    slowQueries.executed(1_000);
+
+    // Then
+    assertEquals(LOOKUP, slowQueries.top(1).get(0).sql());
+  }
+
+  @Test
+  void shouldFlagStatementRepeatedUpToThresholdOnlyOnce() {
+    // When
+    for (int i = 0; i < 5; i++) {
+      inspector.inspect(LOOKUP);
+    }
+
+    // Then
+    assertEquals(5, counter.total());
+    assertEquals(List.of(LOOKUP), counter.repeated());
+  }
+
+  @Test
+  void shouldIgnoreStatementsOutsideRequest() {
+    // Given
+    CountingStatementInspector outsideRequest = new CountingStatementInspector(() -> null, slowQueries, 3);
+
+    // When / Then
+    assertEquals(LOOKUP, outsideRequest.inspect(LOOKUP));
+  }
+}
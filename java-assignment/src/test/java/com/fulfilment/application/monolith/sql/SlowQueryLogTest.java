@@ -0,0 +1,116 @@
+package com.fulfilment.application.monolith.sql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fulfilment.application.monolith.sql.SlowQueryLog.StatementSummary;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SlowQueryLogTest {
+
+  private static final long MILLI = 1_000_000;
+  private static final String LOOKUP = "select * from warehouse w1_0 where w1_0.businessUnitCode=?";
+  private static final String LIST = "select * from store s1_0 where s1_0.id in (?,?,?)";
+
+  @Test
+  void shouldCaptureOnlyStatementsAtOrOverThresholdWhenNotSampling() {
+    // Given
+    SlowQueryLog log = new SlowQueryLog(Duration.ofMillis(100), 0, 10, () -> 0, () -> 0);
+
+    // When
+    execute(log, LOOKUP, 99 * MILLI);
+    execute(log, LIST, 100 * MILLI);
+
+    // Then
+    List<StatementSummary> top = log.top(10);
+    assertEquals(1, top.size());
+    assertEquals(LIST, top.get(0).sql());
+    assertEquals(3, top.get(0).bindParameters());
+    assertEquals(1, top.get(0).slowExecutions());
+    assertEquals(100_000, top.get(0).totalMicros());
+  }
+
+  @Test
+  void shouldCaptureSampledFastStatementsWithoutMarkingThemSlow() {
+    // Given — every draw is below the 10% sample rate
+    SlowQueryLog log = new SlowQueryLog(Duration.ofMillis(100), 0.1, 10, () -> 0.05, () -> 0);
+
+    // When
+    execute(log, LOOKUP, MILLI);
+
+    // Then
+    StatementSummary summary = log.top(1).get(0);
+    assertEquals(1, summary.executions());
+    assertEquals(0, summary.slowExecutions());
+    assertEquals(1, summary.bindParameters());
+  }
+
+  @Test
+  void shouldRankBySummedTimeAndAggregatePerSql() {
+    // Given
+    SlowQueryLog log = new SlowQueryLog(Duration.ZERO, 0, 10, () -> 1, () -> 0);
+
+    // When — three 40 ms lookups outweigh one 100 ms list
+    execute(log, LIST, 100 * MILLI);
+    for (int i = 0; i < 3; i++) {
+      execute(log, LOOKUP, 40 * MILLI);
+    }
+
+    // Then
+    List<StatementSummary> top = log.top(10);
+    assertEquals(List.of(LOOKUP, LIST), top.stream().map(StatementSummary::sql).toList());
+    assertEquals(3, top.get(0).executions());
+    assertEquals(120_000, top.get(0).totalMicros());
+    assertEquals(40_000, top.get(0).maxMicros());
+    assertEquals(1, log.top(1).size());
+  }
+
+  @Test
+  void shouldKeepOnlyTheMostRecentCapturesUpToCapacity() {
+    // Given
+    SlowQueryLog log = new SlowQueryLog(Duration.ZERO, 0, 2, () -> 1, () -> 0);
+
+    // When
+    execute(log, LIST, MILLI);
+    execute(log, LOOKUP, MILLI);
+    execute(log, LOOKUP, MILLI);
+
+    // Then
+    List<StatementSummary> top = log.top(10);
+    assertEquals(1, top.size());
+    assertEquals(LOOKUP, top.get(0).sql());
+    assertEquals(2, top.get(0).executions());
+  }
+
+  @Test
+  void shouldIgnoreExecutionWithoutPreparedStatement() {
+    // Given
+    SlowQueryLog log = new SlowQueryLog(Duration.ZERO, 0, 2, () -> 1, () -> 0);
+
+    // When
+    log.executed(MILLI);
+
+    // Then
+    assertTrue(log.top(10).isEmpty());
+  }
+
+  @Test
+  void shouldForgetPreparedStatementOnceExecuted() {
+    // Given
+    SlowQueryLog log = new SlowQueryLog(Duration.ZERO, 0, 2, () -> 1, () -> 0);
+    execute(log, "select 1", MILLI);
+
+    // When — a second execution without a new prepare
+    log.executed(MILLI);
+
+    // Then
+    assertEquals(1, log.top(10).get(0).executions());
+  }
+
+  private static void execute(SlowQueryLog log, String sql, long nanos) {
+    log.prepared(sql);
+    log.executed(nanos);
+  }
+}
@@ -0,0 +1,34 @@
+package com.fulfilment.application.monolith.sql;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class SlowQueryResourceTest {
+
+  @Test
+  void shouldListCapturedStatementsWithoutBindValues() {
+    // Given — the test profile samples every statement; a duplicate create looks the code up
+    given()
+        .contentType(ContentType.JSON)
+        .body("{\"businessUnitCode\":\"MWH.001\",\"location\":\"AMSTERDAM-001\","
+            + "\"capacity\":20,\"stock\":5}")
+        .when().post("/warehouse")
+        .then().statusCode(400);
+
+    // When / Then
+    given().when().get("/admin/slow-queries?top=50")
+        .then()
+        .statusCode(200)
+        .body("size()", lessThanOrEqualTo(50))
+        .body("sql", hasItem(containsString("from warehouse")))
+        .body("sql", not(hasItem(containsString("MWH.001"))));
+  }
+}
@@ -0,0 +1,39 @@
+package com.fulfilment.application.monolith.sql;
+
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeMatcher;
+
+/**
+ * RestAssured matchers for the per-request SQL statement count reported in the test profile:
+ *
+ * <pre>
+ * given().get("/store/1").then().header(StatementBudget.HEADER, StatementBudget.atMost(1));
+ * </pre>
+ */
+public final class StatementBudget {
+
+  public static final String HEADER = StatementCountFilter.HEADER;
+
+  private StatementBudget() {
+  }
+
+  public static Matcher<String> atMost(int statements) {
+    return new TypeSafeMatcher<>() {
+      @Override
+      protected boolean matchesSafely(String header) {
+        return Integer.parseInt(header) <= statements;
+      }
+
+      @Override
+      public void describeTo(Description description) {
+        description.appendText("at most " + statements + " SQL statements");
+      }
+
+      @Override
+      protected void describeMismatchSafely(String header, Description description) {
+        description.appendText("ran " + header);
+      }
+    };
+  }
+}
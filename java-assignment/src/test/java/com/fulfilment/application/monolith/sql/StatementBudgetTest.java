@@ -0,0 +1,52 @@
+package com.fulfilment.application.monolith.sql;
+
+import static com.fulfilment.application.monolith.sql.StatementBudget.HEADER;
+import static com.fulfilment.application.monolith.sql.StatementBudget.atMost;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.not;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class StatementBudgetTest {
+
+  @Test
+  void shouldReadSingleStoreWithOneStatement() {
+    given().when().get("/store/2").then().statusCode(200).header(HEADER, atMost(1));
+  }
+
+  @Test
+  void shouldListWarehousesWithOneStatement() {
+    given().when().get("/warehouse").then().statusCode(200).header(HEADER, atMost(1));
+  }
+
+  @Test
+  void shouldRejectDuplicateWarehouseWithOneLookup() {
+    given()
+        .contentType(ContentType.JSON)
+        .body("{\"businessUnitCode\":\"MWH.001\",\"location\":\"AMSTERDAM-001\","
+            + "\"capacity\":20,\"stock\":5}")
+        .when().post("/warehouse")
+        .then()
+        .statusCode(400)
+        .header(HEADER, not("0"))
+        .header(HEADER, atMost(1));
+  }
+
+  @Test
+  void shouldArchiveWarehouseWithinBudget() {
+    // Given
+    String id = given()
+        .contentType(ContentType.JSON)
+        .body("{\"businessUnitCode\":\"MWH.BUDGET\",\"location\":\"EINDHOVEN-001\","
+            + "\"capacity\":20,\"stock\":5}")
+        .when().post("/warehouse")
+        .then().statusCode(200)
+        .extract().path("id");
+
+    // When / Then — one code lookup, the update, the change feed row and the view row
+    given().when().delete("/warehouse/" + id).then().statusCode(204).header(HEADER, atMost(7));
+  }
+}
@@ -0,0 +1,23 @@
+/**
+ * Tests for SQL statement accounting.
+ *
+ * <h2>Test classification</h2>
+ * <ul>
+ *   <li><strong>Unit tests</strong> ({@code CountingStatementInspectorTest}) &mdash; plain
+ *       JUnit. Cover counting, the single repeat warning per statement and statements outside
+ *       a request.</li>
+ *   <li><strong>Unit tests</strong> ({@code SlowQueryLogTest}) &mdash; plain JUnit with a fixed
+ *       random source. Cover the threshold, sampling, ranking by total time and ring-buffer
+ *       eviction.</li>
+ *   <li><strong>Integration tests</strong> ({@code StatementBudgetTest}) &mdash;
+ *       {@code @QuarkusTest}. Pin the statement budget of read and rejected-write endpoints
+ *       via the {@code X-SQL-Statement-Count} header.</li>
+ *   <li><strong>Integration tests</strong> ({@code SlowQueryResourceTest}) &mdash;
+ *       {@code @QuarkusTest}. The test profile samples every statement; checks that a lookup is
+ *       listed without its bind value.</li>
+ * </ul>
+ *
+ * <p>{@code StatementBudget} provides the {@code atMost(n)} header matcher for use in any
+ * endpoint test.</p>
+ */
+package com.fulfilment.application.monolith.sql;
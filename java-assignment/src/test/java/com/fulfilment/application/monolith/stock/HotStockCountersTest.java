@@ -0,0 +1,249 @@
+package com.fulfilment.application.monolith.stock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class HotStockCountersTest {
+
+  @TempDir Path logDir;
+
+  private RecordingSink sink;
+  private HotStockCounters counters;
+
+  @BeforeEach
+  void setUp() {
+    sink = new RecordingSink();
+    counters = new HotStockCounters(true, new StockDeltaLog(logDir), sink);
+  }
+
+  @Test
+  void shouldReportSummedDeltasAsPending() {
+    // When
+    counters.add(StockTarget.PRODUCT, 1L, 5);
+    counters.add(StockTarget.PRODUCT, 1L, -2);
+    counters.add(StockTarget.STORE, 1L, 7);
+
+    // Then — same id, different targets are counted separately
+    assertEquals(3, counters.pending(StockTarget.PRODUCT, 1L, 0));
+    assertEquals(7, counters.pending(StockTarget.STORE, 1L, 0));
+    assertEquals(0, counters.pending(StockTarget.PRODUCT, 2L, 0));
+  }
+
+  @Test
+  void shouldApplyBatchedSumsAndClearPendingOnFlush() {
+    // Given
+    counters.add(StockTarget.PRODUCT, 1L, 5);
+    counters.add(StockTarget.PRODUCT, 1L, 5);
+    counters.add(StockTarget.STORE, 2L, -1);
+
+    // When
+    counters.flush();
+
+    // Then
+    assertEquals(1, sink.batches.size());
+    assertEquals(10L, sink.batches.get(0).get(new StockKey(StockTarget.PRODUCT, 1L)));
+    assertEquals(-1L, sink.batches.get(0).get(new StockKey(StockTarget.STORE, 2L)));
+    assertEquals(0, counters.pending(StockTarget.PRODUCT, 1L, 0));
+    assertEquals(1, logSegmentCount(), "only the fresh, empty segment should remain");
+  }
+
+  @Test
+  void shouldKeepDeltasWhenFlushFails() {
+    // Given
+    counters.add(StockTarget.PRODUCT, 1L, 4);
+    sink.failNext = true;
+
+    // When
+    counters.flush();
+
+    // Then — nothing lost, next flush succeeds
+    assertEquals(4, counters.pending(StockTarget.PRODUCT, 1L, 0));
+    counters.flush();
+    assertEquals(4L, sink.batches.get(0).get(new StockKey(StockTarget.PRODUCT, 1L)));
+    assertEquals(0, counters.pending(StockTarget.PRODUCT, 1L, 0));
+  }
+
+  @Test
+  void shouldCountDeltaBeingFlushedOnlyForRowsReadBeforeTheFlush() {
+    // Given — the flushed row will be at version 7
+    counters.add(StockTarget.PRODUCT, 1L, 5);
+    sink.versions = Map.of(new StockKey(StockTarget.PRODUCT, 1L), 7L);
+    sink.duringCommit = () -> {
+      // Then — a row read before the commit lacks the delta, one read after has it
+      sink.pendingBeforeCommit = counters.pending(StockTarget.PRODUCT, 1L, 6);
+      sink.pendingAfterCommit = counters.pending(StockTarget.PRODUCT, 1L, 7);
+    };
+
+    // When
+    counters.flush();
+
+    // Then
+    assertEquals(5, sink.pendingBeforeCommit);
+    assertEquals(0, sink.pendingAfterCommit);
+  }
+
+  @Test
+  void shouldCountCommittedDeltaForRowsReadBeforeTheCommitUntilTheNextFlush() {
+    // Given — the flushed row will be at version 7
+    counters.add(StockTarget.PRODUCT, 1L, 5);
+    sink.versions = Map.of(new StockKey(StockTarget.PRODUCT, 1L), 7L);
+
+    // When
+    counters.flush();
+
+    // Then — a row loaded at version 6 before the commit still lacks the delta
+    assertEquals(5, counters.pending(StockTarget.PRODUCT, 1L, 6));
+    assertEquals(0, counters.pending(StockTarget.PRODUCT, 1L, 7));
+
+    // When — a later flush with a new delta
+    counters.add(StockTarget.PRODUCT, 1L, 2);
+    sink.versions = Map.of(new StockKey(StockTarget.PRODUCT, 1L), 8L);
+    counters.flush();
+
+    // Then — only the latest committed sum is kept
+    assertEquals(2, counters.pending(StockTarget.PRODUCT, 1L, 7));
+    assertEquals(0, counters.pending(StockTarget.PRODUCT, 1L, 8));
+  }
+
+  @Test
+  void shouldCountEveryDeltaOnceWhileFlushesRunConcurrently() throws Exception {
+    // Given
+    int threads = 8;
+    int addsPerThread = 500;
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    List<Future<?>> adders = new ArrayList<>();
+
+    // When
+    for (int i = 0; i < threads; i++) {
+      adders.add(pool.submit(() -> {
+        for (int n = 0; n < addsPerThread; n++) {
+          counters.add(StockTarget.PRODUCT, 1L, 1);
+        }
+      }));
+    }
+    while (adders.stream().anyMatch(adder -> !adder.isDone())) {
+      counters.flush();
+    }
+    for (Future<?> adder : adders) {
+      adder.get();
+    }
+    pool.shutdown();
+    counters.flush();
+
+    // Then — every delta was flushed exactly once
+    long flushed = sink.batches.stream()
+        .mapToLong(batch -> batch.getOrDefault(new StockKey(StockTarget.PRODUCT, 1L), 0L))
+        .sum();
+    assertEquals((long) threads * addsPerThread, flushed);
+    assertEquals(0, counters.pending(StockTarget.PRODUCT, 1L, 0));
+  }
+
+  @Test
+  void shouldReplayUnflushedDeltasAfterRestart() {
+    // Given — deltas logged but the process "crashes" before flushing
+    counters.add(StockTarget.PRODUCT, 3L, 2);
+    counters.add(StockTarget.STORE, 1L, 9);
+
+    // When
+    HotStockCounters restarted = new HotStockCounters(true, new StockDeltaLog(logDir), sink);
+    restarted.recover();
+
+    // Then
+    assertEquals(1, sink.batches.size());
+    assertEquals(2L, sink.batches.get(0).get(new StockKey(StockTarget.PRODUCT, 3L)));
+    assertEquals(9L, sink.batches.get(0).get(new StockKey(StockTarget.STORE, 1L)));
+  }
+
+  @Test
+  void shouldNotReapplySegmentsAlreadyCommitted() throws IOException {
+    // Given — flush committed, but the crash happened before the segment file was deleted
+    counters.add(StockTarget.PRODUCT, 1L, 5);
+    sink.keepSegmentFiles = true;
+    counters.flush();
+    Files.move(sink.savedSegment, logDir.resolve("deltas-" + sink.checkpoint + ".log"));
+
+    // When
+    HotStockCounters restarted = new HotStockCounters(true, new StockDeltaLog(logDir), sink);
+    restarted.recover();
+
+    // Then — the checkpoint stored with the batch prevents a second application
+    assertEquals(1, sink.batches.size());
+  }
+
+  @Test
+  void shouldRejectDeltasWhenDisabled() {
+    // Given
+    HotStockCounters disabled = new HotStockCounters(false, (StockDeltaLog) null, sink);
+
+    // When / Then
+    assertEquals(0, disabled.pending(StockTarget.PRODUCT, 1L, 0));
+    assertThrows(IllegalStateException.class, () -> disabled.add(StockTarget.PRODUCT, 1L, 1));
+  }
+
+  private long logSegmentCount() {
+    try (Stream<Path> files = Files.list(logDir)) {
+      return files.count();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private class RecordingSink implements StockDeltaSink {
+
+    final List<Map<StockKey, Long>> batches = new ArrayList<>();
+    long checkpoint;
+    boolean failNext;
+    boolean keepSegmentFiles;
+    Path savedSegment;
+    Map<StockKey, Long> versions = Map.of();
+    Runnable duringCommit = () -> { };
+    long pendingBeforeCommit;
+    long pendingAfterCommit;
+
+    @Override
+    public long lastFlushedSegment() {
+      return checkpoint;
+    }
+
+    @Override
+    public void apply(Map<StockKey, Long> deltas, long segment,
+        Consumer<Map<StockKey, Long>> beforeCommit) {
+      if (failNext) {
+        failNext = false;
+        throw new IllegalStateException("database unavailable");
+      }
+      beforeCommit.accept(versions);
+      duringCommit.run();
+      batches.add(new HashMap<>(deltas));
+      checkpoint = segment;
+      if (keepSegmentFiles) {
+        // keep a copy of the sealed segment so the test can put it back as if deletion never ran
+        try {
+          savedSegment = Files.createTempFile("sealed-", ".log");
+          Files.copy(logDir.resolve("deltas-" + segment + ".log"), savedSegment,
+              StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+    }
+  }
+}
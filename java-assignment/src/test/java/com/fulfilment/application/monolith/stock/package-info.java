@@ -0,0 +1,14 @@
+/**
+ * Tests for the hot stock counters.
+ *
+ * <h2>Test classification</h2>
+ * <ul>
+ *   <li><strong>Unit tests</strong> ({@code HotStockCountersTest}) &mdash; plain JUnit with
+ *       a {@code @TempDir} delta log and an in-memory recording sink. Cover summing,
+ *       flushing, failed-flush retry and crash recovery against the checkpoint.</li>
+ * </ul>
+ *
+ * <p>The HTTP side of stock adjustments (direct row-lock mode) is covered by
+ * {@code ProductResourceTest} and {@code StoreResourceTest}.</p>
+ */
+package com.fulfilment.application.monolith.stock;
@@ -0,0 +1,15 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+import java.util.Map;
+
+/** Hot stock counters on, with their delta log under {@code target/}. */
+public class HotStockCountersProfile implements QuarkusTestProfile {
+
+  @Override
+  public Map<String, String> getConfigOverrides() {
+    return Map.of(
+        "stock.hot-counters.enabled", "true",
+        "stock.hot-counters.log-dir", "target/stock-deltas");
+  }
+}
@@ -0,0 +1,103 @@
+package com.fulfilment.application.monolith.stores;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fulfilment.application.monolith.stock.HotStockCounters;
+import com.fulfilment.application.monolith.stock.StockTarget;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+@TestProfile(HotStockCountersProfile.class)
+class HotStockStoreResourceTest {
+
+  @Inject
+  MeterRegistry registry;
+
+  @Inject
+  HotStockCounters stockCounters;
+
+  @Test
+  void shouldNotifyLegacySystemOfStockAdjustedThroughHotCounters() {
+    // Given — store id=2 (KALLAX) starts with 5 items
+    long before = legacyUpdates();
+
+    // When / Then — the delta goes to the hot counters, not the row, and still reaches legacy
+    given()
+        .contentType(ContentType.JSON)
+        .body("{\"delta\": 3}")
+        .when()
+        .post("/store/2/stock-adjustments")
+        .then()
+        .statusCode(200)
+        .body("quantityProductsInStock", is(8));
+    assertEquals(before + 1, legacyUpdates());
+  }
+
+  @Test
+  void shouldCountFlushedDeltaOnce() {
+    // Given — store id=3 (BESTÅ) starts with 3 items
+    given()
+        .contentType(ContentType.JSON)
+        .body("{\"delta\": 4}")
+        .when()
+        .post("/store/3/stock-adjustments")
+        .then()
+        .statusCode(200)
+        .body("quantityProductsInStock", is(7));
+
+    // When
+    stockCounters.flush();
+
+    // Then — the row holds the delta and it is no longer pending
+    given()
+        .when()
+        .get("/store/3")
+        .then()
+        .statusCode(200)
+        .body("quantityProductsInStock", is(7));
+    assertEquals(0, stockCounters.pending(StockTarget.STORE, 3L, Store.<Store>findById(3L).version));
+  }
+
+  @Test
+  void shouldNotAnswerNotModifiedAfterHotAdjustment() {
+    // Given — store id=1 read with its ETag
+    Response read = given().when().get("/store/1");
+    read.then().statusCode(200);
+    String entityTag = read.getHeader("ETag");
+    int quantity = read.path("quantityProductsInStock");
+
+    // When — the delta stays in the hot counters, so the row version does not move
+    given()
+        .contentType(ContentType.JSON)
+        .body("{\"delta\": 2}")
+        .when()
+        .post("/store/1/stock-adjustments")
+        .then()
+        .statusCode(200);
+
+    // Then — the old tag no longer matches what the body shows
+    given()
+        .header("If-None-Match", entityTag)
+        .when()
+        .get("/store/1")
+        .then()
+        .statusCode(200)
+        .header("ETag", not(entityTag))
+        .body("quantityProductsInStock", is(quantity + 2));
+  }
+
+  private long legacyUpdates() {
+    Timer timer = registry.find(LegacyStoreManagerGateway.TIMER).tag("operation", "update").timer();
+    return timer == null ? 0 : timer.count();
+  }
+}
@@ -1,9 +1,17 @@
 package com.fulfilment.application.monolith.stores;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -47,4 +55,26 @@ class LegacyStoreChangeObserverTest {
     verify(gateway).updateStoreOnLegacySystem(store);
     verifyNoMoreInteractions(gateway);
   }
+
+  @Test
+  void shouldDispatchInTraceContextOfTheChangingRequest() {
+    // Given — an event captured under a request span, dispatched outside it
+    SpanContext request = SpanContext.create("0af7651916cd43dd8448eb211c80319c",
+        "b7ad6b7169203331", TraceFlags.getSampled(), TraceState.getDefault());
+    Store store = new Store("Traced Store");
+    StoreChangeEvent event = new StoreChangeEvent(store, StoreChangeEvent.OperationType.CREATE,
+        Context.root().with(Span.wrap(request)));
+    AtomicReference<SpanContext> dispatchedUnder = new AtomicReference<>();
+    doAnswer(invocation -> {
+      dispatchedUnder.set(Span.current().getSpanContext());
+      return null;
+    }).when(gateway).createStoreOnLegacySystem(store);
+
+    // When
+    observer.onStoreChange(event);
+
+    // Then
+    assertEquals(request, dispatchedUnder.get());
+    assertEquals(SpanContext.getInvalid(), Span.current().getSpanContext());
+  }
 }
@@ -1,17 +1,33 @@
 package com.fulfilment.application.monolith.stores;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 class LegacyStoreManagerGatewayTest {
 
+  private MeterRegistry registry;
+  private InMemorySpanExporter spans;
   private LegacyStoreManagerGateway gateway;
 
   @BeforeEach
   void setUp() {
-    gateway = new LegacyStoreManagerGateway();
+    registry = new SimpleMeterRegistry();
+    spans = InMemorySpanExporter.create();
+    SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+        .addSpanProcessor(SimpleSpanProcessor.create(spans))
+        .build();
+    gateway = new LegacyStoreManagerGateway(registry, tracerProvider.get("test"));
   }
 
   @Test
@@ -22,6 +38,11 @@ class LegacyStoreManagerGatewayTest {
 
     // When / Then
     assertDoesNotThrow(() -> gateway.createStoreOnLegacySystem(store));
+    assertEquals(1, registry.timer(LegacyStoreManagerGateway.TIMER,
+        "operation", "create", "outcome", "success").count());
+    SpanData span = spans.getFinishedSpanItems().get(0);
+    assertEquals("legacy.create", span.getName());
+    assertEquals(SpanKind.CLIENT, span.getKind());
   }
 
   @Test
@@ -33,4 +54,16 @@ class LegacyStoreManagerGatewayTest {
     // When / Then
     assertDoesNotThrow(() -> gateway.updateStoreOnLegacySystem(store));
   }
+
+  @Test
+  void shouldCountFailedLegacyCallWithoutThrowing() {
+    // Given — a name that cannot be used as a file name prefix
+    Store store = new Store("invalid/name");
+
+    // When / Then
+    assertDoesNotThrow(() -> gateway.updateStoreOnLegacySystem(store));
+    assertEquals(1, registry.timer(LegacyStoreManagerGateway.TIMER,
+        "operation", "update", "outcome", "failure").count());
+    assertEquals(StatusCode.ERROR, spans.getFinishedSpanItems().get(0).getStatus().getStatusCode());
+  }
 }
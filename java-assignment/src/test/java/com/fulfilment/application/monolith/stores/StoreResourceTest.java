@@ -3,6 +3,9 @@ package com.fulfilment.application.monolith.stores;
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 
 import io.quarkus.test.junit.QuarkusTest;
@@ -226,4 +229,193 @@ class StoreResourceTest {
         .then()
         .statusCode(404);
   }
+
+  // --- POST /store/{id}/stock-adjustments ---
+
+  @Test
+  @Order(14)
+  void shouldAdjustStoreStockByDelta() {
+    // Given — store id=1 (TONSTAD) starts with 10 items
+    String body = "{\"delta\": 5}";
+
+    // When / Then
+    given()
+        .contentType(ContentType.JSON)
+        .body(body)
+        .when()
+        .post("/store/1/stock-adjustments")
+        .then()
+        .statusCode(200)
+        .body("quantityProductsInStock", is(15));
+  }
+
+  @Test
+  @Order(15)
+  void shouldReturn404WhenAdjustingStockOfNonExistentStore() {
+    given()
+        .contentType(ContentType.JSON)
+        .body("{\"delta\": 1}")
+        .when()
+        .post("/store/999/stock-adjustments")
+        .then()
+        .statusCode(404);
+  }
+
+  // --- Conditional requests (ETag / If-Match / If-None-Match) ---
+
+  @Test
+  @Order(16)
+  void shouldReturn304WhenStoreIsUnchanged() {
+    // Given
+    String etag = given().when().get("/store/1").then()
+        .statusCode(200)
+        .header("ETag", notNullValue())
+        .extract().header("ETag");
+
+    // When / Then — no body is sent for a matching tag
+    given()
+        .header("If-None-Match", etag)
+        .when()
+        .get("/store/1")
+        .then()
+        .statusCode(304)
+        .header("ETag", is(etag))
+        .body(is(""));
+  }
+
+  @Test
+  @Order(17)
+  void shouldReturn412WhenUpdatingWithStaleIfMatch() {
+    // Given
+    String body = "{\"name\": \"TONSTAD\", \"quantityProductsInStock\": 20}";
+
+    // When / Then
+    given()
+        .contentType(ContentType.JSON)
+        .header("If-Match", "\"999\"")
+        .body(body)
+        .when()
+        .put("/store/1")
+        .then()
+        .statusCode(412);
+  }
+
+  @Test
+  @Order(18)
+  void shouldUpdateAndReturnNewETagWhenIfMatchIsCurrent() {
+    // Given
+    String etag = given().when().get("/store/1").then().extract().header("ETag");
+    String body = "{\"name\": \"TONSTAD\", \"quantityProductsInStock\": 20}";
+
+    // When
+    String newEtag = given()
+        .contentType(ContentType.JSON)
+        .header("If-Match", etag)
+        .body(body)
+        .when()
+        .put("/store/1")
+        .then()
+        .statusCode(200)
+        .body("quantityProductsInStock", is(20))
+        .extract().header("ETag");
+
+    // Then — the old tag is now stale
+    assertNotEquals(etag, newEtag);
+    given()
+        .contentType(ContentType.JSON)
+        .header("If-Match", etag)
+        .body(body)
+        .when()
+        .put("/store/1")
+        .then()
+        .statusCode(412);
+  }
+
+  @Test
+  @Order(19)
+  void shouldReturnWeakETagAnd304ForUnchangedStoreList() {
+    // Given
+    String etag = given().when().get("/store").then()
+        .statusCode(200)
+        .header("ETag", startsWith("W/"))
+        .extract().header("ETag");
+
+    // When / Then
+    given().header("If-None-Match", etag).when().get("/store").then().statusCode(304);
+  }
+
+  @Test
+  @Order(20)
+  void shouldReturn412WhenDeletingWithStaleIfMatch() {
+    given()
+        .header("If-Match", "\"999\"")
+        .when()
+        .delete("/store/1")
+        .then()
+        .statusCode(412);
+
+    // Then — the store is still there
+    given().when().get("/store/1").then().statusCode(200).body("name", is("TONSTAD"));
+  }
+
+  // --- Response cache ---
+
+  @Test
+  @Order(21)
+  void shouldServeCachedListWithGzipAndReflectWritesImmediately() {
+    // Given — the first GET fills the cache
+    given().when().get("/store").then().statusCode(200);
+
+    // When / Then — the second GET is served from cache, gzip-encoded on request
+    given()
+        .header("Accept-Encoding", "gzip")
+        .when()
+        .get("/store")
+        .then()
+        .statusCode(200)
+        .header("Content-Encoding", "gzip")
+        .body("find { it.id == 1 }.quantityProductsInStock", is(20));
+
+    // When — a write evicts the cached list
+    given()
+        .contentType(ContentType.JSON)
+        .body("{\"delta\": 1}")
+        .when()
+        .post("/store/1/stock-adjustments")
+        .then()
+        .statusCode(200);
+
+    // Then
+    given()
+        .when()
+        .get("/store")
+        .then()
+        .statusCode(200)
+        .body("find { it.id == 1 }.quantityProductsInStock", is(21));
+  }
+
+  @Test
+  @Order(22)
+  void shouldInvalidateCachedStoreRequestedWithLeadingZero() {
+    // Given — /store/01 fills the cache entry of store 1
+    given().when().get("/store/01").then().statusCode(200)
+        .body("quantityProductsInStock", is(21));
+
+    // When
+    given()
+        .contentType(ContentType.JSON)
+        .body("{\"delta\": 1}")
+        .when()
+        .post("/store/1/stock-adjustments")
+        .then()
+        .statusCode(200);
+
+    // Then
+    given()
+        .when()
+        .get("/store/01")
+        .then()
+        .statusCode(200)
+        .body("quantityProductsInStock", is(22));
+  }
 }
@@ -11,7 +11,10 @@
  *   <li><strong>Integration tests</strong> ({@code StoreResourceTest}) &mdash;
  *       {@code @QuarkusTest} with REST-assured and H2 in-memory database.
  *       Validates the full HTTP &rarr; CDI &rarr; JPA stack for all CRUD
- *       operations including CDI event firing for legacy system sync.</li>
+ *       operations including CDI event firing for legacy system sync.
+ *       {@code HotStockStoreResourceTest} runs with hot stock counters on
+ *       ({@code HotStockCountersProfile}) and checks that stock adjustments
+ *       still reach the legacy system and change the {@code ETag}.</li>
  * </ul>
  *
  * <h2>Why {@code StoreResource} uses integration tests</h2>
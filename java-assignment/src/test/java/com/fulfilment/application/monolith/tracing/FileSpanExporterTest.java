@@ -0,0 +1,54 @@
+package com.fulfilment.application.monolith.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileSpanExporterTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void shouldAppendOneJsonLinePerSpanWithParentAndAttributes() throws Exception {
+    // Given
+    ObjectMapper mapper = new ObjectMapper();
+    Path file = directory.resolve("traces.jsonl");
+    FileSpanExporter exporter = new FileSpanExporter(file, mapper);
+    Tracer tracer = SdkTracerProvider.builder()
+        .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+        .build()
+        .get("test");
+
+    // When
+    Span root = tracer.spanBuilder("request").startSpan();
+    tracer.spanBuilder("store").setParent(Context.current().with(root))
+        .setAttribute("warehouse.business_unit_code", "MWH.001")
+        .startSpan().end();
+    root.end();
+    exporter.shutdown();
+
+    // Then
+    List<String> lines = Files.readAllLines(file);
+    assertEquals(2, lines.size());
+    JsonNode child = mapper.readTree(lines.get(0));
+    JsonNode parent = mapper.readTree(lines.get(1));
+    assertEquals("store", child.get("name").asText());
+    assertEquals(parent.get("spanId").asText(), child.get("parentSpanId").asText());
+    assertEquals("MWH.001", child.get("attributes").get("warehouse.business_unit_code").asText());
+    assertTrue(parent.get("parentSpanId").isNull());
+    assertEquals(child.get("traceId"), parent.get("traceId"));
+  }
+}
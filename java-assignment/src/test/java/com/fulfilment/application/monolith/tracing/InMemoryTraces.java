@@ -0,0 +1,20 @@
+package com.fulfilment.application.monolith.tracing;
+
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+
+/**
+ * Replaces the file exporter behind {@link TailSamplingSpanExporter} in every
+ * {@code @QuarkusTest}, so tests can read the sampled spans.
+ */
+@Singleton
+public class InMemoryTraces {
+
+  @Produces
+  @Singleton
+  @SampledTraces
+  public InMemorySpanExporter sampledSpans() {
+    return InMemorySpanExporter.create();
+  }
+}
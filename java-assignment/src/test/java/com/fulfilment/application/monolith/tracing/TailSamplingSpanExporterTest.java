@@ -0,0 +1,110 @@
+package com.fulfilment.application.monolith.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.testing.time.TestClock;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TailSamplingSpanExporterTest {
+
+  private TestClock clock;
+  private InMemorySpanExporter sampled;
+  private Tracer tracer;
+
+  @BeforeEach
+  void setUp() {
+    clock = TestClock.create();
+    sampled = InMemorySpanExporter.create();
+    TailSamplingSpanExporter exporter =
+        new TailSamplingSpanExporter(sampled, Duration.ofMillis(500), 2);
+    tracer = SdkTracerProvider.builder()
+        .setClock(clock)
+        .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+        .build()
+        .get("test");
+  }
+
+  @Test
+  void shouldDropFastTraceWithoutErrors() {
+    // When
+    trace(Duration.ofMillis(20), StatusCode.UNSET);
+
+    // Then
+    assertTrue(sampled.getFinishedSpanItems().isEmpty());
+  }
+
+  @Test
+  void shouldKeepWholeTraceWhenRootIsSlow() {
+    // When
+    trace(Duration.ofMillis(500), StatusCode.UNSET);
+
+    // Then
+    assertEquals(List.of("store", "request"), names(sampled.getFinishedSpanItems()));
+  }
+
+  @Test
+  void shouldKeepFastTraceWithErrorInAChild() {
+    // When
+    trace(Duration.ofMillis(20), StatusCode.ERROR);
+
+    // Then
+    assertEquals(List.of("store", "request"), names(sampled.getFinishedSpanItems()));
+  }
+
+  @Test
+  void shouldFollowDecisionForSpansEndingAfterTheirRoot() {
+    // Given — a slow request whose legacy dispatch ends after the response
+    Span root = tracer.spanBuilder("request").startSpan();
+    Span dispatch = tracer.spanBuilder("legacy").setParent(Context.current().with(root)).startSpan();
+    clock.advance(Duration.ofSeconds(1));
+    root.end();
+
+    // When
+    dispatch.end();
+
+    // Then
+    assertEquals(List.of("request", "legacy"), names(sampled.getFinishedSpanItems()));
+  }
+
+  @Test
+  void shouldDropOldestUndecidedTraceBeyondCapacity() {
+    // Given — three traces whose children ended but whose roots are still running
+    Span first = tracer.spanBuilder("first").startSpan();
+    for (Span root : List.of(first,
+        tracer.spanBuilder("second").startSpan(), tracer.spanBuilder("third").startSpan())) {
+      tracer.spanBuilder("child").setParent(Context.current().with(root)).startSpan().end();
+    }
+    clock.advance(Duration.ofSeconds(1));
+
+    // When — the evicted trace's root ends slow
+    first.end();
+
+    // Then — only the root is left of it
+    assertEquals(List.of("first"), names(sampled.getFinishedSpanItems()));
+  }
+
+  private void trace(Duration rootDuration, StatusCode childStatus) {
+    Span root = tracer.spanBuilder("request").startSpan();
+    Span child = tracer.spanBuilder("store").setParent(Context.current().with(root)).startSpan();
+    child.setStatus(childStatus);
+    child.end();
+    clock.advance(rootDuration);
+    root.end();
+  }
+
+  private static List<String> names(List<SpanData> spans) {
+    return spans.stream().map(SpanData::getName).toList();
+  }
+}
@@ -0,0 +1,94 @@
+package com.fulfilment.application.monolith.tracing;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class TracingTest {
+
+  @Inject
+  @SampledTraces
+  InMemorySpanExporter spans;
+
+  @BeforeEach
+  void reset() {
+    spans.reset();
+  }
+
+  @Test
+  void shouldTraceRejectedCreateFromResourceThroughUseCaseToStore() throws Exception {
+    // When — a duplicate code; the test profile keeps every trace
+    given()
+        .contentType(ContentType.JSON)
+        .body("{\"businessUnitCode\":\"MWH.001\",\"location\":\"AMSTERDAM-001\","
+            + "\"capacity\":20,\"stock\":5}")
+        .when().post("/warehouse")
+        .then().statusCode(400);
+
+    // Then — store lookup inside the use case inside the server span
+    SpanData useCase = awaitSpan("warehouse.create");
+    SpanData lookup = awaitSpan("WarehouseStore.findByBusinessUnitCode");
+    SpanData server = awaitSpan("POST /warehouse");
+    assertEquals(useCase.getSpanId(), lookup.getParentSpanId());
+    assertEquals(server.getTraceId(), useCase.getTraceId());
+    assertTrue(isAncestor(server, useCase));
+    assertEquals("rejected:DUPLICATE_BUSINESS_UNIT",
+        useCase.getAttributes().asMap().entrySet().stream()
+            .filter(e -> e.getKey().getKey().equals("warehouse.outcome"))
+            .findFirst().orElseThrow().getValue());
+  }
+
+  @Test
+  void shouldTraceLegacyDispatchInTheStoreRequestsTrace() throws Exception {
+    // When
+    given()
+        .contentType(ContentType.JSON)
+        .body("{\"name\":\"Traced Store\",\"quantityProductsInStock\":3}")
+        .when().post("/store")
+        .then().statusCode(201);
+
+    // Then
+    SpanData dispatch = awaitSpan("legacy.create");
+    SpanData server = awaitSpan("POST /store");
+    assertEquals(server.getTraceId(), dispatch.getTraceId());
+    assertTrue(isAncestor(server, dispatch));
+  }
+
+  private boolean isAncestor(SpanData ancestor, SpanData span) {
+    Map<String, SpanData> byId = spans.getFinishedSpanItems().stream()
+        .collect(Collectors.toMap(SpanData::getSpanId, Function.identity(), (a, b) -> a));
+    for (SpanData current = span; current != null; current = byId.get(current.getParentSpanId())) {
+      if (current.getSpanId().equals(ancestor.getSpanId())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private SpanData awaitSpan(String name) throws InterruptedException {
+    for (int attempt = 0; attempt < 100; attempt++) {
+      List<SpanData> finished = spans.getFinishedSpanItems();
+      for (SpanData span : finished) {
+        if (span.getName().equals(name)) {
+          return span;
+        }
+      }
+      Thread.sleep(50);
+    }
+    throw new AssertionError("No span " + name + " in " + spans.getFinishedSpanItems().stream()
+        .map(SpanData::getName).toList());
+  }
+}
@@ -0,0 +1,18 @@
+/**
+ * Tests for tracing.
+ *
+ * <h2>Test classification</h2>
+ * <ul>
+ *   <li><strong>Unit tests</strong> ({@code TailSamplingSpanExporterTest},
+ *       {@code FileSpanExporterTest}) &mdash; plain JUnit against the OpenTelemetry SDK with a
+ *       test clock. Cover the keep/drop decision, late spans, the pending-trace cap and the
+ *       JSON-lines format.</li>
+ *   <li><strong>Integration tests</strong> ({@code TracingTest}) &mdash; {@code @QuarkusTest}.
+ *       Check the span tree of a warehouse create and that the legacy dispatch of a store
+ *       create joins the request's trace.</li>
+ * </ul>
+ *
+ * <p>{@code InMemoryTraces} replaces the file exporter for every {@code @QuarkusTest}; the test
+ * profile keeps all traces.</p>
+ */
+package com.fulfilment.application.monolith.tracing;
@@ -26,6 +26,7 @@ class DbWarehouseTest {
 
     // Then
     assertNotNull(warehouse);
+    assertEquals(1L, warehouse.id);
     assertEquals("MWH.001", warehouse.businessUnitCode);
     assertEquals("AMSTERDAM-001", warehouse.location);
     assertEquals(50, warehouse.capacity);
@@ -0,0 +1,43 @@
+package com.fulfilment.application.monolith.warehouses;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.vertx.core.Vertx;
+import io.vertx.jdbcclient.JDBCConnectOptions;
+import io.vertx.jdbcclient.JDBCPool;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.sqlclient.PoolOptions;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Disposes;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+import java.util.Optional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * The SQL client pool of {@link ReactiveWarehouseRepository} in tests: a Vert.x JDBC pool on
+ * the default H2 database, in place of the PostgreSQL pool production gets from Quarkus.
+ */
+@IfBuildProperty(name = "warehouse-store.reactive", stringValue = "true")
+@ApplicationScoped
+public class JdbcPoolProducer {
+
+  @Produces
+  @Singleton
+  Pool pool(Vertx vertx,
+      @ConfigProperty(name = "quarkus.datasource.jdbc.url") String url,
+      @ConfigProperty(name = "quarkus.datasource.username") String user,
+      @ConfigProperty(name = "quarkus.datasource.password") Optional<String> password) {
+    // the in-memory database outlives its connections (DB_CLOSE_DELAY=-1), so this pool sees
+    // the schema and rows of the default datasource
+    JDBCConnectOptions connectOptions = new JDBCConnectOptions()
+        .setJdbcUrl(url)
+        .setUser(user)
+        .setPassword(password.orElse(""))
+        .setDatabase("testdb");
+    return Pool.newInstance(JDBCPool.pool(vertx, connectOptions, new PoolOptions().setMaxSize(4)));
+  }
+
+  void close(@Disposes Pool pool) {
+    pool.closeAndAwait();
+  }
+}
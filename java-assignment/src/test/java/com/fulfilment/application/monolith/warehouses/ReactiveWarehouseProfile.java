@@ -0,0 +1,16 @@
+package com.fulfilment.application.monolith.warehouses;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+import java.util.Map;
+
+/**
+ * Builds the application with the reactive warehouse API. H2 has no reactive driver, so the
+ * adapter runs on the JDBC-backed pool from {@link JdbcPoolProducer}.
+ */
+public class ReactiveWarehouseProfile implements QuarkusTestProfile {
+
+  @Override
+  public Map<String, String> getConfigOverrides() {
+    return Map.of("warehouse-store.reactive", "true");
+  }
+}
@@ -0,0 +1,93 @@
+package com.fulfilment.application.monolith.warehouses;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+@TestProfile(ReactiveWarehouseProfile.class)
+class ReactiveWarehouseResourceTest {
+
+  @Test
+  void shouldStreamActiveWarehousesAsJsonArray() {
+    given().when().get("/warehouse")
+        .then().statusCode(200).body("businessUnitCode", hasItem("MWH.001"));
+  }
+
+  @Test
+  void shouldCreateAndReadBackWithEntityTag() {
+    // Given
+    String id = create("MWH.R01", "AMSTERDAM-002", 10);
+
+    // When / Then — RestAssured accepts gzip, so this is the gzip representation's tag
+    given().when().get("/warehouse/" + id)
+        .then().statusCode(200)
+        .header("ETag", "\"0-gzip\"")
+        .body("businessUnitCode", is("MWH.R01"))
+        .body("location", is("AMSTERDAM-002"));
+  }
+
+  @Test
+  void shouldAnswerBusinessRuleViolationWithItsReason() {
+    given().contentType(ContentType.JSON)
+        .body(body("MWH.R09", "NOWHERE-001", 10))
+        .when().post("/warehouse")
+        .then().statusCode(400).body("reason", is("INVALID_LOCATION"));
+  }
+
+  @Test
+  void shouldArchiveAndCreateInOneReplacement() {
+    // Given
+    String originalId = create("MWH.R02", "AMSTERDAM-002", 10);
+
+    // When
+    String replacementId = given().contentType(ContentType.JSON)
+        .body(body("MWH.R02", "AMSTERDAM-002", 12))
+        .when().post("/warehouse/MWH.R02/replacement")
+        .then().statusCode(200).body("capacity", is(12))
+        .extract().path("id");
+
+    // Then
+    given().when().get("/warehouse/" + originalId).then().statusCode(404);
+    given().when().get("/warehouse/" + replacementId).then().statusCode(200);
+    List<String> codes = given().when().get("/warehouse")
+        .then().statusCode(200).extract().jsonPath().getList("businessUnitCode");
+    assertEquals(1, codes.stream().filter("MWH.R02"::equals).count(), codes.toString());
+  }
+
+  @Test
+  void shouldArchiveOnlyTheVersionTheClientHolds() {
+    // Given — read once, so the response cache holds the active warehouse
+    String id = create("MWH.R03", "EINDHOVEN-001", 10);
+    given().when().get("/warehouse/" + id).then().statusCode(200);
+
+    // When / Then
+    given().header("If-Match", "\"7\"")
+        .when().delete("/warehouse/" + id)
+        .then().statusCode(412);
+    given().header("If-Match", "\"0\"")
+        .when().delete("/warehouse/" + id)
+        .then().statusCode(204);
+    given().when().get("/warehouse/" + id).then().statusCode(404);
+  }
+
+  private static String create(String code, String location, int capacity) {
+    return given().contentType(ContentType.JSON)
+        .body(body(code, location, capacity))
+        .when().post("/warehouse")
+        .then().statusCode(200)
+        .extract().path("id");
+  }
+
+  private static String body(String code, String location, int capacity) {
+    return "{\"businessUnitCode\":\"" + code + "\",\"location\":\"" + location
+        + "\",\"capacity\":" + capacity + ",\"stock\":5}";
+  }
+}
@@ -0,0 +1,24 @@
+package com.fulfilment.application.monolith.warehouses;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+import java.util.Map;
+
+/**
+ * Builds the application with {@link ShardedWarehouseStore} over two H2 shards. A write touches
+ * the directory on the primary and one or two shards, so those pools use XA transactions.
+ */
+public class ShardedWarehouseProfile implements QuarkusTestProfile {
+
+  static final String SHARD_0 = "warehouse-shard-0";
+  static final String SHARD_1 = "warehouse-shard-1";
+
+  @Override
+  public Map<String, String> getConfigOverrides() {
+    return Map.of(
+        "warehouse-sharding.enabled", "true",
+        "warehouse-sharding.datasources", SHARD_0 + "," + SHARD_1,
+        "quarkus.datasource.jdbc.transactions", "xa",
+        "quarkus.datasource." + SHARD_0 + ".jdbc.transactions", "xa",
+        "quarkus.datasource." + SHARD_1 + ".jdbc.transactions", "xa");
+  }
+}
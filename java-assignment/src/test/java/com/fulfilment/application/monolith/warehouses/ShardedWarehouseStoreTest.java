@@ -0,0 +1,140 @@
+package com.fulfilment.application.monolith.warehouses;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+@TestProfile(ShardedWarehouseProfile.class)
+class ShardedWarehouseStoreTest {
+
+  @Inject
+  WarehouseShards shards;
+
+  @Inject
+  WarehouseStore store;
+
+  @Inject
+  @DataSource(ShardedWarehouseProfile.SHARD_0)
+  AgroalDataSource shard0;
+
+  @Inject
+  @DataSource(ShardedWarehouseProfile.SHARD_1)
+  AgroalDataSource shard1;
+
+  @Test
+  void shouldKeepEachLocationOnItsShardAndGatherAcrossShards() throws SQLException {
+    // Given — one location per shard
+    String first = locationOn(ShardedWarehouseProfile.SHARD_0);
+    String second = locationOn(ShardedWarehouseProfile.SHARD_1);
+
+    // When
+    String firstId = create("MWH.S01", first);
+    String secondId = create("MWH.S02", second);
+
+    // Then
+    assertEquals(1, rows(shard0, "MWH.S01"));
+    assertEquals(1, rows(shard1, "MWH.S02"));
+    assertNotEquals(firstId, secondId);
+    given().when().get("/warehouse/" + secondId)
+        .then().statusCode(200).body("businessUnitCode", is("MWH.S02"));
+    List<String> codes = given().when().get("/warehouse")
+        .then().statusCode(200).extract().jsonPath().getList("businessUnitCode");
+    assertTrue(codes.indexOf("MWH.S01") < codes.indexOf("MWH.S02"), codes.toString());
+  }
+
+  @Test
+  void shouldRejectDuplicateCodeFoundOnAnotherShard() {
+    // Given
+    create("MWH.S10", locationOn(ShardedWarehouseProfile.SHARD_0));
+
+    // When / Then
+    given().contentType(ContentType.JSON)
+        .body(body("MWH.S10", locationOn(ShardedWarehouseProfile.SHARD_1)))
+        .when().post("/warehouse")
+        .then().statusCode(400);
+  }
+
+  @Test
+  void shouldMoveCodeWhenReplacedAtLocationOnAnotherShard() throws SQLException {
+    // Given
+    create("MWH.S20", locationOn(ShardedWarehouseProfile.SHARD_0));
+
+    // When
+    given().contentType(ContentType.JSON)
+        .body(body("MWH.S20", locationOn(ShardedWarehouseProfile.SHARD_1)))
+        .when().post("/warehouse/MWH.S20/replacement")
+        .then().statusCode(200);
+
+    // Then
+    assertEquals(0, rows(shard0, "MWH.S20"));
+    assertEquals(1, rows(shard1, "MWH.S20"));
+    assertEquals(locationOn(ShardedWarehouseProfile.SHARD_1),
+        store.findByBusinessUnitCode("MWH.S20").location);
+  }
+
+  @Test
+  void shouldMultiGetAcrossShardsInRequestOrder() {
+    // Given
+    String firstId = create("MWH.S30", locationOn(ShardedWarehouseProfile.SHARD_0));
+    String secondId = create("MWH.S31", locationOn(ShardedWarehouseProfile.SHARD_1));
+
+    // When / Then
+    given().when().get("/warehouse?ids=" + secondId + "," + firstId)
+        .then().statusCode(200)
+        .body("businessUnitCode", contains("MWH.S31", "MWH.S30"));
+    given().when().get("/warehouse?businessUnitCodes=MWH.S31,MWH.S30")
+        .then().statusCode(200)
+        .body("id", contains(secondId, firstId));
+  }
+
+  private String locationOn(String shard) {
+    // largest locations first, so the tests stay under the per-location warehouse limit
+    return List.of("AMSTERDAM-001", "AMSTERDAM-002", "ZWOLLE-002", "EINDHOVEN-001",
+            "VETSBY-001", "HELMOND-001", "ZWOLLE-001", "TILBURG-001").stream()
+        .filter(location -> shards.forLocation(location).equals(shard))
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private String create(String buCode, String location) {
+    return given().contentType(ContentType.JSON)
+        .body(body(buCode, location))
+        .when().post("/warehouse")
+        .then().statusCode(200)
+        .extract().path("id");
+  }
+
+  private static String body(String buCode, String location) {
+    return "{\"businessUnitCode\":\"" + buCode + "\",\"location\":\"" + location
+        + "\",\"capacity\":10,\"stock\":5}";
+  }
+
+  private static int rows(AgroalDataSource shard, String buCode) throws SQLException {
+    try (Connection connection = shard.getConnection();
+        PreparedStatement statement = connection.prepareStatement(
+            "select count(*) from warehouse where businessUnitCode = ? and archivedAt is null")) {
+      statement.setString(1, buCode);
+      try (ResultSet result = statement.executeQuery()) {
+        result.next();
+        return result.getInt(1);
+      }
+    }
+  }
+}
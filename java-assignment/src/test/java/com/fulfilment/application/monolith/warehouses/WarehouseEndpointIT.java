@@ -3,6 +3,7 @@ package com.fulfilment.application.monolith.warehouses;
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.startsWith;
 
 import io.quarkus.test.junit.QuarkusTest;
 import org.junit.jupiter.api.MethodOrderer;
@@ -62,4 +63,49 @@ public class WarehouseEndpointIT {
             containsString("AMSTERDAM-001"),
             containsString("TILBURG-001"));
   }
+
+  @Test
+  @Order(3)
+  public void testConditionalGetAndArchiveOfWarehouse() {
+    // Given
+    final String path = "warehouse/2";
+    String etag = given().when().get(path).then().statusCode(200).extract().header("ETag");
+
+    // When / Then — unchanged resource is not re-sent, stale precondition is refused
+    given().header("If-None-Match", etag).when().get(path).then().statusCode(304);
+    given().header("If-Match", "\"999\"").when().delete(path).then().statusCode(412);
+    given().when().get(path).then().statusCode(200).body(containsString("MWH.012"));
+  }
+
+  @Test
+  @Order(4)
+  public void testRepeatedGetIsServedFromResponseCache() {
+    // Given
+    final String path = "warehouse";
+    given().when().get(path).then().statusCode(200);
+
+    // When / Then — the cached body comes back as the stored gzip variant
+    given()
+        .header("Accept-Encoding", "gzip")
+        .when()
+        .get(path)
+        .then()
+        .statusCode(200)
+        .header("Content-Encoding", "gzip")
+        .body(containsString("MWH.012"), not(containsString("ZWOLLE-001")));
+  }
+
+  @Test
+  @Order(5)
+  public void testConditionalGetOfWarehouseList() {
+    // Given
+    final String path = "warehouse";
+    String etag = given().when().get(path).then()
+        .statusCode(200)
+        .header("ETag", startsWith("W/"))
+        .extract().header("ETag");
+
+    // When / Then — an unchanged list is not re-sent
+    given().header("If-None-Match", etag).when().get(path).then().statusCode(304);
+  }
 }
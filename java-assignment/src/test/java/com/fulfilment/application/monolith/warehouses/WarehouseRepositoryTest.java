@@ -7,10 +7,13 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.fulfilment.application.monolith.http.CacheInvalidationEvent;
 import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import jakarta.enterprise.event.Event;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
@@ -26,9 +29,43 @@ class WarehouseRepositoryTest {
   @SuppressWarnings("unchecked")
   private final PanacheQuery<DbWarehouse> panacheQuery = mock(PanacheQuery.class);
 
+  @SuppressWarnings("unchecked")
+  private final Event<CacheInvalidationEvent> cacheInvalidation = mock(Event.class);
+
   @BeforeEach
   void setUp() {
-    repository = Mockito.spy(new WarehouseRepository());
+    repository = Mockito.spy(new WarehouseRepository(cacheInvalidation));
+  }
+
+  // --- findActiveById ---
+
+  @Test
+  void shouldFindActiveWarehouseById() {
+    // Given
+    DbWarehouse entity = buildDbWarehouse("MWH.001", "AMSTERDAM-001", 50, 20);
+    entity.id = 5L;
+    entity.version = 3;
+    Mockito.doReturn(entity).when(repository).findById(5L);
+
+    // When
+    Warehouse result = repository.findActiveById(5L);
+
+    // Then
+    assertEquals("MWH.001", result.businessUnitCode);
+    assertEquals(3, result.version);
+  }
+
+  @Test
+  void shouldNotFindArchivedOrMissingWarehouseById() {
+    // Given
+    DbWarehouse archived = buildDbWarehouse("MWH.001", "AMSTERDAM-001", 50, 20);
+    archived.archivedAt = LocalDateTime.now();
+    Mockito.doReturn(archived).when(repository).findById(5L);
+    Mockito.doReturn(null).when(repository).findById(99L);
+
+    // When / Then
+    assertNull(repository.findActiveById(5L));
+    assertNull(repository.findActiveById(99L));
   }
 
   // --- getAll ---
@@ -70,7 +107,10 @@ class WarehouseRepositoryTest {
   void shouldPersistNewWarehouse() {
     // Given
     Warehouse warehouse = buildWarehouse("NEW.001", "AMSTERDAM-001", 40, 10);
-    doNothing().when(repository).persist(any(DbWarehouse.class));
+    Mockito.doAnswer(invocation -> {
+      invocation.<DbWarehouse>getArgument(0).id = 7L;
+      return null;
+    }).when(repository).persist(any(DbWarehouse.class));
 
     // When
     repository.create(warehouse);
@@ -83,6 +123,7 @@ class WarehouseRepositoryTest {
     assertEquals("AMSTERDAM-001", persisted.location);
     assertEquals(40, persisted.capacity);
     assertEquals(10, persisted.stock);
+    assertEquals(7L, warehouse.id);
   }
 
   // --- update ---
@@ -106,6 +147,9 @@ class WarehouseRepositoryTest {
     assertEquals(50, existing.capacity);
     assertEquals(20, existing.stock);
     assertEquals(LocalDateTime.of(2024, 12, 1, 0, 0), existing.archivedAt);
+    verify(cacheInvalidation).fire(
+        new CacheInvalidationEvent(
+            WarehouseRepository.CACHE_REGION, DbWarehouse.class, existing.id));
   }
 
   @Test
@@ -121,6 +165,7 @@ class WarehouseRepositoryTest {
     repository.update(updated);
 
     // Then — no exception, graceful no-op
+    verify(cacheInvalidation, never()).fire(any());
   }
 
   // --- remove ---
@@ -141,6 +186,9 @@ class WarehouseRepositoryTest {
 
     // Then
     verify(repository).delete(existing);
+    verify(cacheInvalidation).fire(
+        new CacheInvalidationEvent(
+            WarehouseRepository.CACHE_REGION, DbWarehouse.class, existing.id));
   }
 
   @Test
@@ -9,9 +9,16 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.fulfilment.application.monolith.batching.BatchLoader;
+import com.fulfilment.application.monolith.http.ApiException;
+import com.fulfilment.application.monolith.http.EntityTagContext;
+import com.fulfilment.application.monolith.http.ErrorCode;
+import com.fulfilment.application.monolith.warehouses.WarehouseValidationException.Rule;
 import com.fulfilment.application.monolith.warehouses.archive.ArchiveWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.create.CreateWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.replace.ReplaceWarehouseOperation;
+import com.fulfilment.application.monolith.warehouses.view.WarehouseView;
+import com.fulfilment.application.monolith.warehouses.view.WarehouseViewRepository;
 import jakarta.ws.rs.WebApplicationException;
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -23,21 +30,24 @@ import org.mockito.Mockito;
 
 class WarehouseResourceImplTest {
 
-  private WarehouseRepository warehouseRepository;
+  private WarehouseStore warehouseStore;
   private CreateWarehouseOperation createWarehouseOperation;
   private ArchiveWarehouseOperation archiveWarehouseOperation;
   private ReplaceWarehouseOperation replaceWarehouseOperation;
+  private WarehouseViewRepository warehouseViews;
   private WarehouseResourceImpl resource;
 
   @BeforeEach
   void setUp() {
-    warehouseRepository = Mockito.mock(WarehouseRepository.class);
+    warehouseStore = Mockito.mock(WarehouseStore.class);
     createWarehouseOperation = Mockito.mock(CreateWarehouseOperation.class);
     archiveWarehouseOperation = Mockito.mock(ArchiveWarehouseOperation.class);
     replaceWarehouseOperation = Mockito.mock(ReplaceWarehouseOperation.class);
+    warehouseViews = Mockito.mock(WarehouseViewRepository.class);
     resource = new WarehouseResourceImpl(
-        warehouseRepository, createWarehouseOperation,
-        archiveWarehouseOperation, replaceWarehouseOperation);
+        warehouseStore, createWarehouseOperation,
+        archiveWarehouseOperation, replaceWarehouseOperation, new EntityTagContext(),
+        warehouseViews, new BatchLoader(2, 500));
   }
 
   // --- listAllWarehousesUnits ---
@@ -45,15 +55,16 @@ class WarehouseResourceImplTest {
   @Test
   void shouldListAllActiveWarehouses() {
     // Given
-    Warehouse w1 = buildWarehouse("MWH.001", "AMSTERDAM-001", 50, 20);
-    Warehouse w2 = buildWarehouse("MWH.002", "ZWOLLE-001", 30, 10);
-    when(warehouseRepository.getAll()).thenReturn(List.of(w1, w2));
+    WarehouseView w1 = buildView(1L, "MWH.001", "AMSTERDAM-001", 50, 20);
+    WarehouseView w2 = buildView(2L, "MWH.002", "ZWOLLE-001", 30, 10);
+    when(warehouseViews.listActive()).thenReturn(List.of(w1, w2));
 
     // When
-    List<com.warehouse.api.beans.Warehouse> result = resource.listAllWarehousesUnits();
+    List<com.warehouse.api.beans.Warehouse> result = resource.listAllWarehousesUnits(List.of(), List.of());
 
     // Then
     assertEquals(2, result.size());
+    assertEquals("1", result.get(0).getId());
     assertEquals("MWH.001", result.get(0).getBusinessUnitCode());
     assertEquals("AMSTERDAM-001", result.get(0).getLocation());
     assertEquals(50, result.get(0).getCapacity());
@@ -64,16 +75,47 @@ class WarehouseResourceImplTest {
   @Test
   void shouldReturnEmptyListWhenNoWarehouses() {
     // Given
-    when(warehouseRepository.getAll()).thenReturn(Collections.emptyList());
+    when(warehouseViews.listActive()).thenReturn(Collections.emptyList());
 
     // When
-    List<com.warehouse.api.beans.Warehouse> result = resource.listAllWarehousesUnits();
+    List<com.warehouse.api.beans.Warehouse> result = resource.listAllWarehousesUnits(List.of(), List.of());
 
     // Then
     assertNotNull(result);
     assertEquals(0, result.size());
   }
 
+  @Test
+  void shouldGetWarehousesByIdsInRequestOrder() {
+    // Given — batches of two: (3, 1) and (2)
+    Warehouse w1 = buildWarehouse("MWH.001", "ZWOLLE-001", 100, 10);
+    w1.id = 1L;
+    Warehouse w3 = buildWarehouse("MWH.023", "TILBURG-001", 30, 27);
+    w3.id = 3L;
+    when(warehouseStore.findActiveByIds(List.of(3L, 1L))).thenReturn(List.of(w1, w3));
+    when(warehouseStore.findActiveByIds(List.of(2L))).thenReturn(List.of());
+
+    // When
+    List<com.warehouse.api.beans.Warehouse> result =
+        resource.listAllWarehousesUnits(List.of("3,1", "2"), List.of());
+
+    // Then
+    assertEquals(List.of("MWH.023", "MWH.001"),
+        result.stream().map(com.warehouse.api.beans.Warehouse::getBusinessUnitCode).toList());
+    verify(warehouseViews, never()).listActive();
+  }
+
+  @Test
+  void shouldRejectIdsTogetherWithBusinessUnitCodes() {
+    // When
+    ApiException exception = assertThrows(ApiException.class,
+        () -> resource.listAllWarehousesUnits(List.of("1"), List.of("MWH.001")));
+
+    // Then
+    assertEquals(ErrorCode.INVALID_REQUEST, exception.errorCode());
+    verify(warehouseStore, never()).findActiveByIds(any());
+  }
+
   // --- createANewWarehouseUnit ---
 
   @Test
@@ -101,7 +143,7 @@ class WarehouseResourceImplTest {
   void shouldReturn400WhenCreateValidationFails() {
     // Given
     com.warehouse.api.beans.Warehouse request = buildApiWarehouse("DUP.001", "AMSTERDAM-001", 40, 10);
-    doThrow(new WarehouseValidationException("Duplicate business unit code"))
+    doThrow(new WarehouseValidationException(Rule.DUPLICATE_BUSINESS_UNIT, "Duplicate business unit code"))
         .when(createWarehouseOperation).create(any());
 
     // When / Then
@@ -116,7 +158,7 @@ class WarehouseResourceImplTest {
   void shouldGetWarehouseById() {
     // Given
     DbWarehouse entity = buildDbWarehouse(5L, "MWH.001", "AMSTERDAM-001", 50, 20);
-    when(warehouseRepository.findById(5L)).thenReturn(entity);
+    storeHolds(entity);
 
     // When
     com.warehouse.api.beans.Warehouse result = resource.getAWarehouseUnitByID("5");
@@ -133,7 +175,7 @@ class WarehouseResourceImplTest {
   @Test
   void shouldReturn404WhenWarehouseNotFound() {
     // Given
-    when(warehouseRepository.findById(99L)).thenReturn(null);
+    when(warehouseStore.findActiveById(99L)).thenReturn(null);
 
     // When / Then
     WebApplicationException exception = assertThrows(
@@ -146,7 +188,7 @@ class WarehouseResourceImplTest {
     // Given
     DbWarehouse entity = buildDbWarehouse(5L, "MWH.001", "AMSTERDAM-001", 50, 20);
     entity.archivedAt = LocalDateTime.now();
-    when(warehouseRepository.findById(5L)).thenReturn(entity);
+    storeHolds(entity);
 
     // When / Then
     WebApplicationException exception = assertThrows(
@@ -160,7 +202,7 @@ class WarehouseResourceImplTest {
   void shouldArchiveWarehouseById() {
     // Given
     DbWarehouse entity = buildDbWarehouse(3L, "MWH.001", "ZWOLLE-001", 30, 10);
-    when(warehouseRepository.findById(3L)).thenReturn(entity);
+    storeHolds(entity);
 
     // When
     resource.archiveAWarehouseUnitByID("3");
@@ -172,7 +214,7 @@ class WarehouseResourceImplTest {
   @Test
   void shouldReturn404WhenArchivingNonExistentWarehouse() {
     // Given
-    when(warehouseRepository.findById(99L)).thenReturn(null);
+    when(warehouseStore.findActiveById(99L)).thenReturn(null);
 
     // When / Then
     WebApplicationException exception = assertThrows(
@@ -186,7 +228,7 @@ class WarehouseResourceImplTest {
     // Given
     DbWarehouse entity = buildDbWarehouse(3L, "MWH.001", "ZWOLLE-001", 30, 10);
     entity.archivedAt = LocalDateTime.now();
-    when(warehouseRepository.findById(3L)).thenReturn(entity);
+    storeHolds(entity);
 
     // When / Then
     WebApplicationException exception = assertThrows(
@@ -199,8 +241,8 @@ class WarehouseResourceImplTest {
   void shouldReturn400WhenArchiveOperationThrowsValidation() {
     // Given
     DbWarehouse entity = buildDbWarehouse(3L, "MWH.001", "ZWOLLE-001", 30, 10);
-    when(warehouseRepository.findById(3L)).thenReturn(entity);
-    doThrow(new WarehouseValidationException("Already archived"))
+    storeHolds(entity);
+    doThrow(new WarehouseValidationException(Rule.ALREADY_ARCHIVED, "Already archived"))
         .when(archiveWarehouseOperation).archive(any());
 
     // When / Then
@@ -236,7 +278,7 @@ class WarehouseResourceImplTest {
   void shouldReturn404WhenReplacingNonExistentWarehouse() {
     // Given
     com.warehouse.api.beans.Warehouse request = buildApiWarehouse(null, "ZWOLLE-001", 40, 10);
-    doThrow(new WarehouseValidationException("Warehouse not found"))
+    doThrow(new WarehouseValidationException(Rule.NOT_FOUND, "Warehouse not found"))
         .when(replaceWarehouseOperation).replace(any());
 
     // When / Then
@@ -244,13 +286,14 @@ class WarehouseResourceImplTest {
         WebApplicationException.class,
         () -> resource.replaceTheCurrentActiveWarehouse("NON.EXISTENT", request));
     assertEquals(404, exception.getResponse().getStatus());
+    assertEquals(ErrorCode.NOT_FOUND, ((ApiException) exception).errorCode());
   }
 
   @Test
   void shouldReturn400WhenReplaceValidationFails() {
     // Given
     com.warehouse.api.beans.Warehouse request = buildApiWarehouse(null, "ZWOLLE-001", 5, 10);
-    doThrow(new WarehouseValidationException("Capacity too small"))
+    doThrow(new WarehouseValidationException(Rule.CAPACITY_BELOW_STOCK, "Capacity too small"))
         .when(replaceWarehouseOperation).replace(any());
 
     // When / Then
@@ -258,10 +301,21 @@ class WarehouseResourceImplTest {
         WebApplicationException.class,
         () -> resource.replaceTheCurrentActiveWarehouse("MWH.001", request));
     assertEquals(400, exception.getResponse().getStatus());
+    assertEquals("CAPACITY_BELOW_STOCK", ((ApiException) exception).reason());
   }
 
   // --- helpers ---
 
+  private WarehouseView buildView(Long id, String buCode, String location, int capacity, int stock) {
+    WarehouseView view = new WarehouseView();
+    view.warehouseId = id;
+    view.businessUnitCode = buCode;
+    view.location = location;
+    view.capacity = capacity;
+    view.stock = stock;
+    return view;
+  }
+
   private Warehouse buildWarehouse(String buCode, String location, int capacity, int stock) {
     Warehouse w = new Warehouse();
     w.businessUnitCode = buCode;
@@ -281,6 +335,12 @@ class WarehouseResourceImplTest {
     return w;
   }
 
+  // stubs the store as WarehouseStore specifies it: an archived warehouse is not found by id
+  private void storeHolds(DbWarehouse entity) {
+    when(warehouseStore.findActiveById(entity.id))
+        .thenReturn(entity.archivedAt == null ? entity.toWarehouse() : null);
+  }
+
   private DbWarehouse buildDbWarehouse(Long id, String buCode, String location, int capacity, int stock) {
     DbWarehouse db = new DbWarehouse();
     db.id = id;
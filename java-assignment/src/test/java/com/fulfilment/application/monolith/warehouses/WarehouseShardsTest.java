@@ -0,0 +1,79 @@
+package com.fulfilment.application.monolith.warehouses;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class WarehouseShardsTest {
+
+  @Test
+  void shouldOnlyMoveLocationsTheNewShardWinsWhenAddingShard() {
+    // Given
+    WarehouseShards three = new WarehouseShards(List.of("s0", "s1", "s2"));
+    WarehouseShards four = new WarehouseShards(List.of("s0", "s1", "s2", "s3"));
+
+    // When
+    int moved = 0;
+    for (int i = 0; i < 1_000; i++) {
+      String location = "LOCATION-" + i;
+      String before = three.forLocation(location);
+      String after = four.forLocation(location);
+      if (!before.equals(after)) {
+        assertEquals("s3", after);
+        moved++;
+      }
+    }
+
+    // Then — about a quarter of the locations move, all of them to the new shard
+    assertTrue(moved > 150 && moved < 350, "moved " + moved);
+  }
+
+  @Test
+  void shouldFoldShardIntoGlobalId() {
+    // Given
+    WarehouseShards shards = new WarehouseShards(List.of("s0", "s1"));
+
+    // When
+    long id = shards.globalId("s1", 51);
+
+    // Then
+    assertEquals("s1", shards.shardOf(id));
+    assertEquals(51, WarehouseShards.localId(id));
+    assertEquals("s0", shards.shardOf(shards.globalId("s0", 1)));
+  }
+
+  @Test
+  void shouldNotResolveIdsNoShardIssued() {
+    // Given
+    WarehouseShards shards = new WarehouseShards(List.of("s0", "s1"));
+
+    // When / Then
+    assertNull(shards.shardOf(WarehouseShards.MAX_SHARDS + 5L));
+    assertNull(shards.shardOf(-1L));
+  }
+
+  @Test
+  void shouldRequireShards() {
+    // When / Then
+    assertThrows(IllegalStateException.class,
+        () -> new WarehouseShards(List.of()).forLocation("ZWOLLE-001"));
+  }
+
+  @Test
+  void shouldMergeSortedShardResults() {
+    // Given
+    List<List<String>> perShard = List.of(
+        List.of("MWH.001", "MWH.004"), List.of(), List.of("MWH.002", "MWH.003", "MWH.005"));
+
+    // When
+    List<String> merged = ShardedWarehouseStore.mergeSorted(perShard, Comparator.naturalOrder());
+
+    // Then
+    assertEquals(List.of("MWH.001", "MWH.002", "MWH.003", "MWH.004", "MWH.005"), merged);
+  }
+}
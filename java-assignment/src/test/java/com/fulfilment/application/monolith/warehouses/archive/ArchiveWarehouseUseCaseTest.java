@@ -1,5 +1,6 @@
 package com.fulfilment.application.monolith.warehouses.archive;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
@@ -8,8 +9,11 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fulfilment.application.monolith.warehouses.Warehouse;
+import com.fulfilment.application.monolith.warehouses.WarehouseEvent;
 import com.fulfilment.application.monolith.warehouses.WarehouseStore;
 import com.fulfilment.application.monolith.warehouses.WarehouseValidationException;
+import com.fulfilment.application.monolith.warehouses.WarehouseValidationException.Rule;
+import jakarta.enterprise.event.Event;
 import java.time.LocalDateTime;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,12 +23,15 @@ import org.mockito.Mockito;
 public class ArchiveWarehouseUseCaseTest {
 
   private WarehouseStore warehouseStore;
+  private Event<WarehouseEvent> warehouseEvents;
   private ArchiveWarehouseUseCase useCase;
 
   @BeforeEach
+  @SuppressWarnings("unchecked")
   void setUp() {
     warehouseStore = Mockito.mock(WarehouseStore.class);
-    useCase = new ArchiveWarehouseUseCase(warehouseStore);
+    warehouseEvents = Mockito.mock(Event.class);
+    useCase = new ArchiveWarehouseUseCase(warehouseStore, warehouseEvents);
   }
 
   @Test
@@ -49,6 +56,9 @@ public class ArchiveWarehouseUseCaseTest {
     ArgumentCaptor<Warehouse> captor = ArgumentCaptor.forClass(Warehouse.class);
     verify(warehouseStore).update(captor.capture());
     assertNotNull(captor.getValue().archivedAt);
+    ArgumentCaptor<WarehouseEvent> event = ArgumentCaptor.forClass(WarehouseEvent.class);
+    verify(warehouseEvents).fire(event.capture());
+    assertEquals(WarehouseEvent.Type.ARCHIVED, event.getValue().type());
   }
 
   @Test
@@ -60,7 +70,9 @@ public class ArchiveWarehouseUseCaseTest {
     when(warehouseStore.findByBusinessUnitCode("NON.EXISTENT")).thenReturn(null);
 
     // When / Then
-    assertThrows(WarehouseValidationException.class, () -> useCase.archive(input));
+    WarehouseValidationException exception =
+        assertThrows(WarehouseValidationException.class, () -> useCase.archive(input));
+    assertEquals(Rule.NOT_FOUND, exception.rule());
     verify(warehouseStore, never()).update(any());
   }
 
@@ -77,7 +89,9 @@ public class ArchiveWarehouseUseCaseTest {
     when(warehouseStore.findByBusinessUnitCode("MWH.001")).thenReturn(existing);
 
     // When / Then
-    assertThrows(WarehouseValidationException.class, () -> useCase.archive(input));
+    WarehouseValidationException exception =
+        assertThrows(WarehouseValidationException.class, () -> useCase.archive(input));
+    assertEquals(Rule.ALREADY_ARCHIVED, exception.rule());
     verify(warehouseStore, never()).update(any());
   }
 }
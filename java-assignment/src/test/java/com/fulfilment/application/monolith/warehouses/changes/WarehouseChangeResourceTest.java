@@ -0,0 +1,112 @@
+package com.fulfilment.application.monolith.warehouses.changes;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class WarehouseChangeResourceTest {
+
+  @TestHTTPResource("/warehouse/changes/stream")
+  URI stream;
+
+  @Test
+  void shouldPageChangesAfterCursor() {
+    // Given
+    long head = head();
+    create("MWH.CF1", 10);
+    given().contentType(ContentType.JSON)
+        .body("{\"location\":\"ZWOLLE-002\",\"capacity\":20,\"stock\":5}")
+        .when().post("/warehouse/MWH.CF1/replacement")
+        .then().statusCode(200);
+
+    // When
+    JsonPath first = given().when().get("/warehouse/changes?since=" + head + "&limit=1")
+        .then().statusCode(200).extract().jsonPath();
+    JsonPath second = given().when()
+        .get("/warehouse/changes?since=" + first.getLong("next") + "&limit=1")
+        .then().statusCode(200).extract().jsonPath();
+
+    // Then
+    assertEquals("CREATED", first.getString("changes[0].type"));
+    assertEquals(head + 1, first.getLong("next"));
+    assertTrue(first.getBoolean("more"));
+    assertEquals("REPLACED", second.getString("changes[0].type"));
+    assertEquals(20, second.getInt("changes[0].capacity"));
+    assertEquals(head + 2, second.getLong("next"));
+  }
+
+  @Test
+  void shouldRejectPageLargerThanMaximum() {
+    // When / Then
+    given().when().get("/warehouse/changes?limit=100000")
+        .then().statusCode(422).body("errorCode", is("INVALID_REQUEST"));
+  }
+
+  @Test
+  void shouldPushCommittedChangeToStream() throws Exception {
+    // Given
+    long head = head();
+    HttpResponse<InputStream> response = HttpClient.newHttpClient().send(
+        HttpRequest.newBuilder(URI.create(stream + "?since=" + head))
+            .header("Accept", "text/event-stream")
+            .timeout(Duration.ofSeconds(30))
+            .build(),
+        HttpResponse.BodyHandlers.ofInputStream());
+
+    // When
+    create("MWH.CF2", 10);
+
+    // Then
+    try (BufferedReader events = new BufferedReader(
+        new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+      String id = null;
+      String line;
+      while ((line = events.readLine()) != null && !line.startsWith("data:")) {
+        if (line.startsWith("id:")) {
+          id = line.substring("id:".length()).trim();
+        }
+      }
+      assertEquals(String.valueOf(head + 1), id);
+      JsonPath change = JsonPath.from(line.substring("data:".length()));
+      assertEquals("MWH.CF2", change.getString("businessUnitCode"));
+      assertEquals("CREATED", change.getString("type"));
+    }
+  }
+
+  private static long head() {
+    long next = 0;
+    boolean more = true;
+    while (more) {
+      JsonPath page = given().when().get("/warehouse/changes?since=" + next + "&limit=500")
+          .then().statusCode(200).extract().jsonPath();
+      next = page.getLong("next");
+      more = page.getBoolean("more");
+    }
+    return next;
+  }
+
+  private static void create(String code, int capacity) {
+    given().contentType(ContentType.JSON)
+        .body("{\"businessUnitCode\":\"" + code + "\",\"location\":\"ZWOLLE-002\","
+            + "\"capacity\":" + capacity + ",\"stock\":5}")
+        .when().post("/warehouse")
+        .then().statusCode(200);
+  }
+}
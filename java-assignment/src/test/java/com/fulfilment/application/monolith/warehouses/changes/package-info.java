@@ -0,0 +1,13 @@
+/**
+ * Tests for the warehouse change feed.
+ *
+ * <h2>Test classification: INTEGRATION</h2>
+ * <p>{@code WarehouseChangeResourceTest} runs the application with H2. It pages through the
+ * changes after a cursor, and reads the Server-Sent Events stream with a plain HTTP client
+ * until a change committed after it opened arrives.</p>
+ *
+ * <h2>Code style: explicit types over {@code var}</h2>
+ * <p>Explicit type declarations are preferred over {@code var} to maximise
+ * readability for human reviewers and AI coding agents.</p>
+ */
+package com.fulfilment.application.monolith.warehouses.changes;
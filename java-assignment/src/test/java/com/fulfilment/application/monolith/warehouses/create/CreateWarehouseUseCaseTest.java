@@ -1,5 +1,6 @@
 package com.fulfilment.application.monolith.warehouses.create;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
@@ -10,25 +11,32 @@ import static org.mockito.Mockito.when;
 import com.fulfilment.application.monolith.warehouses.Location;
 import com.fulfilment.application.monolith.warehouses.LocationResolver;
 import com.fulfilment.application.monolith.warehouses.Warehouse;
+import com.fulfilment.application.monolith.warehouses.WarehouseEvent;
 import com.fulfilment.application.monolith.warehouses.WarehouseStore;
 import com.fulfilment.application.monolith.warehouses.WarehouseValidationException;
+import com.fulfilment.application.monolith.warehouses.WarehouseValidationException.Rule;
+import jakarta.enterprise.event.Event;
 import java.util.Collections;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 public class CreateWarehouseUseCaseTest {
 
   private WarehouseStore warehouseStore;
   private LocationResolver locationResolver;
+  private Event<WarehouseEvent> warehouseEvents;
   private CreateWarehouseUseCase useCase;
 
   @BeforeEach
+  @SuppressWarnings("unchecked")
   void setUp() {
     warehouseStore = Mockito.mock(WarehouseStore.class);
     locationResolver = Mockito.mock(LocationResolver.class);
-    useCase = new CreateWarehouseUseCase(warehouseStore, locationResolver);
+    warehouseEvents = Mockito.mock(Event.class);
+    useCase = new CreateWarehouseUseCase(warehouseStore, locationResolver, warehouseEvents);
   }
 
   @Test
@@ -46,6 +54,10 @@ public class CreateWarehouseUseCaseTest {
     // Then
     verify(warehouseStore).create(warehouse);
     assertNotNull(warehouse.createdAt);
+    ArgumentCaptor<WarehouseEvent> event = ArgumentCaptor.forClass(WarehouseEvent.class);
+    verify(warehouseEvents).fire(event.capture());
+    assertEquals(WarehouseEvent.Type.CREATED, event.getValue().type());
+    assertEquals(warehouse, event.getValue().warehouse());
   }
 
   @Test
@@ -56,7 +68,9 @@ public class CreateWarehouseUseCaseTest {
     when(warehouseStore.findByBusinessUnitCode("MWH.001")).thenReturn(existing);
 
     // When / Then
-    assertThrows(WarehouseValidationException.class, () -> useCase.create(warehouse));
+    WarehouseValidationException exception =
+        assertThrows(WarehouseValidationException.class, () -> useCase.create(warehouse));
+    assertEquals(Rule.DUPLICATE_BUSINESS_UNIT, exception.rule());
     verify(warehouseStore, never()).create(any());
   }
 
@@ -68,7 +82,9 @@ public class CreateWarehouseUseCaseTest {
     when(locationResolver.resolveByIdentifier("INVALID-LOC")).thenReturn(null);
 
     // When / Then
-    assertThrows(WarehouseValidationException.class, () -> useCase.create(warehouse));
+    WarehouseValidationException exception =
+        assertThrows(WarehouseValidationException.class, () -> useCase.create(warehouse));
+    assertEquals(Rule.INVALID_LOCATION, exception.rule());
     verify(warehouseStore, never()).create(any());
   }
 
@@ -83,7 +99,9 @@ public class CreateWarehouseUseCaseTest {
     when(warehouseStore.findActiveByLocation("ZWOLLE-001")).thenReturn(List.of(existingAtLocation));
 
     // When / Then
-    assertThrows(WarehouseValidationException.class, () -> useCase.create(warehouse));
+    WarehouseValidationException exception =
+        assertThrows(WarehouseValidationException.class, () -> useCase.create(warehouse));
+    assertEquals(Rule.LOCATION_FULL, exception.rule());
     verify(warehouseStore, never()).create(any());
   }
 
@@ -98,7 +116,9 @@ public class CreateWarehouseUseCaseTest {
     when(warehouseStore.findActiveByLocation("AMSTERDAM-001")).thenReturn(List.of(existingAtLocation));
 
     // When / Then
-    assertThrows(WarehouseValidationException.class, () -> useCase.create(warehouse));
+    WarehouseValidationException exception =
+        assertThrows(WarehouseValidationException.class, () -> useCase.create(warehouse));
+    assertEquals(Rule.CAPACITY_EXCEEDED, exception.rule());
     verify(warehouseStore, never()).create(any());
   }
 
@@ -112,7 +132,9 @@ public class CreateWarehouseUseCaseTest {
     when(warehouseStore.findActiveByLocation("AMSTERDAM-001")).thenReturn(Collections.emptyList());
 
     // When / Then
-    assertThrows(WarehouseValidationException.class, () -> useCase.create(warehouse));
+    WarehouseValidationException exception =
+        assertThrows(WarehouseValidationException.class, () -> useCase.create(warehouse));
+    assertEquals(Rule.STOCK_EXCEEDS_CAPACITY, exception.rule());
     verify(warehouseStore, never()).create(any());
   }
 
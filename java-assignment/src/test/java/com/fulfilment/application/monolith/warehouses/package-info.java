@@ -10,6 +10,8 @@
  *   warehouses/create/    &rarr; "create a warehouse" use case + port
  *   warehouses/archive/   &rarr; "archive a warehouse" use case + port
  *   warehouses/replace/   &rarr; "replace a warehouse" use case + port
+ *   warehouses/view/      &rarr; read model projected from warehouse events
+ *   warehouses/changes/   &rarr; change feed of warehouse events
  * </pre>
  * <p>A developer working on "replacing a warehouse" navigates straight to
  * {@code replace/} &mdash; both the production code and its tests live there.</p>
@@ -20,6 +22,21 @@
  * contract end-to-end (list, create, archive, replace), spanning all
  * sub-capabilities.</p>
  *
+ * <h2>Sharded store</h2>
+ * <p>{@code ShardedWarehouseStoreTest} runs the application under
+ * {@code ShardedWarehouseProfile}: the sharded adapter over two H2 databases, with XA pools.
+ * It checks through the REST API that each location stays on its shard, that lists and code
+ * lookups and multi-gets span shards, and that a replacement at another location moves the code.
+ * {@code WarehouseShardsTest} covers the shard assignment, the global ids and the merge as plain
+ * unit tests.</p>
+ *
+ * <h2>Reactive store</h2>
+ * <p>{@code ReactiveWarehouseResourceTest} runs the application under
+ * {@code ReactiveWarehouseProfile}, with {@code JdbcPoolProducer} supplying a Vert.x JDBC pool
+ * over the H2 datasource in place of the PostgreSQL pool. It covers the reactive endpoints
+ * through the REST API. {@code ReactiveReplaceWarehouseUseCaseTest} checks that a replacement
+ * writes in one transaction, or not at all.</p>
+ *
  * <h2>Module placement rationale</h2>
  * <p>In a production codebase, integration and E2E tests belong in separate Maven
  * modules to enforce the test pyramid structurally and keep CI feedback fast.
@@ -0,0 +1,102 @@
+package com.fulfilment.application.monolith.warehouses.replace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fulfilment.application.monolith.warehouses.Location;
+import com.fulfilment.application.monolith.warehouses.LocationResolver;
+import com.fulfilment.application.monolith.warehouses.ReactiveWarehouseStore;
+import com.fulfilment.application.monolith.warehouses.Warehouse;
+import com.fulfilment.application.monolith.warehouses.WarehouseValidationException;
+import com.fulfilment.application.monolith.warehouses.WarehouseValidationException.Rule;
+import io.smallrye.mutiny.Uni;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+class ReactiveReplaceWarehouseUseCaseTest {
+
+  private ReactiveWarehouseStore warehouseStore;
+  private ReactiveWarehouseStore transaction;
+  private LocationResolver locationResolver;
+  private ReactiveReplaceWarehouseUseCase useCase;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    warehouseStore = Mockito.mock(ReactiveWarehouseStore.class);
+    transaction = Mockito.mock(ReactiveWarehouseStore.class);
+    locationResolver = Mockito.mock(LocationResolver.class);
+    // the work runs against the transaction's store, as the adapter does
+    when(warehouseStore.inTransaction(any())).thenAnswer(invocation ->
+        ((Function<ReactiveWarehouseStore, Uni<?>>) invocation.getArgument(0)).apply(transaction));
+    when(transaction.update(any())).thenReturn(Uni.createFrom().voidItem());
+    when(transaction.create(any())).thenReturn(Uni.createFrom().voidItem());
+    useCase = new ReactiveReplaceWarehouseUseCase(warehouseStore, locationResolver);
+  }
+
+  @Test
+  void shouldArchiveThenCreateInOneTransaction() {
+    // Given
+    Warehouse existing = buildWarehouse("MWH.001", "ZWOLLE-001", 30, 10);
+    Warehouse replacement = buildWarehouse("MWH.001", "ZWOLLE-001", 40, 10);
+    when(transaction.findByBusinessUnitCode("MWH.001")).thenReturn(Uni.createFrom().item(existing));
+    when(locationResolver.resolveByIdentifier("ZWOLLE-001"))
+        .thenReturn(new Location("ZWOLLE-001", 1, 40));
+    when(transaction.findActiveByLocation("ZWOLLE-001"))
+        .thenReturn(Uni.createFrom().item(List.of(existing)));
+
+    // When
+    useCase.replace(replacement).await().indefinitely();
+
+    // Then
+    InOrder order = inOrder(transaction);
+    order.verify(transaction).update(existing);
+    order.verify(transaction).create(replacement);
+    assertNotNull(existing.archivedAt);
+    assertNotNull(replacement.createdAt);
+    assertNull(replacement.archivedAt);
+    verify(warehouseStore, never()).update(any());
+  }
+
+  @Test
+  void shouldFailWithViolatedRuleAndWriteNothing() {
+    // Given
+    Warehouse replacement = buildWarehouse("MWH.001", "ZWOLLE-001", 40, 10);
+    Warehouse existing = buildWarehouse("MWH.001", "ZWOLLE-001", 30, 10);
+    when(transaction.findByBusinessUnitCode("MWH.001")).thenReturn(Uni.createFrom().item(existing));
+    when(locationResolver.resolveByIdentifier("ZWOLLE-001"))
+        .thenReturn(new Location("ZWOLLE-001", 1, 40));
+    when(transaction.findActiveByLocation("ZWOLLE-001"))
+        .thenReturn(Uni.createFrom().item(List.of(existing, buildWarehouse("MWH.002", "ZWOLLE-001", 10, 0))));
+
+    // When
+    Uni<Void> replaced = useCase.replace(replacement);
+
+    // Then
+    WarehouseValidationException exception = assertThrows(
+        WarehouseValidationException.class, () -> replaced.await().indefinitely());
+    assertEquals(Rule.CAPACITY_EXCEEDED, exception.rule());
+    verify(transaction, never()).update(any());
+    verify(transaction, never()).create(any());
+  }
+
+  private static Warehouse buildWarehouse(String code, String location, int capacity, int stock) {
+    Warehouse warehouse = new Warehouse();
+    warehouse.businessUnitCode = code;
+    warehouse.location = location;
+    warehouse.capacity = capacity;
+    warehouse.stock = stock;
+    return warehouse;
+  }
+}
@@ -1,5 +1,6 @@
 package com.fulfilment.application.monolith.warehouses.replace;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
@@ -10,25 +11,32 @@ import static org.mockito.Mockito.when;
 import com.fulfilment.application.monolith.warehouses.Location;
 import com.fulfilment.application.monolith.warehouses.LocationResolver;
 import com.fulfilment.application.monolith.warehouses.Warehouse;
+import com.fulfilment.application.monolith.warehouses.WarehouseEvent;
 import com.fulfilment.application.monolith.warehouses.WarehouseStore;
 import com.fulfilment.application.monolith.warehouses.WarehouseValidationException;
+import com.fulfilment.application.monolith.warehouses.WarehouseValidationException.Rule;
+import jakarta.enterprise.event.Event;
 import java.time.LocalDateTime;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 public class ReplaceWarehouseUseCaseTest {
 
   private WarehouseStore warehouseStore;
   private LocationResolver locationResolver;
+  private Event<WarehouseEvent> warehouseEvents;
   private ReplaceWarehouseUseCase useCase;
 
   @BeforeEach
+  @SuppressWarnings("unchecked")
   void setUp() {
     warehouseStore = Mockito.mock(WarehouseStore.class);
     locationResolver = Mockito.mock(LocationResolver.class);
-    useCase = new ReplaceWarehouseUseCase(warehouseStore, locationResolver);
+    warehouseEvents = Mockito.mock(Event.class);
+    useCase = new ReplaceWarehouseUseCase(warehouseStore, locationResolver, warehouseEvents);
   }
 
   @Test
@@ -52,6 +60,10 @@ public class ReplaceWarehouseUseCaseTest {
     assertNotNull(existing.archivedAt);
     verify(warehouseStore).create(replacement);
     assertNotNull(replacement.createdAt);
+    ArgumentCaptor<WarehouseEvent> event = ArgumentCaptor.forClass(WarehouseEvent.class);
+    verify(warehouseEvents).fire(event.capture());
+    assertEquals(WarehouseEvent.Type.REPLACED, event.getValue().type());
+    assertEquals(replacement, event.getValue().warehouse());
   }
 
   @Test
@@ -62,7 +74,9 @@ public class ReplaceWarehouseUseCaseTest {
     when(warehouseStore.findByBusinessUnitCode("NON.EXISTENT")).thenReturn(null);
 
     // When / Then
-    assertThrows(WarehouseValidationException.class, () -> useCase.replace(replacement));
+    WarehouseValidationException exception =
+        assertThrows(WarehouseValidationException.class, () -> useCase.replace(replacement));
+    assertEquals(Rule.NOT_FOUND, exception.rule());
     verify(warehouseStore, never()).update(any());
     verify(warehouseStore, never()).create(any());
   }
@@ -76,7 +90,9 @@ public class ReplaceWarehouseUseCaseTest {
     when(warehouseStore.findByBusinessUnitCode("MWH.001")).thenReturn(existing);
 
     // When / Then
-    assertThrows(WarehouseValidationException.class, () -> useCase.replace(replacement));
+    WarehouseValidationException exception =
+        assertThrows(WarehouseValidationException.class, () -> useCase.replace(replacement));
+    assertEquals(Rule.CAPACITY_BELOW_STOCK, exception.rule());
     verify(warehouseStore, never()).update(any());
     verify(warehouseStore, never()).create(any());
   }
@@ -90,7 +106,9 @@ public class ReplaceWarehouseUseCaseTest {
     when(warehouseStore.findByBusinessUnitCode("MWH.001")).thenReturn(existing);
 
     // When / Then
-    assertThrows(WarehouseValidationException.class, () -> useCase.replace(replacement));
+    WarehouseValidationException exception =
+        assertThrows(WarehouseValidationException.class, () -> useCase.replace(replacement));
+    assertEquals(Rule.STOCK_MISMATCH, exception.rule());
     verify(warehouseStore, never()).update(any());
     verify(warehouseStore, never()).create(any());
   }
@@ -105,7 +123,9 @@ public class ReplaceWarehouseUseCaseTest {
     when(locationResolver.resolveByIdentifier("INVALID-LOC")).thenReturn(null);
 
     // When / Then
-    assertThrows(WarehouseValidationException.class, () -> useCase.replace(replacement));
+    WarehouseValidationException exception =
+        assertThrows(WarehouseValidationException.class, () -> useCase.replace(replacement));
+    assertEquals(Rule.INVALID_LOCATION, exception.rule());
     verify(warehouseStore, never()).update(any());
     verify(warehouseStore, never()).create(any());
   }
@@ -126,7 +146,9 @@ public class ReplaceWarehouseUseCaseTest {
     when(warehouseStore.findActiveByLocation("AMSTERDAM-001")).thenReturn(List.of(existing, other));
 
     // When / Then
-    assertThrows(WarehouseValidationException.class, () -> useCase.replace(replacement));
+    WarehouseValidationException exception =
+        assertThrows(WarehouseValidationException.class, () -> useCase.replace(replacement));
+    assertEquals(Rule.CAPACITY_EXCEEDED, exception.rule());
     verify(warehouseStore, never()).update(any());
     verify(warehouseStore, never()).create(any());
   }
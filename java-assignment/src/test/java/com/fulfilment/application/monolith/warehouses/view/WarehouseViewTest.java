@@ -0,0 +1,90 @@
+package com.fulfilment.application.monolith.warehouses.view;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class WarehouseViewTest {
+
+  private static final String DASHBOARD_ROW = "warehouses.find { it.businessUnitCode == '%s' }.";
+
+  @Inject MeterRegistry registry;
+
+  @Test
+  void shouldProjectCreateReplaceAndArchiveIntoListAndDashboard() {
+    // Given
+    long projected = lagCount("created") + lagCount("replaced") + lagCount("archived");
+
+    // When — created
+    given()
+        .contentType(ContentType.JSON)
+        .body("{\"businessUnitCode\":\"MWH.VIEW\",\"location\":\"EINDHOVEN-001\","
+            + "\"capacity\":30,\"stock\":15}")
+        .when().post("/warehouse")
+        .then().statusCode(200);
+
+    // Then
+    given().when().get("/warehouse")
+        .then().statusCode(200).body("businessUnitCode", hasItem("MWH.VIEW"));
+    given().when().get("/warehouse/dashboard")
+        .then()
+        .statusCode(200)
+        .body(String.format(DASHBOARD_ROW, "MWH.VIEW") + "generation", is(1))
+        .body(String.format(DASHBOARD_ROW, "MWH.VIEW") + "utilization", is(0.5f))
+        .body("locations.find { it.location == 'EINDHOVEN-001' }.maxWarehouses", is(2));
+
+    // When — replaced
+    String replacementId = given()
+        .contentType(ContentType.JSON)
+        .body("{\"location\":\"EINDHOVEN-001\",\"capacity\":60,\"stock\":15}")
+        .when().post("/warehouse/MWH.VIEW/replacement")
+        .then().statusCode(200)
+        .extract().path("id");
+
+    // Then
+    given().when().get("/warehouse/dashboard")
+        .then()
+        .statusCode(200)
+        .body(String.format(DASHBOARD_ROW, "MWH.VIEW") + "generation", is(2))
+        .body(String.format(DASHBOARD_ROW, "MWH.VIEW") + "capacity", is(60));
+
+    // When — archived
+    given().when().delete("/warehouse/" + replacementId).then().statusCode(204);
+
+    // Then
+    given().when().get("/warehouse")
+        .then().statusCode(200).body("businessUnitCode", not(hasItem("MWH.VIEW")));
+    assertEquals(projected + 3,
+        lagCount("created") + lagCount("replaced") + lagCount("archived"));
+  }
+
+  @Test
+  void shouldRebuildFromWarehouseTable() {
+    // When
+    given().when().post("/admin/warehouse-view/rebuild")
+        .then().statusCode(200).body("businessUnitCodes", greaterThanOrEqualTo(3));
+
+    // Then — the seeded warehouses are back in the view
+    given().when().get("/warehouse/dashboard")
+        .then()
+        .statusCode(200)
+        .body(String.format(DASHBOARD_ROW, "MWH.023") + "utilization", is(0.9f))
+        .body("locations.find { it.location == 'TILBURG-001' }.maxCapacity", is(40));
+  }
+
+  private long lagCount(String type) {
+    Timer timer = registry.find(WarehouseViewProjector.LAG).tag("type", type).timer();
+    return timer != null ? timer.count() : 0;
+  }
+}
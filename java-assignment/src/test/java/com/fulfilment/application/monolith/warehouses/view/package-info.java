@@ -0,0 +1,14 @@
+/**
+ * Tests for the warehouse read model.
+ *
+ * <h2>Test classification: INTEGRATION</h2>
+ * <p>{@code WarehouseViewTest} runs the application with H2. Through the REST API it checks that
+ * a creation, a replacement and an archive reach the list and the dashboard, each with a
+ * recorded projection lag. It also checks that a rebuild restores the view from the
+ * {@code warehouse} table.</p>
+ *
+ * <h2>Code style: explicit types over {@code var}</h2>
+ * <p>Explicit type declarations are preferred over {@code var} to maximise
+ * readability for human reviewers and AI coding agents.</p>
+ */
+package com.fulfilment.application.monolith.warehouses.view;
@@ -0,0 +1,3 @@
+-- A replica that never replays anything: the stores as import.sql seeds them
+CREATE TABLE IF NOT EXISTS store(id BIGINT PRIMARY KEY, name VARCHAR(40), quantityProductsInStock INT NOT NULL, version BIGINT NOT NULL);
+MERGE INTO store KEY(id) VALUES (1, 'TONSTAD', 10, 0), (2, 'KALLAX', 5, 0), (3, 'BESTÅ', 3, 0);